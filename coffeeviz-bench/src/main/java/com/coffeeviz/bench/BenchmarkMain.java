@@ -0,0 +1,29 @@
+package com.coffeeviz.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口
+ * 接受 JMH 的全部命令行参数（例如 {@code java -jar benchmarks.jar Render -p tables=20000}），
+ * 并始终启用 GC 分析器，报告每次调用的分配字节数（gc.alloc.rate.norm）
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,117 @@
+package com.coffeeviz.bench;
+
+import com.coffeeviz.core.model.ColumnModel;
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.ForeignKeyModel;
+import com.coffeeviz.core.model.PrimaryKeyModel;
+import com.coffeeviz.core.model.RenderOptions;
+import com.coffeeviz.core.model.TableModel;
+import com.coffeeviz.core.renderer.MermaidErRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 列格式化分配基准
+ * 渲染一张有 {@value #COLUMNS} 列的宽表（覆盖带括号的类型、精度/长度、NOT NULL、含空白和引号的注释、外键列），
+ * 结果按列归一化：配合 BenchmarkMain 的 GC 分析器，gc.alloc.rate.norm 即每列分配的字节数，应接近 0
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnFormatBenchmark {
+
+    private static final int COLUMNS = 4096;
+
+    private DatabaseModel model;
+    private RenderOptions options;
+    private MermaidErRenderer renderer;
+    private StringBuilder buffer;
+    private Writer nullWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        model = DatabaseModel.builder()
+                .dbType("mysql")
+                .tables(new ArrayList<>(List.of(wideTable())))
+                .build();
+        options = RenderOptions.builder().build();
+        renderer = new MermaidErRenderer();
+        buffer = new StringBuilder(COLUMNS * 96);
+        nullWriter = Writer.nullWriter();
+    }
+
+    /**
+     * 写入复用的 StringBuilder
+     */
+    @Benchmark
+    @OperationsPerInvocation(COLUMNS)
+    public int renderToBuilder() throws IOException {
+        buffer.setLength(0);
+        renderer.render(model, options, buffer);
+        return buffer.length();
+    }
+
+    /**
+     * 写入 Writer（模拟流式输出到 HTTP 响应）
+     */
+    @Benchmark
+    @OperationsPerInvocation(COLUMNS)
+    public void renderToWriter() throws IOException {
+        renderer.render(model, options, nullWriter);
+    }
+
+    private static TableModel wideTable() {
+        TableModel table = TableModel.builder()
+                .name("wide_table")
+                .primaryKey(PrimaryKeyModel.builder().columns(new ArrayList<>(List.of("id"))).build())
+                .build();
+        List<ColumnModel> columns = table.getColumns();
+        columns.add(ColumnModel.builder().name("id").type("BIGINT").nullable(false).primaryKeyPart(true).build());
+        for (int c = 1; c < COLUMNS; c++) {
+            ColumnModel.ColumnModelBuilder column = ColumnModel.builder().name("col_" + c);
+            switch (c % 6) {
+                case 0 -> column.type("DECIMAL(12, 4)").nullable(false);
+                case 1 -> column.type("DECIMAL").rawType("decimal").precision(10).scale(2);
+                case 2 -> column.type("VARCHAR").rawType("varchar").length(255).nullable(false)
+                        .comment("用户\t\"显示\"  名称\r\n");
+                case 3 -> column.type("DATETIME").comment("  创建时间  ");
+                case 4 -> column.name("ref_" + c + "_id").type("BIGINT").nullable(true);
+                default -> column.type("INT").nullable(true).comment("计数");
+            }
+            ColumnModel built = column.build();
+            columns.add(built);
+            if (c % 6 == 4) {
+                table.getForeignKeys().add(ForeignKeyModel.builder()
+                        .name("fk_" + c)
+                        .fromTable("wide_table")
+                        .fromColumns(List.of(built.getName()))
+                        .toTable("wide_table")
+                        .toColumns(List.of("id"))
+                        .build());
+            }
+        }
+        return table;
+    }
+}
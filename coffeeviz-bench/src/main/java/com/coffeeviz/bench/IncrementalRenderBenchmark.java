@@ -0,0 +1,77 @@
+package com.coffeeviz.bench;
+
+import com.coffeeviz.core.inference.RelationInferenceEngine;
+import com.coffeeviz.core.model.ColumnModel;
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.RenderOptions;
+import com.coffeeviz.core.renderer.MermaidErRenderer;
+import com.coffeeviz.core.renderer.RenderFragmentCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 交互式编辑时的重新渲染基准
+ * 每次调用前修改一张表的一个列注释，对比“全部重新渲染”与“单表片段缓存”两种方式
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncrementalRenderBenchmark {
+
+    @Param({"1000", "5000", "20000"})
+    private int tables;
+
+    private DatabaseModel model;
+    private RenderOptions options;
+    private MermaidErRenderer plainRenderer;
+    private MermaidErRenderer cachedRenderer;
+    private long edits;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        model = SchemaGenerator.model(tables, SchemaGenerator.DEFAULT_SEED);
+        new RelationInferenceEngine().inferRelations(model);
+        options = RenderOptions.builder().build();
+        plainRenderer = new MermaidErRenderer();
+        cachedRenderer = new MermaidErRenderer(new RenderFragmentCache(true, 256_000_000L));
+        cachedRenderer.render(model, options);
+    }
+
+    /**
+     * 模拟用户编辑：修改一张表的列注释
+     */
+    @Setup(Level.Invocation)
+    public void edit() {
+        edits++;
+        ColumnModel column = model.getTables().get((int) (edits % tables)).getColumns().get(0);
+        column.setComment("主键 " + edits);
+    }
+
+    @Benchmark
+    public String fullRender() {
+        return plainRenderer.render(model, options);
+    }
+
+    @Benchmark
+    public String cachedRender() {
+        return cachedRenderer.render(model, options);
+    }
+}
@@ -0,0 +1,52 @@
+package com.coffeeviz.bench;
+
+import com.coffeeviz.core.inference.RelationInferenceEngine;
+import com.coffeeviz.core.model.DatabaseModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 关系推断基准
+ * 推断结果只写入外键的关系类型和表类型，重复推断同一个模型结果不变，因此模型在整轮测试中复用
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InferenceBenchmark {
+
+    @Param({"10", "100", "1000", "5000", "20000"})
+    private int tables;
+
+    private DatabaseModel model;
+    private RelationInferenceEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        model = SchemaGenerator.model(tables, SchemaGenerator.DEFAULT_SEED);
+        engine = new RelationInferenceEngine();
+    }
+
+    @Benchmark
+    public DatabaseModel inferRelations() {
+        engine.inferRelations(model);
+        return model;
+    }
+}
@@ -0,0 +1,114 @@
+package com.coffeeviz.bench;
+
+import com.coffeeviz.core.model.ColumnModel;
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.SymbolTable;
+import com.coffeeviz.core.model.TableModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 大型模型堆占用基准：模拟从 JDBC 元数据构建 100 万列的模型（每个字符串都是驱动新建的实例），
+ * 对比经过符号表与不经过符号表时构建耗时和每列的常驻堆内存（每次迭代结束时打印）。
+ * 固定 512 MB 堆；不经过符号表时约 255 MB，在 256 MB 堆内会内存溢出，经过符号表时约 60 MB
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class ModelHeapBenchmark {
+
+    private static final int COLUMNS_PER_TABLE = 40;
+
+    private static final String[] COMMON_COLUMNS = {
+            "id", "create_time", "update_time", "create_by", "update_by", "deleted", "tenant_id", "status",
+            "remark", "version", "sort_order", "name", "code", "type", "description"
+    };
+
+    private static final String[] COMMON_COMMENTS = {
+            "主键", "创建时间", "更新时间", "创建人", "更新人", "逻辑删除标记", "租户ID", "状态",
+            "备注", "乐观锁版本号", "排序", "名称", "编码", "类型", "描述"
+    };
+
+    private static final String[] TYPES = {"NUMBER", "VARCHAR2", "DATE", "TIMESTAMP", "CHAR", "CLOB"};
+
+    @Param({"1000000"})
+    private int columns;
+
+    @Param({"false", "true"})
+    private boolean intern;
+
+    private DatabaseModel model;
+
+    @Benchmark
+    public DatabaseModel build() {
+        SymbolTable symbols = intern ? new SymbolTable() : null;
+        DatabaseModel built = DatabaseModel.builder().dbType("oracle").build();
+        int tableCount = columns / COLUMNS_PER_TABLE;
+        for (int t = 0; t < tableCount; t++) {
+            TableModel table = TableModel.builder().name(fresh("T_BIZ_" + t)).build();
+            for (int c = 0; c < COLUMNS_PER_TABLE; c++) {
+                boolean common = c < COMMON_COLUMNS.length;
+                String type = TYPES[(t + c) % TYPES.length];
+                table.getColumns().add(ColumnModel.builder()
+                        .name(fresh(common ? COMMON_COLUMNS[c] : "col_" + c))
+                        .type(fresh(type))
+                        .rawType(fresh(type + "(" + (c % 4 == 0 ? 255 : 64) + ")"))
+                        .length(c % 4 == 0 ? 255 : 64)
+                        .nullable(c > 0)
+                        .comment(common ? fresh(COMMON_COMMENTS[c]) : fresh("字段 " + c))
+                        .build());
+            }
+            if (symbols != null) {
+                symbols.intern(table);
+            }
+            built.getTables().add(table);
+        }
+        model = built;
+        return built;
+    }
+
+    /**
+     * 打印本次迭代构建的模型的常驻堆内存（释放模型前后 GC 后已用堆之差）
+     */
+    @TearDown(Level.Iteration)
+    public void report() {
+        long withModel = usedHeapAfterGc();
+        model = null;
+        long withoutModel = usedHeapAfterGc();
+        System.out.printf("%n%s: %d 列常驻约 %d MB，每列约 %d 字节%n", intern ? "符号表" : "无符号表",
+                columns, (withModel - withoutModel) >> 20, (withModel - withoutModel) / columns);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * 模拟 JDBC 驱动读取的字符串：内容相同但每次都是新实例
+     */
+    private static String fresh(String value) {
+        return new String(value.toCharArray());
+    }
+}
@@ -0,0 +1,119 @@
+package com.coffeeviz.bench;
+
+import com.coffeeviz.core.model.ParseResult;
+import com.coffeeviz.sql.parser.CompositeSqlParser;
+import com.coffeeviz.sql.parser.DruidSqlParserImpl;
+import com.coffeeviz.sql.parser.JSqlParserImpl;
+import com.coffeeviz.sql.parser.ParseBudget;
+import com.coffeeviz.sql.parser.RegexFallbackParser;
+import com.coffeeviz.sql.parser.StatementCache;
+import com.coffeeviz.sql.parser.TierStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 解析基准：各解析层级分别解析整份 DDL，以及组合解析器的按语句分层解析
+ * 组合解析器关闭了语句缓存，测量的是实际解析开销；parallelism 对应 coffeeviz.parser.parallelism，
+ * 用于观察并行解析随线程数的扩展情况（0 表示使用 CPU 核数）
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    /**
+     * 单次解析的时间预算（JSqlParser 默认 6 秒超时，大 Schema 整体解析会超时）
+     */
+    private static final long BUDGET_MILLIS = 600_000;
+
+    @Param({"MYSQL", "POSTGRES", "ORACLE"})
+    private SchemaGenerator.Dialect dialect;
+
+    @Param({"10", "1000", "20000"})
+    private int tables;
+
+    private String sql;
+    private JSqlParserImpl jSqlParser;
+    private DruidSqlParserImpl druidSqlParser;
+    private RegexFallbackParser regexFallbackParser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sql = SchemaGenerator.ddl(dialect, tables, SchemaGenerator.DEFAULT_SEED);
+        jSqlParser = new JSqlParserImpl();
+        druidSqlParser = new DruidSqlParserImpl();
+        regexFallbackParser = new RegexFallbackParser();
+    }
+
+    @Benchmark
+    public ParseResult jsqlParser() {
+        return jSqlParser.parse(sql, dialect.getParserDialect(), ParseBudget.of(BUDGET_MILLIS, 0));
+    }
+
+    @Benchmark
+    public ParseResult druid() {
+        return druidSqlParser.parse(sql, dialect.getParserDialect());
+    }
+
+    @Benchmark
+    public ParseResult regexFallback() {
+        return regexFallbackParser.parse(sql, dialect.getParserDialect());
+    }
+
+    @Benchmark
+    public ParseResult composite(Composite composite) {
+        return composite.parser.parse(sql, dialect.getParserDialect(), ParseBudget.of(BUDGET_MILLIS, 0));
+    }
+
+    /**
+     * 组合解析器（只有 composite 基准使用，parallelism 参数不会放大其他基准的组合数）
+     */
+    @State(Scope.Benchmark)
+    public static class Composite {
+
+        @Param({"1", "2", "4", "8"})
+        private int parallelism;
+
+        private AnnotationConfigApplicationContext context;
+        private CompositeSqlParser parser;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = new AnnotationConfigApplicationContext();
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("bench", Map.of(
+                    "coffeeviz.parser.statement-cache.enabled", "false",
+                    "coffeeviz.parser.parallelism", String.valueOf(parallelism))));
+            context.register(CompositeSqlParser.class, JSqlParserImpl.class, DruidSqlParserImpl.class,
+                    RegexFallbackParser.class, TierStatistics.class, StatementCache.class);
+            context.refresh();
+            parser = context.getBean(CompositeSqlParser.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+}
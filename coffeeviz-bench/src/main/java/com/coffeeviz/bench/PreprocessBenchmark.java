@@ -0,0 +1,71 @@
+package com.coffeeviz.bench;
+
+import com.coffeeviz.sql.parser.SqlPreprocessor;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 预处理基准（CompositeSqlParser.preprocessSql 委托给 {@link SqlPreprocessor#process}）
+ * 输入为带触发器、DELIMITER 与 INSERT 数据段的 mysqldump 风格脚本；
+ * throughput 以辅助计数器报告每微秒处理的字符数（约等于 MB/s）
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreprocessBenchmark {
+
+    @Param({"10", "1000", "20000"})
+    private int tables;
+
+    private String sql;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sql = SchemaGenerator.mysqlDump(tables, SchemaGenerator.DEFAULT_SEED);
+    }
+
+    @Benchmark
+    public String preprocess() {
+        return SqlPreprocessor.process(sql, "mysql");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public String throughput(ProcessedChars counter) {
+        counter.chars += sql.length();
+        return SqlPreprocessor.process(sql, "mysql");
+    }
+
+    /**
+     * 已处理字符数（按迭代时间换算为速率）
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class ProcessedChars {
+        public long chars;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            chars = 0;
+        }
+    }
+}
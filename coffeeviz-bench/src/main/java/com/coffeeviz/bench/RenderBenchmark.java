@@ -0,0 +1,55 @@
+package com.coffeeviz.bench;
+
+import com.coffeeviz.core.inference.RelationInferenceEngine;
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.RenderOptions;
+import com.coffeeviz.core.renderer.MermaidErRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mermaid ER 图渲染基准（模型已完成关系推断）
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+
+    @Param({"10", "100", "1000", "5000", "20000"})
+    private int tables;
+
+    private DatabaseModel model;
+    private RenderOptions options;
+    private MermaidErRenderer renderer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        model = SchemaGenerator.model(tables, SchemaGenerator.DEFAULT_SEED);
+        new RelationInferenceEngine().inferRelations(model);
+        options = RenderOptions.builder().build();
+        renderer = new MermaidErRenderer();
+    }
+
+    @Benchmark
+    public String render() {
+        return renderer.render(model, options);
+    }
+}
@@ -0,0 +1,106 @@
+package com.coffeeviz.bench;
+
+import com.alibaba.fastjson2.JSON;
+import com.coffeeviz.core.codec.SchemaCodec;
+import com.coffeeviz.core.model.DatabaseModel;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schema 模型编解码基准：二进制编解码器（压缩 / 不压缩）对比 Redis 缓存使用的 Jackson
+ * （与 RedisConfig 相同的 ObjectMapper 配置，带默认类型信息）和 fastjson2
+ * 各方式的编码后大小在初始化时打印
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaCodecBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int tables;
+
+    private DatabaseModel model;
+    private ObjectMapper jackson;
+    private byte[] binary;
+    private byte[] compressed;
+    private byte[] jacksonJson;
+    private byte[] fastjson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        model = SchemaGenerator.model(tables, SchemaGenerator.DEFAULT_SEED);
+        jackson = new ObjectMapper();
+        jackson.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        jackson.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+
+        binary = SchemaCodec.encode(model, false);
+        compressed = SchemaCodec.encode(model, true);
+        jacksonJson = jackson.writeValueAsBytes(model);
+        fastjson = JSON.toJSONBytes(model);
+        System.out.printf("%n编码后大小（%d 张表）: binary=%d, binary+deflate=%d, jackson=%d, fastjson2=%d 字节%n",
+                tables, binary.length, compressed.length, jacksonJson.length, fastjson.length);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return SchemaCodec.encode(model, false);
+    }
+
+    @Benchmark
+    public byte[] encodeCompressed() {
+        return SchemaCodec.encode(model, true);
+    }
+
+    @Benchmark
+    public byte[] encodeJackson() throws IOException {
+        return jackson.writeValueAsBytes(model);
+    }
+
+    @Benchmark
+    public byte[] encodeFastjson() {
+        return JSON.toJSONBytes(model);
+    }
+
+    @Benchmark
+    public DatabaseModel decodeBinary() {
+        return SchemaCodec.decode(binary);
+    }
+
+    @Benchmark
+    public DatabaseModel decodeCompressed() {
+        return SchemaCodec.decode(compressed);
+    }
+
+    @Benchmark
+    public Object decodeJackson() throws IOException {
+        return jackson.readValue(jacksonJson, Object.class);
+    }
+
+    @Benchmark
+    public DatabaseModel decodeFastjson() {
+        return JSON.parseObject(fastjson, DatabaseModel.class);
+    }
+}
@@ -0,0 +1,73 @@
+package com.coffeeviz.bench;
+
+import com.coffeeviz.core.diff.SchemaDiff;
+import com.coffeeviz.core.diff.SchemaDiffEngine;
+import com.coffeeviz.core.model.ColumnModel;
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.TableModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schema 差异比较基准
+ * 新模型是旧模型的深拷贝，其中约 1% 的表改了列长度、加了列，另有少量表被删除或新增
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaDiffBenchmark {
+
+    @Param({"1000", "10000"})
+    private int tables;
+
+    private DatabaseModel base;
+    private DatabaseModel target;
+    private SchemaDiffEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        base = SchemaGenerator.model(tables, SchemaGenerator.DEFAULT_SEED);
+        List<TableModel> copies = new ArrayList<>(tables);
+        for (int i = 0; i < tables; i++) {
+            TableModel table = base.getTables().get(i).copy();
+            if (i % 100 == 0) {
+                ColumnModel column = table.getColumns().get(table.getColumns().size() - 1);
+                column.setLength(column.getLength() != null ? column.getLength() + 1 : 1);
+                table.getColumns().add(ColumnModel.builder().name("extra_col").type("INT").build());
+            }
+            if (i % 500 != 250) {
+                copies.add(table);
+            }
+        }
+        for (int i = 0; i < tables / 500; i++) {
+            copies.add(TableModel.builder().name("new_table_" + i).build());
+        }
+        target = DatabaseModel.builder().tables(copies).build();
+        engine = new SchemaDiffEngine();
+    }
+
+    @Benchmark
+    public SchemaDiff diff() {
+        return engine.diff(base, target);
+    }
+}
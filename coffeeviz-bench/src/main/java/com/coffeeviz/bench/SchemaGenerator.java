@@ -0,0 +1,318 @@
+package com.coffeeviz.bench;
+
+import com.coffeeviz.core.model.ColumnModel;
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.ForeignKeyModel;
+import com.coffeeviz.core.model.PrimaryKeyModel;
+import com.coffeeviz.core.model.TableModel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 基准测试用的合成 Schema 生成器
+ * 相同的表数量与随机种子总是生成相同的模型和 DDL；每张表有自增主键、若干业务列和指向之前表的外键，
+ * 约每 12 张表生成一张由两个外键组成联合主键的中间表
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+public final class SchemaGenerator {
+
+    /**
+     * 默认随机种子
+     */
+    public static final long DEFAULT_SEED = 20240601L;
+
+    /**
+     * DDL 方言
+     */
+    public enum Dialect {
+        MYSQL("mysql"),
+        POSTGRES("postgres"),
+        ORACLE("oracle");
+
+        private final String parserDialect;
+
+        Dialect(String parserDialect) {
+            this.parserDialect = parserDialect;
+        }
+
+        /**
+         * 传给 SqlParser 的方言名
+         */
+        public String getParserDialect() {
+            return parserDialect;
+        }
+    }
+
+    private static final String[] DOMAINS = {
+            "user", "order", "product", "invoice", "payment", "shipment", "customer", "account",
+            "category", "review", "coupon", "warehouse", "supplier", "employee", "department", "ticket"
+    };
+
+    private static final String[] COLUMN_NAMES = {
+            "name", "title", "code", "status", "amount", "quantity", "price", "description",
+            "email", "phone", "address", "remark", "enabled", "sort_order", "version", "updated_by"
+    };
+
+    private static final String[] COLUMN_TYPES = {"VARCHAR", "INT", "DECIMAL", "DATETIME", "TEXT", "BOOLEAN"};
+
+    private SchemaGenerator() {
+    }
+
+    /**
+     * 生成数据库模型
+     *
+     * @param tableCount 表数量
+     * @param seed 随机种子
+     */
+    public static DatabaseModel model(int tableCount, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<TableModel> tables = new ArrayList<>(tableCount);
+        for (int i = 0; i < tableCount; i++) {
+            boolean junction = i >= 2 && i % 12 == 11;
+            tables.add(junction ? junctionTable(i, tables, random) : entityTable(i, tables, random));
+        }
+        return DatabaseModel.builder()
+                .dbType("mysql")
+                .tables(tables)
+                .build();
+    }
+
+    /**
+     * 生成没有声明外键的“遗留库”模型（用于命名约定推断基准）
+     * 表名形如 m12_orders，每张表除主键外有 1~4 个 m{j}_{domain}_id 引用列（j 为之前的表），
+     * 其余为普通列和少量不对应任何表的 *_id 列
+     *
+     * @param tableCount 表数量
+     * @param columnsPerTable 每张表的列数（至少 6）
+     * @param seed 随机种子
+     */
+    public static DatabaseModel legacyModel(int tableCount, int columnsPerTable, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<TableModel> tables = new ArrayList<>(tableCount);
+        for (int i = 0; i < tableCount; i++) {
+            TableModel table = TableModel.builder()
+                    .name("m" + i + "_" + plural(DOMAINS[i % DOMAINS.length]))
+                    .primaryKey(PrimaryKeyModel.builder().columns(new ArrayList<>(List.of("id"))).build())
+                    .build();
+            List<ColumnModel> columns = table.getColumns();
+            columns.add(ColumnModel.builder().name("id").type("BIGINT").nullable(false).primaryKeyPart(true).build());
+            int references = i == 0 ? 0 : 1 + random.nextInt(4);
+            for (int r = 0; r < references; r++) {
+                int target = random.nextInt(i);
+                String name = "m" + target + "_" + DOMAINS[target % DOMAINS.length] + "_id";
+                if (table.findColumn(name) == null) {
+                    columns.add(ColumnModel.builder().name(name).type("BIGINT").nullable(true).build());
+                }
+            }
+            columns.add(ColumnModel.builder().name("external_id").type("VARCHAR").length(64).build());
+            for (int c = columns.size(); c < Math.max(6, columnsPerTable); c++) {
+                columns.add(ColumnModel.builder()
+                        .name(COLUMN_NAMES[c % COLUMN_NAMES.length] + "_" + c)
+                        .type(COLUMN_TYPES[random.nextInt(COLUMN_TYPES.length)]).nullable(true).build());
+            }
+            tables.add(table);
+        }
+        return DatabaseModel.builder()
+                .dbType("mysql")
+                .tables(tables)
+                .build();
+    }
+
+    /**
+     * 生成指定方言的 CREATE TABLE 脚本
+     *
+     * @param dialect 方言
+     * @param tableCount 表数量
+     * @param seed 随机种子
+     */
+    public static String ddl(Dialect dialect, int tableCount, long seed) {
+        DatabaseModel model = model(tableCount, seed);
+        StringBuilder sb = new StringBuilder(tableCount * 400);
+        for (TableModel table : model.getTables()) {
+            appendCreateTable(sb, dialect, table);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 生成带 mysqldump 风格头部、触发器和 INSERT 数据段的 MySQL 脚本（用于预处理基准）
+     */
+    public static String mysqlDump(int tableCount, long seed) {
+        DatabaseModel model = model(tableCount, seed);
+        StringBuilder sb = new StringBuilder(tableCount * 700);
+        sb.append("-- MySQL dump 10.13  Distrib 8.0.33\n");
+        sb.append("/*!40101 SET NAMES utf8mb4 */;\n\n");
+        for (TableModel table : model.getTables()) {
+            sb.append("DROP TABLE IF EXISTS `").append(table.getName()).append("`;\n");
+            appendCreateTable(sb, Dialect.MYSQL, table);
+            sb.append("\n\n\nINSERT INTO `").append(table.getName()).append("` VALUES (1,'a;b'),(2,'c');;\n");
+            if (table.getForeignKeys().isEmpty()) {
+                continue;
+            }
+            sb.append("DROP TRIGGER IF EXISTS `trg_").append(table.getName()).append("`;\n");
+            sb.append("DELIMITER ;;\n");
+            sb.append("CREATE TRIGGER `trg_").append(table.getName()).append("` BEFORE INSERT ON `")
+                    .append(table.getName()).append("` FOR EACH ROW BEGIN SET NEW.id = NEW.id; END;;\n");
+            sb.append("DELIMITER ;\n\n");
+        }
+        return sb.toString();
+    }
+
+    private static TableModel entityTable(int index, List<TableModel> previous, SplittableRandom random) {
+        String name = DOMAINS[index % DOMAINS.length] + "_" + index;
+        TableModel table = TableModel.builder()
+                .name(name)
+                .comment(DOMAINS[index % DOMAINS.length] + " 表 " + index)
+                .primaryKey(PrimaryKeyModel.builder().columns(new ArrayList<>(List.of("id"))).build())
+                .build();
+        table.getColumns().add(ColumnModel.builder()
+                .name("id").type("BIGINT").nullable(false).primaryKeyPart(true).autoIncrement(true)
+                .comment("主键").build());
+
+        int columnCount = 3 + random.nextInt(6);
+        for (int c = 0; c < columnCount; c++) {
+            String type = COLUMN_TYPES[random.nextInt(COLUMN_TYPES.length)];
+            ColumnModel.ColumnModelBuilder column = ColumnModel.builder()
+                    .name(COLUMN_NAMES[(c + index) % COLUMN_NAMES.length])
+                    .type(type)
+                    .nullable(random.nextInt(3) != 0)
+                    .comment(random.nextInt(2) == 0 ? "字段 " + c : null);
+            if (type.equals("VARCHAR")) {
+                column.length(32 << random.nextInt(4));
+            } else if (type.equals("DECIMAL")) {
+                column.precision(10).scale(2);
+            }
+            table.getColumns().add(column.build());
+        }
+
+        int foreignKeys = previous.isEmpty() ? 0 : random.nextInt(Math.min(3, previous.size()) + 1);
+        for (int f = 0; f < foreignKeys; f++) {
+            TableModel target = previous.get(random.nextInt(previous.size()));
+            String column = target.getName() + "_id";
+            if (table.getColumns().stream().anyMatch(existing -> existing.getName().equals(column))) {
+                continue;
+            }
+            table.getColumns().add(ColumnModel.builder().name(column).type("BIGINT").nullable(true).build());
+            table.getForeignKeys().add(foreignKey(name, column, target.getName(), f));
+        }
+
+        table.getColumns().add(ColumnModel.builder()
+                .name("created_at").type("DATETIME").nullable(false).comment("创建时间").build());
+        return table;
+    }
+
+    private static TableModel junctionTable(int index, List<TableModel> previous, SplittableRandom random) {
+        TableModel left = previous.get(random.nextInt(previous.size()));
+        TableModel right = previous.get(random.nextInt(previous.size()));
+        if (left == right) {
+            right = previous.get((previous.indexOf(left) + 1) % previous.size());
+        }
+        String name = "rel_" + index;
+        String leftColumn = "left_" + left.getName() + "_id";
+        String rightColumn = "right_" + right.getName() + "_id";
+
+        TableModel table = TableModel.builder()
+                .name(name)
+                .comment("关联表 " + index)
+                .primaryKey(PrimaryKeyModel.builder().columns(new ArrayList<>(List.of(leftColumn, rightColumn))).build())
+                .build();
+        table.getColumns().add(ColumnModel.builder().name(leftColumn).type("BIGINT").nullable(false).primaryKeyPart(true).build());
+        table.getColumns().add(ColumnModel.builder().name(rightColumn).type("BIGINT").nullable(false).primaryKeyPart(true).build());
+        table.getForeignKeys().add(foreignKey(name, leftColumn, left.getName(), 0));
+        table.getForeignKeys().add(foreignKey(name, rightColumn, right.getName(), 1));
+        return table;
+    }
+
+    private static ForeignKeyModel foreignKey(String table, String column, String target, int ordinal) {
+        return ForeignKeyModel.builder()
+                .name("fk_" + table + "_" + ordinal)
+                .fromTable(table)
+                .fromColumns(new ArrayList<>(List.of(column)))
+                .toTable(target)
+                .toColumns(new ArrayList<>(List.of("id")))
+                .build();
+    }
+
+    private static void appendCreateTable(StringBuilder sb, Dialect dialect, TableModel table) {
+        sb.append("CREATE TABLE ").append(quote(dialect, table.getName())).append(" (\n");
+        for (ColumnModel column : table.getColumns()) {
+            sb.append("  ").append(quote(dialect, column.getName())).append(' ').append(columnType(dialect, column));
+            if (column.isAutoIncrement() && dialect == Dialect.MYSQL) {
+                // PostgreSQL 使用 BIGSERIAL，Oracle 按传统方式由序列生成主键
+                sb.append(" AUTO_INCREMENT");
+            }
+            if (!column.isNullable()) {
+                sb.append(" NOT NULL");
+            }
+            if (dialect == Dialect.MYSQL && column.getComment() != null) {
+                sb.append(" COMMENT '").append(column.getComment()).append('\'');
+            }
+            sb.append(",\n");
+        }
+        sb.append("  PRIMARY KEY (").append(joinQuoted(dialect, table.getPrimaryKey().getColumns())).append(')');
+        for (ForeignKeyModel fk : table.getForeignKeys()) {
+            sb.append(",\n  CONSTRAINT ").append(quote(dialect, fk.getName()))
+                    .append(" FOREIGN KEY (").append(joinQuoted(dialect, fk.getFromColumns())).append(")")
+                    .append(" REFERENCES ").append(quote(dialect, fk.getToTable()))
+                    .append(" (").append(joinQuoted(dialect, fk.getToColumns())).append(')');
+        }
+        sb.append("\n)");
+        if (dialect == Dialect.MYSQL) {
+            sb.append(" ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='").append(table.getComment()).append('\'');
+        }
+        sb.append(";\n\n");
+    }
+
+    private static String columnType(Dialect dialect, ColumnModel column) {
+        String type = column.getType();
+        return switch (dialect) {
+            case MYSQL -> switch (type) {
+                case "VARCHAR" -> "VARCHAR(" + column.getLength() + ")";
+                case "DECIMAL" -> "DECIMAL(" + column.getPrecision() + "," + column.getScale() + ")";
+                case "BOOLEAN" -> "TINYINT(1)";
+                default -> type;
+            };
+            case POSTGRES -> switch (type) {
+                case "BIGINT" -> column.isAutoIncrement() ? "BIGSERIAL" : "BIGINT";
+                case "VARCHAR" -> "VARCHAR(" + column.getLength() + ")";
+                case "INT" -> "INTEGER";
+                case "DECIMAL" -> "NUMERIC(" + column.getPrecision() + "," + column.getScale() + ")";
+                case "DATETIME" -> "TIMESTAMP";
+                default -> type;
+            };
+            case ORACLE -> switch (type) {
+                case "BIGINT" -> "NUMBER(19)";
+                case "VARCHAR" -> "VARCHAR2(" + column.getLength() + ")";
+                case "INT" -> "NUMBER(10)";
+                case "DECIMAL" -> "NUMBER(" + column.getPrecision() + "," + column.getScale() + ")";
+                case "DATETIME" -> "DATE";
+                case "TEXT" -> "CLOB";
+                case "BOOLEAN" -> "NUMBER(1)";
+                default -> type;
+            };
+        };
+    }
+
+    private static String plural(String word) {
+        return word.endsWith("y") ? word.substring(0, word.length() - 1) + "ies" : word + "s";
+    }
+
+    private static String quote(Dialect dialect, String identifier) {
+        return dialect == Dialect.MYSQL ? "`" + identifier + "`" : identifier;
+    }
+
+    private static String joinQuoted(Dialect dialect, List<String> identifiers) {
+        StringBuilder sb = new StringBuilder();
+        for (String identifier : identifiers) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(quote(dialect, identifier));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,90 @@
+package com.coffeeviz.bench;
+
+import com.coffeeviz.core.inference.InferenceConfig;
+import com.coffeeviz.core.inference.RelationInferenceEngine;
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.ParseResult;
+import com.coffeeviz.core.model.TableModel;
+import com.coffeeviz.sql.parser.DruidSqlParserImpl;
+import com.coffeeviz.sql.parser.RegexFallbackParser;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SchemaGenerator 单元测试
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class SchemaGeneratorTest {
+
+    @Test
+    void testGenerationIsDeterministic() {
+        for (SchemaGenerator.Dialect dialect : SchemaGenerator.Dialect.values()) {
+            assertThat(SchemaGenerator.ddl(dialect, 200, 7))
+                    .isEqualTo(SchemaGenerator.ddl(dialect, 200, 7))
+                    .isNotEqualTo(SchemaGenerator.ddl(dialect, 200, 8));
+        }
+    }
+
+    @Test
+    void testModelShape() {
+        DatabaseModel model = SchemaGenerator.model(120, SchemaGenerator.DEFAULT_SEED);
+
+        assertThat(model.getTables()).hasSize(120);
+        assertThat(model.getTables()).filteredOn(table -> table.getName().startsWith("rel_")).hasSize(10);
+        for (TableModel table : model.getTables()) {
+            assertThat(table.getPrimaryKey().getColumns()).isNotEmpty();
+            table.getForeignKeys().forEach(fk ->
+                    assertThat(model.getTables()).anyMatch(target -> target.getName().equals(fk.getToTable())));
+        }
+    }
+
+    @Test
+    void testLegacyModelResolvesByNamingConvention() {
+        DatabaseModel model = SchemaGenerator.legacyModel(300, 30, SchemaGenerator.DEFAULT_SEED);
+        long references = model.getTables().stream()
+                .flatMap(table -> table.getColumns().stream())
+                .filter(column -> column.getName().matches("m\\d+_.*_id"))
+                .count();
+
+        assertThat(model.getTables()).allMatch(table -> table.getColumns().size() == 30);
+        assertThat(model.getTables()).allMatch(table -> table.getForeignKeys().isEmpty());
+
+        new RelationInferenceEngine().inferRelations(model, InferenceConfig.builder().enableNamingConvention(true).build());
+
+        for (TableModel table : model.getTables()) {
+            table.getForeignKeys().forEach(fk -> assertThat(fk.getFromColumns().get(0))
+                    .startsWith(fk.getToTable().substring(0, fk.getToTable().indexOf('_') + 1)));
+        }
+        assertThat(model.getTables().stream().mapToInt(table -> table.getForeignKeys().size()).sum())
+                .isEqualTo(references);
+    }
+
+    @Test
+    void testGeneratedDdlParsesInEveryDialect() {
+        DatabaseModel expected = SchemaGenerator.model(50, SchemaGenerator.DEFAULT_SEED);
+        int foreignKeys = expected.getTables().stream().mapToInt(table -> table.getForeignKeys().size()).sum();
+
+        for (SchemaGenerator.Dialect dialect : SchemaGenerator.Dialect.values()) {
+            String sql = SchemaGenerator.ddl(dialect, 50, SchemaGenerator.DEFAULT_SEED);
+
+            ParseResult druid = new DruidSqlParserImpl().parse(sql, dialect.getParserDialect());
+            ParseResult fallback = new RegexFallbackParser().parse(sql, dialect.getParserDialect());
+
+            assertThat(druid.isSuccess()).as(dialect + " / Druid: " + druid.getMessage()).isTrue();
+            assertThat(druid.getDatabaseModel().getTables()).as(dialect + " / Druid").hasSize(50);
+            assertThat(fallback.getDatabaseModel().getTables()).as(dialect + " / L3").hasSize(50);
+            assertThat(fallback.getDatabaseModel().getTables().stream()
+                    .mapToInt(table -> table.getForeignKeys().size()).sum()).isEqualTo(foreignKeys);
+        }
+    }
+
+    @Test
+    void testMysqlDumpContainsDataAndTriggers() {
+        String dump = SchemaGenerator.mysqlDump(30, SchemaGenerator.DEFAULT_SEED);
+
+        assertThat(dump).contains("INSERT INTO", "DELIMITER ;;", "CREATE TRIGGER");
+    }
+}
@@ -0,0 +1,618 @@
+package com.coffeeviz.core.codec;
+
+import com.coffeeviz.core.enums.RelationType;
+import com.coffeeviz.core.model.ColumnModel;
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.ForeignKeyModel;
+import com.coffeeviz.core.model.IndexModel;
+import com.coffeeviz.core.model.ParseResult;
+import com.coffeeviz.core.model.PrimaryKeyModel;
+import com.coffeeviz.core.model.TableModel;
+import com.coffeeviz.core.model.ViewModel;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Schema 模型二进制编解码器
+ * 用于缓存等场景，替代 JSON / Java 序列化：字符串按首次出现顺序写入字典，之后只写字典序号
+ * （重复的类型名、列名、表名只存一次），整数使用变长编码，可选 Deflate 压缩。
+ * 
+ * 数据格式：魔数 "CVM" + 格式版本 + 内容类型 + 标志位（bit0 表示已压缩），
+ * 压缩时接着写原始长度，然后是（压缩后的）正文；解码时拒绝不认识的版本
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+public final class SchemaCodec {
+    
+    /**
+     * 当前格式版本，格式有不兼容变化时递增
+     */
+    public static final int VERSION = 1;
+    
+    private static final byte[] MAGIC = {'C', 'V', 'M'};
+    
+    private static final int HEADER_LENGTH = MAGIC.length + 3;
+    
+    private static final int KIND_DATABASE = 1;
+    private static final int KIND_TABLES = 2;
+    private static final int KIND_PARSE_RESULT = 3;
+    
+    private static final int FLAG_COMPRESSED = 1;
+    
+    private SchemaCodec() {
+    }
+    
+    /**
+     * 编码数据库模型
+     * 
+     * @param model 数据库模型
+     * @param compress 是否 Deflate 压缩正文
+     * @return 二进制数据
+     */
+    public static byte[] encode(DatabaseModel model, boolean compress) {
+        Writer writer = new Writer();
+        writer.writeDatabase(model);
+        return writer.finish(KIND_DATABASE, compress);
+    }
+    
+    /**
+     * 解码数据库模型
+     * 
+     * @throws IllegalArgumentException 数据不是本编解码器生成的、版本不支持或已损坏
+     */
+    public static DatabaseModel decode(byte[] data) {
+        return reader(data, KIND_DATABASE).readDatabase();
+    }
+    
+    /**
+     * 编码一组表模型
+     */
+    public static byte[] encodeTables(List<TableModel> tables, boolean compress) {
+        Writer writer = new Writer();
+        writer.writeTables(tables);
+        return writer.finish(KIND_TABLES, compress);
+    }
+    
+    /**
+     * 解码一组表模型
+     * 
+     * @throws IllegalArgumentException 数据不是本编解码器生成的、版本不支持或已损坏
+     */
+    public static List<TableModel> decodeTables(byte[] data) {
+        return reader(data, KIND_TABLES).readTables();
+    }
+    
+    /**
+     * 编码解析结果（包含数据库模型、警告、错误与是否部分结果）
+     */
+    public static byte[] encodeResult(ParseResult result, boolean compress) {
+        Writer writer = new Writer();
+        writer.writeResult(result);
+        return writer.finish(KIND_PARSE_RESULT, compress);
+    }
+    
+    /**
+     * 解码解析结果
+     * 
+     * @throws IllegalArgumentException 数据不是本编解码器生成的、版本不支持或已损坏
+     */
+    public static ParseResult decodeResult(byte[] data) {
+        return reader(data, KIND_PARSE_RESULT).readResult();
+    }
+    
+    /**
+     * 校验头部并返回正文的读取器（压缩时先解压）
+     */
+    private static Reader reader(byte[] data, int expectedKind) {
+        if (data == null || data.length < HEADER_LENGTH
+                || data[0] != MAGIC[0] || data[1] != MAGIC[1] || data[2] != MAGIC[2]) {
+            throw new IllegalArgumentException("不是有效的 Schema 二进制数据");
+        }
+        int version = data[3] & 0xFF;
+        if (version != VERSION) {
+            throw new IllegalArgumentException("不支持的 Schema 二进制格式版本: " + version);
+        }
+        if ((data[4] & 0xFF) != expectedKind) {
+            throw new IllegalArgumentException("Schema 二进制数据的内容类型不匹配: " + (data[4] & 0xFF));
+        }
+        if ((data[5] & FLAG_COMPRESSED) == 0) {
+            return new Reader(data, HEADER_LENGTH);
+        }
+        
+        Reader header = new Reader(data, HEADER_LENGTH);
+        int rawLength = header.readVarInt();
+        // Deflate 的压缩比上限约为 1032:1，超出说明长度字段已损坏，避免按错误长度分配内存
+        if ((long) rawLength > (long) (data.length - header.position) * 1032L) {
+            throw new IllegalArgumentException("Schema 二进制数据已损坏");
+        }
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, header.position, data.length - header.position);
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, length, rawLength - length);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += n;
+            }
+            if (length != rawLength || !inflater.finished()) {
+                throw new IllegalArgumentException("Schema 二进制数据已损坏");
+            }
+            return new Reader(raw, 0);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Schema 二进制数据已损坏", e);
+        } finally {
+            inflater.end();
+        }
+    }
+    
+    /**
+     * 编码器：正文写入可扩容的字节数组，字符串首次出现时写入原文并登记到字典
+     */
+    private static final class Writer {
+        
+        private byte[] buffer = new byte[4096];
+        private int length;
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        
+        byte[] finish(int kind, boolean compress) {
+            if (!compress) {
+                byte[] out = new byte[HEADER_LENGTH + length];
+                writeHeader(out, kind, 0);
+                System.arraycopy(buffer, 0, out, HEADER_LENGTH, length);
+                return out;
+            }
+            
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                deflater.setInput(buffer, 0, length);
+                deflater.finish();
+                // 头部 + 原始长度（最多 5 字节）+ 压缩正文
+                byte[] out = new byte[HEADER_LENGTH + 5 + Math.max(64, length / 2)];
+                writeHeader(out, kind, FLAG_COMPRESSED);
+                int position = writeVarInt(out, HEADER_LENGTH, length);
+                while (!deflater.finished()) {
+                    if (position == out.length) {
+                        out = Arrays.copyOf(out, out.length * 2);
+                    }
+                    position += deflater.deflate(out, position, out.length - position);
+                }
+                return Arrays.copyOf(out, position);
+            } finally {
+                deflater.end();
+            }
+        }
+        
+        private static void writeHeader(byte[] out, int kind, int flags) {
+            System.arraycopy(MAGIC, 0, out, 0, MAGIC.length);
+            out[3] = (byte) VERSION;
+            out[4] = (byte) kind;
+            out[5] = (byte) flags;
+        }
+        
+        void writeResult(ParseResult result) {
+            int flags = (result.isSuccess() ? 1 : 0) | (result.isPartial() ? 2 : 0)
+                    | (result.getDatabaseModel() != null ? 4 : 0);
+            writeByte(flags);
+            writeString(result.getMessage());
+            writeStrings(result.getWarnings());
+            writeStrings(result.getErrors());
+            if (result.getDatabaseModel() != null) {
+                writeDatabase(result.getDatabaseModel());
+            }
+        }
+        
+        void writeDatabase(DatabaseModel model) {
+            writeString(model.getDbType());
+            writeString(model.getSchemaName());
+            writeTables(model.getTables());
+            List<ViewModel> views = model.getViews();
+            writeSize(views);
+            if (views != null) {
+                for (ViewModel view : views) {
+                    writeString(view.getName());
+                    writeString(view.getComment());
+                    writeColumns(view.getColumns());
+                    writeString(view.getDefinition());
+                }
+            }
+            Map<String, String> metadata = model.getMetadata();
+            writeSize(metadata != null ? metadata.entrySet() : null);
+            if (metadata != null) {
+                for (Map.Entry<String, String> entry : metadata.entrySet()) {
+                    writeString(entry.getKey());
+                    writeString(entry.getValue());
+                }
+            }
+        }
+        
+        void writeTables(List<TableModel> tables) {
+            writeSize(tables);
+            if (tables == null) {
+                return;
+            }
+            for (TableModel table : tables) {
+                writeString(table.getName());
+                writeString(table.getComment());
+                writeString(table.getTableType());
+                writeColumns(table.getColumns());
+                
+                PrimaryKeyModel primaryKey = table.getPrimaryKey();
+                writeByte(primaryKey != null ? 1 : 0);
+                if (primaryKey != null) {
+                    writeString(primaryKey.getName());
+                    writeStrings(primaryKey.getColumns());
+                }
+                
+                writeSize(table.getForeignKeys());
+                if (table.getForeignKeys() != null) {
+                    for (ForeignKeyModel fk : table.getForeignKeys()) {
+                        writeString(fk.getName());
+                        writeString(fk.getFromTable());
+                        writeStrings(fk.getFromColumns());
+                        writeString(fk.getToTable());
+                        writeStrings(fk.getToColumns());
+                        writeString(fk.getOnDelete());
+                        writeString(fk.getOnUpdate());
+                        writeString(fk.getRelationType() != null ? fk.getRelationType().name() : null);
+                        writeByte(fk.isInferred() ? 1 : 0);
+                    }
+                }
+                
+                writeSize(table.getIndexes());
+                if (table.getIndexes() != null) {
+                    for (IndexModel index : table.getIndexes()) {
+                        writeString(index.getName());
+                        writeStrings(index.getColumns());
+                        writeByte(index.isUnique() ? 1 : 0);
+                        writeString(index.getIndexType());
+                    }
+                }
+            }
+        }
+        
+        private void writeColumns(List<ColumnModel> columns) {
+            writeSize(columns);
+            if (columns == null) {
+                return;
+            }
+            for (ColumnModel column : columns) {
+                writeString(column.getName());
+                writeString(column.getType());
+                writeString(column.getRawType());
+                writeNullableInt(column.getLength());
+                writeNullableInt(column.getPrecision());
+                writeNullableInt(column.getScale());
+                writeByte((column.isNullable() ? 1 : 0) | (column.isPrimaryKeyPart() ? 2 : 0)
+                        | (column.isAutoIncrement() ? 4 : 0));
+                writeString(column.getDefaultValue());
+                writeString(column.getComment());
+            }
+        }
+        
+        private void writeStrings(List<String> values) {
+            writeSize(values);
+            if (values != null) {
+                for (String value : values) {
+                    writeString(value);
+                }
+            }
+        }
+        
+        /**
+         * 集合大小：0 表示 null，否则为大小 + 1
+         */
+        private void writeSize(Collection<?> values) {
+            writeVarInt(values == null ? 0 : values.size() + 1);
+        }
+        
+        /**
+         * 字符串：0 表示 null，1 表示紧跟 UTF-8 原文（同时登记到字典），n ≥ 2 表示字典中第 n - 2 项
+         */
+        private void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            Integer index = dictionary.get(value);
+            if (index != null) {
+                writeVarInt(index + 2);
+                return;
+            }
+            dictionary.put(value, dictionary.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(1);
+            writeVarInt(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+        }
+        
+        /**
+         * 可空整数：0 表示 null，否则为 ZigZag 编码后 + 1
+         */
+        private void writeNullableInt(Integer value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            int v = value;
+            writeVarLong(((long) ((v << 1) ^ (v >> 31)) & 0xFFFFFFFFL) + 1);
+        }
+        
+        private void writeByte(int value) {
+            ensure(1);
+            buffer[length++] = (byte) value;
+        }
+        
+        private void writeVarInt(int value) {
+            ensure(5);
+            length = writeVarInt(buffer, length, value);
+        }
+        
+        private void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[length++] = (byte) value;
+        }
+        
+        private static int writeVarInt(byte[] out, int position, int value) {
+            while ((value & ~0x7F) != 0) {
+                out[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out[position++] = (byte) value;
+            return position;
+        }
+        
+        private void ensure(int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+            }
+        }
+    }
+    
+    /**
+     * 解码器：按写入顺序读取，遇到新字符串时追加到字典
+     */
+    private static final class Reader {
+        
+        private final byte[] data;
+        private int position;
+        private final List<String> dictionary = new ArrayList<>();
+        
+        Reader(byte[] data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+        
+        ParseResult readResult() {
+            int flags = readByte();
+            ParseResult result = new ParseResult();
+            result.setSuccess((flags & 1) != 0);
+            result.setPartial((flags & 2) != 0);
+            result.setMessage(readString());
+            result.setWarnings(readStrings());
+            result.setErrors(readStrings());
+            if ((flags & 4) != 0) {
+                result.setDatabaseModel(readDatabase());
+            }
+            return result;
+        }
+        
+        DatabaseModel readDatabase() {
+            DatabaseModel model = new DatabaseModel();
+            model.setDbType(readString());
+            model.setSchemaName(readString());
+            model.setTables(readTables());
+            
+            int viewCount = readSize();
+            List<ViewModel> views = viewCount < 0 ? null : new ArrayList<>(viewCount);
+            for (int i = 0; i < viewCount; i++) {
+                ViewModel view = new ViewModel();
+                view.setName(readString());
+                view.setComment(readString());
+                view.setColumns(readColumns());
+                view.setDefinition(readString());
+                views.add(view);
+            }
+            model.setViews(views);
+            
+            int metadataCount = readSize();
+            Map<String, String> metadata = metadataCount < 0 ? null : new LinkedHashMap<>();
+            for (int i = 0; i < metadataCount; i++) {
+                metadata.put(readString(), readString());
+            }
+            model.setMetadata(metadata);
+            return model;
+        }
+        
+        List<TableModel> readTables() {
+            int tableCount = readSize();
+            if (tableCount < 0) {
+                return null;
+            }
+            List<TableModel> tables = new ArrayList<>(tableCount);
+            for (int i = 0; i < tableCount; i++) {
+                TableModel table = new TableModel();
+                table.setName(readString());
+                table.setComment(readString());
+                table.setTableType(readString());
+                table.setColumns(readColumns());
+                
+                if (readByte() != 0) {
+                    table.setPrimaryKey(new PrimaryKeyModel(readString(), readStrings()));
+                }
+                
+                int fkCount = readSize();
+                List<ForeignKeyModel> foreignKeys = fkCount < 0 ? null : new ArrayList<>(fkCount);
+                for (int j = 0; j < fkCount; j++) {
+                    ForeignKeyModel fk = new ForeignKeyModel();
+                    fk.setName(readString());
+                    fk.setFromTable(readString());
+                    fk.setFromColumns(readStrings());
+                    fk.setToTable(readString());
+                    fk.setToColumns(readStrings());
+                    fk.setOnDelete(readString());
+                    fk.setOnUpdate(readString());
+                    fk.setRelationType(relationType(readString()));
+                    fk.setInferred(readByte() != 0);
+                    foreignKeys.add(fk);
+                }
+                table.setForeignKeys(foreignKeys);
+                
+                int indexCount = readSize();
+                List<IndexModel> indexes = indexCount < 0 ? null : new ArrayList<>(indexCount);
+                for (int j = 0; j < indexCount; j++) {
+                    IndexModel index = new IndexModel();
+                    index.setName(readString());
+                    index.setColumns(readStrings());
+                    index.setUnique(readByte() != 0);
+                    index.setIndexType(readString());
+                    indexes.add(index);
+                }
+                table.setIndexes(indexes);
+                tables.add(table);
+            }
+            return tables;
+        }
+        
+        private List<ColumnModel> readColumns() {
+            int columnCount = readSize();
+            if (columnCount < 0) {
+                return null;
+            }
+            List<ColumnModel> columns = new ArrayList<>(columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                ColumnModel column = new ColumnModel();
+                column.setName(readString());
+                column.setType(readString());
+                column.setRawType(readString());
+                column.setLength(readNullableInt());
+                column.setPrecision(readNullableInt());
+                column.setScale(readNullableInt());
+                int flags = readByte();
+                column.setNullable((flags & 1) != 0);
+                column.setPrimaryKeyPart((flags & 2) != 0);
+                column.setAutoIncrement((flags & 4) != 0);
+                column.setDefaultValue(readString());
+                column.setComment(readString());
+                columns.add(column);
+            }
+            return columns;
+        }
+        
+        private List<String> readStrings() {
+            int size = readSize();
+            if (size < 0) {
+                return null;
+            }
+            List<String> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+        
+        /**
+         * 读取集合大小，null 返回 -1
+         */
+        private int readSize() {
+            int size = readVarInt() - 1;
+            // 每个元素至少占 1 字节，超出剩余长度说明数据已损坏
+            if (size > data.length - position) {
+                throw corrupted();
+            }
+            return size;
+        }
+        
+        private String readString() {
+            int code = readVarInt();
+            if (code == 0) {
+                return null;
+            }
+            if (code >= 2) {
+                if (code - 2 >= dictionary.size()) {
+                    throw corrupted();
+                }
+                return dictionary.get(code - 2);
+            }
+            int length = readVarInt();
+            if (length < 0 || length > data.length - position) {
+                throw corrupted();
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            dictionary.add(value);
+            return value;
+        }
+        
+        private Integer readNullableInt() {
+            long encoded = readVarLong();
+            if (encoded == 0) {
+                return null;
+            }
+            int zigzag = (int) (encoded - 1);
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+        
+        private int readByte() {
+            if (position >= data.length) {
+                throw corrupted();
+            }
+            return data[position++] & 0xFF;
+        }
+        
+        private int readVarInt() {
+            long value = readVarLong();
+            if (value > Integer.MAX_VALUE) {
+                throw corrupted();
+            }
+            return (int) value;
+        }
+        
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw corrupted();
+        }
+        
+        private static RelationType relationType(String name) {
+            if (name == null) {
+                return null;
+            }
+            try {
+                return RelationType.valueOf(name);
+            } catch (IllegalArgumentException e) {
+                // 新版本写入的未知关系类型按未设置处理
+                return null;
+            }
+        }
+        
+        private static IllegalArgumentException corrupted() {
+            return new IllegalArgumentException("Schema 二进制数据已损坏");
+        }
+    }
+}
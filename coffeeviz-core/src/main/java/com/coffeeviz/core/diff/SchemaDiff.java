@@ -0,0 +1,145 @@
+package com.coffeeviz.core.diff;
+
+import com.coffeeviz.core.model.ColumnModel;
+import com.coffeeviz.core.model.ForeignKeyModel;
+import com.coffeeviz.core.model.IndexModel;
+import com.coffeeviz.core.model.TableModel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 两个数据库模型之间的结构差异（只包含变化的部分）
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@Data
+public class SchemaDiff {
+    
+    /**
+     * 新增的表（按新模型中的顺序）
+     */
+    private List<TableModel> addedTables = new ArrayList<>();
+    
+    /**
+     * 删除的表名（按旧模型中的顺序）
+     */
+    private List<String> removedTables = new ArrayList<>();
+    
+    /**
+     * 修改过的表（按新模型中的顺序）
+     */
+    private List<TableDiff> modifiedTables = new ArrayList<>();
+    
+    /**
+     * 未变化的表数量
+     */
+    private int unchangedTableCount;
+    
+    /**
+     * 是否有任何变化
+     */
+    public boolean hasChanges() {
+        return !addedTables.isEmpty() || !removedTables.isEmpty() || !modifiedTables.isEmpty();
+    }
+    
+    /**
+     * 单张表的差异
+     */
+    @Data
+    public static class TableDiff {
+        
+        /**
+         * 表名（新模型中的名称）
+         */
+        private String tableName;
+        
+        /**
+         * 表注释变化（未变化时为 null）
+         */
+        private Change<String> comment;
+        
+        /**
+         * 新增的列
+         */
+        private List<ColumnModel> addedColumns = new ArrayList<>();
+        
+        /**
+         * 删除的列
+         */
+        private List<ColumnModel> removedColumns = new ArrayList<>();
+        
+        /**
+         * 修改过的列（类型、长度、可空、默认值、注释等任一属性变化）
+         */
+        private List<Change<ColumnModel>> modifiedColumns = new ArrayList<>();
+        
+        /**
+         * 新增的索引
+         */
+        private List<IndexModel> addedIndexes = new ArrayList<>();
+        
+        /**
+         * 删除的索引
+         */
+        private List<IndexModel> removedIndexes = new ArrayList<>();
+        
+        /**
+         * 修改过的索引
+         */
+        private List<Change<IndexModel>> modifiedIndexes = new ArrayList<>();
+        
+        /**
+         * 新增的外键
+         */
+        private List<ForeignKeyModel> addedForeignKeys = new ArrayList<>();
+        
+        /**
+         * 删除的外键
+         */
+        private List<ForeignKeyModel> removedForeignKeys = new ArrayList<>();
+        
+        /**
+         * 修改过的外键（名称、级联规则、关系类型等变化）
+         */
+        private List<Change<ForeignKeyModel>> modifiedForeignKeys = new ArrayList<>();
+        
+        /**
+         * 是否有任何变化
+         */
+        public boolean hasChanges() {
+            return comment != null
+                    || !addedColumns.isEmpty() || !removedColumns.isEmpty() || !modifiedColumns.isEmpty()
+                    || !addedIndexes.isEmpty() || !removedIndexes.isEmpty() || !modifiedIndexes.isEmpty()
+                    || !addedForeignKeys.isEmpty() || !removedForeignKeys.isEmpty() || !modifiedForeignKeys.isEmpty();
+        }
+    }
+    
+    /**
+     * 同一对象修改前后的值
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Change<T> {
+        
+        /**
+         * 对象名称（列名、索引名或外键描述）
+         */
+        private String name;
+        
+        /**
+         * 修改前
+         */
+        private T before;
+        
+        /**
+         * 修改后
+         */
+        private T after;
+    }
+}
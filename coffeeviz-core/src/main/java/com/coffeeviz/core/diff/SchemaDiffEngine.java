@@ -0,0 +1,177 @@
+package com.coffeeviz.core.diff;
+
+import com.coffeeviz.core.model.ColumnModel;
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.ForeignKeyModel;
+import com.coffeeviz.core.model.IndexModel;
+import com.coffeeviz.core.model.TableModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Schema 差异引擎
+ * 表、列、索引、外键都按哈希后的身份标识配对（表名、列名忽略大小写；索引按名称，无名称时按列；
+ * 外键按“来源列 → 目标表(目标列)”），先为旧模型建哈希索引，再单遍扫描新模型，整体为线性时间。
+ * 结构完全相同的表在比较整表后直接跳过，不逐项比对；列顺序变化不视为差异
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SchemaDiffEngine {
+    
+    /**
+     * 比较两个数据库模型
+     * 
+     * @param base 旧模型（为 null 时视为空模型）
+     * @param target 新模型（为 null 时视为空模型）
+     * @return 差异（只包含变化的部分）
+     */
+    public SchemaDiff diff(DatabaseModel base, DatabaseModel target) {
+        long startTime = System.currentTimeMillis();
+        List<TableModel> baseTables = base != null && base.getTables() != null ? base.getTables() : List.of();
+        List<TableModel> targetTables = target != null && target.getTables() != null ? target.getTables() : List.of();
+        
+        Map<String, Integer> baseIndex = new HashMap<>(Math.max(16, baseTables.size() * 4 / 3 + 1));
+        for (int i = 0; i < baseTables.size(); i++) {
+            baseIndex.putIfAbsent(key(baseTables.get(i).getName()), i);
+        }
+        
+        SchemaDiff diff = new SchemaDiff();
+        boolean[] matched = new boolean[baseTables.size()];
+        for (TableModel table : targetTables) {
+            Integer position = baseIndex.get(key(table.getName()));
+            if (position == null || matched[position]) {
+                diff.getAddedTables().add(table);
+                continue;
+            }
+            matched[position] = true;
+            SchemaDiff.TableDiff tableDiff = diffTable(baseTables.get(position), table);
+            if (tableDiff != null) {
+                diff.getModifiedTables().add(tableDiff);
+            } else {
+                diff.setUnchangedTableCount(diff.getUnchangedTableCount() + 1);
+            }
+        }
+        for (int i = 0; i < baseTables.size(); i++) {
+            if (!matched[i]) {
+                diff.getRemovedTables().add(baseTables.get(i).getName());
+            }
+        }
+        
+        log.info("Schema 差异比较完成，耗时: {}ms，新增 {} 张表，删除 {} 张表，修改 {} 张表",
+                System.currentTimeMillis() - startTime, diff.getAddedTables().size(),
+                diff.getRemovedTables().size(), diff.getModifiedTables().size());
+        return diff;
+    }
+    
+    /**
+     * 比较同一张表的两个版本，没有差异时返回 null
+     */
+    private SchemaDiff.TableDiff diffTable(TableModel before, TableModel after) {
+        if (before.equals(after)) {
+            return null;
+        }
+        SchemaDiff.TableDiff tableDiff = new SchemaDiff.TableDiff();
+        tableDiff.setTableName(after.getName());
+        if (!Objects.equals(before.getComment(), after.getComment())) {
+            tableDiff.setComment(new SchemaDiff.Change<>(after.getName(), before.getComment(), after.getComment()));
+        }
+        diffElements(before.getColumns(), after.getColumns(), column -> key(column.getName()), ColumnModel::getName,
+                tableDiff.getAddedColumns(), tableDiff.getRemovedColumns(), tableDiff.getModifiedColumns());
+        diffElements(before.getIndexes(), after.getIndexes(), SchemaDiffEngine::indexIdentity, IndexModel::getName,
+                tableDiff.getAddedIndexes(), tableDiff.getRemovedIndexes(), tableDiff.getModifiedIndexes());
+        diffElements(before.getForeignKeys(), after.getForeignKeys(), SchemaDiffEngine::foreignKeyIdentity,
+                SchemaDiffEngine::foreignKeyIdentity,
+                tableDiff.getAddedForeignKeys(), tableDiff.getRemovedForeignKeys(), tableDiff.getModifiedForeignKeys());
+        // 只有列顺序或主键定义等不参与比对的属性变化时不算修改
+        return tableDiff.hasChanges() ? tableDiff : null;
+    }
+    
+    /**
+     * 按身份标识配对两组元素：新组中找不到的为新增，旧组中未被配对的为删除，配对但不相等的为修改
+     */
+    private <T> void diffElements(List<T> before, List<T> after, Function<T, String> identity, Function<T, String> name,
+                                  List<T> added, List<T> removed, List<SchemaDiff.Change<T>> modified) {
+        List<T> beforeList = before != null ? before : List.of();
+        List<T> afterList = after != null ? after : List.of();
+        Map<String, Integer> index = new HashMap<>(Math.max(16, beforeList.size() * 4 / 3 + 1));
+        for (int i = 0; i < beforeList.size(); i++) {
+            index.putIfAbsent(identity.apply(beforeList.get(i)), i);
+        }
+        boolean[] matched = new boolean[beforeList.size()];
+        for (T element : afterList) {
+            Integer position = index.get(identity.apply(element));
+            if (position == null || matched[position]) {
+                added.add(element);
+                continue;
+            }
+            matched[position] = true;
+            T previous = beforeList.get(position);
+            if (!previous.equals(element)) {
+                modified.add(new SchemaDiff.Change<>(name.apply(element), previous, element));
+            }
+        }
+        for (int i = 0; i < beforeList.size(); i++) {
+            if (!matched[i]) {
+                removed.add(beforeList.get(i));
+            }
+        }
+    }
+    
+    /**
+     * 索引身份：有名称时按名称，否则按列
+     */
+    private static String indexIdentity(IndexModel index) {
+        if (index.getName() != null && !index.getName().isEmpty()) {
+            return key(index.getName());
+        }
+        return "(" + joinKeys(index.getColumns()) + ")";
+    }
+    
+    /**
+     * 外键身份：来源列 → 目标表(目标列)，外键改名视为修改而不是删除后新增
+     */
+    private static String foreignKeyIdentity(ForeignKeyModel fk) {
+        return joinKeys(fk.getFromColumns()) + " -> " + key(fk.getToTable()) + "(" + joinKeys(fk.getToColumns()) + ")";
+    }
+    
+    private static String joinKeys(List<String> names) {
+        if (names == null || names.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < names.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(key(names.get(i)));
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * 名称统一为小写并去掉引号
+     */
+    private static String key(String name) {
+        if (name == null) {
+            return "";
+        }
+        String lower = name.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c == '`' || c == '"' || c == '[' || c == ']') {
+                return lower.replace("`", "").replace("\"", "").replace("[", "").replace("]", "");
+            }
+        }
+        return lower;
+    }
+}
@@ -0,0 +1,193 @@
+package com.coffeeviz.core.graph;
+
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.ForeignKeyModel;
+import com.coffeeviz.core.model.TableModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 表关系图
+ * 表按在模型中的顺序编号，外键关系视为无向边，以邻接数组（CSR：偏移数组 + 邻居数组）存储；
+ * 每个 DatabaseModel 只构建一次（见 {@link DatabaseModel#relationGraph()}），之后的邻域查询只做数组遍历
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+public final class RelationGraph {
+    
+    private final List<TableModel> tables;
+    private final Map<TableModel, Integer> ids;
+    private final DatabaseModel model;
+    
+    /**
+     * 第 i 张表的邻居为 neighbors[offsets[i]] ~ neighbors[offsets[i + 1] - 1]
+     */
+    private final int[] offsets;
+    private final int[] neighbors;
+    
+    private RelationGraph(DatabaseModel model, List<TableModel> tables) {
+        this.model = model;
+        this.tables = tables;
+        int n = tables.size();
+        this.ids = new IdentityHashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            ids.putIfAbsent(tables.get(i), i);
+        }
+        
+        // 第一遍统计度数，第二遍填充邻居
+        int[] from = new int[16];
+        int[] to = new int[16];
+        int edges = 0;
+        int[] degree = new int[n];
+        for (int i = 0; i < n; i++) {
+            List<ForeignKeyModel> foreignKeys = tables.get(i).getForeignKeys();
+            if (foreignKeys == null) {
+                continue;
+            }
+            for (ForeignKeyModel fk : foreignKeys) {
+                TableModel target = model.findTable(fk.getToTable());
+                Integer j = target != null ? ids.get(target) : null;
+                if (j == null || j == i) {
+                    continue;
+                }
+                if (edges == from.length) {
+                    from = Arrays.copyOf(from, edges * 2);
+                    to = Arrays.copyOf(to, edges * 2);
+                }
+                from[edges] = i;
+                to[edges] = j;
+                edges++;
+                degree[i]++;
+                degree[j]++;
+            }
+        }
+        this.offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + degree[i];
+        }
+        this.neighbors = new int[offsets[n]];
+        int[] cursor = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < edges; e++) {
+            neighbors[cursor[from[e]]++] = to[e];
+            neighbors[cursor[to[e]]++] = from[e];
+        }
+    }
+    
+    /**
+     * 构建模型的关系图（通常应使用 {@link DatabaseModel#relationGraph()} 复用已构建的图）
+     */
+    public static RelationGraph build(DatabaseModel model) {
+        List<TableModel> tables = model.getTables() != null ? model.getTables() : List.of();
+        return new RelationGraph(model, tables);
+    }
+    
+    /**
+     * 表数量
+     */
+    public int size() {
+        return tables.size();
+    }
+    
+    /**
+     * 表编号（按表名查找，忽略大小写与引号），不存在时返回 -1
+     */
+    public int idOf(String tableName) {
+        TableModel table = model.findTable(tableName);
+        Integer id = table != null ? ids.get(table) : null;
+        return id != null ? id : -1;
+    }
+    
+    /**
+     * 按编号取表
+     */
+    public TableModel table(int id) {
+        return tables.get(id);
+    }
+    
+    /**
+     * 与指定表直接相连的表数量（引用它的和它引用的，按外键计）
+     */
+    public int degree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+    
+    /**
+     * 第 id 张表的邻居在邻居数组中的起始位置（与 {@link #neighborEnd(int)}、{@link #neighborAt(int)} 配合遍历）
+     */
+    int neighborStart(int id) {
+        return offsets[id];
+    }
+    
+    int neighborEnd(int id) {
+        return offsets[id + 1];
+    }
+    
+    int neighborAt(int position) {
+        return neighbors[position];
+    }
+    
+    /**
+     * 邻居数组长度（每条边计两次）
+     */
+    int neighborSlots() {
+        return neighbors.length;
+    }
+    
+    /**
+     * 从焦点表出发做多源 BFS，返回距离不超过 depth 的表编号集合
+     * 
+     * @param focusTables 焦点表名（不存在的表忽略）
+     * @param depth 最大跳数（0 表示只包含焦点表，小于 0 按 0 处理）
+     */
+    public BitSet neighborhood(Collection<String> focusTables, int depth) {
+        int n = tables.size();
+        BitSet visited = new BitSet(n);
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (String name : focusTables) {
+            int id = idOf(name);
+            if (id >= 0 && !visited.get(id)) {
+                visited.set(id);
+                queue[tail++] = id;
+            }
+        }
+        // 逐层扩展，levelEnd 标记当前层在队列中的结束位置
+        for (int level = 0; level < depth && head < tail; level++) {
+            int levelEnd = tail;
+            while (head < levelEnd) {
+                int current = queue[head++];
+                for (int k = offsets[current]; k < offsets[current + 1]; k++) {
+                    int next = neighbors[k];
+                    if (!visited.get(next)) {
+                        visited.set(next);
+                        queue[tail++] = next;
+                    }
+                }
+            }
+        }
+        return visited;
+    }
+    
+    /**
+     * 提取焦点表 depth 跳以内的表，保持模型中的原始顺序
+     * 
+     * @param focusTables 焦点表名
+     * @param depth 最大跳数
+     */
+    public List<TableModel> extract(Collection<String> focusTables, int depth) {
+        BitSet selected = neighborhood(focusTables, depth);
+        List<TableModel> result = new ArrayList<>(selected.cardinality());
+        for (int id = selected.nextSetBit(0); id >= 0; id = selected.nextSetBit(id + 1)) {
+            result.add(tables.get(id));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,71 @@
+package com.coffeeviz.core.graph;
+
+import com.coffeeviz.core.model.TableModel;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schema 拆分结果：若干子图（簇）及簇之间的外键关系汇总
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@Data
+public class SchemaPartition {
+    
+    /**
+     * 簇列表（按簇中第一张表在模型中的位置排序）
+     */
+    private List<Cluster> clusters = new ArrayList<>();
+    
+    /**
+     * 簇之间的关系（引用方簇 → 被引用方簇）
+     */
+    private List<ClusterEdge> edges = new ArrayList<>();
+    
+    /**
+     * 子图
+     */
+    @Data
+    public static class Cluster {
+        
+        /**
+         * 簇序号（从 1 开始）
+         */
+        private int index;
+        
+        /**
+         * 簇名称（分组提示 + 关系最多的表名）
+         */
+        private String name;
+        
+        /**
+         * 簇内的表（保持模型中的原始顺序）
+         */
+        private List<TableModel> tables = new ArrayList<>();
+    }
+    
+    /**
+     * 簇之间的外键汇总
+     */
+    @Data
+    public static class ClusterEdge {
+        
+        /**
+         * 引用方簇序号
+         */
+        private int from;
+        
+        /**
+         * 被引用方簇序号
+         */
+        private int to;
+        
+        /**
+         * 外键数量
+         */
+        private int relationCount;
+    }
+}
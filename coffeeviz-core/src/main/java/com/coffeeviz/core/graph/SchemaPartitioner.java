@@ -0,0 +1,358 @@
+package com.coffeeviz.core.graph;
+
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.ForeignKeyModel;
+import com.coffeeviz.core.model.RenderOptions;
+import com.coffeeviz.core.model.TableModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 大型 Schema 自动拆分
+ * 在外键关系图上做标签传播社区发现，把联系紧密的表分到同一个子图；
+ * groupBySchema / tablePrefix 作为分组提示，不同分组的表不会进入同一个子图。
+ * 超过大小上限的社区按 BFS 顺序切分，过小的社区并入联系最多的相邻社区或打包成“其他”子图
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SchemaPartitioner {
+    
+    /**
+     * 标签传播最大迭代次数
+     */
+    private static final int MAX_ITERATIONS = 20;
+    
+    /**
+     * 拆分数据库模型
+     * 
+     * @param model 数据库模型
+     * @param options 渲染选项（使用其中的 groupBySchema、tablePrefix 作为分组提示）
+     * @param maxTables 每个子图的表数量上限
+     * @return 拆分结果
+     */
+    public SchemaPartition partition(DatabaseModel model, RenderOptions options, int maxTables) {
+        RelationGraph graph = model.relationGraph();
+        int n = graph.size();
+        int limit = Math.max(1, maxTables);
+        
+        // 1. 分组提示
+        int[] hint = new int[n];
+        List<String> hintKeys = new ArrayList<>();
+        Map<String, Integer> hintIds = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            String key = hintKey(graph.table(i).getName(), options);
+            hint[i] = hintIds.computeIfAbsent(key, k -> {
+                hintKeys.add(k);
+                return hintKeys.size() - 1;
+            });
+        }
+        
+        // 2. 社区发现、切分过大社区、合并过小社区
+        int[] label = propagateLabels(graph, hint);
+        List<BitSet> communities = splitOversized(graph, collect(label, n), limit);
+        int[] cluster = mergeUndersized(graph, hint, communities, limit);
+        
+        // 3. 汇总结果
+        SchemaPartition partition = new SchemaPartition();
+        Map<Integer, SchemaPartition.Cluster> byCluster = new LinkedHashMap<>();
+        int[] clusterIndex = new int[n];
+        int[] hub = new int[n + 1];
+        Arrays.fill(hub, -1);
+        for (int i = 0; i < n; i++) {
+            SchemaPartition.Cluster c = byCluster.get(cluster[i]);
+            if (c == null) {
+                c = new SchemaPartition.Cluster();
+                c.setIndex(byCluster.size() + 1);
+                byCluster.put(cluster[i], c);
+                partition.getClusters().add(c);
+            }
+            c.getTables().add(graph.table(i));
+            clusterIndex[i] = c.getIndex();
+            int current = hub[c.getIndex()];
+            if (current < 0 || graph.degree(i) > graph.degree(current)) {
+                hub[c.getIndex()] = i;
+            }
+        }
+        for (SchemaPartition.Cluster c : partition.getClusters()) {
+            int h = hub[c.getIndex()];
+            String key = hintKeys.get(hint[h]);
+            c.setName(key.isEmpty() ? graph.table(h).getName() : key + ":" + graph.table(h).getName());
+        }
+        partition.setEdges(clusterEdges(graph, clusterIndex));
+        
+        log.info("Schema 拆分完成：{} 张表分为 {} 个子图（上限 {} 张），子图间关系 {} 条",
+                n, partition.getClusters().size(), limit, partition.getEdges().size());
+        return partition;
+    }
+    
+    /**
+     * 分组提示键：按 Schema 分组时取 schema 前缀，指定表前缀时以该前缀开头的表单独成组
+     */
+    private String hintKey(String tableName, RenderOptions options) {
+        if (options == null || tableName == null) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder();
+        String name = tableName;
+        int dot = tableName.lastIndexOf('.');
+        if (options.isGroupBySchema() && dot > 0) {
+            key.append(tableName, 0, dot);
+            name = tableName.substring(dot + 1);
+        }
+        String prefix = options.getTablePrefix();
+        if (prefix != null && !prefix.isEmpty() && name.regionMatches(true, 0, prefix, 0, prefix.length())) {
+            if (key.length() > 0) {
+                key.append('/');
+            }
+            key.append(prefix);
+        }
+        return key.toString();
+    }
+    
+    /**
+     * 标签传播：每张表反复采用同一分组内邻居中权重最高的标签，直到稳定
+     * 边的权重为 1 + 两端的共同邻居数，同一业务模块内的表彼此引用更密集，权重更高；
+     * 按表顺序依次更新，平票时保留当前标签或取较小标签，结果可复现
+     */
+    private int[] propagateLabels(RelationGraph graph, int[] hint) {
+        int n = graph.size();
+        int[] weight = edgeWeights(graph);
+        int[] label = new int[n];
+        for (int i = 0; i < n; i++) {
+            label[i] = i;
+        }
+        int[] counts = new int[n];
+        int[] touched = new int[n];
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            int changed = 0;
+            for (int i = 0; i < n; i++) {
+                int touchedCount = 0;
+                for (int k = graph.neighborStart(i); k < graph.neighborEnd(i); k++) {
+                    int j = graph.neighborAt(k);
+                    if (hint[j] != hint[i]) {
+                        continue;
+                    }
+                    if (counts[label[j]] == 0) {
+                        touched[touchedCount++] = label[j];
+                    }
+                    counts[label[j]] += weight[k];
+                }
+                if (touchedCount == 0) {
+                    continue;
+                }
+                // 当前标签已是最常见标签之一时保留，否则取最常见标签中最小的
+                int best = label[i];
+                int bestCount = counts[best];
+                for (int t = 0; t < touchedCount; t++) {
+                    int candidate = touched[t];
+                    if (counts[candidate] > bestCount
+                            || counts[candidate] == bestCount && best != label[i] && candidate < best) {
+                        best = candidate;
+                        bestCount = counts[candidate];
+                    }
+                }
+                for (int t = 0; t < touchedCount; t++) {
+                    counts[touched[t]] = 0;
+                }
+                if (best != label[i]) {
+                    label[i] = best;
+                    changed++;
+                }
+            }
+            if (changed == 0) {
+                break;
+            }
+        }
+        return label;
+    }
+    
+    /**
+     * 计算每条边（按邻居数组位置）的权重：1 + 共同邻居数
+     */
+    private int[] edgeWeights(RelationGraph graph) {
+        int n = graph.size();
+        int[] weight = new int[graph.neighborSlots()];
+        int[] stamp = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (int k = graph.neighborStart(i); k < graph.neighborEnd(i); k++) {
+                stamp[graph.neighborAt(k)] = i + 1;
+            }
+            for (int k = graph.neighborStart(i); k < graph.neighborEnd(i); k++) {
+                int j = graph.neighborAt(k);
+                int common = 0;
+                for (int m = graph.neighborStart(j); m < graph.neighborEnd(j); m++) {
+                    if (stamp[graph.neighborAt(m)] == i + 1) {
+                        common++;
+                    }
+                }
+                weight[k] = 1 + common;
+            }
+        }
+        return weight;
+    }
+    
+    private List<BitSet> collect(int[] label, int n) {
+        Map<Integer, BitSet> byLabel = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            byLabel.computeIfAbsent(label[i], k -> new BitSet(n)).set(i);
+        }
+        return new ArrayList<>(byLabel.values());
+    }
+    
+    /**
+     * 按 BFS 顺序（从关系最多的表开始）切分超过上限的社区，使每块尽量连通
+     */
+    private List<BitSet> splitOversized(RelationGraph graph, List<BitSet> communities, int limit) {
+        List<BitSet> result = new ArrayList<>();
+        int n = graph.size();
+        int[] queue = new int[n];
+        for (BitSet community : communities) {
+            if (community.cardinality() <= limit) {
+                result.add(community);
+                continue;
+            }
+            BitSet remaining = (BitSet) community.clone();
+            BitSet chunk = new BitSet(n);
+            while (!remaining.isEmpty()) {
+                int start = -1;
+                for (int i = remaining.nextSetBit(0); i >= 0; i = remaining.nextSetBit(i + 1)) {
+                    if (start < 0 || graph.degree(i) > graph.degree(start)) {
+                        start = i;
+                    }
+                }
+                int head = 0;
+                int tail = 0;
+                queue[tail++] = start;
+                remaining.clear(start);
+                while (head < tail) {
+                    int current = queue[head++];
+                    chunk.set(current);
+                    if (chunk.cardinality() == limit) {
+                        result.add(chunk);
+                        chunk = new BitSet(n);
+                    }
+                    for (int k = graph.neighborStart(current); k < graph.neighborEnd(current); k++) {
+                        int next = graph.neighborAt(k);
+                        if (remaining.get(next)) {
+                            remaining.clear(next);
+                            queue[tail++] = next;
+                        }
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                result.add(chunk);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 把过小的社区并入同一分组内联系最多且仍有容量的社区，否则按分组打包成“其他”子图
+     * 
+     * @return 每张表所属的簇编号
+     */
+    private int[] mergeUndersized(RelationGraph graph, int[] hint, List<BitSet> communities, int limit) {
+        int n = graph.size();
+        int count = communities.size();
+        int smallSize = Math.max(2, limit / 5);
+        int[] cluster = new int[n];
+        List<List<Integer>> members = new ArrayList<>(count);
+        for (int c = 0; c < count; c++) {
+            BitSet community = communities.get(c);
+            List<Integer> list = new ArrayList<>(community.cardinality());
+            for (int i = community.nextSetBit(0); i >= 0; i = community.nextSetBit(i + 1)) {
+                cluster[i] = c;
+                list.add(i);
+            }
+            members.add(list);
+        }
+        
+        // “其他”子图：分组提示 → 当前打包中的簇编号
+        Map<Integer, Integer> bins = new HashMap<>();
+        int[] links = new int[count];
+        for (int c = 0; c < count; c++) {
+            List<Integer> own = members.get(c);
+            if (own.isEmpty() || own.size() >= smallSize) {
+                continue;
+            }
+            int group = hint[own.get(0)];
+            
+            // 统计与同一分组内其他社区的关系数
+            List<Integer> neighbours = new ArrayList<>();
+            for (int i : own) {
+                for (int k = graph.neighborStart(i); k < graph.neighborEnd(i); k++) {
+                    int j = graph.neighborAt(k);
+                    int other = cluster[j];
+                    if (other != c && hint[j] == group && links[other]++ == 0) {
+                        neighbours.add(other);
+                    }
+                }
+            }
+            int target = -1;
+            for (int other : neighbours) {
+                if (members.get(other).size() + own.size() <= limit
+                        && (target < 0 || links[other] > links[target] || links[other] == links[target] && other < target)) {
+                    target = other;
+                }
+            }
+            neighbours.forEach(other -> links[other] = 0);
+            
+            if (target < 0) {
+                // 没有可并入的相邻社区：放入该分组的“其他”子图
+                Integer bin = bins.get(group);
+                if (bin == null || bin == c || members.get(bin).size() + own.size() > limit) {
+                    bins.put(group, c);
+                    continue;
+                }
+                target = bin;
+            }
+            for (int i : own) {
+                cluster[i] = target;
+            }
+            members.get(target).addAll(own);
+            members.set(c, new ArrayList<>());
+        }
+        return cluster;
+    }
+    
+    /**
+     * 汇总簇之间的外键（引用方簇 → 被引用方簇）
+     */
+    private List<SchemaPartition.ClusterEdge> clusterEdges(RelationGraph graph, int[] clusterIndex) {
+        Map<Long, SchemaPartition.ClusterEdge> edges = new LinkedHashMap<>();
+        for (int i = 0; i < graph.size(); i++) {
+            List<ForeignKeyModel> foreignKeys = graph.table(i).getForeignKeys();
+            if (foreignKeys == null) {
+                continue;
+            }
+            for (ForeignKeyModel fk : foreignKeys) {
+                int j = graph.idOf(fk.getToTable());
+                if (j < 0 || clusterIndex[j] == clusterIndex[i]) {
+                    continue;
+                }
+                long key = (long) clusterIndex[i] << 32 | clusterIndex[j];
+                SchemaPartition.ClusterEdge edge = edges.get(key);
+                if (edge == null) {
+                    edge = new SchemaPartition.ClusterEdge();
+                    edge.setFrom(clusterIndex[i]);
+                    edge.setTo(clusterIndex[j]);
+                    edges.put(key, edge);
+                }
+                edge.setRelationCount(edge.getRelationCount() + 1);
+            }
+        }
+        return new ArrayList<>(edges.values());
+    }
+}
@@ -1,13 +1,17 @@
 package com.coffeeviz.core.inference;
 
 import com.coffeeviz.core.enums.RelationType;
+import com.coffeeviz.core.model.ColumnModel;
 import com.coffeeviz.core.model.DatabaseModel;
 import com.coffeeviz.core.model.ForeignKeyModel;
 import com.coffeeviz.core.model.TableModel;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 
 /**
@@ -21,14 +25,33 @@ import java.util.Set;
 public class RelationInferenceEngine {
     
     /**
-     * 推断表之间的关系
+     * 推断表之间的关系（使用默认配置，不按命名约定推断外键）
      * 
      * @param model 数据库模型
      */
     public void inferRelations(DatabaseModel model) {
+        inferRelations(model, InferenceConfig.builder().build());
+    }
+    
+    /**
+     * 推断表之间的关系
+     * 
+     * @param model 数据库模型
+     * @param config 推断配置
+     */
+    public void inferRelations(DatabaseModel model, InferenceConfig config) {
+        if (model == null || model.getTables() == null) {
+            return;
+        }
         log.info("开始推断表关系");
         
-        // 1. 推断显式外键关系类型
+        // 1. 按命名约定补充隐式外键
+        if (config.isEnableNamingConvention()) {
+            int inferred = inferByNamingConvention(model, config.getNamingConventionSuffix());
+            log.info("按命名约定推断出 {} 个隐式外键", inferred);
+        }
+        
+        // 2. 推断外键关系类型
         for (TableModel table : model.getTables()) {
             for (ForeignKeyModel fk : table.getForeignKeys()) {
                 RelationType type = inferRelationType(fk, table, model);
@@ -37,12 +60,88 @@ public class RelationInferenceEngine {
             }
         }
         
-        // 2. 识别 N:M 中间表
-        identifyJunctionTables(model);
+        // 3. 识别 N:M 中间表
+        if (config.isIdentifyJunctionTables()) {
+            identifyJunctionTables(model);
+        }
         
         log.info("关系推断完成");
     }
     
+    /**
+     * 按命名约定推断隐式外键：以后缀结尾的列（如 user_id）指向名称匹配的表（users、user、t_user 等）
+     * 先为所有表名建立哈希索引，每列只做常数次查找，耗时与表数、列数成线性关系
+     * 
+     * @param model 数据库模型
+     * @param suffix 命名约定后缀
+     * @return 新增的外键数量
+     */
+    private int inferByNamingConvention(DatabaseModel model, String suffix) {
+        if (suffix == null || suffix.isEmpty()) {
+            return 0;
+        }
+        String lowerSuffix = suffix.toLowerCase(Locale.ROOT);
+        TableNameIndex index = new TableNameIndex(model.getTables());
+        int inferred = 0;
+        
+        for (TableModel table : model.getTables()) {
+            if (table.getColumns() == null) {
+                continue;
+            }
+            List<ForeignKeyModel> added = null;
+            for (ColumnModel column : table.getColumns()) {
+                String name = column.getName();
+                if (name == null || name.length() <= suffix.length()
+                        || !name.regionMatches(true, name.length() - suffix.length(), lowerSuffix, 0, suffix.length())
+                        || table.isForeignKeyColumn(name)) {
+                    continue;
+                }
+                TableModel target = index.resolve(name.substring(0, name.length() - suffix.length()));
+                if (target == null || target == table && column.isPrimaryKeyPart()) {
+                    continue;
+                }
+                String targetColumn = referencedColumn(target);
+                if (targetColumn == null) {
+                    continue;
+                }
+                if (added == null) {
+                    added = new ArrayList<>();
+                }
+                added.add(ForeignKeyModel.builder()
+                        .name("inferred_" + table.getName() + "_" + name)
+                        .fromTable(table.getName())
+                        .fromColumns(new ArrayList<>(List.of(name)))
+                        .toTable(target.getName())
+                        .toColumns(new ArrayList<>(List.of(targetColumn)))
+                        .inferred(true)
+                        .build());
+            }
+            if (added != null) {
+                List<ForeignKeyModel> foreignKeys = table.getForeignKeys() != null
+                        ? new ArrayList<>(table.getForeignKeys()) : new ArrayList<>();
+                foreignKeys.addAll(added);
+                table.setForeignKeys(foreignKeys);
+                inferred += added.size();
+            }
+        }
+        if (inferred > 0) {
+            model.invalidateLookups();
+        }
+        return inferred;
+    }
+    
+    /**
+     * 隐式外键引用的目标列：单列主键，没有主键时使用 id 列
+     */
+    private String referencedColumn(TableModel target) {
+        if (target.getPrimaryKey() != null && target.getPrimaryKey().getColumns() != null) {
+            List<String> pkColumns = target.getPrimaryKey().getColumns();
+            return pkColumns.size() == 1 ? pkColumns.get(0) : null;
+        }
+        ColumnModel id = target.findColumn("id");
+        return id != null ? id.getName() : null;
+    }
+    
     /**
      * 推断关系类型
      * 
@@ -77,14 +176,7 @@ public class RelationInferenceEngine {
             // 1. 有且仅有 2 个外键
             // 2. 这两个外键的列组成主键
             if (table.getForeignKeys().size() == 2 && table.getPrimaryKey() != null) {
-                Set<String> fkColumns = new HashSet<>();
-                for (ForeignKeyModel fk : table.getForeignKeys()) {
-                    fkColumns.addAll(fk.getFromColumns());
-                }
-                
-                Set<String> pkColumns = new HashSet<>(table.getPrimaryKey().getColumns());
-                
-                if (fkColumns.equals(pkColumns)) {
+                if (isForeignKeyPrimaryKey(table)) {
                     table.setTableType("JUNCTION");
                     log.info("识别到中间表：{}", table.getName());
                     
@@ -96,4 +188,26 @@ public class RelationInferenceEngine {
             }
         }
     }
+    
+    /**
+     * 判断主键是否恰好由外键列组成（借助表的外键列索引，忽略大小写）
+     */
+    private boolean isForeignKeyPrimaryKey(TableModel table) {
+        Set<String> pkColumns = new HashSet<>();
+        for (String column : table.getPrimaryKey().getColumns()) {
+            if (!table.isForeignKeyColumn(column)) {
+                return false;
+            }
+            pkColumns.add(column.toLowerCase(Locale.ROOT));
+        }
+        // 外键列中不能有主键之外的列
+        for (ForeignKeyModel fk : table.getForeignKeys()) {
+            for (String column : fk.getFromColumns()) {
+                if (!pkColumns.contains(column.toLowerCase(Locale.ROOT))) {
+                    return false;
+                }
+            }
+        }
+        return !pkColumns.isEmpty();
+    }
 }
@@ -0,0 +1,138 @@
+package com.coffeeviz.core.inference;
+
+import com.coffeeviz.core.model.TableModel;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 命名约定推断用的表名哈希索引
+ * 每张表按优先级登记多个键：原表名、单数形式、去掉首段前缀（如 t_、sys_）后的名称及其单数形式；
+ * 同一个键被多张表以相同优先级登记时视为歧义，不参与匹配。
+ * 列名只需按自身及其单数形式查几次哈希表，不与每张表逐一比较
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+final class TableNameIndex {
+    
+    private static final int RANK_NAME = 0;
+    private static final int RANK_SINGULAR = 1;
+    private static final int RANK_STRIPPED = 2;
+    private static final int RANK_STRIPPED_SINGULAR = 3;
+    
+    private final Map<String, Candidate> candidates;
+    
+    TableNameIndex(List<TableModel> tables) {
+        this.candidates = new HashMap<>(Math.max(16, tables.size() * 6));
+        for (TableModel table : tables) {
+            String name = normalize(table.getName());
+            if (name.isEmpty()) {
+                continue;
+            }
+            register(name, table, RANK_NAME);
+            register(singular(name), table, RANK_SINGULAR);
+            int underscore = name.indexOf('_');
+            if (underscore > 0 && underscore < name.length() - 1) {
+                String stripped = name.substring(underscore + 1);
+                register(stripped, table, RANK_STRIPPED);
+                register(singular(stripped), table, RANK_STRIPPED_SINGULAR);
+            }
+        }
+    }
+    
+    /**
+     * 按列名中去掉后缀的部分（如 user_id 的 user）查找目标表
+     * 依次尝试完整名称和逐段去掉前面修饰词的名称（parent_category → category），取第一个无歧义的命中
+     * 
+     * @param stem 去掉命名约定后缀的列名
+     * @return 目标表，找不到或有歧义时返回 null
+     */
+    TableModel resolve(String stem) {
+        String name = normalize(stem);
+        int from = 0;
+        while (from < name.length()) {
+            String tail = from == 0 ? name : name.substring(from);
+            TableModel table = lookup(tail);
+            if (table != null) {
+                return table;
+            }
+            int next = name.indexOf('_', from);
+            if (next < 0) {
+                break;
+            }
+            from = next + 1;
+        }
+        return null;
+    }
+    
+    private TableModel lookup(String key) {
+        Candidate exact = candidates.get(key);
+        String singular = singular(key);
+        Candidate other = singular.equals(key) ? null : candidates.get(singular);
+        Candidate best = exact == null || other != null && other.rank < exact.rank ? other : exact;
+        return best != null && !best.ambiguous ? best.table : null;
+    }
+    
+    private void register(String key, TableModel table, int rank) {
+        Candidate existing = candidates.get(key);
+        if (existing == null || rank < existing.rank) {
+            candidates.put(key, new Candidate(table, rank));
+        } else if (rank == existing.rank && existing.table != table) {
+            existing.ambiguous = true;
+        }
+    }
+    
+    /**
+     * 英文复数转单数（只处理表名中常见的规则变化）
+     */
+    static String singular(String word) {
+        int length = word.length();
+        if (length > 3 && word.endsWith("ies")) {
+            return word.substring(0, length - 3) + "y";
+        }
+        if (length > 4 && (word.endsWith("sses") || word.endsWith("shes") || word.endsWith("ches")
+                || word.endsWith("xes") || word.endsWith("zes"))) {
+            return word.substring(0, length - 2);
+        }
+        if (length > 1 && word.endsWith("s")
+                && !word.endsWith("ss") && !word.endsWith("us") && !word.endsWith("is")) {
+            return word.substring(0, length - 1);
+        }
+        return word;
+    }
+    
+    /**
+     * 统一小写并去掉引号与 Schema 前缀
+     */
+    static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        int dot = name.lastIndexOf('.');
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = dot + 1; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '`' && c != '"' && c != '[' && c != ']') {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * 某个键对应的候选表
+     */
+    private static final class Candidate {
+        private final TableModel table;
+        private final int rank;
+        private boolean ambiguous;
+        
+        Candidate(TableModel table, int rank) {
+            this.table = table;
+            this.rank = rank;
+        }
+    }
+}
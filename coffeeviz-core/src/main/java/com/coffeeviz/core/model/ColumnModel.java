@@ -71,4 +71,12 @@ public class ColumnModel {
      * 是否自增
      */
     private boolean autoIncrement;
+    
+    /**
+     * 复制列模型
+     */
+    public ColumnModel copy() {
+        return new ColumnModel(name, type, rawType, length, precision, scale, nullable,
+                defaultValue, comment, primaryKeyPart, autoIncrement);
+    }
 }
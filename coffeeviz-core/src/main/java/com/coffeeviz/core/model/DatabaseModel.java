@@ -1,13 +1,20 @@
 package com.coffeeviz.core.model;
 
+import com.coffeeviz.core.graph.RelationGraph;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -49,4 +56,143 @@ public class DatabaseModel {
      */
     @Builder.Default
     private Map<String, String> metadata = new HashMap<>();
+    
+    /**
+     * 按需构建的查找索引（不参与序列化与比较）
+     */
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final transient Lookups lookups = new Lookups();
+    
+    /**
+     * 按表名查找表（忽略大小写与 `、"、[] 引号，同名时返回第一个）
+     * 索引在首次查找时构建，表列表被替换或增删表后自动重建；
+     * 原地修改表名后需调用 {@link #invalidateLookups()}
+     * 
+     * @param tableName 表名
+     * @return 表，不存在时返回 null
+     */
+    public TableModel findTable(String tableName) {
+        if (tableName == null || tables == null) {
+            return null;
+        }
+        String key = key(tableName);
+        TableIndex index = tableIndex();
+        TableModel table = index.byName.get(key);
+        if (table != null && !key.equals(key(table.getName()))) {
+            // 表名被原地修改过
+            index = lookups.tables = new TableIndex(tables);
+            table = index.byName.get(key);
+        }
+        return table;
+    }
+    
+    /**
+     * 查询引用指定表的所有外键（反向引用索引，按表顺序排列）
+     * 表列表被替换或增删表后自动重建；已查询后再向表中增删外键需调用 {@link #invalidateLookups()}
+     * 
+     * @param tableName 被引用的表名（忽略大小写与引号）
+     * @return 不可修改的外键列表，没有引用时为空列表
+     */
+    public List<ForeignKeyModel> referencedBy(String tableName) {
+        if (tableName == null || tables == null) {
+            return Collections.emptyList();
+        }
+        return tableIndex().referencedBy().getOrDefault(key(tableName), Collections.emptyList());
+    }
+    
+    /**
+     * 表关系图（按需构建并复用）
+     * 表列表被替换或增删表后自动重建；已构建后再增删外键需调用 {@link #invalidateLookups()}
+     */
+    public RelationGraph relationGraph() {
+        TableIndex index = tableIndex();
+        RelationGraph graph = index.graph;
+        if (graph == null) {
+            graph = index.graph = RelationGraph.build(this);
+        }
+        return graph;
+    }
+    
+    /**
+     * 丢弃已构建的查找索引（包括各表的列索引，原地修改表名、列名或外键后调用）
+     */
+    public void invalidateLookups() {
+        lookups.tables = null;
+        if (tables != null) {
+            tables.forEach(TableModel::invalidateLookups);
+        }
+    }
+    
+    private TableIndex tableIndex() {
+        TableIndex index = lookups.tables;
+        if (index == null || !index.matches(tables)) {
+            index = lookups.tables = new TableIndex(tables);
+        }
+        return index;
+    }
+    
+    private static String key(String name) {
+        if (name == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '`' && c != '"' && c != '[' && c != ']') {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * 索引持有者（各索引为不可变快照，并发读取时最多重复构建一次）
+     */
+    private static final class Lookups {
+        private volatile TableIndex tables;
+    }
+    
+    /**
+     * 表名索引，以及反向引用索引和关系图（后两者在首次使用时构建）
+     */
+    private static final class TableIndex {
+        private final List<TableModel> source;
+        private final int size;
+        private final Map<String, TableModel> byName;
+        private volatile Map<String, List<ForeignKeyModel>> referencedBy;
+        private volatile RelationGraph graph;
+        
+        TableIndex(List<TableModel> tables) {
+            this.source = tables;
+            this.size = tables.size();
+            this.byName = new HashMap<>(Math.max(16, size * 2));
+            for (TableModel table : tables) {
+                byName.putIfAbsent(key(table.getName()), table);
+            }
+        }
+        
+        boolean matches(List<TableModel> tables) {
+            return source == tables && size == tables.size();
+        }
+        
+        Map<String, List<ForeignKeyModel>> referencedBy() {
+            Map<String, List<ForeignKeyModel>> index = referencedBy;
+            if (index == null) {
+                Map<String, List<ForeignKeyModel>> built = new HashMap<>();
+                for (TableModel table : source) {
+                    if (table.getForeignKeys() == null) {
+                        continue;
+                    }
+                    for (ForeignKeyModel fk : table.getForeignKeys()) {
+                        built.computeIfAbsent(key(fk.getToTable()), k -> new ArrayList<>()).add(fk);
+                    }
+                }
+                built.replaceAll((k, list) -> Collections.unmodifiableList(list));
+                index = referencedBy = built;
+            }
+            return index;
+        }
+    }
 }
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -59,4 +60,17 @@ public class ForeignKeyModel {
      * 关系类型（ONE_TO_ONE、ONE_TO_MANY、MANY_TO_MANY）
      */
     private RelationType relationType;
+    
+    /**
+     * 是否为按命名约定推断的隐式外键（数据库中未声明）
+     */
+    private boolean inferred;
+    
+    /**
+     * 深拷贝外键模型
+     */
+    public ForeignKeyModel copy() {
+        return new ForeignKeyModel(name, fromTable, fromColumns != null ? new ArrayList<>(fromColumns) : null,
+                toTable, toColumns != null ? new ArrayList<>(toColumns) : null, onDelete, onUpdate, relationType, inferred);
+    }
 }
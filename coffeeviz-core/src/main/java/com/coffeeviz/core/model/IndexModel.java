@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -38,4 +39,11 @@ public class IndexModel {
      * 索引类型（BTREE、HASH 等）
      */
     private String indexType;
+    
+    /**
+     * 深拷贝索引模型
+     */
+    public IndexModel copy() {
+        return new IndexModel(name, columns != null ? new ArrayList<>(columns) : null, unique, indexType);
+    }
 }
@@ -47,6 +47,11 @@ public class ParseResult {
      */
     private String message;
     
+    /**
+     * 是否为部分结果（解析超出时间预算或被取消，只包含已解析的表）
+     */
+    private boolean partial;
+    
     /**
      * 创建成功的解析结果
      * 
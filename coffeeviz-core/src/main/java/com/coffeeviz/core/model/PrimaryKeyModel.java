@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -28,4 +29,11 @@ public class PrimaryKeyModel {
      * 主键列名列表
      */
     private List<String> columns;
+    
+    /**
+     * 深拷贝主键模型
+     */
+    public PrimaryKeyModel copy() {
+        return new PrimaryKeyModel(name, columns != null ? new ArrayList<>(columns) : null);
+    }
 }
@@ -38,7 +38,7 @@ public class RenderOptions {
     private Set<String> excludeTables;
     
     /**
-     * 关系深度（null 表示全部）
+     * 关系深度（null 或负数表示全部；与 includeTables 同时指定时渲染焦点表该跳数以内的子图）
      */
     private Integer relationDepth;
     
@@ -69,4 +69,21 @@ public class RenderOptions {
      * SQL 方言（mysql、postgres、auto）
      */
     private String dialect;
+    
+    /**
+     * 是否推断关系（包括按命名约定补充未声明的外键）
+     */
+    @Builder.Default
+    private boolean inferRelations = false;
+    
+    /**
+     * 是否把大型 Schema 自动拆分为多个子图（外加一张子图关系概览图）
+     */
+    @Builder.Default
+    private boolean partition = false;
+    
+    /**
+     * 拆分时每个子图的表数量上限（null 使用服务端配置）
+     */
+    private Integer maxTablesPerDiagram;
 }
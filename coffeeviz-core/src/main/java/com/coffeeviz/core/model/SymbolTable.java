@@ -0,0 +1,154 @@
+package com.coffeeviz.core.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 模型字符串符号表
+ * 大型 Schema 中大量列重复使用相同的类型名（VARCHAR）、列名（id、create_time）、注释和外键目标表名，
+ * 解析器为每一列各自创建字符串副本；构建模型时经过同一个符号表，相等的字符串只保留一个实例。
+ * 
+ * 每次解析使用一个实例（模型之间不共享，随模型一起回收）；超过长度上限的字符串（如视图定义、长注释）
+ * 通常不会重复，不登记；登记数量达到上限后不再登记新字符串，已登记的仍然复用。非线程安全
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+public class SymbolTable {
+    
+    /**
+     * 默认最多登记的字符串数量
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1 << 18;
+    
+    /**
+     * 登记的字符串最大长度
+     */
+    public static final int MAX_LENGTH = 256;
+    
+    private final int maxEntries;
+    
+    private final Map<String, String> symbols = new HashMap<>();
+    
+    public SymbolTable() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+    
+    public SymbolTable(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+    
+    /**
+     * 返回与给定字符串相等的规范实例
+     */
+    public String intern(String value) {
+        if (value == null || value.length() > MAX_LENGTH) {
+            return value;
+        }
+        String existing = symbols.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (symbols.size() < maxEntries) {
+            symbols.put(value, value);
+        }
+        return value;
+    }
+    
+    /**
+     * 替换表模型（列、主键、外键、索引）中的字符串为规范实例
+     */
+    public void intern(TableModel table) {
+        table.setName(intern(table.getName()));
+        table.setComment(intern(table.getComment()));
+        table.setTableType(intern(table.getTableType()));
+        internColumns(table.getColumns());
+        
+        PrimaryKeyModel primaryKey = table.getPrimaryKey();
+        if (primaryKey != null) {
+            primaryKey.setName(intern(primaryKey.getName()));
+            primaryKey.setColumns(internAll(primaryKey.getColumns()));
+        }
+        if (table.getForeignKeys() != null) {
+            for (ForeignKeyModel fk : table.getForeignKeys()) {
+                fk.setName(intern(fk.getName()));
+                fk.setFromTable(intern(fk.getFromTable()));
+                fk.setFromColumns(internAll(fk.getFromColumns()));
+                fk.setToTable(intern(fk.getToTable()));
+                fk.setToColumns(internAll(fk.getToColumns()));
+                fk.setOnDelete(intern(fk.getOnDelete()));
+                fk.setOnUpdate(intern(fk.getOnUpdate()));
+            }
+        }
+        if (table.getIndexes() != null) {
+            for (IndexModel index : table.getIndexes()) {
+                index.setName(intern(index.getName()));
+                index.setColumns(internAll(index.getColumns()));
+                index.setIndexType(intern(index.getIndexType()));
+            }
+        }
+    }
+    
+    /**
+     * 替换数据库模型中所有表和视图的字符串为规范实例
+     */
+    public void intern(DatabaseModel model) {
+        model.setDbType(intern(model.getDbType()));
+        model.setSchemaName(intern(model.getSchemaName()));
+        if (model.getTables() != null) {
+            model.getTables().forEach(this::intern);
+        }
+        if (model.getViews() != null) {
+            for (ViewModel view : model.getViews()) {
+                view.setName(intern(view.getName()));
+                view.setComment(intern(view.getComment()));
+                internColumns(view.getColumns());
+            }
+        }
+    }
+    
+    /**
+     * 已登记的字符串数量
+     */
+    public int size() {
+        return symbols.size();
+    }
+    
+    private void internColumns(List<ColumnModel> columns) {
+        if (columns == null) {
+            return;
+        }
+        for (ColumnModel column : columns) {
+            column.setName(intern(column.getName()));
+            column.setType(intern(column.getType()));
+            column.setRawType(intern(column.getRawType()));
+            column.setDefaultValue(intern(column.getDefaultValue()));
+            column.setComment(intern(column.getComment()));
+        }
+    }
+    
+    /**
+     * 列名列表：元素都已是规范实例时原样返回（列表可能不可修改），否则返回新列表
+     */
+    private List<String> internAll(List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i);
+            String symbol = intern(value);
+            if (symbol != value) {
+                List<String> copy = new ArrayList<>(values.size());
+                copy.addAll(values.subList(0, i));
+                copy.add(symbol);
+                for (int j = i + 1; j < values.size(); j++) {
+                    copy.add(intern(values.get(j)));
+                }
+                return copy;
+            }
+        }
+        return values;
+    }
+}
@@ -1,12 +1,21 @@
 package com.coffeeviz.core.model;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 表模型
@@ -57,4 +66,145 @@ public class TableModel {
      * 表类型（BASE TABLE、VIEW、JUNCTION 等）
      */
     private String tableType;
+    
+    /**
+     * 按需构建的查找索引（不参与序列化与比较）
+     */
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final transient Lookups lookups = new Lookups();
+    
+    /**
+     * 按列名查找列（忽略大小写，同名时返回第一个）
+     * 索引在首次查找时构建，列列表被替换或增删列后自动重建；
+     * 原地修改列名后需调用 {@link #invalidateLookups()}
+     * 
+     * @param columnName 列名
+     * @return 列，不存在时返回 null
+     */
+    public ColumnModel findColumn(String columnName) {
+        if (columnName == null || columns == null) {
+            return null;
+        }
+        String key = key(columnName);
+        ColumnIndex index = lookups.columns;
+        if (index == null || !index.matches(columns)) {
+            index = lookups.columns = new ColumnIndex(columns);
+        }
+        ColumnModel column = index.byName.get(key);
+        if (column != null && !key.equals(key(column.getName()))) {
+            // 列名被原地修改过
+            index = lookups.columns = new ColumnIndex(columns);
+            column = index.byName.get(key);
+        }
+        return column;
+    }
+    
+    /**
+     * 判断列是否属于某个外键（忽略大小写）
+     * 外键列表被替换或增删外键后自动重建；原地修改外键列后需调用 {@link #invalidateLookups()}
+     * 
+     * @param columnName 列名
+     * @return 是否为外键列
+     */
+    public boolean isForeignKeyColumn(String columnName) {
+        if (columnName == null || foreignKeys == null) {
+            return false;
+        }
+        ForeignKeyColumnIndex index = lookups.foreignKeyColumns;
+        if (index == null || !index.matches(foreignKeys)) {
+            index = lookups.foreignKeyColumns = new ForeignKeyColumnIndex(foreignKeys);
+        }
+        return index.columns.contains(key(columnName));
+    }
+    
+    /**
+     * 丢弃已构建的查找索引（原地修改列名或外键列后调用）
+     */
+    public void invalidateLookups() {
+        lookups.columns = null;
+        lookups.foreignKeyColumns = null;
+    }
+    
+    /**
+     * 深拷贝表模型（列、主键、外键、索引均复制）
+     */
+    public TableModel copy() {
+        TableModel copy = new TableModel();
+        copy.setName(name);
+        copy.setComment(comment);
+        copy.setTableType(tableType);
+        copy.setPrimaryKey(primaryKey != null ? primaryKey.copy() : null);
+        copy.setColumns(new ArrayList<>());
+        copy.setForeignKeys(new ArrayList<>());
+        copy.setIndexes(new ArrayList<>());
+        if (columns != null) {
+            columns.forEach(column -> copy.getColumns().add(column.copy()));
+        }
+        if (foreignKeys != null) {
+            foreignKeys.forEach(fk -> copy.getForeignKeys().add(fk.copy()));
+        }
+        if (indexes != null) {
+            indexes.forEach(index -> copy.getIndexes().add(index.copy()));
+        }
+        return copy;
+    }
+    
+    private static String key(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * 索引持有者（各索引为不可变快照，并发读取时最多重复构建一次）
+     */
+    private static final class Lookups {
+        private volatile ColumnIndex columns;
+        private volatile ForeignKeyColumnIndex foreignKeyColumns;
+    }
+    
+    /**
+     * 列名索引，记录构建时的列表与长度用于失效判断
+     */
+    private static final class ColumnIndex {
+        private final List<ColumnModel> source;
+        private final int size;
+        private final Map<String, ColumnModel> byName;
+        
+        ColumnIndex(List<ColumnModel> columns) {
+            this.source = columns;
+            this.size = columns.size();
+            this.byName = new HashMap<>(Math.max(16, size * 2));
+            for (ColumnModel column : columns) {
+                byName.putIfAbsent(key(column.getName()), column);
+            }
+        }
+        
+        boolean matches(List<ColumnModel> columns) {
+            return source == columns && size == columns.size();
+        }
+    }
+    
+    /**
+     * 外键列集合
+     */
+    private static final class ForeignKeyColumnIndex {
+        private final List<ForeignKeyModel> source;
+        private final int size;
+        private final Set<String> columns = new HashSet<>();
+        
+        ForeignKeyColumnIndex(List<ForeignKeyModel> foreignKeys) {
+            this.source = foreignKeys;
+            this.size = foreignKeys.size();
+            for (ForeignKeyModel fk : foreignKeys) {
+                if (fk.getFromColumns() != null) {
+                    fk.getFromColumns().forEach(column -> columns.add(key(column)));
+                }
+            }
+        }
+        
+        boolean matches(List<ForeignKeyModel> foreignKeys) {
+            return source == foreignKeys && size == foreignKeys.size();
+        }
+    }
 }
@@ -2,10 +2,17 @@ package com.coffeeviz.core.renderer;
 
 import com.coffeeviz.core.enums.RelationType;
 import com.coffeeviz.core.enums.ViewMode;
+import com.coffeeviz.core.graph.SchemaPartition;
 import com.coffeeviz.core.model.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -20,30 +27,201 @@ import java.util.stream.Collectors;
 @Component
 public class MermaidErRenderer implements MermaidRenderer {
     
+    /**
+     * 概览图中每个子图列出的表名数量
+     */
+    private static final int OVERVIEW_MEMBER_LIMIT = 5;
+    
+    /**
+     * 单表渲染片段缓存（为 null 时每次全部重新渲染）
+     */
+    private final RenderFragmentCache fragmentCache;
+    
+    public MermaidErRenderer() {
+        this(null);
+    }
+    
+    @Autowired
+    public MermaidErRenderer(RenderFragmentCache fragmentCache) {
+        this.fragmentCache = fragmentCache;
+    }
+    
     @Override
     public String render(DatabaseModel model, RenderOptions options) {
-        log.info("开始渲染 Mermaid ER 图，视图模式：{}", options.getViewMode());
-        
         StringBuilder sb = new StringBuilder();
-        sb.append("erDiagram\n");
+        try {
+            render(model, options, sb);
+        } catch (IOException e) {
+            // StringBuilder 不会抛出 IOException
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+    
+    @Override
+    public void render(DatabaseModel model, RenderOptions options, Appendable out) throws IOException {
+        log.info("开始渲染 Mermaid ER 图，视图模式：{}", options.getViewMode());
         
-        // 1. 过滤表
+        // 1. 过滤表（指定关系深度时提取焦点表的 k 跳邻域）
+        if (isFocused(options)) {
+            writeTables(out, model, extractSubgraph(model, options), options);
+            return;
+        }
         List<TableModel> tables = filterTables(model.getTables(), options);
+        out.append("erDiagram\n");
+        
+        if (isFragmentCacheEnabled()) {
+            // 2-3. 拼接各表缓存的片段，只有改动过的表重新渲染
+            RenderFragmentCache.Fragment[] fragments = new RenderFragmentCache.Fragment[tables.size()];
+            for (int i = 0; i < fragments.length; i++) {
+                fragments[i] = fragmentFor(tables.get(i), options);
+                out.append(fragments[i].getBlock());
+            }
+            for (RenderFragmentCache.Fragment fragment : fragments) {
+                out.append(fragment.getRelations());
+            }
+            log.info("Mermaid ER 图渲染完成，共 {} 张表", tables.size());
+            return;
+        }
         
         // 2. 渲染表定义
         for (TableModel table : tables) {
-            renderTable(sb, table, options);
+            renderTable(out, table, options);
         }
         
         // 3. 渲染关系
         for (TableModel table : tables) {
-            renderRelations(sb, table, options);
+            renderRelations(out, table, model, null);
         }
         
         log.info("Mermaid ER 图渲染完成，共 {} 张表", tables.size());
+    }
+    
+    @Override
+    public List<TableModel> selectTables(DatabaseModel model, RenderOptions options) {
+        return isFocused(options) ? extractSubgraph(model, options) : filterTables(model.getTables(), options);
+    }
+    
+    @Override
+    public String renderTables(DatabaseModel model, List<TableModel> tables, RenderOptions options) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTables(sb, model, tables, options);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * 输出指定表及两端都在其中的关系
+     */
+    private void writeTables(Appendable out, DatabaseModel model, List<TableModel> tables, RenderOptions options) throws IOException {
+        out.append("erDiagram\n");
+        boolean cached = isFragmentCacheEnabled();
+        for (TableModel table : tables) {
+            if (cached) {
+                out.append(fragmentFor(table, options).getBlock());
+            } else {
+                renderTable(out, table, options);
+            }
+        }
+        
+        // 子图只渲染两端都在子图内的关系，避免边界外的表以空实体出现
+        Set<TableModel> rendered = Collections.newSetFromMap(new IdentityHashMap<>());
+        rendered.addAll(tables);
+        for (TableModel table : tables) {
+            renderRelations(out, table, model, rendered);
+        }
+        
+        log.debug("Mermaid ER 子图渲染完成，共 {} 张表", tables.size());
+    }
+    
+    @Override
+    public String renderOverview(SchemaPartition partition) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("erDiagram\n");
+        List<String> entities = new ArrayList<>();
+        for (SchemaPartition.Cluster cluster : partition.getClusters()) {
+            String entity = overviewEntity(cluster);
+            entities.add(entity);
+            sb.append("    ").append(entity).append(" {\n");
+            sb.append("        int tables \"").append(cluster.getTables().size()).append(" 张表\"\n");
+            StringBuilder members = new StringBuilder();
+            for (int i = 0; i < cluster.getTables().size() && i < OVERVIEW_MEMBER_LIMIT; i++) {
+                if (i > 0) {
+                    members.append(" ");
+                }
+                members.append(cluster.getTables().get(i).getName());
+            }
+            if (cluster.getTables().size() > OVERVIEW_MEMBER_LIMIT) {
+                members.append(" 等");
+            }
+            sb.append("        string members \"").append(escapeComment(members.toString())).append("\"\n");
+            sb.append("    }\n");
+        }
+        for (SchemaPartition.ClusterEdge edge : partition.getEdges()) {
+            sb.append("    ").append(entities.get(edge.getTo() - 1))
+                    .append(" ||..o{ ").append(entities.get(edge.getFrom() - 1))
+                    .append(" : \"").append(edge.getRelationCount()).append(" 个外键\"\n");
+        }
+        log.info("Mermaid 概览图渲染完成，共 {} 个子图", partition.getClusters().size());
         return sb.toString();
     }
     
+    private boolean isFragmentCacheEnabled() {
+        return fragmentCache != null && fragmentCache.isEnabled();
+    }
+    
+    /**
+     * 取表的渲染片段，未命中（首次渲染或表结构、相关选项已变化）时重新渲染并写入缓存
+     */
+    private RenderFragmentCache.Fragment fragmentFor(TableModel table, RenderOptions options) throws IOException {
+        RenderFragmentCache.Fragment fragment = fragmentCache.get(table, options.getViewMode(), options.isShowComments());
+        if (fragment == null) {
+            StringBuilder block = new StringBuilder();
+            renderTable(block, table, options);
+            StringBuilder relations = new StringBuilder();
+            renderRelations(relations, table, null, null);
+            fragment = fragmentCache.put(table, options.getViewMode(), options.isShowComments(),
+                    block.toString(), relations.toString());
+        }
+        return fragment;
+    }
+    
+    /**
+     * 概览图实体名：P{序号}_{簇名}，簇名中 Mermaid 不支持的字符替换为下划线
+     */
+    private String overviewEntity(SchemaPartition.Cluster cluster) {
+        StringBuilder sb = new StringBuilder("P").append(cluster.getIndex()).append('_');
+        for (char c : cluster.getName().toCharArray()) {
+            sb.append(c < 128 && (Character.isLetterOrDigit(c) || c == '_' || c == '-') ? c : '_');
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * 是否按关系深度提取子图：需要同时指定焦点表（includeTables）和非负的关系深度
+     */
+    private boolean isFocused(RenderOptions options) {
+        return options.getRelationDepth() != null && options.getRelationDepth() >= 0
+                && options.getIncludeTables() != null && !options.getIncludeTables().isEmpty();
+    }
+    
+    /**
+     * 提取焦点表 relationDepth 跳以内的表（保持原顺序），再应用排除列表
+     */
+    private List<TableModel> extractSubgraph(DatabaseModel model, RenderOptions options) {
+        List<TableModel> tables = model.relationGraph().extract(options.getIncludeTables(), options.getRelationDepth());
+        if (options.getExcludeTables() != null && !options.getExcludeTables().isEmpty()) {
+            tables.removeIf(table -> options.getExcludeTables().contains(table.getName())
+                    && !options.getIncludeTables().contains(table.getName()));
+        }
+        log.info("按关系深度 {} 提取子图：焦点表 {} 张，共 {} 张表",
+                options.getRelationDepth(), options.getIncludeTables().size(), tables.size());
+        return tables;
+    }
+    
     /**
      * 过滤表
      */
@@ -65,98 +243,135 @@ public class MermaidErRenderer implements MermaidRenderer {
     
     /**
      * 渲染表定义
+     * 列是渲染的最内层循环：类型、约束与注释逐字符直接写入输出目标，不创建中间字符串
      */
-    private void renderTable(StringBuilder sb, TableModel table, RenderOptions options) {
-        sb.append("    ").append(table.getName()).append(" {\n");
+    private void renderTable(Appendable out, TableModel table, RenderOptions options) throws IOException {
+        out.append("    ").append(table.getName()).append(" {\n");
         
-        List<ColumnModel> columns = filterColumns(table.getColumns(), options);
-        
-        for (ColumnModel column : columns) {
-            sb.append("        ");
+        ViewMode viewMode = options.getViewMode();
+        for (ColumnModel column : table.getColumns()) {
+            if (!isVisible(column, viewMode)) {
+                continue;
+            }
+            out.append("        ");
             
             // 完整的数据类型（包含长度/精度）
-            String fullType = buildFullType(column);
-            sb.append(fullType).append(" ");
+            writeFullType(out, column);
+            out.append(' ');
             
-            sb.append(column.getName());
+            out.append(column.getName());
             
             // 主键标记（使用 PK 关键字）
             // 注意：如果字段既是主键又是外键，只显示 PK（Mermaid 语法限制）
             if (column.isPrimaryKeyPart()) {
-                sb.append(" PK");
+                out.append(" PK");
             }
             // 外键标记（使用 FK 关键字）- 仅当不是主键时才添加
             else if (isForeignKeyColumn(table, column.getName())) {
-                sb.append(" FK");
+                out.append(" FK");
             }
             
-            // 构建注释内容（合并约束信息和字段注释）
-            String commentText = buildCommentText(column, options);
-            if (commentText != null && !commentText.isEmpty()) {
-                sb.append(" \"").append(commentText).append("\"");
-            }
+            // 注释内容（合并约束信息和字段注释）
+            writeCommentText(out, column, options);
             
-            sb.append("\n");
+            out.append('\n');
         }
         
-        sb.append("    }\n");
+        out.append("    }\n");
     }
     
     /**
-     * 构建注释文本（合并约束信息和字段注释）
+     * 写入注释（合并约束信息和字段注释），没有内容时不输出
      */
-    private String buildCommentText(ColumnModel column, RenderOptions options) {
-        StringBuilder comment = new StringBuilder();
+    private void writeCommentText(Appendable out, ColumnModel column, RenderOptions options) throws IOException {
+        boolean notNull = !column.isNullable() && !column.isPrimaryKeyPart();
+        String comment = options.isShowComments() ? column.getComment() : null;
+        boolean hasComment = hasCommentContent(comment);
+        if (!notNull && !hasComment) {
+            return;
+        }
         
+        out.append(" \"");
         // 添加约束信息
-        if (!column.isNullable() && !column.isPrimaryKeyPart()) {
-            comment.append("NOT NULL");
+        if (notNull) {
+            out.append("NOT NULL");
         }
-        
         // 添加字段注释
-        if (column.getComment() != null && !column.getComment().isEmpty() && options.isShowComments()) {
-            if (comment.length() > 0) {
-                comment.append(", ");
+        if (hasComment) {
+            if (notNull) {
+                out.append(", ");
             }
-            comment.append(escapeComment(column.getComment()));
+            writeEscaped(out, comment);
         }
-        
-        return comment.toString();
+        out.append('"');
     }
     
     /**
-     * 构建完整的数据类型（包含长度/精度）
+     * 写入完整的数据类型（包含长度/精度）
      * 注意：Mermaid ER 图语法对类型定义有限制，需要进行转换
      */
-    private String buildFullType(ColumnModel column) {
-        String rawType = column.getRawType() != null ? column.getRawType() : column.getType();
+    private void writeFullType(Appendable out, ColumnModel column) throws IOException {
+        String type = column.getType();
         
-        // 如果已经包含长度信息，直接返回（但需要处理特殊字符）
-        if (column.getType() != null && column.getType().contains("(")) {
-            // 移除空格并替换逗号为下划线，避免 Mermaid 解析错误
-            return column.getType()
-                    .replaceAll("\\s+", "")  // 移除所有空格
-                    .replace(",", "_");       // 替换逗号为下划线
+        // 如果已经包含长度信息，直接输出（移除空白并把逗号替换为下划线，避免 Mermaid 解析错误）
+        if (type != null && type.indexOf('(') >= 0) {
+            for (int i = 0; i < type.length(); i++) {
+                char c = type.charAt(i);
+                if (c == ',') {
+                    out.append('_');
+                } else if (!isWhitespace(c)) {
+                    out.append(c);
+                }
+            }
+            return;
         }
         
-        // 根据长度/精度构建完整类型
+        String rawType = column.getRawType() != null ? column.getRawType() : type;
+        out.append(rawType);
+        
+        // 根据长度/精度补充完整类型
         if (column.getPrecision() != null && column.getScale() != null) {
             // DECIMAL(10_2) 类型 - 使用下划线代替逗号
-            return rawType + "(" + column.getPrecision() + "_" + column.getScale() + ")";
+            out.append('(');
+            writeInt(out, column.getPrecision());
+            out.append('_');
+            writeInt(out, column.getScale());
+            out.append(')');
         } else if (column.getLength() != null && column.getLength() > 0) {
             // VARCHAR(255) 类型
-            return rawType + "(" + column.getLength() + ")";
+            out.append('(');
+            writeInt(out, column.getLength());
+            out.append(')');
+        }
+    }
+    
+    /**
+     * 逐位写入整数（Appendable 没有 append(int)，避免 String.valueOf 产生临时字符串）
+     */
+    private void writeInt(Appendable out, int value) throws IOException {
+        if (out instanceof StringBuilder sb) {
+            sb.append(value);
+            return;
+        }
+        long remaining = value;
+        if (remaining < 0) {
+            out.append('-');
+            remaining = -remaining;
+        }
+        long divisor = 1;
+        while (divisor * 10 <= remaining) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + remaining / divisor % 10));
         }
-        
-        return rawType;
     }
     
     /**
      * 判断是否为外键列
      */
     private boolean isForeignKeyColumn(TableModel table, String columnName) {
-        return table.getForeignKeys().stream()
-                .anyMatch(fk -> fk.getFromColumns().contains(columnName));
+        return table.isForeignKeyColumn(columnName);
     }
     
     /**
@@ -167,67 +382,119 @@ public class MermaidErRenderer implements MermaidRenderer {
         if (comment == null || comment.isEmpty()) {
             return "";
         }
-        
-        return comment
-                .replace("\"", "'")      // 双引号替换为单引号
-                .replace("\n", " ")      // 换行符替换为空格
-                .replace("\r", "")       // 移除回车符
-                .replace("\t", " ")      // 制表符替换为空格
-                .replaceAll("\\s+", " ") // 多个空格合并为一个
-                .trim();
+        StringBuilder sb = new StringBuilder(comment.length());
+        try {
+            writeEscaped(sb, comment);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
     }
     
     /**
-     * 过滤列
+     * 逐字符写入转义后的注释：双引号替换为单引号，移除回车符，
+     * 连续空白（空格、换行、制表符等）合并为一个空格，并去掉首尾空白
      */
-    private List<ColumnModel> filterColumns(List<ColumnModel> columns, RenderOptions options) {
-        ViewMode viewMode = options.getViewMode();
-        
+    private void writeEscaped(Appendable out, String comment) throws IOException {
+        boolean pendingSpace = false;
+        boolean started = false;
+        for (int i = 0; i < comment.length(); i++) {
+            char c = comment.charAt(i);
+            if (c == '\r') {
+                continue;
+            }
+            if (isWhitespace(c)) {
+                pendingSpace = started;
+                continue;
+            }
+            if (pendingSpace) {
+                out.append(' ');
+                pendingSpace = false;
+            }
+            out.append(c == '"' ? '\'' : c);
+            started = true;
+        }
+    }
+    
+    /**
+     * 注释转义后是否还有内容（不全是空白）
+     */
+    private boolean hasCommentContent(String comment) {
+        if (comment == null) {
+            return false;
+        }
+        for (int i = 0; i < comment.length(); i++) {
+            if (!isWhitespace(comment.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 与正则 \s 一致的空白字符
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+    
+    /**
+     * 列在当前视图中是否可见
+     */
+    private boolean isVisible(ColumnModel column, ViewMode viewMode) {
         if (viewMode == ViewMode.CONCEPTUAL) {
             // 概念视图：不显示任何列
-            return List.of();
+            return false;
         } else if (viewMode == ViewMode.LOGICAL) {
             // 逻辑视图：仅显示主键和外键
-            return columns.stream()
-                    .filter(col -> col.isPrimaryKeyPart() || col.getName().endsWith("_id"))
-                    .collect(Collectors.toList());
+            return column.isPrimaryKeyPart() || column.getName().endsWith("_id");
         } else {
             // 物理视图：显示所有列
-            return columns;
+            return true;
         }
     }
     
     /**
      * 渲染关系
      */
-    private void renderRelations(StringBuilder sb, TableModel table, RenderOptions options) {
+    private void renderRelations(Appendable out, TableModel table, DatabaseModel model, Set<TableModel> rendered) throws IOException {
         for (ForeignKeyModel fk : table.getForeignKeys()) {
-            String relationship = getRelationshipSymbol(fk.getRelationType());
+            if (rendered != null && !rendered.contains(model.findTable(fk.getToTable()))) {
+                continue;
+            }
+            // 推断出的隐式外键使用虚线
+            String relationship = getRelationshipSymbol(fk.getRelationType(), fk.isInferred());
             
-            sb.append("    ");
-            sb.append(fk.getToTable());
-            sb.append(" ");
-            sb.append(relationship);
-            sb.append(" ");
-            sb.append(fk.getFromTable());
-            sb.append(" : \"");
-            sb.append(String.join(",", fk.getFromColumns()));
-            sb.append("\"\n");
+            out.append("    ");
+            out.append(fk.getToTable());
+            out.append(" ");
+            out.append(relationship);
+            out.append(" ");
+            out.append(fk.getFromTable());
+            out.append(" : \"");
+            List<String> fromColumns = fk.getFromColumns();
+            for (int i = 0; i < fromColumns.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(fromColumns.get(i));
+            }
+            out.append("\"\n");
         }
     }
     
     /**
-     * 获取关系符号
+     * 获取关系符号（推断出的关系使用虚线）
      */
-    private String getRelationshipSymbol(RelationType type) {
+    private String getRelationshipSymbol(RelationType type, boolean inferred) {
         if (type == null) {
-            return "||--o{";
+            return inferred ? "||..o{" : "||--o{";
         }
         
         return switch (type) {
-            case ONE_TO_ONE -> "||--||";
-            case ONE_TO_MANY -> "||--o{";
-            case MANY_TO_MANY -> "}o--o{";
+            case ONE_TO_ONE -> inferred ? "||..||" : "||--||";
+            case ONE_TO_MANY -> inferred ? "||..o{" : "||--o{";
+            case MANY_TO_MANY -> inferred ? "}o..o{" : "}o--o{";
         };
     }
 }
@@ -1,7 +1,12 @@
 package com.coffeeviz.core.renderer;
 
+import com.coffeeviz.core.graph.SchemaPartition;
 import com.coffeeviz.core.model.DatabaseModel;
 import com.coffeeviz.core.model.RenderOptions;
+import com.coffeeviz.core.model.TableModel;
+
+import java.io.IOException;
+import java.util.List;
 
 /**
  * Mermaid 渲染器接口
@@ -19,4 +24,42 @@ public interface MermaidRenderer {
      * @return Mermaid 代码
      */
     String render(DatabaseModel model, RenderOptions options);
+    
+    /**
+     * 渲染 SchemaModel 为 Mermaid ER 图代码，边渲染边写入输出目标（HTTP 响应、上传流等），
+     * 不在内存中拼出完整字符串
+     * 
+     * @param model 数据库模型
+     * @param options 渲染选项
+     * @param out 输出目标
+     * @throws IOException 写入输出目标失败
+     */
+    void render(DatabaseModel model, RenderOptions options, Appendable out) throws IOException;
+    
+    /**
+     * 按渲染选项选出要渲染的表（包含 / 排除列表，或焦点表关系深度以内的子图），保持原顺序
+     * 
+     * @param model 数据库模型
+     * @param options 渲染选项
+     * @return 要渲染的表
+     */
+    List<TableModel> selectTables(DatabaseModel model, RenderOptions options);
+    
+    /**
+     * 只渲染指定的表及它们之间的关系（用于子图）
+     * 
+     * @param model 数据库模型（用于解析关系目标表）
+     * @param tables 要渲染的表
+     * @param options 渲染选项
+     * @return Mermaid 代码
+     */
+    String renderTables(DatabaseModel model, List<TableModel> tables, RenderOptions options);
+    
+    /**
+     * 渲染拆分后的概览图：每个子图一个实体，实体间的连线为子图之间的外键汇总
+     * 
+     * @param partition 拆分结果
+     * @return Mermaid 代码
+     */
+    String renderOverview(SchemaPartition partition);
 }
@@ -0,0 +1,188 @@
+package com.coffeeviz.core.renderer;
+
+import com.coffeeviz.core.enums.ViewMode;
+import com.coffeeviz.core.model.ColumnModel;
+import com.coffeeviz.core.model.ForeignKeyModel;
+import com.coffeeviz.core.model.TableModel;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 单表渲染片段缓存
+ * 以“表结构签名 + 影响单表输出的渲染选项（视图模式、是否显示注释）”为键，
+ * 缓存每张表的实体定义块和关系行；交互式编辑大型 Schema 时只有改动过的表重新渲染，
+ * 其余表直接拼接缓存的片段。签名是影响渲染输出的字段的紧凑编码，逐字符相等才命中，不会输出错误内容；
+ * 缓存不保存表模型副本，条目权重按片段与签名的字符数计，容量上限约束的就是缓存持有的全部文本
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class RenderFragmentCache {
+    
+    private final boolean enabled;
+    
+    private final Cache<Key, Fragment> cache;
+    
+    public RenderFragmentCache(@Value("${coffeeviz.render.fragment-cache.enabled:true}") boolean enabled,
+                               @Value("${coffeeviz.render.fragment-cache.max-weight:16000000}") long maxWeight) {
+        this.enabled = enabled;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Key key, Fragment fragment) -> fragment.weight)
+                .expireAfterAccess(Duration.ofHours(1))
+                .recordStats()
+                .build();
+        log.info("单表渲染片段缓存: {}，容量上限 {} 字符（片段与结构签名）", enabled ? "启用" : "禁用", maxWeight);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * 查询表的渲染片段
+     */
+    Fragment get(TableModel table, ViewMode viewMode, boolean showComments) {
+        if (!enabled) {
+            return null;
+        }
+        return cache.getIfPresent(new Key(structureSignature(table), viewMode, showComments));
+    }
+    
+    /**
+     * 写入表的渲染片段（键中保存的是签名字符串，之后对传入表模型的修改不会影响缓存）
+     */
+    Fragment put(TableModel table, ViewMode viewMode, boolean showComments, String block, String relations) {
+        if (!enabled) {
+            return new Fragment(block, relations, 0);
+        }
+        String signature = structureSignature(table);
+        Fragment fragment = new Fragment(block, relations, signature.length());
+        cache.put(new Key(signature, viewMode, showComments), fragment);
+        return fragment;
+    }
+    
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+    
+    /**
+     * 缓存统计（诊断用）
+     */
+    public Metrics metrics() {
+        CacheStats stats = cache.stats();
+        Metrics metrics = new Metrics();
+        metrics.setEnabled(enabled);
+        metrics.setSize(cache.size());
+        metrics.setHitCount(stats.hitCount());
+        metrics.setMissCount(stats.missCount());
+        metrics.setHitRate(Math.round(stats.hitRate() * 1000) / 1000.0);
+        metrics.setEvictionCount(stats.evictionCount());
+        return metrics;
+    }
+    
+    /**
+     * 表结构签名：只包含影响渲染输出的字段（表名，列的名称、类型、长度、精度、可空、注释、主键标记，
+     * 外键的两端表、来源列、关系类型与是否推断），索引、默认值等不参与。
+     * 每个字段按“长度:内容”编码（null 为 ~），不同结构不会得到相同的签名
+     */
+    static String structureSignature(TableModel table) {
+        StringBuilder sb = new StringBuilder(64);
+        appendField(sb, table.getName());
+        List<ColumnModel> columns = table.getColumns();
+        appendField(sb, columns != null ? columns.size() : null);
+        for (int i = 0; columns != null && i < columns.size(); i++) {
+            ColumnModel column = columns.get(i);
+            appendField(sb, column.getName());
+            appendField(sb, column.getType());
+            appendField(sb, column.getRawType());
+            appendField(sb, column.getLength());
+            appendField(sb, column.getPrecision());
+            appendField(sb, column.getScale());
+            appendField(sb, column.getComment());
+            sb.append((column.isNullable() ? 1 : 0) + (column.isPrimaryKeyPart() ? 2 : 0));
+        }
+        List<ForeignKeyModel> foreignKeys = table.getForeignKeys();
+        appendField(sb, foreignKeys != null ? foreignKeys.size() : null);
+        for (int i = 0; foreignKeys != null && i < foreignKeys.size(); i++) {
+            ForeignKeyModel fk = foreignKeys.get(i);
+            appendField(sb, fk.getFromTable());
+            appendField(sb, fk.getToTable());
+            List<String> fromColumns = fk.getFromColumns();
+            appendField(sb, fromColumns != null ? fromColumns.size() : null);
+            for (int j = 0; fromColumns != null && j < fromColumns.size(); j++) {
+                appendField(sb, fromColumns.get(j));
+            }
+            appendField(sb, fk.getRelationType());
+            sb.append(fk.isInferred() ? 1 : 0);
+        }
+        return sb.toString();
+    }
+    
+    private static void appendField(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append('~');
+            return;
+        }
+        String text = value.toString();
+        sb.append(text.length()).append(':').append(text);
+    }
+    
+    /**
+     * 缓存键
+     */
+    private record Key(String signature, ViewMode viewMode, boolean showComments) {
+    }
+    
+    /**
+     * 渲染片段：实体定义块与全部关系行
+     */
+    static final class Fragment {
+        private final String block;
+        private final String relations;
+        private final int weight;
+        
+        /**
+         * @param signatureLength 键中结构签名的长度（计入权重）
+         */
+        Fragment(String block, String relations, int signatureLength) {
+            this.block = block;
+            this.relations = relations;
+            this.weight = Math.max(1, block.length() + relations.length() + signatureLength);
+        }
+        
+        String getBlock() {
+            return block;
+        }
+        
+        String getRelations() {
+            return relations;
+        }
+    }
+    
+    /**
+     * 缓存统计
+     */
+    @Data
+    public static class Metrics {
+        private boolean enabled;
+        private long size;
+        private long hitCount;
+        private long missCount;
+        private double hitRate;
+        private long evictionCount;
+    }
+}
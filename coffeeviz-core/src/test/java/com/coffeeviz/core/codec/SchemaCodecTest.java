@@ -0,0 +1,119 @@
+package com.coffeeviz.core.codec;
+
+import com.coffeeviz.core.enums.RelationType;
+import com.coffeeviz.core.model.ColumnModel;
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.ForeignKeyModel;
+import com.coffeeviz.core.model.IndexModel;
+import com.coffeeviz.core.model.ParseResult;
+import com.coffeeviz.core.model.PrimaryKeyModel;
+import com.coffeeviz.core.model.TableModel;
+import com.coffeeviz.core.model.ViewModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Schema 模型二进制编解码器测试
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class SchemaCodecTest {
+    
+    private DatabaseModel model(int tableCount) {
+        List<TableModel> tables = new ArrayList<>();
+        for (int i = 0; i < tableCount; i++) {
+            TableModel table = TableModel.builder().name("t" + i).comment(i % 2 == 0 ? "表 " + i : null).build();
+            table.getColumns().add(ColumnModel.builder().name("id").type("BIGINT").length(20)
+                    .primaryKeyPart(true).autoIncrement(true).build());
+            table.getColumns().add(ColumnModel.builder().name("amount").type("DECIMAL").rawType("decimal(10,2)")
+                    .precision(10).scale(-2).nullable(true).defaultValue("0.00").comment("金额\"含税\"").build());
+            table.setPrimaryKey(PrimaryKeyModel.builder().name("pk_t" + i).columns(List.of("id")).build());
+            table.getIndexes().add(IndexModel.builder().name("idx_amount").columns(List.of("amount")).indexType("BTREE").build());
+            if (i > 0) {
+                table.getForeignKeys().add(ForeignKeyModel.builder().name("fk_" + i)
+                        .fromTable("t" + i).fromColumns(List.of("id"))
+                        .toTable("t" + (i - 1)).toColumns(List.of("id"))
+                        .onDelete("CASCADE").relationType(RelationType.ONE_TO_ONE).inferred(i % 3 == 0)
+                        .build());
+            }
+            tables.add(table);
+        }
+        DatabaseModel model = DatabaseModel.builder().dbType("mysql").tables(tables).build();
+        model.getViews().add(ViewModel.builder().name("v_t0").definition("SELECT * FROM t0").build());
+        model.getMetadata().put("source", "sql");
+        return model;
+    }
+    
+    @Test
+    void testRoundTripPreservesModel() {
+        DatabaseModel model = model(20);
+        
+        assertThat(SchemaCodec.decode(SchemaCodec.encode(model, false))).isEqualTo(model);
+        assertThat(SchemaCodec.decode(SchemaCodec.encode(model, true))).isEqualTo(model);
+    }
+    
+    @Test
+    void testNullFieldsAndListsRoundTrip() {
+        TableModel table = new TableModel();
+        table.setColumns(null);
+        table.setIndexes(null);
+        table.getForeignKeys().add(new ForeignKeyModel());
+        DatabaseModel model = new DatabaseModel();
+        model.setTables(new ArrayList<>(List.of(table)));
+        model.setMetadata(null);
+        
+        DatabaseModel decoded = SchemaCodec.decode(SchemaCodec.encode(model, false));
+        
+        assertThat(decoded).isEqualTo(model);
+        assertThat(decoded.getTables().get(0).getColumns()).isNull();
+        assertThat(decoded.getTables().get(0).getForeignKeys().get(0).getRelationType()).isNull();
+    }
+    
+    @Test
+    void testTablesAndParseResultRoundTrip() {
+        DatabaseModel model = model(3);
+        ParseResult result = ParseResult.builder().success(true).partial(true).message("部分解析")
+                .databaseModel(model).warnings(List.of("跳过 1 条语句")).build();
+        
+        assertThat(SchemaCodec.decodeTables(SchemaCodec.encodeTables(model.getTables(), true))).isEqualTo(model.getTables());
+        assertThat(SchemaCodec.decodeResult(SchemaCodec.encodeResult(result, true))).isEqualTo(result);
+        assertThat(SchemaCodec.decodeResult(SchemaCodec.encodeResult(ParseResult.error("失败"), false)))
+                .isEqualTo(ParseResult.error("失败"));
+    }
+    
+    @Test
+    void testRepeatedStringsAreStoredOnce() {
+        byte[] one = SchemaCodec.encode(model(1), false);
+        byte[] many = SchemaCodec.encode(model(1000), false);
+        
+        // 重复的类型名、列名、索引名只在第一次出现时写入原文
+        assertThat(many.length / 1000).isLessThan(one.length / 2);
+        assertThat(SchemaCodec.encode(model(1000), true).length).isLessThan(many.length);
+    }
+    
+    @Test
+    void testRejectsForeignOrCorruptedData() {
+        byte[] data = SchemaCodec.encode(model(5), true);
+        
+        assertThatThrownBy(() -> SchemaCodec.decode("{\"tables\":[]}".getBytes()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SchemaCodec.decodeTables(data))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("内容类型");
+        
+        byte[] newerVersion = data.clone();
+        newerVersion[3] = (byte) (SchemaCodec.VERSION + 1);
+        assertThatThrownBy(() -> SchemaCodec.decode(newerVersion))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("版本");
+        
+        byte[] truncated = Arrays.copyOf(SchemaCodec.encode(model(5), false), 40);
+        assertThatThrownBy(() -> SchemaCodec.decode(truncated))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("已损坏");
+    }
+}
@@ -0,0 +1,135 @@
+package com.coffeeviz.core.diff;
+
+import com.coffeeviz.core.model.ColumnModel;
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.ForeignKeyModel;
+import com.coffeeviz.core.model.IndexModel;
+import com.coffeeviz.core.model.TableModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Schema 差异引擎测试
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class SchemaDiffEngineTest {
+    
+    private final SchemaDiffEngine engine = new SchemaDiffEngine();
+    
+    /**
+     * users、orders 两张表，orders.user_id 引用 users.id
+     */
+    private DatabaseModel model() {
+        TableModel users = TableModel.builder().name("users").comment("用户").build();
+        users.getColumns().add(ColumnModel.builder().name("id").type("BIGINT").primaryKeyPart(true).build());
+        users.getColumns().add(ColumnModel.builder().name("email").type("VARCHAR").length(128).nullable(false).build());
+        users.getIndexes().add(IndexModel.builder().name("uk_email").columns(List.of("email")).unique(true).build());
+        
+        TableModel orders = TableModel.builder().name("orders").build();
+        orders.getColumns().add(ColumnModel.builder().name("id").type("BIGINT").primaryKeyPart(true).build());
+        orders.getColumns().add(ColumnModel.builder().name("user_id").type("BIGINT").build());
+        orders.getForeignKeys().add(ForeignKeyModel.builder().name("fk_orders_user")
+                .fromTable("orders").fromColumns(List.of("user_id"))
+                .toTable("users").toColumns(List.of("id"))
+                .build());
+        
+        List<TableModel> tables = new ArrayList<>();
+        tables.add(users);
+        tables.add(orders);
+        return DatabaseModel.builder().tables(tables).build();
+    }
+    
+    @Test
+    void testIdenticalModelsHaveNoChanges() {
+        SchemaDiff diff = engine.diff(model(), model());
+        
+        assertThat(diff.hasChanges()).isFalse();
+        assertThat(diff.getUnchangedTableCount()).isEqualTo(2);
+    }
+    
+    @Test
+    void testAddedRemovedAndModifiedTables() {
+        DatabaseModel target = model();
+        target.getTables().remove(1);
+        target.getTables().add(TableModel.builder().name("payments").build());
+        target.getTables().get(0).setComment("注册用户");
+        
+        SchemaDiff diff = engine.diff(model(), target);
+        
+        assertThat(diff.getAddedTables()).extracting(TableModel::getName).containsExactly("payments");
+        assertThat(diff.getRemovedTables()).containsExactly("orders");
+        assertThat(diff.getModifiedTables()).hasSize(1);
+        SchemaDiff.TableDiff users = diff.getModifiedTables().get(0);
+        assertThat(users.getComment().getBefore()).isEqualTo("用户");
+        assertThat(users.getComment().getAfter()).isEqualTo("注册用户");
+        assertThat(users.getModifiedColumns()).isEmpty();
+        assertThat(diff.getUnchangedTableCount()).isZero();
+    }
+    
+    @Test
+    void testColumnAndIndexChanges() {
+        DatabaseModel target = model();
+        TableModel users = target.getTables().get(0);
+        users.getColumns().get(1).setLength(255);
+        users.getColumns().add(ColumnModel.builder().name("nickname").type("VARCHAR").length(64).build());
+        users.getIndexes().get(0).setUnique(false);
+        users.getIndexes().add(IndexModel.builder().columns(List.of("nickname")).build());
+        
+        SchemaDiff diff = engine.diff(model(), target);
+        
+        SchemaDiff.TableDiff tableDiff = diff.getModifiedTables().get(0);
+        assertThat(tableDiff.getAddedColumns()).extracting(ColumnModel::getName).containsExactly("nickname");
+        assertThat(tableDiff.getRemovedColumns()).isEmpty();
+        assertThat(tableDiff.getModifiedColumns()).hasSize(1);
+        assertThat(tableDiff.getModifiedColumns().get(0).getName()).isEqualTo("email");
+        assertThat(tableDiff.getModifiedColumns().get(0).getBefore().getLength()).isEqualTo(128);
+        assertThat(tableDiff.getModifiedColumns().get(0).getAfter().getLength()).isEqualTo(255);
+        assertThat(tableDiff.getModifiedIndexes()).extracting(SchemaDiff.Change::getName).containsExactly("uk_email");
+        assertThat(tableDiff.getAddedIndexes()).hasSize(1);
+        assertThat(diff.getUnchangedTableCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void testForeignKeyRenameIsModification() {
+        DatabaseModel target = model();
+        target.getTables().get(1).getForeignKeys().get(0).setName("fk_order_owner");
+        
+        SchemaDiff.TableDiff orders = engine.diff(model(), target).getModifiedTables().get(0);
+        
+        assertThat(orders.getAddedForeignKeys()).isEmpty();
+        assertThat(orders.getRemovedForeignKeys()).isEmpty();
+        assertThat(orders.getModifiedForeignKeys()).hasSize(1);
+        assertThat(orders.getModifiedForeignKeys().get(0).getAfter().getName()).isEqualTo("fk_order_owner");
+    }
+    
+    @Test
+    void testColumnOrderAndNameCaseAreIgnored() {
+        DatabaseModel target = model();
+        Collections.reverse(target.getTables());
+        TableModel users = target.getTables().get(1);
+        users.setName("`USERS`");
+        Collections.reverse(users.getColumns());
+        
+        SchemaDiff diff = engine.diff(model(), target);
+        
+        assertThat(diff.hasChanges()).isFalse();
+        assertThat(diff.getUnchangedTableCount()).isEqualTo(2);
+    }
+    
+    @Test
+    void testNullModelIsTreatedAsEmpty() {
+        SchemaDiff created = engine.diff(null, model());
+        SchemaDiff dropped = engine.diff(model(), null);
+        
+        assertThat(created.getAddedTables()).hasSize(2);
+        assertThat(dropped.getRemovedTables()).containsExactly("users", "orders");
+        assertThat(engine.diff(null, null).hasChanges()).isFalse();
+    }
+}
@@ -0,0 +1,87 @@
+package com.coffeeviz.core.graph;
+
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.ForeignKeyModel;
+import com.coffeeviz.core.model.RenderOptions;
+import com.coffeeviz.core.model.TableModel;
+import com.coffeeviz.core.renderer.MermaidErRenderer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RelationGraph 单元测试
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class RelationGraphTest {
+    
+    /**
+     * 链式关系 t0 ← t1 ← t2 ← t3 ← t4，另有孤立表 lonely
+     */
+    private DatabaseModel chainModel() {
+        List<TableModel> tables = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            TableModel table = TableModel.builder().name("t" + i).build();
+            if (i > 0) {
+                table.getForeignKeys().add(ForeignKeyModel.builder()
+                        .fromTable("t" + i).fromColumns(List.of("t" + (i - 1) + "_id"))
+                        .toTable("t" + (i - 1)).toColumns(List.of("id"))
+                        .build());
+            }
+            tables.add(table);
+        }
+        tables.add(TableModel.builder().name("lonely").build());
+        return DatabaseModel.builder().tables(tables).build();
+    }
+    
+    @Test
+    void testNeighborhoodFollowsBothDirections() {
+        RelationGraph graph = chainModel().relationGraph();
+        
+        assertThat(graph.size()).isEqualTo(6);
+        assertThat(graph.degree(graph.idOf("t2"))).isEqualTo(2);
+        assertThat(graph.degree(graph.idOf("lonely"))).isZero();
+        assertThat(names(graph.extract(Set.of("T2"), 0))).containsExactly("t2");
+        assertThat(names(graph.extract(Set.of("t2"), 1))).containsExactly("t1", "t2", "t3");
+        assertThat(names(graph.extract(Set.of("t0", "t4"), 1))).containsExactly("t0", "t1", "t3", "t4");
+        assertThat(names(graph.extract(Set.of("t0"), 10))).containsExactly("t0", "t1", "t2", "t3", "t4");
+        assertThat(graph.extract(Set.of("missing"), 3)).isEmpty();
+    }
+    
+    @Test
+    void testGraphIsReusedUntilModelChanges() {
+        DatabaseModel model = chainModel();
+        RelationGraph graph = model.relationGraph();
+        
+        assertThat(model.relationGraph()).isSameAs(graph);
+        
+        model.getTables().add(TableModel.builder().name("t5").build());
+        assertThat(model.relationGraph()).isNotSameAs(graph);
+        assertThat(model.relationGraph().size()).isEqualTo(7);
+    }
+    
+    @Test
+    void testRendererExtractsSubgraphForRelationDepth() {
+        DatabaseModel model = chainModel();
+        RenderOptions options = RenderOptions.builder()
+                .includeTables(Set.of("t2"))
+                .relationDepth(1)
+                .build();
+        
+        String mermaid = new MermaidErRenderer().render(model, options);
+        
+        assertThat(mermaid).contains("t1 {", "t2 {", "t3 {").doesNotContain("t0 {", "t4 {", "lonely");
+        // 边界表指向子图外的关系不渲染
+        assertThat(mermaid).contains("t1 ||--o{ t2", "t2 ||--o{ t3").doesNotContain("t0 ||--o{ t1");
+    }
+    
+    private List<String> names(List<TableModel> tables) {
+        return tables.stream().map(TableModel::getName).toList();
+    }
+}
@@ -0,0 +1,150 @@
+package com.coffeeviz.core.graph;
+
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.ForeignKeyModel;
+import com.coffeeviz.core.model.RenderOptions;
+import com.coffeeviz.core.model.TableModel;
+import com.coffeeviz.core.renderer.MermaidErRenderer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SchemaPartitioner 单元测试
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class SchemaPartitionerTest {
+    
+    private final SchemaPartitioner partitioner = new SchemaPartitioner();
+    
+    @Test
+    void testDenseGroupsBecomeClustersWithOverviewEdge() {
+        List<TableModel> tables = new ArrayList<>();
+        tables.addAll(star("order", 6));
+        tables.addAll(star("user", 6));
+        link(tables.get(3), "user_0");
+        DatabaseModel model = DatabaseModel.builder().tables(tables).build();
+        
+        SchemaPartition partition = partitioner.partition(model, new RenderOptions(), 10);
+        
+        assertThat(partition.getClusters()).hasSize(2);
+        assertThat(names(partition.getClusters().get(0))).allMatch(name -> name.startsWith("order_"));
+        assertThat(partition.getClusters().get(0).getName()).isEqualTo("order_0");
+        assertThat(partition.getEdges()).hasSize(1);
+        assertThat(partition.getEdges().get(0).getFrom()).isEqualTo(1);
+        assertThat(partition.getEdges().get(0).getTo()).isEqualTo(2);
+        
+        String overview = new MermaidErRenderer().renderOverview(partition);
+        assertThat(overview).contains("P1_order_0 {", "P2_user_0 {", "P2_user_0 ||..o{ P1_order_0 : \"1 个外键\"");
+        
+        String cluster = new MermaidErRenderer().renderTables(model, partition.getClusters().get(0).getTables(), new RenderOptions());
+        assertThat(cluster).contains("order_0 {").doesNotContain("user_0");
+    }
+    
+    @Test
+    void testEveryTableAssignedOnceWithinSizeBound() {
+        List<TableModel> tables = new ArrayList<>();
+        for (int i = 0; i < 230; i++) {
+            TableModel table = TableModel.builder().name("t" + i).build();
+            if (i > 0 && i % 7 != 0) {
+                link(table, "t" + (i - 1));
+            }
+            if (i > 20 && i % 5 == 0) {
+                link(table, "t" + (i / 3));
+            }
+            tables.add(table);
+        }
+        for (int i = 0; i < 40; i++) {
+            tables.add(TableModel.builder().name("lonely_" + i).build());
+        }
+        DatabaseModel model = DatabaseModel.builder().tables(tables).build();
+        
+        SchemaPartition partition = partitioner.partition(model, new RenderOptions(), 25);
+        
+        Set<String> seen = new HashSet<>();
+        for (SchemaPartition.Cluster cluster : partition.getClusters()) {
+            assertThat(cluster.getTables()).hasSizeBetween(1, 25);
+            cluster.getTables().forEach(table -> assertThat(seen.add(table.getName())).isTrue());
+        }
+        assertThat(seen).hasSize(270);
+        assertThat(partition.getClusters()).hasSizeLessThan(40);
+    }
+    
+    @Test
+    void testTablePrefixHintSeparatesGroups() {
+        List<TableModel> tables = new ArrayList<>();
+        tables.addAll(star("sys_role", 4));
+        tables.addAll(star("biz_order", 4));
+        tables.forEach(table -> {
+            if (table.getName().startsWith("biz_")) {
+                link(table, "sys_role_0");
+            }
+        });
+        DatabaseModel model = DatabaseModel.builder().tables(tables).build();
+        RenderOptions options = RenderOptions.builder().tablePrefix("sys_").build();
+        
+        SchemaPartition partition = partitioner.partition(model, options, 50);
+        
+        assertThat(partition.getClusters()).hasSize(2);
+        assertThat(partition.getClusters().get(0).getName()).isEqualTo("sys_:sys_role_0");
+        assertThat(names(partition.getClusters().get(1))).allMatch(name -> name.startsWith("biz_"));
+    }
+    
+    @Test
+    void testPartitionsOnlySelectedTables() {
+        List<TableModel> tables = new ArrayList<>();
+        tables.addAll(star("order", 6));
+        tables.addAll(star("user", 6));
+        link(tables.get(3), "user_0");
+        DatabaseModel model = DatabaseModel.builder().tables(tables).build();
+        RenderOptions options = new RenderOptions();
+        options.setIncludeTables(Set.of("order_0"));
+        options.setRelationDepth(1);
+        
+        // 与不拆分时相同的筛选：焦点表及一度关联表，外键指向的未选中表不会进入任何子图
+        MermaidErRenderer renderer = new MermaidErRenderer();
+        List<TableModel> selected = renderer.selectTables(model, options);
+        DatabaseModel selectedModel = DatabaseModel.builder().tables(selected).build();
+        SchemaPartition partition = partitioner.partition(selectedModel, options, 3);
+        
+        Set<String> seen = new HashSet<>();
+        partition.getClusters().forEach(cluster -> seen.addAll(names(cluster)));
+        assertThat(seen).hasSize(6).allMatch(name -> name.startsWith("order_"));
+    }
+    
+    /**
+     * 以 {prefix}_0 为中心、其余表都引用它的一组表
+     */
+    private List<TableModel> star(String prefix, int size) {
+        List<TableModel> tables = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            TableModel table = TableModel.builder().name(prefix + "_" + i).build();
+            if (i > 0) {
+                link(table, prefix + "_0");
+                if (i > 1) {
+                    link(table, prefix + "_" + (i - 1));
+                }
+            }
+            tables.add(table);
+        }
+        return tables;
+    }
+    
+    private void link(TableModel from, String to) {
+        from.getForeignKeys().add(ForeignKeyModel.builder()
+                .fromTable(from.getName()).fromColumns(List.of(to + "_id"))
+                .toTable(to).toColumns(List.of("id"))
+                .build());
+    }
+    
+    private List<String> names(SchemaPartition.Cluster cluster) {
+        return cluster.getTables().stream().map(TableModel::getName).toList();
+    }
+}
@@ -290,7 +290,7 @@ class RelationInferenceEngineTest {
                 .build();
         
         // 执行推断
-        engine.inferRelations(model);
+        engine.inferRelations(model, config);
         
         // 验证：应该推断出隐式外键
         assertEquals(1, posts.getForeignKeys().size());
@@ -301,6 +301,67 @@ class RelationInferenceEngineTest {
         assertEquals(RelationType.ONE_TO_MANY, inferredFk.getRelationType());
     }
     
+    @Test
+    void testNamingConventionVariantsAndAmbiguity() {
+        config.setEnableNamingConvention(true);
+        
+        TableModel categories = tableWithId("categories");
+        TableModel sysDept = tableWithId("sys_dept");
+        TableModel orderItem = tableWithId("order_item");
+        TableModel cartItem = tableWithId("cart_item");
+        
+        // 复数表名、去前缀表名、带修饰词的列名，以及有歧义的 item_id
+        TableModel products = TableModel.builder()
+                .name("products")
+                .primaryKey(PrimaryKeyModel.builder()
+                        .columns(Collections.singletonList("id"))
+                        .build())
+                .columns(Arrays.asList(
+                        ColumnModel.builder().name("id").type("BIGINT").primaryKeyPart(true).build(),
+                        ColumnModel.builder().name("CATEGORY_ID").type("BIGINT").build(),
+                        ColumnModel.builder().name("dept_id").type("BIGINT").build(),
+                        ColumnModel.builder().name("parent_product_id").type("BIGINT").build(),
+                        ColumnModel.builder().name("item_id").type("BIGINT").build(),
+                        ColumnModel.builder().name("external_id").type("VARCHAR").build()
+                ))
+                .foreignKeys(new ArrayList<>())
+                .indexes(new ArrayList<>())
+                .build();
+        
+        DatabaseModel model = DatabaseModel.builder()
+                .tables(Arrays.asList(categories, sysDept, orderItem, cartItem, products))
+                .build();
+        
+        engine.inferRelations(model, config);
+        
+        List<ForeignKeyModel> fks = products.getForeignKeys();
+        assertEquals(3, fks.size());
+        assertEquals("categories", fks.get(0).getToTable());
+        assertEquals("sys_dept", fks.get(1).getToTable());
+        assertEquals("products", fks.get(2).getToTable());
+        assertTrue(fks.stream().allMatch(ForeignKeyModel::isInferred));
+        assertEquals(model.referencedBy("categories").get(0), fks.get(0));
+        
+        // 已有外键的列和表自身的主键列不会重复推断
+        engine.inferRelations(model, config);
+        assertEquals(3, products.getForeignKeys().size());
+        assertTrue(categories.getForeignKeys().isEmpty());
+    }
+    
+    private TableModel tableWithId(String name) {
+        return TableModel.builder()
+                .name(name)
+                .primaryKey(PrimaryKeyModel.builder()
+                        .columns(Collections.singletonList("id"))
+                        .build())
+                .columns(Collections.singletonList(
+                        ColumnModel.builder().name("id").type("BIGINT").primaryKeyPart(true).build()
+                ))
+                .foreignKeys(new ArrayList<>())
+                .indexes(new ArrayList<>())
+                .build();
+    }
+    
     @Test
     void testNullModelHandling() {
         // 测试空模型
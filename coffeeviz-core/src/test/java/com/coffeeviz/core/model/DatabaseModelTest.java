@@ -2,6 +2,7 @@ package com.coffeeviz.core.model;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -84,4 +85,44 @@ class DatabaseModelTest {
         assertThat(model.getViews()).hasSize(1);
         assertThat(model.getViews().get(0).getName()).isEqualTo("user_summary");
     }
+    
+    @Test
+    void testFindTableAndReferencedBy() {
+        // Given
+        TableModel users = TableModel.builder().name("Users").build();
+        TableModel orders = TableModel.builder()
+                .name("orders")
+                .foreignKeys(new ArrayList<>(Arrays.asList(ForeignKeyModel.builder()
+                        .fromTable("orders").fromColumns(Arrays.asList("user_id"))
+                        .toTable("`users`").toColumns(Arrays.asList("id")).build())))
+                .build();
+        DatabaseModel model = DatabaseModel.builder()
+                .tables(new ArrayList<>(Arrays.asList(users, orders)))
+                .build();
+        
+        // Then
+        assertThat(model.findTable("users")).isSameAs(users);
+        assertThat(model.findTable("\"ORDERS\"")).isSameAs(orders);
+        assertThat(model.findTable("missing")).isNull();
+        assertThat(model.referencedBy("USERS")).hasSize(1);
+        assertThat(model.referencedBy("orders")).isEmpty();
+        
+        // 增加表后索引自动重建
+        TableModel payments = TableModel.builder()
+                .name("payments")
+                .foreignKeys(new ArrayList<>(Arrays.asList(ForeignKeyModel.builder()
+                        .fromTable("payments").fromColumns(Arrays.asList("user_id"))
+                        .toTable("users").toColumns(Arrays.asList("id")).build())))
+                .build();
+        model.getTables().add(payments);
+        assertThat(model.findTable("payments")).isSameAs(payments);
+        assertThat(model.referencedBy("users")).hasSize(2);
+        
+        // 在已有表上增加外键需要显式失效
+        users.getForeignKeys().add(ForeignKeyModel.builder()
+                .fromTable("Users").fromColumns(Arrays.asList("last_order_id"))
+                .toTable("orders").toColumns(Arrays.asList("id")).build());
+        model.invalidateLookups();
+        assertThat(model.referencedBy("orders")).hasSize(1);
+    }
 }
@@ -0,0 +1,72 @@
+package com.coffeeviz.core.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 模型字符串符号表测试
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class SymbolTableTest {
+    
+    /**
+     * 模拟 JDBC 驱动：每次读取都返回新的字符串实例
+     */
+    private static String fresh(String value) {
+        return new String(value.toCharArray());
+    }
+    
+    private TableModel table(String name, String parent) {
+        TableModel table = TableModel.builder().name(fresh(name)).build();
+        table.getColumns().add(ColumnModel.builder().name(fresh("id")).type(fresh("BIGINT")).build());
+        table.getColumns().add(ColumnModel.builder().name(fresh("create_time")).type(fresh("DATETIME"))
+                .comment(fresh("创建时间")).build());
+        table.getForeignKeys().add(ForeignKeyModel.builder()
+                .fromTable(fresh(name)).fromColumns(List.of(fresh(parent + "_id")))
+                .toTable(fresh(parent)).toColumns(List.of(fresh("id")))
+                .build());
+        return table;
+    }
+    
+    @Test
+    void testEqualStringsShareOneInstance() {
+        SymbolTable symbols = new SymbolTable();
+        TableModel orders = table("orders", "users");
+        TableModel payments = table("payments", "users");
+        
+        symbols.intern(orders);
+        symbols.intern(payments);
+        
+        assertThat(payments.getColumns().get(0).getName()).isSameAs(orders.getColumns().get(0).getName());
+        assertThat(payments.getColumns().get(1).getType()).isSameAs(orders.getColumns().get(1).getType());
+        assertThat(payments.getColumns().get(1).getComment()).isSameAs(orders.getColumns().get(1).getComment());
+        assertThat(payments.getForeignKeys().get(0).getToTable()).isSameAs(orders.getForeignKeys().get(0).getToTable());
+        // 外键列表原为不可修改列表，替换为新列表而不是原地修改
+        assertThat(payments.getForeignKeys().get(0).getToColumns().get(0)).isSameAs(orders.getColumns().get(0).getName());
+        assertThat(payments.getForeignKeys().get(0).getFromTable()).isSameAs(payments.getName());
+        assertThat(orders).isEqualTo(table("orders", "users"));
+    }
+    
+    @Test
+    void testLongStringsAndFullTableAreNotRegistered() {
+        SymbolTable symbols = new SymbolTable(2);
+        String longComment = "x".repeat(SymbolTable.MAX_LENGTH + 1);
+        
+        assertThat(symbols.intern(longComment)).isSameAs(longComment);
+        assertThat(symbols.size()).isZero();
+        
+        String id = symbols.intern(fresh("id"));
+        symbols.intern(fresh("name"));
+        String extra = fresh("extra");
+        assertThat(symbols.intern(extra)).isSameAs(extra);
+        assertThat(symbols.intern(fresh("extra"))).isNotSameAs(extra);
+        assertThat(symbols.intern(fresh("id"))).isSameAs(id);
+        assertThat(symbols.size()).isEqualTo(2);
+        assertThat(symbols.intern((String) null)).isNull();
+    }
+}
@@ -3,6 +3,7 @@ package com.coffeeviz.core.model;
 import com.coffeeviz.core.enums.RelationType;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 
@@ -108,4 +109,41 @@ class TableModelTest {
         assertThat(table.getForeignKeys()).isNotNull().isEmpty();
         assertThat(table.getIndexes()).isNotNull().isEmpty();
     }
+    
+    @Test
+    void testFindColumnAndForeignKeyLookups() {
+        // Given
+        TableModel table = TableModel.builder()
+                .name("orders")
+                .columns(new ArrayList<>(Arrays.asList(
+                        ColumnModel.builder().name("id").type("BIGINT").build(),
+                        ColumnModel.builder().name("User_Id").type("BIGINT").build())))
+                .foreignKeys(new ArrayList<>(Collections.singletonList(ForeignKeyModel.builder()
+                        .fromTable("orders").fromColumns(Arrays.asList("User_Id"))
+                        .toTable("users").toColumns(Arrays.asList("id")).build())))
+                .build();
+        
+        // Then
+        assertThat(table.findColumn("user_id").getName()).isEqualTo("User_Id");
+        assertThat(table.findColumn("missing")).isNull();
+        assertThat(table.isForeignKeyColumn("USER_ID")).isTrue();
+        assertThat(table.isForeignKeyColumn("id")).isFalse();
+        
+        // 增加列与外键后索引自动重建
+        table.getColumns().add(ColumnModel.builder().name("shop_id").type("BIGINT").build());
+        table.getForeignKeys().add(ForeignKeyModel.builder()
+                .fromTable("orders").fromColumns(Arrays.asList("shop_id"))
+                .toTable("shops").toColumns(Arrays.asList("id")).build());
+        assertThat(table.findColumn("SHOP_ID")).isNotNull();
+        assertThat(table.isForeignKeyColumn("shop_id")).isTrue();
+        
+        // 原地改名后旧名不再命中，新名在失效后命中
+        table.findColumn("id").setName("order_id");
+        assertThat(table.findColumn("id")).isNull();
+        table.invalidateLookups();
+        assertThat(table.findColumn("order_id")).isNotNull();
+        
+        // 索引不影响相等性
+        assertThat(table.copy()).isEqualTo(table);
+    }
 }
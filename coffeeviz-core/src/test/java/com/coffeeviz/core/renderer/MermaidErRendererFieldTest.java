@@ -4,8 +4,11 @@ import com.coffeeviz.core.model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -95,6 +98,25 @@ class MermaidErRendererFieldTest {
         assertFalse(result.contains("\"NOT NULL\" \""), "不应该有多个独立的注释字符串");
     }
     
+    @Test
+    void testRenderToAppendable() throws IOException {
+        databaseModel.getTables().add(createUserTable());
+        databaseModel.getTables().add(createProjectTable());
+        
+        // 流式输出与字符串输出一致
+        StringWriter writer = new StringWriter();
+        renderer.render(databaseModel, options, writer);
+        assertEquals(renderer.render(databaseModel, options), writer.toString());
+        
+        // 按关系深度提取子图时同样直接写入输出目标
+        options.setIncludeTables(Set.of("sys_user"));
+        options.setRelationDepth(1);
+        writer = new StringWriter();
+        renderer.render(databaseModel, options, writer);
+        assertEquals(renderer.render(databaseModel, options), writer.toString());
+        assertTrue(writer.toString().contains("sys_user ||--o{ biz_project"));
+    }
+    
     @Test
     void testEscapeComment() {
         TableModel table = new TableModel();
@@ -123,6 +145,43 @@ class MermaidErRendererFieldTest {
         assertFalse(result.contains("注释\n包含"), "换行符应该被替换为空格");
     }
     
+    @Test
+    void testColumnFormattingEdgeCases() {
+        TableModel table = new TableModel();
+        table.setName("edge_table");
+        table.setColumns(new ArrayList<>());
+        
+        ColumnModel amount = new ColumnModel();
+        amount.setName("amount");
+        amount.setType("DECIMAL( 12 , 4 )");
+        amount.setNullable(false);
+        table.getColumns().add(amount);
+        
+        ColumnModel remark = new ColumnModel();
+        remark.setName("remark");
+        remark.setType("varchar");
+        remark.setRawType("varchar");
+        remark.setLength(1024);
+        remark.setComment("  多个\t\t空白\r\n  ");
+        remark.setNullable(true);
+        table.getColumns().add(remark);
+        
+        ColumnModel blank = new ColumnModel();
+        blank.setName("blank");
+        blank.setType("int");
+        blank.setRawType("int");
+        blank.setComment(" \r\n ");
+        blank.setNullable(false);
+        table.getColumns().add(blank);
+        
+        databaseModel.getTables().add(table);
+        String result = renderer.render(databaseModel, options);
+        
+        assertTrue(result.contains("        DECIMAL(12_4) amount \"NOT NULL\"\n"), "类型中的空白应移除，逗号替换为下划线");
+        assertTrue(result.contains("        varchar(1024) remark \"多个 空白\"\n"), "连续空白应合并并去掉首尾空白");
+        assertTrue(result.contains("        int blank \"NOT NULL\"\n"), "只有空白的注释不应输出");
+    }
+    
     @Test
     void testPrimaryKeyAndForeignKeyConflict() {
         // 测试字段既是主键又是外键的情况（应该只显示 PK）
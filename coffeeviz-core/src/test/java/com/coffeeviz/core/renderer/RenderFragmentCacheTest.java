@@ -0,0 +1,124 @@
+package com.coffeeviz.core.renderer;
+
+import com.coffeeviz.core.enums.ViewMode;
+import com.coffeeviz.core.model.ColumnModel;
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.ForeignKeyModel;
+import com.coffeeviz.core.model.RenderOptions;
+import com.coffeeviz.core.model.TableModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 单表渲染片段缓存测试
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class RenderFragmentCacheTest {
+    
+    private final RenderFragmentCache cache = new RenderFragmentCache(true, 1_000_000);
+    private final MermaidErRenderer cachedRenderer = new MermaidErRenderer(cache);
+    private final MermaidErRenderer plainRenderer = new MermaidErRenderer();
+    
+    /**
+     * t0 ← t1 ← ... ← t{n-1}，每张表有主键、注释列和指向前一张表的外键
+     */
+    private DatabaseModel model(int tableCount) {
+        List<TableModel> tables = new ArrayList<>();
+        for (int i = 0; i < tableCount; i++) {
+            TableModel table = TableModel.builder().name("t" + i).build();
+            table.getColumns().add(ColumnModel.builder().name("id").type("BIGINT").primaryKeyPart(true).build());
+            table.getColumns().add(ColumnModel.builder().name("title").type("VARCHAR").length(64)
+                    .nullable(false).comment("标题 " + i).build());
+            if (i > 0) {
+                table.getColumns().add(ColumnModel.builder().name("t" + (i - 1) + "_id").type("BIGINT").nullable(true).build());
+                table.getForeignKeys().add(ForeignKeyModel.builder()
+                        .fromTable("t" + i).fromColumns(List.of("t" + (i - 1) + "_id"))
+                        .toTable("t" + (i - 1)).toColumns(List.of("id"))
+                        .build());
+            }
+            tables.add(table);
+        }
+        return DatabaseModel.builder().tables(tables).build();
+    }
+    
+    @Test
+    void testCachedOutputMatchesFullRender() {
+        DatabaseModel model = model(5);
+        RenderOptions options = new RenderOptions();
+        
+        String first = cachedRenderer.render(model, options);
+        String second = cachedRenderer.render(model, options);
+        
+        assertThat(first).isEqualTo(plainRenderer.render(model, options));
+        assertThat(second).isEqualTo(first);
+        assertThat(cache.metrics().getMissCount()).isEqualTo(5);
+        assertThat(cache.metrics().getHitCount()).isEqualTo(5);
+    }
+    
+    @Test
+    void testOnlyChangedTableIsRerendered() {
+        DatabaseModel model = model(5);
+        RenderOptions options = new RenderOptions();
+        cachedRenderer.render(model, options);
+        
+        // 重新提交的模型（新对象）中只修改一张表的列注释
+        DatabaseModel edited = model(5);
+        edited.getTables().get(2).getColumns().get(1).setComment("新的标题");
+        String result = cachedRenderer.render(edited, options);
+        
+        assertThat(result).contains("VARCHAR(64) title \"NOT NULL, 新的标题\"");
+        assertThat(result).isEqualTo(plainRenderer.render(edited, options));
+        assertThat(cache.metrics().getHitCount()).isEqualTo(4);
+        assertThat(cache.metrics().getMissCount()).isEqualTo(6);
+    }
+    
+    @Test
+    void testRelevantOptionsArePartOfTheKey() {
+        DatabaseModel model = model(3);
+        RenderOptions options = new RenderOptions();
+        cachedRenderer.render(model, options);
+        
+        options.setShowComments(false);
+        assertThat(cachedRenderer.render(model, options)).doesNotContain("标题");
+        options.setViewMode(ViewMode.CONCEPTUAL);
+        assertThat(cachedRenderer.render(model, options)).isEqualTo(plainRenderer.render(model, options));
+        assertThat(cache.metrics().getHitCount()).isZero();
+        
+        // 修改原模型后不会命中修改前的片段
+        model.getTables().get(1).getForeignKeys().get(0).setInferred(true);
+        assertThat(cachedRenderer.render(model, options)).contains("t0 ||..o{ t1");
+    }
+    
+    @Test
+    void testSignatureSeparatesFieldBoundaries() {
+        TableModel a = TableModel.builder().name("t").build();
+        a.getColumns().add(ColumnModel.builder().name("ab").type("c").build());
+        TableModel b = TableModel.builder().name("t").build();
+        b.getColumns().add(ColumnModel.builder().name("a").type("bc").build());
+        
+        assertThat(RenderFragmentCache.structureSignature(a)).isNotEqualTo(RenderFragmentCache.structureSignature(b));
+        assertThat(RenderFragmentCache.structureSignature(a)).isEqualTo(RenderFragmentCache.structureSignature(a.copy()));
+    }
+    
+    @Test
+    void testSignatureCountsTowardsWeight() {
+        RenderFragmentCache small = new RenderFragmentCache(true, 1_000);
+        TableModel table = TableModel.builder().name("wide").build();
+        for (int i = 0; i < 20; i++) {
+            table.getColumns().add(ColumnModel.builder().name("c" + i).type("VARCHAR")
+                    .comment("很长的列注释".repeat(20)).build());
+        }
+        
+        // 不显示注释时片段很短，但签名包含注释，超出容量上限的条目不会保留
+        small.put(table, ViewMode.PHYSICAL, false, "wide {}", "");
+        
+        assertThat(small.get(table, ViewMode.PHYSICAL, false)).isNull();
+        assertThat(small.metrics().getSize()).isZero();
+    }
+}
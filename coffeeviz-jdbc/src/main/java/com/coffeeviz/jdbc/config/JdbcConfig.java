@@ -43,7 +43,7 @@ public class JdbcConfig {
     private String schemaName;
     
     /**
-     * 连接超时（秒），默认 10 秒
+     * 超时（秒），默认 10 秒：用于建立连接、网络读取和每条元数据查询
      */
     @Builder.Default
     private Integer timeout = 10;
@@ -53,4 +53,9 @@ public class JdbcConfig {
      */
     @Builder.Default
     private boolean readOnly = true;
+    
+    /**
+     * 连接所属用户（非空时通过连接缓存复用该用户相同配置的空闲连接）
+     */
+    private String owner;
 }
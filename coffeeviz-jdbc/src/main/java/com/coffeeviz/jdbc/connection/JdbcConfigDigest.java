@@ -0,0 +1,58 @@
+package com.coffeeviz.jdbc.connection;
+
+import com.coffeeviz.jdbc.config.JdbcConfig;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+
+/**
+ * JDBC 配置摘要
+ * 连接缓存、Schema 快照等按数据源索引的缓存用它作键，不保存明文密码：
+ * 对数据库类型、URL、用户名、密码和只读模式（可选 Schema）计算 HMAC-SHA256，密钥每次启动随机生成，
+ * 摘要无法离线反推密码，重启后旧摘要全部失效
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+public final class JdbcConfigDigest {
+    
+    private static final SecretKeySpec SECRET;
+    
+    static {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        SECRET = new SecretKeySpec(secret, "HmacSHA256");
+    }
+    
+    private JdbcConfigDigest() {
+    }
+    
+    /**
+     * 计算配置摘要（超时不影响连接和元数据，不参与计算）
+     * 
+     * @param config JDBC 配置
+     * @param includeSchema 是否包含 Schema 名称
+     * @return 64 位十六进制摘要
+     */
+    public static String of(JdbcConfig config, boolean includeSchema) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(SECRET);
+            String[] parts = {config.getDbType(), config.getJdbcUrl(), config.getUsername(), config.getPassword(),
+                    String.valueOf(config.isReadOnly()), includeSchema ? config.getSchemaName() : null};
+            for (String part : parts) {
+                if (part != null) {
+                    mac.update(part.getBytes(StandardCharsets.UTF_8));
+                }
+                mac.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("计算 JDBC 配置摘要失败", e);
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.coffeeviz.jdbc.connection;
+
+import com.coffeeviz.jdbc.config.JdbcConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 按用户缓存的 JDBC 空闲连接
+ * 前端先调用测试连接、再用同一配置生成 ER 图，每次都重新建立连接（TLS 与认证握手）；
+ * 借出的连接关闭时不真正关闭，而是放回所属用户的空闲列表，同一用户用相同配置再次连接时直接复用。
+ * 
+ * 缓存键为“用户 + 配置摘要”（见 {@link JdbcConfigDigest}），缓存中不保存 JdbcConfig 和明文密码；空闲超时的连接被关闭并移出缓存，
+ * 驱动内部持有的凭据随连接一起释放。
+ * 
+ * 单用户与全局上限按缓存管理的全部连接（借出中 + 空闲）计算：借出中的连接已达上限时新建的连接不受缓存管理，关闭时直接关闭；
+ * 借出或放回后超出上限时关闭最早放回的空闲连接
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class JdbcConnectionCache {
+    
+    /**
+     * 空闲超过该时间的连接借出前先检查是否仍然可用
+     */
+    private static final long VALIDATE_AFTER_NANOS = TimeUnit.SECONDS.toNanos(5);
+    
+    /**
+     * 可用性检查超时（秒）
+     */
+    private static final int VALIDATE_TIMEOUT_SECONDS = 2;
+    
+    private final boolean enabled;
+    
+    private final int maxPerUser;
+    
+    private final int maxTotal;
+    
+    private final long idleTimeoutNanos;
+    
+    /**
+     * 空闲连接，按放回时间从早到晚排列
+     */
+    private final Deque<Idle> idle = new ArrayDeque<>();
+    
+    /**
+     * 各用户借出中的连接数
+     */
+    private final Map<String, Integer> leased = new HashMap<>();
+    
+    private int leasedTotal;
+    
+    private final ScheduledExecutorService evictor;
+    
+    private long hitCount;
+    
+    private long missCount;
+    
+    private long evictionCount;
+    
+    @Autowired
+    public JdbcConnectionCache(@Value("${coffeeviz.jdbc.connection-cache.enabled:true}") boolean enabled,
+                               @Value("${coffeeviz.jdbc.connection-cache.max-per-user:2}") int maxPerUser,
+                               @Value("${coffeeviz.jdbc.connection-cache.max-total:64}") int maxTotal,
+                               @Value("${coffeeviz.jdbc.connection-cache.idle-timeout-seconds:120}") long idleTimeoutSeconds) {
+        this(enabled, maxPerUser, maxTotal, Duration.ofSeconds(idleTimeoutSeconds));
+    }
+    
+    JdbcConnectionCache(boolean enabled, int maxPerUser, int maxTotal, Duration idleTimeout) {
+        this.enabled = enabled;
+        this.maxPerUser = maxPerUser;
+        this.maxTotal = maxTotal;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        
+        if (enabled) {
+            evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "jdbc-connection-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = Math.max(idleTimeout.toMillis() / 2, 1000);
+            evictor.scheduleWithFixedDelay(this::evictExpired, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            evictor = null;
+        }
+        log.info("JDBC 连接缓存: {}，每用户 {} 个，全局 {} 个（含借出中的连接），空闲 {} 秒后关闭",
+                enabled ? "启用" : "禁用", maxPerUser, maxTotal, idleTimeout.toSeconds());
+    }
+    
+    /**
+     * 借出连接：优先复用该用户相同配置的空闲连接，没有时新建
+     * 返回的连接关闭时放回缓存；未启用缓存、未指定用户或借出中的连接已达上限时直接返回新建的连接
+     * 
+     * @param owner 连接所属用户
+     * @param config JDBC 配置（只用于计算缓存键，不保存）
+     * @param factory 新建连接
+     */
+    public Connection acquire(String owner, JdbcConfig config, ConnectionFactory factory) throws SQLException {
+        if (!enabled || owner == null) {
+            return factory.create();
+        }
+        String key = JdbcConfigDigest.of(config, false);
+        Idle entry;
+        while ((entry = take(owner, key)) != null) {
+            if (isUsable(entry)) {
+                synchronized (this) {
+                    hitCount++;
+                }
+                log.debug("复用缓存的 JDBC 连接: owner={}", owner);
+                return borrowed(owner, key, entry.connection);
+            }
+            synchronized (this) {
+                unlease(owner);
+            }
+            closeQuietly(entry.connection);
+        }
+        
+        boolean managed;
+        List<Connection> overflow = new ArrayList<>();
+        synchronized (this) {
+            missCount++;
+            managed = leased.getOrDefault(owner, 0) < maxPerUser && leasedTotal < maxTotal;
+            if (managed) {
+                lease(owner);
+                trim(owner, overflow);
+            }
+        }
+        overflow.forEach(JdbcConnectionCache::closeQuietly);
+        if (!managed) {
+            log.debug("借出中的 JDBC 连接已达上限，新建的连接不放回缓存: owner={}", owner);
+            return factory.create();
+        }
+        try {
+            return borrowed(owner, key, factory.create());
+        } catch (SQLException | RuntimeException e) {
+            synchronized (this) {
+                unlease(owner);
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * 关闭并移除空闲超时的连接
+     */
+    void evictExpired() {
+        List<Connection> expired = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            while (!idle.isEmpty() && now - idle.peekFirst().releasedAt >= idleTimeoutNanos) {
+                expired.add(idle.pollFirst().connection);
+            }
+            evictionCount += expired.size();
+        }
+        expired.forEach(JdbcConnectionCache::closeQuietly);
+    }
+    
+    /**
+     * 关闭并移除所有空闲连接
+     */
+    public void invalidateAll() {
+        List<Connection> all = new ArrayList<>();
+        synchronized (this) {
+            idle.forEach(entry -> all.add(entry.connection));
+            idle.clear();
+        }
+        all.forEach(JdbcConnectionCache::closeQuietly);
+    }
+    
+    /**
+     * 缓存统计（诊断用）
+     */
+    public synchronized Metrics metrics() {
+        Set<String> owners = new HashSet<>();
+        idle.forEach(entry -> owners.add(entry.owner));
+        Metrics metrics = new Metrics();
+        metrics.setEnabled(enabled);
+        metrics.setIdleCount(idle.size());
+        metrics.setLeasedCount(leasedTotal);
+        metrics.setOwnerCount(owners.size());
+        metrics.setHitCount(hitCount);
+        metrics.setMissCount(missCount);
+        metrics.setEvictionCount(evictionCount);
+        return metrics;
+    }
+    
+    @PreDestroy
+    public void destroy() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        invalidateAll();
+    }
+    
+    /**
+     * 取出该用户相同配置最近放回的空闲连接（计为借出中）
+     */
+    private synchronized Idle take(String owner, String key) {
+        Iterator<Idle> iterator = idle.descendingIterator();
+        while (iterator.hasNext()) {
+            Idle entry = iterator.next();
+            if (entry.owner.equals(owner) && entry.key.equals(key)) {
+                iterator.remove();
+                lease(owner);
+                return entry;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 放回连接，超出单用户或全局上限时关闭最早放回的连接
+     * 
+     * @param reusable 为 false 时（连接已被 abort）只归还借出计数
+     */
+    private void release(String owner, String key, Connection connection, boolean reusable) {
+        boolean open;
+        try {
+            open = reusable && !connection.isClosed();
+        } catch (SQLException e) {
+            open = false;
+            closeQuietly(connection);
+        }
+        
+        List<Connection> overflow = new ArrayList<>();
+        synchronized (this) {
+            unlease(owner);
+            if (open) {
+                idle.addLast(new Idle(owner, key, connection, System.nanoTime()));
+                trim(owner, overflow);
+            }
+        }
+        overflow.forEach(JdbcConnectionCache::closeQuietly);
+    }
+    
+    /**
+     * 空闲连接加上借出中的连接超出单用户或全局上限时，移出最早放回的空闲连接（调用方持有锁，在锁外关闭）
+     */
+    private void trim(String owner, List<Connection> overflow) {
+        int before = overflow.size();
+        int ownerCount = leased.getOrDefault(owner, 0);
+        Iterator<Idle> iterator = idle.descendingIterator();
+        while (iterator.hasNext()) {
+            Idle entry = iterator.next();
+            if (entry.owner.equals(owner) && ++ownerCount > maxPerUser) {
+                iterator.remove();
+                overflow.add(entry.connection);
+            }
+        }
+        while (!idle.isEmpty() && idle.size() + leasedTotal > maxTotal) {
+            overflow.add(idle.pollFirst().connection);
+        }
+        evictionCount += overflow.size() - before;
+    }
+    
+    private void lease(String owner) {
+        leased.merge(owner, 1, Integer::sum);
+        leasedTotal++;
+    }
+    
+    private void unlease(String owner) {
+        leased.computeIfPresent(owner, (k, count) -> count > 1 ? count - 1 : null);
+        leasedTotal--;
+    }
+    
+    private boolean isUsable(Idle entry) {
+        if (System.nanoTime() - entry.releasedAt < VALIDATE_AFTER_NANOS) {
+            return true;
+        }
+        try {
+            return entry.connection.isValid(VALIDATE_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * 包装借出的连接：close 放回缓存，放回后再调用其他方法抛出异常（避免与下一个借用者共用连接）
+     */
+    private Connection borrowed(String owner, String key, Connection connection) {
+        AtomicBoolean returned = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            if (returned.compareAndSet(false, true)) {
+                                release(owner, key, connection, true);
+                            }
+                            return null;
+                        }
+                        case "isClosed" -> {
+                            if (returned.get()) {
+                                return true;
+                            }
+                        }
+                        case "abort" -> {
+                            if (returned.compareAndSet(false, true)) {
+                                release(owner, key, connection, false);
+                            }
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "toString" -> {
+                            return "CachedConnection[" + owner + "]";
+                        }
+                        default -> {
+                            if (returned.get()) {
+                                throw new SQLException("连接已关闭");
+                            }
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+    
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("关闭缓存的 JDBC 连接失败: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 新建连接
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+    
+    private record Idle(String owner, String key, Connection connection, long releasedAt) {
+    }
+    
+    /**
+     * 缓存统计
+     */
+    @Data
+    public static class Metrics {
+        private boolean enabled;
+        private int idleCount;
+        private int leasedCount;
+        private int ownerCount;
+        private long hitCount;
+        private long missCount;
+        private long evictionCount;
+    }
+}
@@ -0,0 +1,408 @@
+package com.coffeeviz.jdbc.parser;
+
+import com.coffeeviz.core.model.ColumnModel;
+import com.coffeeviz.core.model.ForeignKeyModel;
+import com.coffeeviz.core.model.IndexModel;
+import com.coffeeviz.core.model.PrimaryKeyModel;
+import com.coffeeviz.core.model.TableModel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 批量元数据读取器
+ * 用少量基于集合的查询（表、列、主键、外键、索引各一条，均按表排序）一次读出整个 Schema 的元数据，
+ * 逐行写入对应的 TableModel，替代逐表调用 DatabaseMetaData 的 4×N 次往返。
+ * 
+ * 各方言子类提供查询语句，语句中的 ? 都绑定 Schema 名称，结果列使用统一的别名：
+ * <ul>
+ *     <li>表：table_name, remarks</li>
+ *     <li>列：table_name, column_name, type_name, column_size, decimal_digits, nullable(1/0),
+ *     column_default, remarks, auto_increment(1/0)</li>
+ *     <li>主键：table_name, constraint_name, column_name</li>
+ *     <li>外键：table_name, constraint_name, key_seq, column_name, ref_table_name, ref_column_name,
+ *     delete_rule, update_rule</li>
+ *     <li>索引（不含主键索引）：table_name, index_name, non_unique(1/0), column_name</li>
+ *     <li>表指纹（可选）：table_name, fingerprint</li>
+ * </ul>
+ * 只读取部分表时，在每条语句最后的 ORDER BY 之前追加“排序首列 IN (...)”条件，因此各语句的排序首列必须是表名
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@Slf4j
+abstract class BulkMetadataExtractor {
+    
+    private static final int FETCH_SIZE = 1000;
+    
+    private static final String ORDER_BY = " ORDER BY ";
+    
+    /**
+     * 单条查询的超时（秒），0 表示不限制
+     */
+    private int queryTimeoutSeconds;
+    
+    /**
+     * 按数据库类型选择批量读取器，不支持的类型返回 null（使用 DatabaseMetaData 逐表读取）
+     */
+    static BulkMetadataExtractor forDbType(String dbType) {
+        if (dbType == null) {
+            return null;
+        }
+        return switch (dbType.toLowerCase()) {
+            case "mysql", "mariadb" -> new MySqlMetadataExtractor();
+            case "postgresql", "pg", "kingbase" -> new PostgresMetadataExtractor();
+            case "sqlserver" -> new SqlServerMetadataExtractor();
+            case "oracle", "dm" -> new OracleMetadataExtractor();
+            case "sqlite" -> new SqliteMetadataExtractor();
+            default -> null;
+        };
+    }
+    
+    /**
+     * 设置单条查询的超时（秒），源库长时间不返回时查询失败，调用方改用逐表读取或放弃
+     * 
+     * @param seconds 超时秒数，0 或 null 表示不限制
+     * @return 当前读取器
+     */
+    BulkMetadataExtractor queryTimeout(Integer seconds) {
+        this.queryTimeoutSeconds = seconds != null && seconds > 0 ? seconds : 0;
+        return this;
+    }
+    
+    protected abstract String tablesSql();
+    
+    protected abstract String columnsSql();
+    
+    protected abstract String primaryKeysSql();
+    
+    protected abstract String foreignKeysSql();
+    
+    protected abstract String indexesSql();
+    
+    /**
+     * 单独读取列默认值的查询（table_name, column_name, column_default），列查询中不便读取默认值时使用
+     */
+    protected String columnDefaultsSql() {
+        return null;
+    }
+    
+    /**
+     * 表指纹查询（table_name, fingerprint），指纹取自数据字典中的 DDL 时间或表结构的校验和，
+     * 表的列、约束、索引或注释变化时指纹随之变化；不支持时返回 null
+     */
+    protected String fingerprintsSql() {
+        return null;
+    }
+    
+    /**
+     * 查询是否需要 Schema 名称
+     */
+    protected boolean requiresSchema() {
+        return true;
+    }
+    
+    /**
+     * 读取 Schema 下所有表的元数据
+     * 
+     * @param conn 数据库连接
+     * @param schema Schema 名称（MySQL 为数据库名）
+     * @return 按表名排序的表模型；需要 Schema 名称但未提供时返回 null
+     * @throws SQLException 查询失败（调用方改用 DatabaseMetaData 逐表读取）
+     */
+    List<TableModel> extract(Connection conn, String schema) throws SQLException {
+        return extract(conn, schema, null);
+    }
+    
+    /**
+     * 读取 Schema 下指定表的元数据
+     * 
+     * @param conn 数据库连接
+     * @param schema Schema 名称（MySQL 为数据库名）
+     * @param onlyTables 只读取这些表，null 表示读取所有表
+     * @return 按表名排序的表模型；需要 Schema 名称但未提供时返回 null
+     * @throws SQLException 查询失败
+     */
+    List<TableModel> extract(Connection conn, String schema, Collection<String> onlyTables) throws SQLException {
+        if (requiresSchema() && (schema == null || schema.isEmpty())) {
+            return null;
+        }
+        if (onlyTables != null && onlyTables.isEmpty()) {
+            return new ArrayList<>();
+        }
+        long startTime = System.currentTimeMillis();
+        Map<String, TableModel> tables = new LinkedHashMap<>();
+        Filter filter = new Filter(schema, onlyTables);
+        
+        query(conn, tablesSql(), filter, rs -> {
+            String tableName = rs.getString("table_name");
+            tables.put(tableName, TableModel.builder()
+                    .name(tableName)
+                    .comment(rs.getString("remarks"))
+                    .tableType("BASE TABLE")
+                    .build());
+        });
+        
+        query(conn, columnsSql(), filter, rs -> {
+            TableModel table = tables.get(rs.getString("table_name"));
+            if (table != null) {
+                table.getColumns().add(readColumn(rs));
+            }
+        });
+        
+        if (columnDefaultsSql() != null) {
+            query(conn, columnDefaultsSql(), filter, rs -> {
+                TableModel table = tables.get(rs.getString("table_name"));
+                ColumnModel column = table != null ? table.findColumn(rs.getString("column_name")) : null;
+                if (column != null) {
+                    column.setDefaultValue(trimToNull(rs.getString("column_default")));
+                }
+            });
+        }
+        
+        query(conn, primaryKeysSql(), filter, rs -> {
+            TableModel table = tables.get(rs.getString("table_name"));
+            if (table == null) {
+                return;
+            }
+            if (table.getPrimaryKey() == null) {
+                table.setPrimaryKey(PrimaryKeyModel.builder()
+                        .name(rs.getString("constraint_name"))
+                        .columns(new ArrayList<>())
+                        .build());
+            }
+            String columnName = rs.getString("column_name");
+            table.getPrimaryKey().getColumns().add(columnName);
+            ColumnModel column = table.findColumn(columnName);
+            if (column != null) {
+                column.setPrimaryKeyPart(true);
+            }
+        });
+        
+        // 外键按表、约束、列序号排序：表或约束名变化、或列序号回到开头时开始新的外键（SQLite 外键没有名称）
+        ForeignKeyModel[] current = new ForeignKeyModel[1];
+        int[] lastSeq = new int[1];
+        query(conn, foreignKeysSql(), filter, rs -> {
+            String tableName = rs.getString("table_name");
+            TableModel table = tables.get(tableName);
+            if (table == null) {
+                return;
+            }
+            String constraintName = rs.getString("constraint_name");
+            int seq = rs.getInt("key_seq");
+            ForeignKeyModel fk = current[0];
+            if (fk == null || !fk.getFromTable().equals(tableName) || !Objects.equals(fk.getName(), constraintName)
+                    || seq <= lastSeq[0]) {
+                fk = ForeignKeyModel.builder()
+                        .name(constraintName)
+                        .fromTable(tableName)
+                        .toTable(rs.getString("ref_table_name"))
+                        .fromColumns(new ArrayList<>())
+                        .toColumns(new ArrayList<>())
+                        .onDelete(rs.getString("delete_rule"))
+                        .onUpdate(rs.getString("update_rule"))
+                        .build();
+                table.getForeignKeys().add(fk);
+                current[0] = fk;
+            }
+            lastSeq[0] = seq;
+            fk.getFromColumns().add(rs.getString("column_name"));
+            fk.getToColumns().add(rs.getString("ref_column_name"));
+        });
+        resolveImplicitReferences(tables);
+        
+        query(conn, indexesSql(), filter, rs -> {
+            TableModel table = tables.get(rs.getString("table_name"));
+            String columnName = rs.getString("column_name");
+            if (table == null || columnName == null) {
+                // 表达式索引的列名为空
+                return;
+            }
+            String indexName = rs.getString("index_name");
+            List<IndexModel> indexes = table.getIndexes();
+            IndexModel index = indexes.isEmpty() ? null : indexes.get(indexes.size() - 1);
+            if (index == null || !Objects.equals(index.getName(), indexName)) {
+                index = IndexModel.builder()
+                        .name(indexName)
+                        .unique(rs.getInt("non_unique") == 0)
+                        .columns(new ArrayList<>())
+                        .build();
+                indexes.add(index);
+            }
+            index.getColumns().add(columnName);
+        });
+        
+        log.info("批量读取元数据完成，共 {} 张表，耗时 {} ms", tables.size(), System.currentTimeMillis() - startTime);
+        return new ArrayList<>(tables.values());
+    }
+    
+    /**
+     * 读取 Schema 下所有表的名称
+     * 
+     * @return 按表名排序的表名；需要 Schema 名称但未提供时返回 null
+     * @throws SQLException 查询失败
+     */
+    List<String> tableNames(Connection conn, String schema) throws SQLException {
+        if (requiresSchema() && (schema == null || schema.isEmpty())) {
+            return null;
+        }
+        List<String> names = new ArrayList<>();
+        query(conn, tablesSql(), new Filter(schema, null), rs -> names.add(rs.getString("table_name")));
+        return names;
+    }
+    
+    /**
+     * 读取 Schema 下所有表的指纹
+     * 
+     * @param conn 数据库连接
+     * @param schema Schema 名称（MySQL 为数据库名）
+     * @return 表名到指纹（SHA-256 十六进制），按表名排序；不支持指纹或需要 Schema 名称但未提供时返回 null
+     * @throws SQLException 查询失败
+     */
+    Map<String, String> fingerprints(Connection conn, String schema) throws SQLException {
+        String sql = fingerprintsSql();
+        if (sql == null || requiresSchema() && (schema == null || schema.isEmpty())) {
+            return null;
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        Map<String, String> fingerprints = new LinkedHashMap<>();
+        query(conn, sql, new Filter(schema, null), rs -> {
+            byte[] hash = digest.digest(String.valueOf(rs.getString("fingerprint")).getBytes(StandardCharsets.UTF_8));
+            fingerprints.put(rs.getString("table_name"), HexFormat.of().formatHex(hash));
+        });
+        return fingerprints;
+    }
+    
+    private ColumnModel readColumn(ResultSet rs) throws SQLException {
+        String typeName = rs.getString("type_name");
+        int columnSize = (int) Math.min(rs.getLong("column_size"), Integer.MAX_VALUE);
+        int decimalDigits = rs.getInt("decimal_digits");
+        
+        // SQLite 等只提供声明的类型文本，如 VARCHAR(64)、DECIMAL(10,2)
+        int paren = typeName != null ? typeName.indexOf('(') : -1;
+        if (paren > 0 && columnSize == 0 && typeName.endsWith(")")) {
+            String[] parts = typeName.substring(paren + 1, typeName.length() - 1).split(",");
+            try {
+                columnSize = Integer.parseInt(parts[0].trim());
+                decimalDigits = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 0;
+                typeName = typeName.substring(0, paren).trim();
+            } catch (NumberFormatException e) {
+                columnSize = 0;
+            }
+        }
+        
+        return ColumnModel.builder()
+                .name(rs.getString("column_name"))
+                .type(ColumnTypes.fullType(typeName, columnSize, decimalDigits))
+                .rawType(typeName)
+                .length(columnSize)
+                .precision(decimalDigits > 0 ? columnSize : null)
+                .scale(decimalDigits > 0 ? decimalDigits : null)
+                .nullable(rs.getInt("nullable") == 1)
+                .defaultValue(trimToNull(rs.getString("column_default")))
+                .comment(rs.getString("remarks"))
+                .autoIncrement(rs.getInt("auto_increment") == 1)
+                .build();
+    }
+    
+    /**
+     * 未写明引用列的外键（SQLite 的 REFERENCES t）指向被引用表的主键
+     */
+    static void resolveImplicitReferences(Map<String, TableModel> tables) {
+        for (TableModel table : tables.values()) {
+            for (ForeignKeyModel fk : table.getForeignKeys()) {
+                List<String> toColumns = fk.getToColumns();
+                if (!toColumns.contains(null)) {
+                    continue;
+                }
+                TableModel target = tables.get(fk.getToTable());
+                PrimaryKeyModel primaryKey = target != null ? target.getPrimaryKey() : null;
+                for (int i = 0; i < toColumns.size(); i++) {
+                    if (toColumns.get(i) == null && primaryKey != null && i < primaryKey.getColumns().size()) {
+                        toColumns.set(i, primaryKey.getColumns().get(i));
+                    }
+                }
+            }
+        }
+    }
+    
+    private void query(Connection conn, String sql, Filter filter, RowHandler handler) throws SQLException {
+        int schemaParameters = (int) sql.chars().filter(c -> c == '?').count();
+        if (filter.tables != null) {
+            sql = restrictToTables(sql, filter.tables.size());
+        }
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            statement.setFetchSize(FETCH_SIZE);
+            if (queryTimeoutSeconds > 0) {
+                statement.setQueryTimeout(queryTimeoutSeconds);
+            }
+            int index = 1;
+            for (int i = 0; i < schemaParameters; i++) {
+                statement.setString(index++, filter.schema);
+            }
+            if (filter.tables != null) {
+                for (String table : filter.tables) {
+                    statement.setString(index++, table);
+                }
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(rs);
+                }
+            }
+        }
+    }
+    
+    /**
+     * 在最后的 ORDER BY 之前追加“排序首列 IN (?, ...)”条件
+     */
+    static String restrictToTables(String sql, int tableCount) {
+        int orderBy = sql.lastIndexOf(ORDER_BY);
+        if (orderBy < 0) {
+            throw new IllegalStateException("元数据查询缺少 ORDER BY，无法按表过滤: " + sql);
+        }
+        String order = sql.substring(orderBy + ORDER_BY.length());
+        int comma = order.indexOf(',');
+        String tableExpr = (comma >= 0 ? order.substring(0, comma) : order).trim();
+        String placeholders = String.join(", ", Collections.nCopies(tableCount, "?"));
+        return sql.substring(0, orderBy) + " AND " + tableExpr + " IN (" + placeholders + ")" + sql.substring(orderBy);
+    }
+    
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+    
+    /**
+     * 查询参数：Schema 名称与可选的表名列表
+     */
+    private record Filter(String schema, Collection<String> tables) {
+    }
+    
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(ResultSet rs) throws SQLException;
+    }
+}
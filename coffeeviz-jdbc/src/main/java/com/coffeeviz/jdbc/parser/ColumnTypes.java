@@ -0,0 +1,59 @@
+package com.coffeeviz.jdbc.parser;
+
+import java.util.Set;
+
+/**
+ * 列类型字符串工具
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+final class ColumnTypes {
+    
+    /**
+     * 不需要长度的类型
+     */
+    private static final Set<String> NO_LENGTH_TYPES = Set.of(
+        "INT", "INTEGER", "BIGINT", "SMALLINT", "TINYINT",
+        "DATE", "DATETIME", "TIMESTAMP", "TIME",
+        "TEXT", "LONGTEXT", "MEDIUMTEXT", "TINYTEXT",
+        "BLOB", "LONGBLOB", "MEDIUMBLOB", "TINYBLOB",
+        "BOOLEAN", "BOOL"
+    );
+    
+    private ColumnTypes() {
+    }
+    
+    /**
+     * 构建完整的类型字符串（包含长度/精度）
+     */
+    static String fullType(String typeName, int columnSize, int decimalDigits) {
+        if (typeName == null) {
+            return null;
+        }
+        String upperTypeName = typeName.toUpperCase();
+        
+        // 如果是不需要长度的类型，直接返回
+        if (NO_LENGTH_TYPES.contains(upperTypeName)) {
+            return typeName;
+        }
+        
+        // DECIMAL/NUMERIC 类型需要精度和小数位
+        if (upperTypeName.contains("DECIMAL") || upperTypeName.contains("NUMERIC")) {
+            if (decimalDigits > 0) {
+                return typeName + "(" + columnSize + "," + decimalDigits + ")";
+            } else if (columnSize > 0) {
+                return typeName + "(" + columnSize + ")";
+            }
+        }
+        
+        // VARCHAR/CHAR 等字符类型需要长度
+        if (upperTypeName.contains("CHAR") || upperTypeName.contains("BINARY")) {
+            if (columnSize > 0) {
+                return typeName + "(" + columnSize + ")";
+            }
+        }
+        
+        return typeName;
+    }
+}
@@ -20,6 +20,26 @@ public interface JdbcMetadataParser {
      */
     ParseResult parseFromDatabase(JdbcConfig config);
     
+    /**
+     * 从数据库连接同步元数据：对比各表指纹与该数据源上次读取的快照，只重新读取变化、新增的表，并移除已删除的表；
+     * 没有快照、方言不支持指纹或配置未指定所属用户时全量读取
+     * 
+     * @param config JDBC 配置
+     * @param fullRefresh 是否忽略快照全量读取（读取结果仍会写入快照）
+     * @return 解析结果，元数据 syncMode 为 full / incremental / unchanged
+     */
+    ParseResult syncFromDatabase(JdbcConfig config, boolean fullRefresh);
+    
+    /**
+     * 从数据库连接同步元数据，每读完一批表通知监听器；监听器取消后停止读取剩余的表并返回错误结果
+     * 
+     * @param config JDBC 配置
+     * @param fullRefresh 是否忽略快照全量读取
+     * @param listener 进度监听器
+     * @return 解析结果
+     */
+    ParseResult syncFromDatabase(JdbcConfig config, boolean fullRefresh, MetadataProgressListener listener);
+    
     /**
      * 测试数据库连接
      * 
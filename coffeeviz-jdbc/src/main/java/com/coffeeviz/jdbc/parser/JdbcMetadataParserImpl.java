@@ -2,12 +2,22 @@ package com.coffeeviz.jdbc.parser;
 
 import com.coffeeviz.core.model.*;
 import com.coffeeviz.jdbc.config.JdbcConfig;
+import com.coffeeviz.jdbc.connection.JdbcConfigDigest;
+import com.coffeeviz.jdbc.connection.JdbcConnectionCache;
 import com.coffeeviz.jdbc.model.ConnectionTestResult;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * JDBC 元数据解析器实现
@@ -19,8 +29,68 @@ import java.util.*;
 @Component
 public class JdbcMetadataParserImpl implements JdbcMetadataParser {
     
+    /**
+     * 逐表读取时每个连接至少分到的表数（表少时不值得多建连接）
+     */
+    private static final int MIN_TABLES_PER_CONNECTION = 8;
+    
+    /**
+     * 增量同步时单次最多重新读取的表数（批量查询的 IN 列表长度），变化的表更多时全量读取
+     */
+    private static final int MAX_INCREMENTAL_TABLES = 500;
+    
+    /**
+     * 有进度监听器时每批读取的表数
+     */
+    private static final int PROGRESS_BATCH_TABLES = 50;
+    
+    /**
+     * 是否优先使用方言批量查询读取元数据
+     */
+    @Value("${coffeeviz.jdbc.bulk-metadata:true}")
+    private boolean bulkMetadata = true;
+    
+    /**
+     * 逐表读取时单个请求最多同时使用的连接数（1 表示单连接顺序读取）
+     */
+    @Value("${coffeeviz.jdbc.metadata-parallelism:4}")
+    private int metadataParallelism = 4;
+    
+    @Autowired(required = false)
+    private JdbcConnectionCache connectionCache;
+    
+    @Autowired(required = false)
+    private SchemaSnapshotCache snapshotCache;
+    
+    public JdbcMetadataParserImpl() {
+    }
+    
+    JdbcMetadataParserImpl(boolean bulkMetadata, int metadataParallelism) {
+        this.bulkMetadata = bulkMetadata;
+        this.metadataParallelism = metadataParallelism;
+    }
+    
+    JdbcMetadataParserImpl(boolean bulkMetadata, int metadataParallelism, SchemaSnapshotCache snapshotCache) {
+        this(bulkMetadata, metadataParallelism);
+        this.snapshotCache = snapshotCache;
+    }
+    
     @Override
     public ParseResult parseFromDatabase(JdbcConfig config) {
+        return read(config, false, false, null);
+    }
+    
+    @Override
+    public ParseResult syncFromDatabase(JdbcConfig config, boolean fullRefresh) {
+        return read(config, true, fullRefresh, null);
+    }
+    
+    @Override
+    public ParseResult syncFromDatabase(JdbcConfig config, boolean fullRefresh, MetadataProgressListener listener) {
+        return read(config, true, fullRefresh, listener);
+    }
+    
+    private ParseResult read(JdbcConfig config, boolean sync, boolean fullRefresh, MetadataProgressListener listener) {
         long startTime = System.currentTimeMillis();
         List<String> warnings = new ArrayList<>();
         
@@ -70,42 +140,73 @@ public class JdbcMetadataParserImpl implements JdbcMetadataParser {
             databaseModel.getMetadata().put("version", metaData.getDatabaseProductVersion());
             databaseModel.getMetadata().put("product", metaData.getDatabaseProductName());
             
-            // 获取所有表
-            ResultSet tables = metaData.getTables(catalog, schema, "%", new String[]{"TABLE"});
+            // 同一次解析共用的字符串符号表（大型 Schema 中重复的类型名、列名只保留一个实例）
+            SymbolTable symbols = new SymbolTable();
             
-            while (tables.next()) {
-                String tableName = tables.getString("TABLE_NAME");
-                String tableComment = tables.getString("REMARKS");
-                
-                log.debug("解析表：{}", tableName);
-                
-                TableModel table = TableModel.builder()
-                        .name(tableName)
-                        .comment(tableComment)
-                        .tableType("BASE TABLE")
-                        .build();
-                
-                // 解析列
-                parseColumns(metaData, catalog, schema, tableName, table, warnings);
-                
-                // 解析主键
-                parsePrimaryKey(metaData, catalog, schema, tableName, table, warnings);
-                
-                // 解析外键
-                parseForeignKeys(metaData, catalog, schema, tableName, table, warnings);
-                
-                // 解析索引
-                parseIndexes(metaData, catalog, schema, tableName, table, warnings);
-                
+            BulkMetadataExtractor extractor = bulkMetadata ? BulkMetadataExtractor.forDbType(dbType) : null;
+            if (extractor != null) {
+                extractor.queryTimeout(config.getTimeout());
+            }
+            
+            // 同步模式下先读取各表指纹，与该数据源的快照对比，只重新读取变化和新增的表
+            String snapshotKey = sync && snapshotCache != null && snapshotCache.isEnabled() && config.getOwner() != null
+                    ? config.getOwner() + ":" + JdbcConfigDigest.of(config, true) : null;
+            Map<String, String> fingerprints = null;
+            if (snapshotKey != null && extractor != null) {
+                try {
+                    fingerprints = extractor.fingerprints(conn, schema);
+                } catch (SQLException e) {
+                    log.warn("读取表指纹失败，全量读取元数据：{}", e.getMessage());
+                }
+            }
+            SchemaSnapshotCache.Snapshot snapshot = fingerprints != null && !fullRefresh
+                    ? snapshotCache.get(snapshotKey) : null;
+            List<TableModel> tables = snapshot != null
+                    ? syncTables(conn, extractor, schema, fingerprints, snapshot, databaseModel, listener) : null;
+            
+            // 优先用方言的批量查询一次读出整个 Schema，不支持或查询失败时逐表读取 DatabaseMetaData
+            boolean bulkRead = tables != null;
+            if (tables == null && extractor != null) {
+                try {
+                    tables = listener != null
+                            ? extractInBatches(conn, extractor, schema, listener) : extractor.extract(conn, schema);
+                    bulkRead = tables != null;
+                } catch (SQLException e) {
+                    checkCancelled(listener);
+                    log.warn("批量读取元数据失败，改用逐表读取：{}", e.getMessage());
+                }
+            }
+            if (tables == null) {
+                tables = readTablesPerTable(conn, config, catalog, schema, warnings, listener);
+            }
+            if (sync && databaseModel.getMetadata().get("syncMode") == null) {
+                databaseModel.getMetadata().put("syncMode", "full");
+            }
+            
+            for (TableModel table : tables) {
+                symbols.intern(table);
                 databaseModel.getTables().add(table);
             }
             
+            // 快照只保存与指纹同一方式（批量查询）读出的表，逐表读取的结果不缓存
+            if (snapshotKey != null) {
+                if (fingerprints != null && bulkRead) {
+                    snapshotCache.put(snapshotKey, fingerprints, tables);
+                } else {
+                    snapshotCache.invalidate(snapshotKey);
+                }
+            }
+            
             long duration = System.currentTimeMillis() - startTime;
             log.info("解析完成，共 {} 张表，耗时 {} ms", databaseModel.getTables().size(), duration);
             
             return ParseResult.success(databaseModel, warnings);
-            
+        
         } catch (SQLException e) {
+            if (listener != null && listener.isCancelled()) {
+                log.info("JDBC 元数据读取已取消");
+                return ParseResult.error("JDBC 元数据读取已取消");
+            }
             log.error("JDBC 元数据解析失败", e);
             return ParseResult.error("JDBC 元数据解析失败：" + e.getMessage());
         }
@@ -132,11 +233,11 @@ public class JdbcMetadataParserImpl implements JdbcMetadataParser {
                 default -> { if (schema == null || schema.isEmpty()) schema = catalog; }
             }
             
-            ResultSet tables = metaData.getTables(catalog, schema, "%", new String[]{"TABLE"});
-            
             int tableCount = 0;
-            while (tables.next()) {
-                tableCount++;
+            try (ResultSet tables = metaData.getTables(catalog, schema, "%", new String[]{"TABLE"})) {
+                while (tables.next()) {
+                    tableCount++;
+                }
             }
             
             long duration = System.currentTimeMillis() - startTime;
@@ -147,7 +248,7 @@ public class JdbcMetadataParserImpl implements JdbcMetadataParser {
                     dbVersion,
                     duration
             );
-            
+        
         } catch (SQLException e) {
             log.error("数据库连接测试失败", e);
             return ConnectionTestResult.failure("连接失败：" + e.getMessage());
@@ -155,9 +256,260 @@ public class JdbcMetadataParserImpl implements JdbcMetadataParser {
     }
     
     /**
-     * 创建数据库连接
+     * 按指纹增量同步：指纹未变的表取自快照，变化和新增的表用批量查询重新读取，快照中有而指纹中没有的表视为已删除
+     * 
+     * @return 按指纹顺序（表名排序）排列的表模型；变化的表过多或读取失败时返回 null（改为全量读取）
+     */
+    private List<TableModel> syncTables(Connection conn, BulkMetadataExtractor extractor, String schema,
+                                        Map<String, String> fingerprints, SchemaSnapshotCache.Snapshot snapshot,
+                                        DatabaseModel databaseModel, MetadataProgressListener listener)
+            throws SQLException {
+        Map<String, String> previous = snapshot.fingerprints();
+        List<String> changed = new ArrayList<>();
+        fingerprints.forEach((name, fingerprint) -> {
+            if (!fingerprint.equals(previous.get(name))) {
+                changed.add(name);
+            }
+        });
+        int removed = 0;
+        for (String name : previous.keySet()) {
+            if (!fingerprints.containsKey(name)) {
+                removed++;
+            }
+        }
+        if (changed.size() > Math.min(MAX_INCREMENTAL_TABLES, fingerprints.size() / 2)) {
+            log.info("{} 张表有变化，全量读取元数据", changed.size());
+            return null;
+        }
+        
+        Map<String, TableModel> byName = new HashMap<>();
+        for (TableModel table : snapshot.tables()) {
+            byName.put(table.getName(), table);
+        }
+        if (!changed.isEmpty()) {
+            checkCancelled(listener);
+            try {
+                for (TableModel table : extractor.extract(conn, schema, changed)) {
+                    byName.put(table.getName(), table);
+                }
+            } catch (SQLException e) {
+                log.warn("增量读取元数据失败，全量读取：{}", e.getMessage());
+                return null;
+            }
+        }
+        
+        Map<String, TableModel> tables = new LinkedHashMap<>();
+        for (String name : fingerprints.keySet()) {
+            TableModel table = byName.get(name);
+            if (table != null) {
+                tables.put(name, table);
+            }
+        }
+        BulkMetadataExtractor.resolveImplicitReferences(tables);
+        
+        databaseModel.getMetadata().put("syncMode", changed.isEmpty() && removed == 0 ? "unchanged" : "incremental");
+        databaseModel.getMetadata().put("syncChangedTables", String.valueOf(changed.size()));
+        databaseModel.getMetadata().put("syncRemovedTables", String.valueOf(removed));
+        log.info("增量同步元数据：{} 张表变化或新增，{} 张表删除，{} 张表沿用快照",
+                changed.size(), removed, tables.size() - changed.size());
+        List<TableModel> result = new ArrayList<>(tables.values());
+        if (listener != null) {
+            for (int from = 0; from < result.size(); from += PROGRESS_BATCH_TABLES) {
+                int to = Math.min(from + PROGRESS_BATCH_TABLES, result.size());
+                listener.onTables(new ArrayList<>(result.subList(from, to)), to, result.size());
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 分批读取所有表（每批一组按表过滤的批量查询），每批完成后通知监听器，取消后不再查询剩余的批次
+     * 
+     * @return 按表名排序的表模型；需要 Schema 名称但未提供时返回 null
+     */
+    private List<TableModel> extractInBatches(Connection conn, BulkMetadataExtractor extractor, String schema,
+                                              MetadataProgressListener listener) throws SQLException {
+        List<String> names = extractor.tableNames(conn, schema);
+        if (names == null) {
+            return null;
+        }
+        Map<String, TableModel> tables = new LinkedHashMap<>();
+        for (int from = 0; from < names.size(); from += PROGRESS_BATCH_TABLES) {
+            checkCancelled(listener);
+            List<TableModel> batch = extractor.extract(conn, schema,
+                    names.subList(from, Math.min(from + PROGRESS_BATCH_TABLES, names.size())));
+            for (TableModel table : batch) {
+                tables.put(table.getName(), table);
+            }
+            listener.onTables(batch, tables.size(), names.size());
+        }
+        // 外键省略引用列时指向的表可能在其他批次中
+        BulkMetadataExtractor.resolveImplicitReferences(tables);
+        return new ArrayList<>(tables.values());
+    }
+    
+    private static void checkCancelled(MetadataProgressListener listener) throws SQLException {
+        if (listener != null && listener.isCancelled()) {
+            throw new SQLException("读取元数据已取消");
+        }
+    }
+    
+    /**
+     * 通过 DatabaseMetaData 逐表读取（每张表 4 次查询）
+     * 表较多时另建最多 metadataParallelism - 1 个连接（同样按配置设置超时和只读），与当前连接一起按顺序领取表并行读取；
+     * 结果写回 getTables 返回的位置，表和警告的顺序与顺序读取一致
+     */
+    List<TableModel> readTablesPerTable(Connection conn, JdbcConfig config, String catalog, String schema,
+                                        List<String> warnings) throws SQLException {
+        return readTablesPerTable(conn, config, catalog, schema, warnings, null);
+    }
+    
+    private List<TableModel> readTablesPerTable(Connection conn, JdbcConfig config, String catalog, String schema,
+                                                List<String> warnings, MetadataProgressListener listener)
+            throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        List<TableModel> tables = new ArrayList<>();
+        try (ResultSet rs = metaData.getTables(catalog, schema, "%", new String[]{"TABLE"})) {
+            while (rs.next()) {
+                tables.add(TableModel.builder()
+                        .name(rs.getString("TABLE_NAME"))
+                        .comment(rs.getString("REMARKS"))
+                        .tableType("BASE TABLE")
+                        .build());
+            }
+        }
+        
+        List<List<String>> tableWarnings = new ArrayList<>(Collections.nCopies(tables.size(), List.of()));
+        AtomicInteger next = new AtomicInteger();
+        Progress progress = listener != null ? new Progress(tables, listener) : null;
+        int connections = metadataConnections(metaData, tables.size());
+        if (connections <= 1) {
+            readTables(metaData, catalog, schema, tables, tableWarnings, next, progress);
+            if (Thread.currentThread().isInterrupted()) {
+                throw new SQLException("读取元数据被中断");
+            }
+        } else {
+            log.info("逐表读取元数据：{} 张表，{} 个连接", tables.size(), connections);
+            AtomicInteger threadIndex = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(connections - 1, runnable -> {
+                Thread thread = new Thread(runnable, "jdbc-metadata-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<?>> workers = new ArrayList<>();
+                for (int i = 1; i < connections; i++) {
+                    workers.add(executor.submit(() -> {
+                        try (Connection worker = createConnection(config)) {
+                            readTables(worker.getMetaData(), catalog, schema, tables, tableWarnings, next, progress);
+                        } catch (SQLException e) {
+                            // 源库拒绝更多连接时由其余连接读完
+                            log.warn("打开元数据读取连接失败：{}", e.getMessage());
+                        }
+                    }));
+                }
+                readTables(metaData, catalog, schema, tables, tableWarnings, next, progress);
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("读取元数据被中断", e);
+            } catch (ExecutionException e) {
+                throw new SQLException("读取元数据失败：" + e.getCause().getMessage(), e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        
+        checkCancelled(listener);
+        
+        tableWarnings.forEach(warnings::addAll);
+        return tables;
+    }
+    
+    /**
+     * 按顺序领取下一张未读取的表，直到读完、线程被中断或监听器取消
+     */
+    private void readTables(DatabaseMetaData metaData, String catalog, String schema, List<TableModel> tables,
+                            List<List<String>> tableWarnings, AtomicInteger next, Progress progress) {
+        for (int i = next.getAndIncrement(); i < tables.size(); i = next.getAndIncrement()) {
+            if (Thread.currentThread().isInterrupted() || progress != null && progress.listener.isCancelled()) {
+                return;
+            }
+            TableModel table = tables.get(i);
+            String tableName = table.getName();
+            List<String> warnings = new ArrayList<>();
+            
+            log.debug("解析表：{}", tableName);
+            
+            // 解析列
+            parseColumns(metaData, catalog, schema, tableName, table, warnings);
+            
+            // 解析主键
+            parsePrimaryKey(metaData, catalog, schema, tableName, table, warnings);
+            
+            // 解析外键
+            parseForeignKeys(metaData, catalog, schema, tableName, table, warnings);
+            
+            // 解析索引
+            parseIndexes(metaData, catalog, schema, tableName, table, warnings);
+            
+            tableWarnings.set(i, warnings);
+            if (progress != null) {
+                progress.tableRead(i);
+            }
+        }
+    }
+    
+    /**
+     * 逐表读取使用的连接数：不超过配置的并行度、表数量允许的连接数和源库报告的最大连接数的一半
+     */
+    private int metadataConnections(DatabaseMetaData metaData, int tableCount) {
+        int connections = Math.min(metadataParallelism,
+                (tableCount + MIN_TABLES_PER_CONNECTION - 1) / MIN_TABLES_PER_CONNECTION);
+        try {
+            int maxConnections = metaData.getMaxConnections();
+            if (maxConnections > 0) {
+                connections = Math.min(connections, maxConnections / 2);
+            }
+        } catch (SQLException e) {
+            log.debug("读取源库最大连接数失败: {}", e.getMessage());
+        }
+        return Math.max(connections, 1);
+    }
+    
+    /**
+     * 获取数据库连接（指定了所属用户时优先复用连接缓存中的空闲连接，关闭时放回缓存）
      */
     private Connection createConnection(JdbcConfig config) throws SQLException {
+        Connection conn = connectionCache != null && config.getOwner() != null
+                ? connectionCache.acquire(config.getOwner(), config, () -> openConnection(config))
+                : openConnection(config);
+        // 超时不参与连接缓存键，复用的连接也按本次配置设置
+        applyNetworkTimeout(conn, config);
+        return conn;
+    }
+    
+    /**
+     * 设置网络读超时：连接建立后源库停止响应时，元数据读取（含 DatabaseMetaData 调用）不会无限期阻塞
+     */
+    private void applyNetworkTimeout(Connection conn, JdbcConfig config) {
+        if (config.getTimeout() <= 0) {
+            return;
+        }
+        try {
+            // 超时后驱动在当前线程中断开连接，与 HikariCP 的做法相同
+            conn.setNetworkTimeout(Runnable::run, (int) TimeUnit.SECONDS.toMillis(config.getTimeout()));
+        } catch (SQLException | AbstractMethodError | UnsupportedOperationException e) {
+            log.debug("设置网络超时失败（部分驱动不支持）: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 创建数据库连接
+     */
+    private Connection openConnection(JdbcConfig config) throws SQLException {
         Properties props = new Properties();
         // SQLite 等嵌入式数据库不需要用户名密码
         if (config.getUsername() != null && !config.getUsername().isEmpty()) {
@@ -190,16 +542,14 @@ public class JdbcMetadataParserImpl implements JdbcMetadataParser {
      */
     private void parseColumns(DatabaseMetaData metaData, String catalog, String schema,
                              String tableName, TableModel table, List<String> warnings) {
-        try {
-            ResultSet columns = metaData.getColumns(catalog, schema, tableName, "%");
-            
+        try (ResultSet columns = metaData.getColumns(catalog, schema, tableName, "%")) {
             while (columns.next()) {
                 String typeName = columns.getString("TYPE_NAME");
                 int columnSize = columns.getInt("COLUMN_SIZE");
                 int decimalDigits = columns.getInt("DECIMAL_DIGITS");
                 
                 // 构建完整的类型字符串
-                String fullType = buildFullTypeString(typeName, columnSize, decimalDigits);
+                String fullType = ColumnTypes.fullType(typeName, columnSize, decimalDigits);
                 
                 ColumnModel column = ColumnModel.builder()
                         .name(columns.getString("COLUMN_NAME"))
@@ -221,53 +571,12 @@ public class JdbcMetadataParserImpl implements JdbcMetadataParser {
         }
     }
     
-    /**
-     * 构建完整的类型字符串（包含长度/精度）
-     */
-    private String buildFullTypeString(String typeName, int columnSize, int decimalDigits) {
-        // 不需要长度的类型
-        Set<String> noLengthTypes = Set.of(
-            "INT", "INTEGER", "BIGINT", "SMALLINT", "TINYINT",
-            "DATE", "DATETIME", "TIMESTAMP", "TIME",
-            "TEXT", "LONGTEXT", "MEDIUMTEXT", "TINYTEXT",
-            "BLOB", "LONGBLOB", "MEDIUMBLOB", "TINYBLOB",
-            "BOOLEAN", "BOOL"
-        );
-        
-        String upperTypeName = typeName.toUpperCase();
-        
-        // 如果是不需要长度的类型，直接返回
-        if (noLengthTypes.contains(upperTypeName)) {
-            return typeName;
-        }
-        
-        // DECIMAL/NUMERIC 类型需要精度和小数位
-        if (upperTypeName.contains("DECIMAL") || upperTypeName.contains("NUMERIC")) {
-            if (decimalDigits > 0) {
-                return typeName + "(" + columnSize + "," + decimalDigits + ")";
-            } else if (columnSize > 0) {
-                return typeName + "(" + columnSize + ")";
-            }
-        }
-        
-        // VARCHAR/CHAR 等字符类型需要长度
-        if (upperTypeName.contains("CHAR") || upperTypeName.contains("BINARY")) {
-            if (columnSize > 0) {
-                return typeName + "(" + columnSize + ")";
-            }
-        }
-        
-        return typeName;
-    }
-    
     /**
      * 解析主键
      */
     private void parsePrimaryKey(DatabaseMetaData metaData, String catalog, String schema,
                                  String tableName, TableModel table, List<String> warnings) {
-        try {
-            ResultSet primaryKeys = metaData.getPrimaryKeys(catalog, schema, tableName);
-            
+        try (ResultSet primaryKeys = metaData.getPrimaryKeys(catalog, schema, tableName)) {
             List<String> pkColumns = new ArrayList<>();
             String pkName = null;
             
@@ -285,8 +594,9 @@ public class JdbcMetadataParserImpl implements JdbcMetadataParser {
                         .build());
                 
                 // 标记主键列
-                for (ColumnModel column : table.getColumns()) {
-                    if (pkColumns.contains(column.getName())) {
+                for (String pkColumn : pkColumns) {
+                    ColumnModel column = table.findColumn(pkColumn);
+                    if (column != null) {
                         column.setPrimaryKeyPart(true);
                     }
                 }
@@ -301,9 +611,7 @@ public class JdbcMetadataParserImpl implements JdbcMetadataParser {
      */
     private void parseForeignKeys(DatabaseMetaData metaData, String catalog, String schema,
                                   String tableName, TableModel table, List<String> warnings) {
-        try {
-            ResultSet foreignKeys = metaData.getImportedKeys(catalog, schema, tableName);
-            
+        try (ResultSet foreignKeys = metaData.getImportedKeys(catalog, schema, tableName)) {
             Map<String, ForeignKeyModel> fkMap = new HashMap<>();
             
             while (foreignKeys.next()) {
@@ -327,7 +635,7 @@ public class JdbcMetadataParserImpl implements JdbcMetadataParser {
             }
             
             table.getForeignKeys().addAll(fkMap.values());
-            
+        
         } catch (SQLException e) {
             warnings.add("解析表 " + tableName + " 的外键失败：" + e.getMessage());
         }
@@ -338,9 +646,7 @@ public class JdbcMetadataParserImpl implements JdbcMetadataParser {
      */
     private void parseIndexes(DatabaseMetaData metaData, String catalog, String schema,
                              String tableName, TableModel table, List<String> warnings) {
-        try {
-            ResultSet indexes = metaData.getIndexInfo(catalog, schema, tableName, false, false);
-            
+        try (ResultSet indexes = metaData.getIndexInfo(catalog, schema, tableName, false, false)) {
             Map<String, IndexModel> indexMap = new HashMap<>();
             
             while (indexes.next()) {
@@ -366,9 +672,37 @@ public class JdbcMetadataParserImpl implements JdbcMetadataParser {
             }
             
             table.getIndexes().addAll(indexMap.values());
-            
+        
         } catch (SQLException e) {
             warnings.add("解析表 " + tableName + " 的索引失败：" + e.getMessage());
         }
     }
+    
+    /**
+     * 逐表读取的进度：各连接读完表的顺序不固定，按 getTables 的顺序把从开头起连续读完的表凑成批次通知监听器
+     */
+    private static final class Progress {
+        private final List<TableModel> tables;
+        private final MetadataProgressListener listener;
+        private final boolean[] read;
+        private int ready;
+        private int notified;
+        
+        Progress(List<TableModel> tables, MetadataProgressListener listener) {
+            this.tables = tables;
+            this.listener = listener;
+            this.read = new boolean[tables.size()];
+        }
+        
+        synchronized void tableRead(int index) {
+            read[index] = true;
+            while (ready < read.length && read[ready]) {
+                ready++;
+            }
+            if (ready - notified >= PROGRESS_BATCH_TABLES || ready == read.length && ready > notified) {
+                listener.onTables(new ArrayList<>(tables.subList(notified, ready)), ready, read.length);
+                notified = ready;
+            }
+        }
+    }
 }
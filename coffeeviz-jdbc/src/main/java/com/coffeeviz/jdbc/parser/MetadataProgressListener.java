@@ -0,0 +1,32 @@
+package com.coffeeviz.jdbc.parser;
+
+import com.coffeeviz.core.model.TableModel;
+
+import java.util.List;
+
+/**
+ * 元数据读取进度监听器
+ * 读取大型 Schema 时每读完一批表回调一次（按表名顺序），调用方可以先展示已读取的部分；
+ * 每批开始前检查是否已取消，取消后不再发出剩余的元数据查询
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+public interface MetadataProgressListener {
+    
+    /**
+     * 一批表读取完成（回调串行执行，可能来自不同的读取线程）
+     * 
+     * @param tables 本批读取完成的表
+     * @param loaded 已读取的表数（含本批）
+     * @param total 表总数
+     */
+    void onTables(List<TableModel> tables, int loaded, int total);
+    
+    /**
+     * 是否已取消（如客户端已断开）
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+}
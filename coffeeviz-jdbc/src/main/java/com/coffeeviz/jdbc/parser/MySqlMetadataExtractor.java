@@ -0,0 +1,92 @@
+package com.coffeeviz.jdbc.parser;
+
+/**
+ * MySQL / MariaDB 批量元数据读取（information_schema）
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class MySqlMetadataExtractor extends BulkMetadataExtractor {
+    
+    @Override
+    protected String tablesSql() {
+        return "SELECT TABLE_NAME AS table_name, TABLE_COMMENT AS remarks "
+                + "FROM information_schema.TABLES "
+                + "WHERE TABLE_SCHEMA = ? AND TABLE_TYPE = 'BASE TABLE' "
+                + "ORDER BY TABLE_NAME";
+    }
+    
+    @Override
+    protected String columnsSql() {
+        return "SELECT TABLE_NAME AS table_name, COLUMN_NAME AS column_name, UPPER(DATA_TYPE) AS type_name, "
+                + "COALESCE(CHARACTER_MAXIMUM_LENGTH, NUMERIC_PRECISION, DATETIME_PRECISION) AS column_size, "
+                + "NUMERIC_SCALE AS decimal_digits, "
+                + "CASE WHEN IS_NULLABLE = 'YES' THEN 1 ELSE 0 END AS nullable, "
+                + "COLUMN_DEFAULT AS column_default, COLUMN_COMMENT AS remarks, "
+                + "CASE WHEN EXTRA LIKE '%auto_increment%' THEN 1 ELSE 0 END AS auto_increment "
+                + "FROM information_schema.COLUMNS "
+                + "WHERE TABLE_SCHEMA = ? "
+                + "ORDER BY TABLE_NAME, ORDINAL_POSITION";
+    }
+    
+    @Override
+    protected String primaryKeysSql() {
+        return "SELECT TABLE_NAME AS table_name, CONSTRAINT_NAME AS constraint_name, COLUMN_NAME AS column_name "
+                + "FROM information_schema.KEY_COLUMN_USAGE "
+                + "WHERE TABLE_SCHEMA = ? AND CONSTRAINT_NAME = 'PRIMARY' "
+                + "ORDER BY TABLE_NAME, ORDINAL_POSITION";
+    }
+    
+    @Override
+    protected String foreignKeysSql() {
+        return "SELECT k.TABLE_NAME AS table_name, k.CONSTRAINT_NAME AS constraint_name, "
+                + "k.ORDINAL_POSITION AS key_seq, k.COLUMN_NAME AS column_name, "
+                + "k.REFERENCED_TABLE_NAME AS ref_table_name, k.REFERENCED_COLUMN_NAME AS ref_column_name, "
+                + "r.DELETE_RULE AS delete_rule, r.UPDATE_RULE AS update_rule "
+                + "FROM information_schema.KEY_COLUMN_USAGE k "
+                + "JOIN information_schema.REFERENTIAL_CONSTRAINTS r "
+                + "ON r.CONSTRAINT_SCHEMA = k.CONSTRAINT_SCHEMA AND r.CONSTRAINT_NAME = k.CONSTRAINT_NAME "
+                + "AND r.TABLE_NAME = k.TABLE_NAME "
+                + "WHERE k.TABLE_SCHEMA = ? AND k.REFERENCED_TABLE_NAME IS NOT NULL "
+                + "ORDER BY k.TABLE_NAME, k.CONSTRAINT_NAME, k.ORDINAL_POSITION";
+    }
+    
+    @Override
+    protected String indexesSql() {
+        return "SELECT TABLE_NAME AS table_name, INDEX_NAME AS index_name, NON_UNIQUE AS non_unique, "
+                + "COLUMN_NAME AS column_name "
+                + "FROM information_schema.STATISTICS "
+                + "WHERE TABLE_SCHEMA = ? AND INDEX_NAME <> 'PRIMARY' "
+                + "ORDER BY TABLE_NAME, INDEX_NAME, SEQ_IN_INDEX";
+    }
+    
+    /**
+     * information_schema.TABLES 的 UPDATE_TIME 只随数据变化，CREATE_TIME 在原地（INSTANT）变更时也不变，
+     * 因此指纹由建表时间、表注释和列、索引、外键定义各自的 CRC32 之和组成
+     */
+    @Override
+    protected String fingerprintsSql() {
+        return "SELECT t.TABLE_NAME AS table_name, "
+                + "CONCAT_WS('|', t.CREATE_TIME, t.TABLE_COMMENT, c.fp, s.fp, k.fp) AS fingerprint "
+                + "FROM information_schema.TABLES t "
+                + "LEFT JOIN (SELECT TABLE_NAME, CONCAT(COUNT(*), ':', SUM(CRC32(CONCAT_WS('|', COLUMN_NAME, "
+                + "ORDINAL_POSITION, COLUMN_TYPE, IS_NULLABLE, COLUMN_DEFAULT, EXTRA, COLUMN_COMMENT)))) AS fp "
+                + "FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = ? GROUP BY TABLE_NAME) c "
+                + "ON c.TABLE_NAME = t.TABLE_NAME "
+                + "LEFT JOIN (SELECT TABLE_NAME, CONCAT(COUNT(*), ':', SUM(CRC32(CONCAT_WS('|', INDEX_NAME, "
+                + "NON_UNIQUE, SEQ_IN_INDEX, COLUMN_NAME)))) AS fp "
+                + "FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = ? GROUP BY TABLE_NAME) s "
+                + "ON s.TABLE_NAME = t.TABLE_NAME "
+                + "LEFT JOIN (SELECT k.TABLE_NAME, CONCAT(COUNT(*), ':', SUM(CRC32(CONCAT_WS('|', k.CONSTRAINT_NAME, "
+                + "k.ORDINAL_POSITION, k.COLUMN_NAME, k.REFERENCED_TABLE_NAME, k.REFERENCED_COLUMN_NAME, "
+                + "r.DELETE_RULE, r.UPDATE_RULE)))) AS fp "
+                + "FROM information_schema.KEY_COLUMN_USAGE k "
+                + "LEFT JOIN information_schema.REFERENTIAL_CONSTRAINTS r "
+                + "ON r.CONSTRAINT_SCHEMA = k.CONSTRAINT_SCHEMA AND r.CONSTRAINT_NAME = k.CONSTRAINT_NAME "
+                + "AND r.TABLE_NAME = k.TABLE_NAME "
+                + "WHERE k.TABLE_SCHEMA = ? GROUP BY k.TABLE_NAME) k "
+                + "ON k.TABLE_NAME = t.TABLE_NAME "
+                + "WHERE t.TABLE_SCHEMA = ? AND t.TABLE_TYPE = 'BASE TABLE' "
+                + "ORDER BY t.TABLE_NAME";
+    }
+}
@@ -0,0 +1,107 @@
+package com.coffeeviz.jdbc.parser;
+
+/**
+ * Oracle / 达梦批量元数据读取（ALL_* 数据字典视图）
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class OracleMetadataExtractor extends BulkMetadataExtractor {
+    
+    @Override
+    protected String tablesSql() {
+        return "SELECT t.TABLE_NAME AS table_name, tc.COMMENTS AS remarks "
+                + "FROM ALL_TABLES t "
+                + "LEFT JOIN ALL_TAB_COMMENTS tc ON tc.OWNER = t.OWNER AND tc.TABLE_NAME = t.TABLE_NAME "
+                + "WHERE t.OWNER = ? AND t.TABLE_NAME NOT LIKE 'BIN$%' "
+                + "ORDER BY t.TABLE_NAME";
+    }
+    
+    @Override
+    protected String columnsSql() {
+        return "SELECT c.TABLE_NAME AS table_name, c.COLUMN_NAME AS column_name, c.DATA_TYPE AS type_name, "
+                + "CASE WHEN c.DATA_TYPE = 'NUMBER' THEN c.DATA_PRECISION "
+                + "WHEN c.CHAR_USED = 'C' THEN c.CHAR_LENGTH ELSE c.DATA_LENGTH END AS column_size, "
+                + "c.DATA_SCALE AS decimal_digits, "
+                + "CASE WHEN c.NULLABLE = 'Y' THEN 1 ELSE 0 END AS nullable, "
+                + "NULL AS column_default, cc.COMMENTS AS remarks, 0 AS auto_increment "
+                + "FROM ALL_TAB_COLUMNS c "
+                + "LEFT JOIN ALL_COL_COMMENTS cc ON cc.OWNER = c.OWNER AND cc.TABLE_NAME = c.TABLE_NAME "
+                + "AND cc.COLUMN_NAME = c.COLUMN_NAME "
+                + "WHERE c.OWNER = ? "
+                + "ORDER BY c.TABLE_NAME, c.COLUMN_ID";
+    }
+    
+    /**
+     * DATA_DEFAULT 是 LONG 类型，驱动读取 LONG 列时逐行往返；单独查询且只查有默认值的列
+     */
+    @Override
+    protected String columnDefaultsSql() {
+        return "SELECT TABLE_NAME AS table_name, COLUMN_NAME AS column_name, DATA_DEFAULT AS column_default "
+                + "FROM ALL_TAB_COLUMNS "
+                + "WHERE OWNER = ? AND DEFAULT_LENGTH > 0 "
+                + "ORDER BY TABLE_NAME";
+    }
+    
+    @Override
+    protected String primaryKeysSql() {
+        return "SELECT cc.TABLE_NAME AS table_name, cc.CONSTRAINT_NAME AS constraint_name, "
+                + "cc.COLUMN_NAME AS column_name "
+                + "FROM ALL_CONSTRAINTS c "
+                + "JOIN ALL_CONS_COLUMNS cc ON cc.OWNER = c.OWNER AND cc.CONSTRAINT_NAME = c.CONSTRAINT_NAME "
+                + "AND cc.TABLE_NAME = c.TABLE_NAME "
+                + "WHERE c.OWNER = ? AND c.CONSTRAINT_TYPE = 'P' "
+                + "ORDER BY cc.TABLE_NAME, cc.POSITION";
+    }
+    
+    @Override
+    protected String foreignKeysSql() {
+        return "SELECT c.TABLE_NAME AS table_name, c.CONSTRAINT_NAME AS constraint_name, cc.POSITION AS key_seq, "
+                + "cc.COLUMN_NAME AS column_name, rc.TABLE_NAME AS ref_table_name, "
+                + "rcc.COLUMN_NAME AS ref_column_name, c.DELETE_RULE AS delete_rule, NULL AS update_rule "
+                + "FROM ALL_CONSTRAINTS c "
+                + "JOIN ALL_CONS_COLUMNS cc ON cc.OWNER = c.OWNER AND cc.CONSTRAINT_NAME = c.CONSTRAINT_NAME "
+                + "JOIN ALL_CONSTRAINTS rc ON rc.OWNER = c.R_OWNER AND rc.CONSTRAINT_NAME = c.R_CONSTRAINT_NAME "
+                + "JOIN ALL_CONS_COLUMNS rcc ON rcc.OWNER = rc.OWNER AND rcc.CONSTRAINT_NAME = rc.CONSTRAINT_NAME "
+                + "AND rcc.POSITION = cc.POSITION "
+                + "WHERE c.OWNER = ? AND c.CONSTRAINT_TYPE = 'R' "
+                + "ORDER BY c.TABLE_NAME, c.CONSTRAINT_NAME, cc.POSITION";
+    }
+    
+    @Override
+    protected String indexesSql() {
+        return "SELECT i.TABLE_NAME AS table_name, i.INDEX_NAME AS index_name, "
+                + "CASE WHEN i.UNIQUENESS = 'UNIQUE' THEN 0 ELSE 1 END AS non_unique, "
+                + "ic.COLUMN_NAME AS column_name "
+                + "FROM ALL_INDEXES i "
+                + "JOIN ALL_IND_COLUMNS ic ON ic.INDEX_OWNER = i.OWNER AND ic.INDEX_NAME = i.INDEX_NAME "
+                + "WHERE i.TABLE_OWNER = ? AND NOT EXISTS ("
+                + "SELECT 1 FROM ALL_CONSTRAINTS pk WHERE pk.OWNER = i.TABLE_OWNER AND pk.TABLE_NAME = i.TABLE_NAME "
+                + "AND pk.CONSTRAINT_TYPE = 'P' AND pk.INDEX_NAME = i.INDEX_NAME) "
+                + "ORDER BY i.TABLE_NAME, i.INDEX_NAME, ic.COLUMN_POSITION";
+    }
+    
+    /**
+     * ALL_OBJECTS.LAST_DDL_TIME 随表的 DDL 更新；索引是独立对象，另取索引数和最近的索引 DDL 时间，
+     * 注释不产生 DDL 时间，另取哈希
+     */
+    @Override
+    protected String fingerprintsSql() {
+        return "SELECT t.TABLE_NAME AS table_name, "
+                + "TO_CHAR(o.LAST_DDL_TIME, 'YYYY-MM-DD HH24:MI:SS') || '|' || ix.cnt || '|' "
+                + "|| TO_CHAR(ix.last_ddl, 'YYYY-MM-DD HH24:MI:SS') || '|' || ORA_HASH(tc.COMMENTS) || '|' || cc.fp "
+                + "AS fingerprint "
+                + "FROM ALL_TABLES t "
+                + "JOIN ALL_OBJECTS o ON o.OWNER = t.OWNER AND o.OBJECT_NAME = t.TABLE_NAME AND o.OBJECT_TYPE = 'TABLE' "
+                + "LEFT JOIN ALL_TAB_COMMENTS tc ON tc.OWNER = t.OWNER AND tc.TABLE_NAME = t.TABLE_NAME "
+                + "LEFT JOIN (SELECT i.TABLE_NAME, COUNT(*) AS cnt, MAX(io.LAST_DDL_TIME) AS last_ddl "
+                + "FROM ALL_INDEXES i "
+                + "JOIN ALL_OBJECTS io ON io.OWNER = i.OWNER AND io.OBJECT_NAME = i.INDEX_NAME AND io.OBJECT_TYPE = 'INDEX' "
+                + "WHERE i.TABLE_OWNER = ? GROUP BY i.TABLE_NAME) ix ON ix.TABLE_NAME = t.TABLE_NAME "
+                + "LEFT JOIN (SELECT TABLE_NAME, SUM(ORA_HASH(COLUMN_NAME || '|' || COMMENTS)) AS fp "
+                + "FROM ALL_COL_COMMENTS WHERE OWNER = ? AND COMMENTS IS NOT NULL GROUP BY TABLE_NAME) cc "
+                + "ON cc.TABLE_NAME = t.TABLE_NAME "
+                + "WHERE t.OWNER = ? AND t.TABLE_NAME NOT LIKE 'BIN$%' "
+                + "ORDER BY t.TABLE_NAME";
+    }
+}
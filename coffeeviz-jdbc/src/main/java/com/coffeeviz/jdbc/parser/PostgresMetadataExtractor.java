@@ -0,0 +1,109 @@
+package com.coffeeviz.jdbc.parser;
+
+/**
+ * PostgreSQL / 人大金仓批量元数据读取（pg_catalog，需要 PostgreSQL 10 及以上）
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class PostgresMetadataExtractor extends BulkMetadataExtractor {
+    
+    private static final String FROM_TABLES = "FROM pg_catalog.pg_class c "
+            + "JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace ";
+    
+    @Override
+    protected String tablesSql() {
+        return "SELECT c.relname AS table_name, obj_description(c.oid, 'pg_class') AS remarks "
+                + FROM_TABLES
+                + "WHERE n.nspname = ? AND c.relkind = 'r' "
+                + "ORDER BY c.relname";
+    }
+    
+    @Override
+    protected String columnsSql() {
+        return "SELECT c.relname AS table_name, a.attname AS column_name, t.typname AS type_name, "
+                + "CASE WHEN a.atttypmod > 0 AND t.typname = 'numeric' THEN ((a.atttypmod - 4) >> 16) & 65535 "
+                + "WHEN a.atttypmod > 4 AND t.typname IN ('varchar', 'bpchar') THEN a.atttypmod - 4 "
+                + "WHEN a.atttypmod > 0 AND t.typname IN ('bit', 'varbit') THEN a.atttypmod "
+                + "ELSE NULL END AS column_size, "
+                + "CASE WHEN a.atttypmod > 0 AND t.typname = 'numeric' THEN (a.atttypmod - 4) & 65535 "
+                + "ELSE NULL END AS decimal_digits, "
+                + "CASE WHEN a.attnotnull THEN 0 ELSE 1 END AS nullable, "
+                + "pg_get_expr(d.adbin, d.adrelid) AS column_default, "
+                + "col_description(c.oid, a.attnum) AS remarks, "
+                + "CASE WHEN a.attidentity IN ('a', 'd') OR pg_get_expr(d.adbin, d.adrelid) LIKE 'nextval(%' "
+                + "THEN 1 ELSE 0 END AS auto_increment "
+                + FROM_TABLES
+                + "JOIN pg_catalog.pg_attribute a ON a.attrelid = c.oid "
+                + "JOIN pg_catalog.pg_type t ON t.oid = a.atttypid "
+                + "LEFT JOIN pg_catalog.pg_attrdef d ON d.adrelid = a.attrelid AND d.adnum = a.attnum "
+                + "WHERE n.nspname = ? AND c.relkind = 'r' AND a.attnum > 0 AND NOT a.attisdropped "
+                + "ORDER BY c.relname, a.attnum";
+    }
+    
+    @Override
+    protected String primaryKeysSql() {
+        return "SELECT c.relname AS table_name, con.conname AS constraint_name, a.attname AS column_name "
+                + FROM_TABLES
+                + "JOIN pg_catalog.pg_constraint con ON con.conrelid = c.oid "
+                + "CROSS JOIN LATERAL unnest(con.conkey) WITH ORDINALITY AS k(attnum, position) "
+                + "JOIN pg_catalog.pg_attribute a ON a.attrelid = c.oid AND a.attnum = k.attnum "
+                + "WHERE n.nspname = ? AND con.contype = 'p' "
+                + "ORDER BY c.relname, k.position";
+    }
+    
+    @Override
+    protected String foreignKeysSql() {
+        return "SELECT c.relname AS table_name, con.conname AS constraint_name, k.position AS key_seq, "
+                + "a.attname AS column_name, rc.relname AS ref_table_name, ra.attname AS ref_column_name, "
+                + rule("con.confdeltype") + " AS delete_rule, "
+                + rule("con.confupdtype") + " AS update_rule "
+                + FROM_TABLES
+                + "JOIN pg_catalog.pg_constraint con ON con.conrelid = c.oid "
+                + "JOIN pg_catalog.pg_class rc ON rc.oid = con.confrelid "
+                + "CROSS JOIN LATERAL unnest(con.conkey, con.confkey) WITH ORDINALITY AS k(attnum, ref_attnum, position) "
+                + "JOIN pg_catalog.pg_attribute a ON a.attrelid = c.oid AND a.attnum = k.attnum "
+                + "JOIN pg_catalog.pg_attribute ra ON ra.attrelid = rc.oid AND ra.attnum = k.ref_attnum "
+                + "WHERE n.nspname = ? AND con.contype = 'f' "
+                + "ORDER BY c.relname, con.conname, k.position";
+    }
+    
+    @Override
+    protected String indexesSql() {
+        return "SELECT c.relname AS table_name, i.relname AS index_name, "
+                + "CASE WHEN x.indisunique THEN 0 ELSE 1 END AS non_unique, a.attname AS column_name "
+                + FROM_TABLES
+                + "JOIN pg_catalog.pg_index x ON x.indrelid = c.oid "
+                + "JOIN pg_catalog.pg_class i ON i.oid = x.indexrelid "
+                + "CROSS JOIN LATERAL unnest(x.indkey::smallint[]) WITH ORDINALITY AS k(attnum, position) "
+                + "LEFT JOIN pg_catalog.pg_attribute a ON a.attrelid = c.oid AND a.attnum = k.attnum "
+                + "WHERE n.nspname = ? AND c.relkind = 'r' AND NOT x.indisprimary "
+                + "ORDER BY c.relname, i.relname, k.position";
+    }
+    
+    /**
+     * pg_class 没有 DDL 时间，指纹为表注释、列定义、约束定义和索引定义拼接后的 MD5（在服务端计算）
+     */
+    @Override
+    protected String fingerprintsSql() {
+        return "SELECT c.relname AS table_name, md5(concat_ws('|', obj_description(c.oid, 'pg_class'), "
+                + "(SELECT string_agg(concat_ws(':', a.attname, format_type(a.atttypid, a.atttypmod), "
+                + "a.attnotnull, a.attidentity, pg_get_expr(d.adbin, d.adrelid), col_description(c.oid, a.attnum)), "
+                + "',' ORDER BY a.attnum) "
+                + "FROM pg_catalog.pg_attribute a "
+                + "LEFT JOIN pg_catalog.pg_attrdef d ON d.adrelid = a.attrelid AND d.adnum = a.attnum "
+                + "WHERE a.attrelid = c.oid AND a.attnum > 0 AND NOT a.attisdropped), "
+                + "(SELECT string_agg(con.conname || ' ' || pg_get_constraintdef(con.oid), ',' ORDER BY con.conname) "
+                + "FROM pg_catalog.pg_constraint con WHERE con.conrelid = c.oid), "
+                + "(SELECT string_agg(pg_get_indexdef(x.indexrelid), ',' ORDER BY pg_get_indexdef(x.indexrelid)) "
+                + "FROM pg_catalog.pg_index x WHERE x.indrelid = c.oid))) AS fingerprint "
+                + FROM_TABLES
+                + "WHERE n.nspname = ? AND c.relkind = 'r' "
+                + "ORDER BY c.relname";
+    }
+    
+    private static String rule(String column) {
+        return "CASE " + column + " WHEN 'c' THEN 'CASCADE' WHEN 'n' THEN 'SET NULL' "
+                + "WHEN 'd' THEN 'SET DEFAULT' WHEN 'r' THEN 'RESTRICT' ELSE 'NO ACTION' END";
+    }
+}
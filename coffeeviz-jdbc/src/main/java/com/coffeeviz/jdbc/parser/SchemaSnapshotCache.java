@@ -0,0 +1,199 @@
+package com.coffeeviz.jdbc.parser;
+
+import com.coffeeviz.core.codec.SchemaCodec;
+import com.coffeeviz.core.model.TableModel;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按数据源缓存的 Schema 快照
+ * 保存上次读取的各表指纹和表模型，同一数据源再次生成 ER 图时只重新读取指纹变化、新增的表，
+ * 删除的表从快照中移除，其余表直接复用快照。
+ * 
+ * 键为“用户 + 配置摘要（含 Schema）”，表模型以 {@link SchemaCodec} 二进制形式保存，每次取出解码出新的副本
+ * （调用方会在模型上推断关系、分区，不能共享对象）；超出条目上限时按 LRU 淘汰，超过空闲时间未使用的快照失效
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SchemaSnapshotCache {
+    
+    private final boolean enabled;
+    
+    private final int maxEntries;
+    
+    private final long expireNanos;
+    
+    /**
+     * 按访问顺序排列，最久未使用的在前
+     */
+    private final LinkedHashMap<String, Stored> snapshots;
+    
+    private long hitCount;
+    
+    private long missCount;
+    
+    private long evictionCount;
+    
+    @Autowired
+    public SchemaSnapshotCache(@Value("${coffeeviz.jdbc.schema-snapshot.enabled:true}") boolean enabled,
+                               @Value("${coffeeviz.jdbc.schema-snapshot.max-entries:128}") int maxEntries,
+                               @Value("${coffeeviz.jdbc.schema-snapshot.expire-minutes:60}") long expireMinutes) {
+        this(enabled, maxEntries, Duration.ofMinutes(expireMinutes));
+    }
+    
+    SchemaSnapshotCache(boolean enabled, int maxEntries, Duration expireAfterAccess) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.expireNanos = expireAfterAccess.toNanos();
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Stored> eldest) {
+                if (size() > SchemaSnapshotCache.this.maxEntries) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        log.info("Schema 快照缓存: {}，最多 {} 个数据源，空闲 {} 分钟后失效",
+                enabled ? "启用" : "禁用", maxEntries, expireAfterAccess.toMinutes());
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * 查询快照，命中时返回表模型的副本
+     */
+    public Snapshot get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        Stored stored;
+        synchronized (this) {
+            stored = snapshots.get(key);
+            if (stored != null && System.nanoTime() - stored.accessedAt >= expireNanos) {
+                snapshots.remove(key);
+                evictionCount++;
+                stored = null;
+            }
+            if (stored == null) {
+                missCount++;
+                return null;
+            }
+            hitCount++;
+            stored.accessedAt = System.nanoTime();
+        }
+        return new Snapshot(stored.fingerprints, SchemaCodec.decodeTables(stored.tables));
+    }
+    
+    /**
+     * 写入快照（保存编码后的副本，之后对传入表模型的修改不会影响快照）
+     * 
+     * @param fingerprints 表名到指纹，按表名排序
+     * @param tables 与指纹对应的表模型
+     */
+    public void put(String key, Map<String, String> fingerprints, List<TableModel> tables) {
+        if (!enabled) {
+            return;
+        }
+        Stored stored = new Stored(Collections.unmodifiableMap(new LinkedHashMap<>(fingerprints)),
+                SchemaCodec.encodeTables(tables, false));
+        synchronized (this) {
+            evictExpired();
+            snapshots.put(key, stored);
+        }
+    }
+    
+    /**
+     * 移除快照（下次按全量读取）
+     */
+    public synchronized void invalidate(String key) {
+        snapshots.remove(key);
+    }
+    
+    /**
+     * 清空缓存
+     */
+    public synchronized void invalidateAll() {
+        snapshots.clear();
+    }
+    
+    /**
+     * 缓存统计（诊断用）
+     */
+    public synchronized Metrics metrics() {
+        evictExpired();
+        long bytes = 0;
+        int tables = 0;
+        for (Stored stored : snapshots.values()) {
+            bytes += stored.tables.length;
+            tables += stored.fingerprints.size();
+        }
+        Metrics metrics = new Metrics();
+        metrics.setEnabled(enabled);
+        metrics.setSize(snapshots.size());
+        metrics.setTableCount(tables);
+        metrics.setEncodedBytes(bytes);
+        metrics.setHitCount(hitCount);
+        metrics.setMissCount(missCount);
+        metrics.setEvictionCount(evictionCount);
+        return metrics;
+    }
+    
+    private void evictExpired() {
+        long now = System.nanoTime();
+        Iterator<Stored> iterator = snapshots.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().accessedAt >= expireNanos) {
+                iterator.remove();
+                evictionCount++;
+            }
+        }
+    }
+    
+    /**
+     * 快照内容：各表指纹（按表名排序）与表模型副本
+     */
+    public record Snapshot(Map<String, String> fingerprints, List<TableModel> tables) {
+    }
+    
+    private static final class Stored {
+        private final Map<String, String> fingerprints;
+        private final byte[] tables;
+        private long accessedAt = System.nanoTime();
+        
+        Stored(Map<String, String> fingerprints, byte[] tables) {
+            this.fingerprints = fingerprints;
+            this.tables = tables;
+        }
+    }
+    
+    /**
+     * 缓存统计
+     */
+    @Data
+    public static class Metrics {
+        private boolean enabled;
+        private int size;
+        private int tableCount;
+        private long encodedBytes;
+        private long hitCount;
+        private long missCount;
+        private long evictionCount;
+    }
+}
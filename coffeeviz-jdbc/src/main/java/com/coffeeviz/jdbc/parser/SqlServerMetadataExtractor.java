@@ -0,0 +1,99 @@
+package com.coffeeviz.jdbc.parser;
+
+/**
+ * SQL Server 批量元数据读取（sys 目录视图，当前数据库）
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class SqlServerMetadataExtractor extends BulkMetadataExtractor {
+    
+    private static final String FROM_TABLES = "FROM sys.tables t "
+            + "JOIN sys.schemas s ON s.schema_id = t.schema_id ";
+    
+    @Override
+    protected String tablesSql() {
+        return "SELECT t.name AS table_name, CAST(ep.value AS NVARCHAR(4000)) AS remarks "
+                + FROM_TABLES
+                + "LEFT JOIN sys.extended_properties ep ON ep.class = 1 AND ep.major_id = t.object_id "
+                + "AND ep.minor_id = 0 AND ep.name = 'MS_Description' "
+                + "WHERE s.name = ? AND t.is_ms_shipped = 0 "
+                + "ORDER BY t.name";
+    }
+    
+    @Override
+    protected String columnsSql() {
+        return "SELECT t.name AS table_name, c.name AS column_name, ty.name AS type_name, "
+                + "CASE WHEN c.max_length = -1 THEN 2147483647 "
+                + "WHEN ty.name IN ('nvarchar', 'nchar') THEN c.max_length / 2 "
+                + "WHEN ty.name IN ('varchar', 'char', 'varbinary', 'binary') THEN c.max_length "
+                + "ELSE c.precision END AS column_size, "
+                + "c.scale AS decimal_digits, "
+                + "CASE WHEN c.is_nullable = 1 THEN 1 ELSE 0 END AS nullable, "
+                + "dc.definition AS column_default, CAST(ep.value AS NVARCHAR(4000)) AS remarks, "
+                + "CASE WHEN c.is_identity = 1 THEN 1 ELSE 0 END AS auto_increment "
+                + FROM_TABLES
+                + "JOIN sys.columns c ON c.object_id = t.object_id "
+                + "JOIN sys.types ty ON ty.user_type_id = c.user_type_id "
+                + "LEFT JOIN sys.default_constraints dc ON dc.object_id = c.default_object_id "
+                + "LEFT JOIN sys.extended_properties ep ON ep.class = 1 AND ep.major_id = c.object_id "
+                + "AND ep.minor_id = c.column_id AND ep.name = 'MS_Description' "
+                + "WHERE s.name = ? AND t.is_ms_shipped = 0 "
+                + "ORDER BY t.name, c.column_id";
+    }
+    
+    @Override
+    protected String primaryKeysSql() {
+        return "SELECT t.name AS table_name, kc.name AS constraint_name, c.name AS column_name "
+                + FROM_TABLES
+                + "JOIN sys.key_constraints kc ON kc.parent_object_id = t.object_id AND kc.type = 'PK' "
+                + "JOIN sys.index_columns ic ON ic.object_id = t.object_id AND ic.index_id = kc.unique_index_id "
+                + "JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id "
+                + "WHERE s.name = ? "
+                + "ORDER BY t.name, ic.key_ordinal";
+    }
+    
+    @Override
+    protected String foreignKeysSql() {
+        return "SELECT t.name AS table_name, fk.name AS constraint_name, fkc.constraint_column_id AS key_seq, "
+                + "c.name AS column_name, rt.name AS ref_table_name, rc.name AS ref_column_name, "
+                + "REPLACE(fk.delete_referential_action_desc, '_', ' ') AS delete_rule, "
+                + "REPLACE(fk.update_referential_action_desc, '_', ' ') AS update_rule "
+                + FROM_TABLES
+                + "JOIN sys.foreign_keys fk ON fk.parent_object_id = t.object_id "
+                + "JOIN sys.foreign_key_columns fkc ON fkc.constraint_object_id = fk.object_id "
+                + "JOIN sys.columns c ON c.object_id = fkc.parent_object_id AND c.column_id = fkc.parent_column_id "
+                + "JOIN sys.tables rt ON rt.object_id = fkc.referenced_object_id "
+                + "JOIN sys.columns rc ON rc.object_id = fkc.referenced_object_id "
+                + "AND rc.column_id = fkc.referenced_column_id "
+                + "WHERE s.name = ? "
+                + "ORDER BY t.name, fk.name, fkc.constraint_column_id";
+    }
+    
+    @Override
+    protected String indexesSql() {
+        return "SELECT t.name AS table_name, i.name AS index_name, "
+                + "CASE WHEN i.is_unique = 1 THEN 0 ELSE 1 END AS non_unique, c.name AS column_name "
+                + FROM_TABLES
+                + "JOIN sys.indexes i ON i.object_id = t.object_id "
+                + "JOIN sys.index_columns ic ON ic.object_id = i.object_id AND ic.index_id = i.index_id "
+                + "AND ic.is_included_column = 0 "
+                + "JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id "
+                + "WHERE s.name = ? AND t.is_ms_shipped = 0 AND i.is_primary_key = 0 AND i.name IS NOT NULL "
+                + "ORDER BY t.name, i.name, ic.key_ordinal";
+    }
+    
+    /**
+     * sys.tables.modify_date 随 ALTER TABLE 和索引创建、修改更新；注释（扩展属性）不影响 modify_date，另取校验和
+     */
+    @Override
+    protected String fingerprintsSql() {
+        return "SELECT t.name AS table_name, CONCAT(CONVERT(VARCHAR(33), t.modify_date, 126), '|', "
+                + "(SELECT CHECKSUM_AGG(CHECKSUM(ep.minor_id, CAST(ep.value AS NVARCHAR(4000)))) "
+                + "FROM sys.extended_properties ep WHERE ep.class = 1 AND ep.major_id = t.object_id "
+                + "AND ep.name = 'MS_Description')) AS fingerprint "
+                + FROM_TABLES
+                + "WHERE s.name = ? AND t.is_ms_shipped = 0 "
+                + "ORDER BY t.name";
+    }
+}
@@ -0,0 +1,86 @@
+package com.coffeeviz.jdbc.parser;
+
+/**
+ * SQLite 批量元数据读取（sqlite_master 与 pragma 表值函数，需要 SQLite 3.16 及以上）
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class SqliteMetadataExtractor extends BulkMetadataExtractor {
+    
+    private static final String FROM_TABLES = "FROM sqlite_master m ";
+    
+    private static final String WHERE_TABLES = "WHERE m.type = 'table' AND m.name NOT LIKE 'sqlite_%' ";
+    
+    @Override
+    protected boolean requiresSchema() {
+        return false;
+    }
+    
+    @Override
+    protected String tablesSql() {
+        return "SELECT m.name AS table_name, NULL AS remarks "
+                + FROM_TABLES
+                + WHERE_TABLES
+                + "ORDER BY m.name";
+    }
+    
+    @Override
+    protected String columnsSql() {
+        return "SELECT m.name AS table_name, p.name AS column_name, p.type AS type_name, "
+                + "NULL AS column_size, NULL AS decimal_digits, "
+                + "CASE WHEN p.\"notnull\" = 0 THEN 1 ELSE 0 END AS nullable, "
+                + "p.dflt_value AS column_default, NULL AS remarks, "
+                + "CASE WHEN p.pk = 1 AND UPPER(m.sql) LIKE '%AUTOINCREMENT%' THEN 1 ELSE 0 END AS auto_increment "
+                + FROM_TABLES
+                + "JOIN pragma_table_info(m.name) p "
+                + WHERE_TABLES
+                + "ORDER BY m.name, p.cid";
+    }
+    
+    @Override
+    protected String primaryKeysSql() {
+        return "SELECT m.name AS table_name, NULL AS constraint_name, p.name AS column_name "
+                + FROM_TABLES
+                + "JOIN pragma_table_info(m.name) p "
+                + WHERE_TABLES
+                + "AND p.pk > 0 "
+                + "ORDER BY m.name, p.pk";
+    }
+    
+    @Override
+    protected String foreignKeysSql() {
+        return "SELECT m.name AS table_name, NULL AS constraint_name, f.seq + 1 AS key_seq, "
+                + "f.\"from\" AS column_name, f.\"table\" AS ref_table_name, f.\"to\" AS ref_column_name, "
+                + "f.on_delete AS delete_rule, f.on_update AS update_rule "
+                + FROM_TABLES
+                + "JOIN pragma_foreign_key_list(m.name) f "
+                + WHERE_TABLES
+                + "ORDER BY m.name, f.id, f.seq";
+    }
+    
+    @Override
+    protected String indexesSql() {
+        return "SELECT m.name AS table_name, il.name AS index_name, "
+                + "CASE WHEN il.\"unique\" = 1 THEN 0 ELSE 1 END AS non_unique, ii.name AS column_name "
+                + FROM_TABLES
+                + "JOIN pragma_index_list(m.name) il "
+                + "JOIN pragma_index_info(il.name) ii "
+                + WHERE_TABLES
+                + "AND il.origin <> 'pk' "
+                + "ORDER BY m.name, il.name, ii.seqno";
+    }
+    
+    /**
+     * 建表语句和该表所有显式索引的建索引语句（ALTER TABLE 会改写 sqlite_master 中的建表语句）
+     */
+    @Override
+    protected String fingerprintsSql() {
+        return "SELECT m.name AS table_name, m.sql || '|' || COALESCE((SELECT group_concat(i.sql, ';') "
+                + "FROM sqlite_master i WHERE i.type = 'index' AND i.tbl_name = m.name AND i.sql IS NOT NULL), '') "
+                + "AS fingerprint "
+                + FROM_TABLES
+                + WHERE_TABLES
+                + "ORDER BY m.name";
+    }
+}
@@ -0,0 +1,148 @@
+package com.coffeeviz.jdbc.connection;
+
+import com.coffeeviz.jdbc.config.JdbcConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * JDBC 连接缓存测试（SQLite 临时库）
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class JdbcConnectionCacheTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private JdbcConfig config;
+    
+    private final List<Connection> opened = new ArrayList<>();
+    
+    private JdbcConnectionCache cache;
+    
+    @BeforeEach
+    void setUp() {
+        config = JdbcConfig.builder()
+                .dbType("sqlite")
+                .jdbcUrl("jdbc:sqlite:" + tempDir.resolve("cache.db"))
+                .password("secret")
+                .build();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        if (cache != null) {
+            cache.destroy();
+        }
+    }
+    
+    private Connection open() throws SQLException {
+        Connection connection = DriverManager.getConnection(config.getJdbcUrl());
+        opened.add(connection);
+        return connection;
+    }
+    
+    @Test
+    void testClosedConnectionIsReusedBySameOwnerAndConfig() throws SQLException {
+        cache = new JdbcConnectionCache(true, 2, 8, Duration.ofMinutes(1));
+        
+        Connection first = cache.acquire("1", config, this::open);
+        first.close();
+        assertThat(first.isClosed()).isTrue();
+        assertThatThrownBy(first::createStatement).isInstanceOf(SQLException.class);
+        
+        // 超时设置不影响缓存键
+        config.setTimeout(30);
+        try (Connection second = cache.acquire("1", config, this::open)) {
+            assertThat(second.isClosed()).isFalse();
+            assertThat(second.createStatement().executeQuery("SELECT 1").next()).isTrue();
+        }
+        assertThat(opened).hasSize(1);
+        assertThat(opened.get(0).isClosed()).isFalse();
+        
+        // 其他用户或不同密码不复用
+        cache.acquire("2", config, this::open).close();
+        config.setPassword("other");
+        cache.acquire("1", config, this::open).close();
+        assertThat(opened).hasSize(3);
+        
+        JdbcConnectionCache.Metrics metrics = cache.metrics();
+        assertThat(metrics.getHitCount()).isEqualTo(1);
+        assertThat(metrics.getMissCount()).isEqualTo(3);
+        assertThat(metrics.getIdleCount()).isEqualTo(3);
+        assertThat(metrics.getOwnerCount()).isEqualTo(2);
+    }
+    
+    @Test
+    void testLimitsAndIdleTimeoutCloseConnections() throws SQLException, InterruptedException {
+        cache = new JdbcConnectionCache(true, 2, 3, Duration.ofMillis(50));
+        
+        Connection a = cache.acquire("1", config, this::open);
+        Connection b = cache.acquire("1", config, this::open);
+        Connection c = cache.acquire("1", config, this::open);
+        // 每用户最多 2 个（含借出中）：第三个连接不受缓存管理，关闭时直接关闭
+        assertThat(cache.metrics().getLeasedCount()).isEqualTo(2);
+        a.close();
+        b.close();
+        c.close();
+        assertThat(opened.get(2).isClosed()).isTrue();
+        assertThat(opened.get(0).isClosed()).isFalse();
+        assertThat(cache.metrics().getIdleCount()).isEqualTo(2);
+        assertThat(cache.metrics().getLeasedCount()).isZero();
+        
+        cache.acquire("2", config, this::open).close();
+        assertThat(opened.get(0).isClosed()).isFalse();
+        // 全局最多 3 个（含借出中）：借出时就关闭最早放回的空闲连接
+        try (Connection d = cache.acquire("3", config, this::open)) {
+            assertThat(opened.get(0).isClosed()).isTrue();
+            assertThat(cache.metrics().getIdleCount()).isEqualTo(2);
+        }
+        assertThat(cache.metrics().getIdleCount()).isEqualTo(3);
+        
+        Thread.sleep(100);
+        cache.evictExpired();
+        assertThat(cache.metrics().getIdleCount()).isZero();
+        for (Connection connection : opened) {
+            assertThat(connection.isClosed()).isTrue();
+        }
+    }
+    
+    @Test
+    void testAbortedConnectionReleasesLease() throws SQLException {
+        cache = new JdbcConnectionCache(true, 1, 8, Duration.ofMinutes(1));
+        
+        Connection first = cache.acquire("1", config, this::open);
+        first.abort(Runnable::run);
+        assertThat(cache.metrics().getLeasedCount()).isZero();
+        assertThat(cache.metrics().getIdleCount()).isZero();
+        
+        // 计数已归还，后续连接仍受缓存管理
+        cache.acquire("1", config, this::open).close();
+        assertThat(cache.metrics().getIdleCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void testDisabledCacheOpensNewConnections() throws SQLException {
+        cache = new JdbcConnectionCache(false, 2, 8, Duration.ofMinutes(1));
+        
+        cache.acquire("1", config, this::open).close();
+        cache.acquire("1", config, this::open).close();
+        
+        assertThat(opened).hasSize(2);
+        assertThat(opened.get(0).isClosed()).isTrue();
+    }
+}
@@ -0,0 +1,179 @@
+package com.coffeeviz.jdbc.parser;
+
+import com.coffeeviz.core.model.ColumnModel;
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.ForeignKeyModel;
+import com.coffeeviz.core.model.IndexModel;
+import com.coffeeviz.core.model.ParseResult;
+import com.coffeeviz.core.model.TableModel;
+import com.coffeeviz.jdbc.config.JdbcConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 批量元数据读取测试（SQLite 临时库，与 DatabaseMetaData 逐表读取的结果对照）
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class BulkMetadataExtractorTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private String jdbcUrl;
+    
+    @BeforeEach
+    void setUp() throws SQLException {
+        jdbcUrl = "jdbc:sqlite:" + tempDir.resolve("shop.db");
+        try (Connection conn = DriverManager.getConnection(jdbcUrl);
+             Statement statement = conn.createStatement()) {
+            statement.execute("CREATE TABLE users ("
+                    + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                    + "username VARCHAR(64) NOT NULL UNIQUE, "
+                    + "balance DECIMAL(10,2) DEFAULT 0, "
+                    + "created_at DATETIME)");
+            statement.execute("CREATE TABLE orders ("
+                    + "id INTEGER PRIMARY KEY, "
+                    + "user_id INTEGER NOT NULL, "
+                    + "status VARCHAR(16) DEFAULT 'NEW', "
+                    + "CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE)");
+            statement.execute("CREATE INDEX idx_orders_status ON orders(status, user_id)");
+            statement.execute("CREATE TABLE order_items ("
+                    + "order_id INTEGER NOT NULL REFERENCES orders, "
+                    + "line_no INTEGER NOT NULL, "
+                    + "product_user INTEGER REFERENCES users(id), "
+                    + "PRIMARY KEY (order_id, line_no))");
+        }
+    }
+    
+    @Test
+    void testBulkExtractionMatchesDatabaseMetaData() throws SQLException {
+        List<TableModel> bulk;
+        List<TableModel> perTable;
+        try (Connection conn = DriverManager.getConnection(jdbcUrl)) {
+            bulk = BulkMetadataExtractor.forDbType("sqlite").extract(conn, null);
+            perTable = new JdbcMetadataParserImpl(false, 1)
+                    .readTablesPerTable(conn, config(), null, null, new ArrayList<>());
+        }
+        
+        assertThat(bulk).extracting(TableModel::getName).containsExactly("order_items", "orders", "users");
+        assertThat(bulk).extracting(TableModel::getName)
+                .containsExactlyInAnyOrderElementsOf(perTable.stream().map(TableModel::getName).toList());
+        
+        for (TableModel table : bulk) {
+            TableModel expected = perTable.stream().filter(t -> t.getName().equals(table.getName())).findFirst().orElseThrow();
+            assertThat(table.getColumns()).extracting(ColumnModel::getName, ColumnModel::getRawType,
+                            ColumnModel::isNullable, ColumnModel::isPrimaryKeyPart)
+                    .containsExactlyElementsOf(expected.getColumns().stream()
+                            .map(c -> tuple(c.getName(), c.getRawType(), c.isNullable(),
+                                    c.isPrimaryKeyPart()))
+                            .toList());
+            assertThat(table.getPrimaryKey().getColumns())
+                    .containsExactlyInAnyOrderElementsOf(expected.getPrimaryKey().getColumns());
+        }
+        
+        // 完整类型取声明的长度和精度（驱动把 DECIMAL(10,2) 的 COLUMN_SIZE 报为 12）
+        TableModel users = bulk.get(2);
+        assertThat(users.findColumn("username").getType()).isEqualTo("VARCHAR(64)");
+        assertThat(users.findColumn("balance").getType()).isEqualTo("DECIMAL(10,2)");
+        assertThat(users.findColumn("balance").getDefaultValue()).isEqualTo("0");
+        assertThat(users.findColumn("id").isAutoIncrement()).isTrue();
+        assertThat(users.getIndexes()).singleElement().satisfies(index -> {
+            assertThat(index.isUnique()).isTrue();
+            assertThat(index.getColumns()).containsExactly("username");
+        });
+        
+        TableModel orders = bulk.get(1);
+        assertThat(orders.getForeignKeys()).singleElement().satisfies(fk -> {
+            assertThat(fk.getToTable()).isEqualTo("users");
+            assertThat(fk.getFromColumns()).containsExactly("user_id");
+            assertThat(fk.getToColumns()).containsExactly("id");
+            assertThat(fk.getOnDelete()).isEqualTo("CASCADE");
+        });
+        assertThat(orders.getIndexes()).extracting(IndexModel::getName, IndexModel::isUnique)
+                .containsExactly(tuple("idx_orders_status", false));
+        assertThat(orders.getIndexes().get(0).getColumns()).containsExactly("status", "user_id");
+        
+        // 主键列按声明顺序（驱动的 getPrimaryKeys 按列名排序）；未命名的两个外键分开，省略引用列的外键指向被引用表主键
+        TableModel items = bulk.get(0);
+        assertThat(items.getPrimaryKey().getColumns()).containsExactly("order_id", "line_no");
+        assertThat(items.getForeignKeys()).extracting(ForeignKeyModel::getToTable)
+                .containsExactlyInAnyOrder("orders", "users");
+        assertThat(items.getForeignKeys()).filteredOn(fk -> fk.getToTable().equals("orders"))
+                .singleElement().satisfies(fk -> assertThat(fk.getToColumns()).containsExactly("id"));
+    }
+    
+    @Test
+    void testExtractOnlyRequestedTables() throws SQLException {
+        BulkMetadataExtractor extractor = BulkMetadataExtractor.forDbType("sqlite");
+        try (Connection conn = DriverManager.getConnection(jdbcUrl)) {
+            List<TableModel> tables = extractor.extract(conn, null, List.of("users", "order_items"));
+            assertThat(tables).extracting(TableModel::getName).containsExactly("order_items", "users");
+            assertThat(tables.get(0).getForeignKeys()).hasSize(2);
+            assertThat(tables.get(1).getIndexes()).hasSize(1);
+            
+            assertThat(extractor.fingerprints(conn, null)).containsOnlyKeys("order_items", "orders", "users");
+        }
+        
+        assertThat(BulkMetadataExtractor.restrictToTables(
+                "SELECT 1 FROM t WHERE t.schema = ? ORDER BY t.name, t.seq", 2))
+                .isEqualTo("SELECT 1 FROM t WHERE t.schema = ? AND t.name IN (?, ?) ORDER BY t.name, t.seq");
+    }
+    
+    @Test
+    void testQueryTimeoutAppliesToEveryQuery() throws SQLException {
+        List<PreparedStatement> statements = new ArrayList<>();
+        try (Connection conn = spy(DriverManager.getConnection(jdbcUrl))) {
+            doAnswer(invocation -> {
+                PreparedStatement statement = spy((PreparedStatement) invocation.callRealMethod());
+                statements.add(statement);
+                return statement;
+            }).when(conn).prepareStatement(anyString());
+            
+            BulkMetadataExtractor extractor = BulkMetadataExtractor.forDbType("sqlite").queryTimeout(7);
+            extractor.fingerprints(conn, null);
+            extractor.extract(conn, null);
+        }
+        
+        assertThat(statements).hasSizeGreaterThan(5);
+        for (PreparedStatement statement : statements) {
+            verify(statement).setQueryTimeout(7);
+        }
+    }
+    
+    @Test
+    void testParseFromDatabaseUsesBulkExtraction() {
+        ParseResult result = new JdbcMetadataParserImpl().parseFromDatabase(config());
+        
+        assertThat(result.isSuccess()).isTrue();
+        DatabaseModel model = result.getDatabaseModel();
+        assertThat(model.getTables()).hasSize(3);
+        assertThat(model.getTables()).extracting(TableModel::getName).containsExactly("order_items", "orders", "users");
+        assertThat(model.getTables().get(0).getForeignKeys()).hasSize(2);
+    }
+    
+    private JdbcConfig config() {
+        return JdbcConfig.builder()
+                .dbType("sqlite")
+                .jdbcUrl(jdbcUrl)
+                .build();
+    }
+}
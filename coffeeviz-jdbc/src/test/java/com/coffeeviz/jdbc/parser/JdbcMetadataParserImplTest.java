@@ -0,0 +1,136 @@
+package com.coffeeviz.jdbc.parser;
+
+import com.coffeeviz.core.model.ForeignKeyModel;
+import com.coffeeviz.core.model.ParseResult;
+import com.coffeeviz.core.model.TableModel;
+import com.coffeeviz.jdbc.config.JdbcConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JDBC 元数据解析器测试（SQLite 临时库）
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class JdbcMetadataParserImplTest {
+    
+    private static final int TABLE_COUNT = 60;
+    
+    @TempDir
+    Path tempDir;
+    
+    private JdbcConfig config;
+    
+    @BeforeEach
+    void setUp() throws SQLException {
+        config = JdbcConfig.builder()
+                .dbType("sqlite")
+                .jdbcUrl("jdbc:sqlite:" + tempDir.resolve("many.db"))
+                .build();
+        try (Connection conn = DriverManager.getConnection(config.getJdbcUrl());
+             Statement statement = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            statement.execute("CREATE TABLE users (id INTEGER PRIMARY KEY, name VARCHAR(32))");
+            for (int i = 0; i < TABLE_COUNT; i++) {
+                statement.execute("CREATE TABLE t_" + i + " (id INTEGER PRIMARY KEY, "
+                        + "user_id INTEGER REFERENCES users(id), code VARCHAR(" + (i + 1) + ") NOT NULL)");
+                statement.execute("CREATE INDEX idx_t_" + i + "_code ON t_" + i + "(code)");
+            }
+            conn.commit();
+        }
+    }
+    
+    @Test
+    void testParallelPerTableReadMatchesSequentialOrder() {
+        ParseResult sequential = new JdbcMetadataParserImpl(false, 1).parseFromDatabase(config);
+        ParseResult parallel = new JdbcMetadataParserImpl(false, 4).parseFromDatabase(config);
+        
+        assertThat(sequential.isSuccess()).isTrue();
+        assertThat(parallel.isSuccess()).isTrue();
+        List<TableModel> expected = sequential.getDatabaseModel().getTables();
+        List<TableModel> actual = parallel.getDatabaseModel().getTables();
+        assertThat(actual).hasSize(TABLE_COUNT + 1);
+        assertThat(actual).extracting(TableModel::getName)
+                .containsExactlyElementsOf(expected.stream().map(TableModel::getName).toList());
+        for (int i = 0; i < actual.size(); i++) {
+            TableModel table = actual.get(i);
+            assertThat(table.getColumns()).isEqualTo(expected.get(i).getColumns());
+            assertThat(table.getIndexes()).isEqualTo(expected.get(i).getIndexes());
+            assertThat(table.getForeignKeys()).extracting(ForeignKeyModel::getToTable)
+                    .isEqualTo(expected.get(i).getForeignKeys().stream().map(ForeignKeyModel::getToTable).toList());
+        }
+        assertThat(parallel.getWarnings()).isEqualTo(sequential.getWarnings());
+    }
+    
+    @Test
+    void testPerTableReadMatchesBulkExtraction() {
+        List<TableModel> perTable = new JdbcMetadataParserImpl(false, 4).parseFromDatabase(config)
+                .getDatabaseModel().getTables();
+        List<TableModel> bulk = new JdbcMetadataParserImpl(true, 4).parseFromDatabase(config)
+                .getDatabaseModel().getTables();
+        
+        assertThat(bulk).extracting(TableModel::getName)
+                .containsExactlyInAnyOrderElementsOf(perTable.stream().map(TableModel::getName).toList());
+        TableModel table = bulk.stream().filter(t -> t.getName().equals("t_7")).findFirst().orElseThrow();
+        assertThat(table.findColumn("code").getType()).isEqualTo("VARCHAR(8)");
+        assertThat(table.getIndexes()).singleElement()
+                .satisfies(index -> assertThat(index.getColumns()).containsExactly("code"));
+    }
+    
+    @Test
+    void testProgressListenerReceivesBatchesInTableOrder() {
+        for (JdbcMetadataParserImpl parser : List.of(new JdbcMetadataParserImpl(true, 1),
+                new JdbcMetadataParserImpl(false, 4))) {
+            List<String> notified = new ArrayList<>();
+            List<Integer> loaded = new ArrayList<>();
+            ParseResult result = parser.syncFromDatabase(config, false, (tables, loadedCount, total) -> {
+                assertThat(total).isEqualTo(TABLE_COUNT + 1);
+                tables.forEach(table -> notified.add(table.getName()));
+                loaded.add(loadedCount);
+            });
+            
+            assertThat(result.isSuccess()).isTrue();
+            // 并行逐表读取时表的完成顺序不固定，首批可能多于 50 张
+            assertThat(loaded).hasSize(2).isSorted().endsWith(TABLE_COUNT + 1);
+            assertThat(loaded.get(0)).isGreaterThanOrEqualTo(50);
+            assertThat(notified).containsExactlyElementsOf(
+                    result.getDatabaseModel().getTables().stream().map(TableModel::getName).toList());
+        }
+    }
+    
+    @Test
+    void testCancelledListenerStopsRemainingReads() {
+        for (JdbcMetadataParserImpl parser : List.of(new JdbcMetadataParserImpl(true, 1),
+                new JdbcMetadataParserImpl(false, 1))) {
+            AtomicInteger batches = new AtomicInteger();
+            ParseResult result = parser.syncFromDatabase(config, false, new MetadataProgressListener() {
+                @Override
+                public void onTables(List<TableModel> tables, int loaded, int total) {
+                    batches.incrementAndGet();
+                }
+                
+                @Override
+                public boolean isCancelled() {
+                    return batches.get() > 0;
+                }
+            });
+            
+            assertThat(result.isSuccess()).isFalse();
+            assertThat(result.getMessage()).contains("取消");
+            assertThat(batches).hasValue(1);
+        }
+    }
+}
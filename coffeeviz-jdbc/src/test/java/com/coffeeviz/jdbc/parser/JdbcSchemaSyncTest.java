@@ -0,0 +1,133 @@
+package com.coffeeviz.jdbc.parser;
+
+import com.coffeeviz.core.model.ColumnModel;
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.IndexModel;
+import com.coffeeviz.core.model.ParseResult;
+import com.coffeeviz.core.model.TableModel;
+import com.coffeeviz.jdbc.config.JdbcConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 按表指纹增量同步元数据测试（SQLite 临时库）
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class JdbcSchemaSyncTest {
+    
+    private static final int TABLES = 10;
+    
+    @TempDir
+    Path tempDir;
+    
+    private JdbcConfig config;
+    
+    private SchemaSnapshotCache snapshotCache;
+    
+    private JdbcMetadataParserImpl parser;
+    
+    @BeforeEach
+    void setUp() throws SQLException {
+        config = JdbcConfig.builder()
+                .dbType("sqlite")
+                .jdbcUrl("jdbc:sqlite:" + tempDir.resolve("sync.db"))
+                .owner("1")
+                .build();
+        execute("CREATE TABLE t0 (id INTEGER PRIMARY KEY, name VARCHAR(64))");
+        for (int i = 1; i < TABLES; i++) {
+            execute("CREATE TABLE t" + i + " (id INTEGER PRIMARY KEY, parent_id INTEGER REFERENCES t0, "
+                    + "code VARCHAR(32) NOT NULL)");
+        }
+        snapshotCache = new SchemaSnapshotCache(true, 8, Duration.ofMinutes(10));
+        parser = new JdbcMetadataParserImpl(true, 1, snapshotCache);
+    }
+    
+    @Test
+    void testResyncReadsOnlyChangedTables() throws SQLException {
+        DatabaseModel first = sync(false);
+        assertThat(first.getMetadata()).containsEntry("syncMode", "full");
+        assertThat(first.getTables()).hasSize(TABLES);
+        // 调用方修改返回的模型不影响快照
+        first.getTables().get(0).setComment("changed by caller");
+        
+        DatabaseModel unchanged = sync(false);
+        assertThat(unchanged.getMetadata()).containsEntry("syncMode", "unchanged");
+        assertThat(unchanged.getTables()).extracting(TableModel::getName)
+                .containsExactlyElementsOf(first.getTables().stream().map(TableModel::getName).toList());
+        assertThat(unchanged.getTables().get(0).getComment()).isNull();
+        assertThat(unchanged.getTables().get(1).getForeignKeys()).singleElement()
+                .satisfies(fk -> assertThat(fk.getToColumns()).containsExactly("id"));
+        
+        execute("ALTER TABLE t2 ADD COLUMN remark VARCHAR(500)");
+        execute("CREATE INDEX idx_t3_code ON t3(code)");
+        execute("DROP TABLE t4");
+        execute("CREATE TABLE t10 (id INTEGER PRIMARY KEY, t1_id INTEGER REFERENCES t1(id))");
+        
+        DatabaseModel incremental = sync(false);
+        assertThat(incremental.getMetadata())
+                .containsEntry("syncMode", "incremental")
+                .containsEntry("syncChangedTables", "3")
+                .containsEntry("syncRemovedTables", "1");
+        assertThat(incremental.findTable("t2").getColumns()).extracting(ColumnModel::getName)
+                .containsExactly("id", "parent_id", "code", "remark");
+        assertThat(incremental.findTable("t3").getIndexes()).extracting(IndexModel::getName)
+                .containsExactly("idx_t3_code");
+        assertThat(incremental.findTable("t4")).isNull();
+        assertThat(incremental.findTable("t10").getForeignKeys()).hasSize(1);
+        
+        // 增量结果与全量读取一致（表顺序与列、索引、外键）
+        DatabaseModel full = parser.parseFromDatabase(config).getDatabaseModel();
+        assertThat(incremental.getTables()).extracting(TableModel::getName)
+                .containsExactlyElementsOf(full.getTables().stream().map(TableModel::getName).toList());
+        for (TableModel table : full.getTables()) {
+            TableModel patched = incremental.findTable(table.getName());
+            assertThat(patched.getColumns()).extracting(ColumnModel::getName, ColumnModel::getType)
+                    .containsExactlyElementsOf(table.getColumns().stream()
+                            .map(c -> tuple(c.getName(), c.getType())).toList());
+            assertThat(patched.getIndexes()).hasSameSizeAs(table.getIndexes());
+            assertThat(patched.getForeignKeys()).hasSameSizeAs(table.getForeignKeys());
+        }
+    }
+    
+    @Test
+    void testFullRefreshAndOwnerlessConfigIgnoreSnapshot() throws SQLException {
+        sync(false);
+        execute("ALTER TABLE t1 ADD COLUMN remark TEXT");
+        
+        DatabaseModel refreshed = sync(true);
+        assertThat(refreshed.getMetadata()).containsEntry("syncMode", "full");
+        assertThat(refreshed.findTable("t1").findColumn("remark")).isNotNull();
+        // 全量读取的结果写回快照
+        assertThat(sync(false).getMetadata()).containsEntry("syncMode", "unchanged");
+        
+        config.setOwner(null);
+        assertThat(sync(false).getMetadata()).containsEntry("syncMode", "full");
+        assertThat(snapshotCache.metrics().getSize()).isEqualTo(1);
+    }
+    
+    private DatabaseModel sync(boolean fullRefresh) {
+        ParseResult result = parser.syncFromDatabase(config, fullRefresh);
+        assertThat(result.isSuccess()).isTrue();
+        return result.getDatabaseModel();
+    }
+    
+    private void execute(String sql) throws SQLException {
+        try (Connection conn = DriverManager.getConnection(config.getJdbcUrl());
+             Statement statement = conn.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
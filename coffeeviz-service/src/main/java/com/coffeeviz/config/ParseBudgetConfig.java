@@ -0,0 +1,65 @@
+package com.coffeeviz.config;
+
+import com.coffeeviz.sql.parser.ParseBudget;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL 解析时间预算配置（按订阅套餐）
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "coffeeviz.parser.budget")
+public class ParseBudgetConfig {
+
+    /**
+     * 默认总时限（毫秒，0 表示不限），未配置套餐或无订阅时使用
+     */
+    private long totalMs;
+
+    /**
+     * 默认单个解析层级单次尝试的时限（毫秒，0 表示不限）
+     */
+    private long tierMs;
+
+    /**
+     * 各套餐的时限（键为套餐代码，如 FREE / PRO / TEAM）
+     */
+    private Map<String, Limit> plans = new HashMap<>();
+
+    /**
+     * 为指定套餐创建解析预算（从调用时开始计时）
+     *
+     * @param planCode 套餐代码（为 null 时使用默认时限）
+     */
+    public ParseBudget budgetFor(String planCode) {
+        Limit limit = planCode != null ? plans.get(planCode.toUpperCase()) : null;
+        return limit != null
+                ? ParseBudget.of(limit.getTotalMs(), limit.getTierMs())
+                : ParseBudget.of(totalMs, tierMs);
+    }
+
+    /**
+     * 单个套餐的时限
+     */
+    @Data
+    public static class Limit {
+
+        /**
+         * 总时限（毫秒，0 表示不限）
+         */
+        private long totalMs;
+
+        /**
+         * 单个解析层级单次尝试的时限（毫秒，0 表示不限）
+         */
+        private long tierMs;
+    }
+}
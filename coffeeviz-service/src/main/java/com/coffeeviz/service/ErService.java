@@ -1,22 +1,45 @@
 package com.coffeeviz.service;
 
 import com.alibaba.fastjson2.JSON;
+import com.coffeeviz.config.ParseBudgetConfig;
+import com.coffeeviz.core.codec.SchemaCodec;
+import com.coffeeviz.core.diff.SchemaDiff;
+import com.coffeeviz.core.diff.SchemaDiffEngine;
+import com.coffeeviz.core.graph.SchemaPartition;
+import com.coffeeviz.core.graph.SchemaPartitioner;
+import com.coffeeviz.core.inference.InferenceConfig;
+import com.coffeeviz.core.inference.RelationInferenceEngine;
 import com.coffeeviz.core.model.DatabaseModel;
 import com.coffeeviz.core.model.ParseResult;
 import com.coffeeviz.core.model.RenderOptions;
+import com.coffeeviz.core.model.TableModel;
 import com.coffeeviz.core.renderer.MermaidRenderer;
+import com.coffeeviz.export.exception.ExportException;
 import com.coffeeviz.export.service.ExportService;
 import com.coffeeviz.jdbc.config.JdbcConfig;
 import com.coffeeviz.jdbc.parser.JdbcMetadataParser;
+import com.coffeeviz.jdbc.parser.MetadataProgressListener;
+import com.coffeeviz.entity.UserSubscription;
+import com.coffeeviz.sql.parser.ParseBudget;
 import com.coffeeviz.sql.parser.SqlParser;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.util.DigestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * ER 图生成服务
@@ -29,6 +52,7 @@ import java.util.concurrent.TimeUnit;
 public class ErService {
     
     private static final String CACHE_KEY_PREFIX = "er:diagram:";
+    private static final String PARSE_CACHE_KEY_PREFIX = "er:parse:";
     private static final long CACHE_EXPIRE_SECONDS = 3600; // 1 小时
     
     @Autowired
@@ -43,13 +67,48 @@ public class ErService {
     @Autowired
     private ExportService exportService;
     
+    @Autowired
+    private RelationInferenceEngine relationInferenceEngine;
+    
+    @Autowired
+    private SchemaPartitioner schemaPartitioner;
+    
+    @Autowired
+    private SchemaDiffEngine schemaDiffEngine;
+    
+    @Autowired
+    @Qualifier("erTaskExecutor")
+    private Executor erTaskExecutor;
+    
+    @Autowired
+    private ParseBudgetConfig parseBudgetConfig;
+    
+    @Autowired
+    private SubscriptionService subscriptionService;
+    
     @Autowired(required = false)
     private RedisTemplate<String, Object> redisTemplate;
     
+    // 解析结果缓存（值为 SchemaCodec 二进制编码）
+    @Autowired(required = false)
+    private RedisTemplate<String, byte[]> binaryRedisTemplate;
+    
     // 是否启用缓存（从配置文件读取）
     @org.springframework.beans.factory.annotation.Value("${coffeeviz.cache.enabled:false}")
     private boolean cacheEnabled;
     
+    // 缓存解析结果时是否压缩
+    @org.springframework.beans.factory.annotation.Value("${coffeeviz.cache.compress-models:true}")
+    private boolean compressCachedModels;
+    
+    // 命名约定推断的列名后缀
+    @org.springframework.beans.factory.annotation.Value("${coffeeviz.inference.naming-convention-suffix:_id}")
+    private String namingConventionSuffix;
+    
+    // 拆分大型 Schema 时每个子图的默认表数量上限
+    @org.springframework.beans.factory.annotation.Value("${coffeeviz.render.partition.max-tables:60}")
+    private int partitionMaxTables;
+    
     /**
      * 从 SQL 生成 ER 图
      * 
@@ -58,6 +117,19 @@ public class ErService {
      * @return ER 图结果
      */
     public ErResult generateFromSql(String sqlText, RenderOptions options) {
+        return generateFromSql(sqlText, options, parseBudgetConfig.budgetFor(null));
+    }
+    
+    /**
+     * 在时间预算内从 SQL 生成 ER 图
+     * 超出预算时渲染已解析的部分表（警告中说明未解析的语句），部分结果不写入缓存
+     * 
+     * @param sqlText SQL 文本
+     * @param options 渲染选项
+     * @param budget 解析时间预算
+     * @return ER 图结果
+     */
+    public ErResult generateFromSql(String sqlText, RenderOptions options, ParseBudget budget) {
         long startTime = System.currentTimeMillis();
         log.info("开始从 SQL 生成 ER 图，SQL 长度: {}, 缓存状态: {}", sqlText.length(), cacheEnabled ? "启用" : "禁用");
         
@@ -75,49 +147,18 @@ public class ErService {
         
         try {
             // 2. 解析 SQL
-            ParseResult parseResult = sqlParser.parse(sqlText, "auto");
+            ParseResult parseResult = parseWithCache(sqlText, budget);
             
             if (!parseResult.isSuccess()) {
                 log.warn("SQL 解析失败: {}", parseResult.getMessage());
                 return ErResult.error(parseResult.getMessage());
             }
             
-            DatabaseModel databaseModel = parseResult.getDatabaseModel();
-            
-            // 3. 渲染 Mermaid 代码
-            String mermaidCode = mermaidRenderer.render(databaseModel, options);
-            
-            // 4. 导出 SVG
-            byte[] svgBytes = exportService.exportSvg(mermaidCode);
-            String svgContent = new String(svgBytes);
-            
-            // 5. 导出 PNG（Base64）- 根据表数量动态计算尺寸
-            int[] dimensions = calculatePngDimensions(databaseModel.getTables().size());
-            byte[] pngBytes = exportService.exportPng(mermaidCode, dimensions[0], dimensions[1]);
-            String pngBase64 = "data:image/png;base64," + 
-                java.util.Base64.getEncoder().encodeToString(pngBytes);
-            
-            long duration = System.currentTimeMillis() - startTime;
-            log.info("SQL 解析成功，耗时: {}ms, 表数量: {}, 关系数量: {}", 
-                    duration, 
-                    databaseModel.getTables().size(),
-                    databaseModel.getTables().stream()
-                        .mapToInt(t -> t.getForeignKeys().size())
-                        .sum());
-            
-            ErResult result = ErResult.success(
-                mermaidCode,
-                svgContent,
-                pngBase64,
-                parseResult.getWarnings(),
-                databaseModel.getTables().size(),
-                databaseModel.getTables().stream()
-                    .mapToInt(t -> t.getForeignKeys().size())
-                    .sum()
-            );
+            // 3. 渲染 Mermaid 代码并导出 SVG/PNG
+            ErResult result = buildResult(parseResult, options, startTime, "SQL");
             
-            // 6. 写入缓存（仅当缓存启用时）
-            if (cacheEnabled && cacheKey != null) {
+            // 4. 写入缓存（仅当缓存启用时，部分结果不缓存）
+            if (cacheEnabled && cacheKey != null && !parseResult.isPartial()) {
                 saveToCache(cacheKey, result);
             }
             
@@ -129,6 +170,259 @@ public class ErService {
         }
     }
     
+    /**
+     * 从 SQL 输入流生成 ER 图（用于大型 dump 文件）
+     * 逐条读取语句并跳过数据段，不会将整个文件读入内存，因此不参与结果缓存
+     * 
+     * @param reader SQL 输入流
+     * @param options 渲染选项
+     * @return ER 图结果
+     */
+    public ErResult generateFromSql(java.io.Reader reader, RenderOptions options) {
+        return generateFromSql(reader, options, parseBudgetConfig.budgetFor(null));
+    }
+    
+    /**
+     * 在时间预算内从 SQL 输入流生成 ER 图
+     * 
+     * @param reader SQL 输入流
+     * @param options 渲染选项
+     * @param budget 解析时间预算
+     * @return ER 图结果
+     */
+    public ErResult generateFromSql(java.io.Reader reader, RenderOptions options, ParseBudget budget) {
+        long startTime = System.currentTimeMillis();
+        log.info("开始从 SQL 输入流生成 ER 图");
+        
+        try {
+            ParseResult parseResult = sqlParser.parse(reader, "auto", budget);
+            
+            if (!parseResult.isSuccess()) {
+                log.warn("SQL 解析失败: {}", parseResult.getMessage());
+                return ErResult.error(parseResult.getMessage());
+            }
+            
+            return buildResult(parseResult, options, startTime, "SQL");
+            
+        } catch (Exception e) {
+            log.error("从 SQL 输入流生成 ER 图失败", e);
+            return ErResult.error("生成失败: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 按用户当前订阅套餐创建解析时间预算（无有效订阅时使用默认时限）
+     * 
+     * @param userId 用户 ID
+     * @return 解析时间预算（从调用时开始计时）
+     */
+    public ParseBudget parseBudgetFor(Long userId) {
+        UserSubscription subscription = userId != null ? subscriptionService.getCurrentSubscription(userId) : null;
+        return parseBudgetConfig.budgetFor(subscription != null ? subscription.getPlanCode() : null);
+    }
+    
+    /**
+     * 解析 SQL 并按需推断隐式关系，供流式输出 Mermaid 代码使用（不导出 SVG/PNG，不写缓存）
+     * 
+     * @param sqlText SQL 文本
+     * @param options 渲染选项
+     * @param budget 解析时间预算
+     * @return 解析结果
+     */
+    public ParseResult parseSql(String sqlText, RenderOptions options, ParseBudget budget) {
+        ParseResult parseResult = parseWithCache(sqlText, budget);
+        if (parseResult.isSuccess()) {
+            inferRelationsIfRequested(parseResult.getDatabaseModel(), options);
+        }
+        return parseResult;
+    }
+    
+    /**
+     * 比较两份 SQL 的结构差异，只返回变化的表、列、索引和外键
+     * 两份 SQL 各自使用独立的解析时间预算；任一份只解析出部分表时拒绝比较，
+     * 否则未解析到的表会被误报为新增或删除
+     * 
+     * @param baseSql 旧版本 SQL
+     * @param targetSql 新版本 SQL
+     * @param options 渲染选项（开启推断隐式关系时两侧都先推断再比较）
+     * @param userId 用户 ID（按其订阅套餐创建解析时间预算）
+     * @return 结构差异
+     * @throws IllegalArgumentException 任一份 SQL 解析失败或超出解析时间预算
+     */
+    public SchemaDiff diffSql(String baseSql, String targetSql, RenderOptions options, Long userId) {
+        DatabaseModel base = parseDiffSide(baseSql, options, userId, "旧版本");
+        DatabaseModel target = parseDiffSide(targetSql, options, userId, "新版本");
+        return schemaDiffEngine.diff(base, target);
+    }
+    
+    /**
+     * 解析差异比较的一侧，预算从该侧开始解析时计时
+     */
+    private DatabaseModel parseDiffSide(String sqlText, RenderOptions options, Long userId, String side) {
+        ParseResult result = parseSql(sqlText, options, parseBudgetFor(userId));
+        if (!result.isSuccess()) {
+            throw new IllegalArgumentException(side + " SQL 解析失败: " + result.getMessage());
+        }
+        if (result.isPartial()) {
+            throw new IllegalArgumentException(side + " SQL 过大，超出当前套餐的解析时间预算，只解析出部分表，"
+                    + "无法给出准确的差异，请缩小输入范围或升级套餐");
+        }
+        return result.getDatabaseModel();
+    }
+    
+    /**
+     * 将 Mermaid 代码边渲染边写入输出目标（HTTP 响应、上传流等），不在内存中拼出完整字符串
+     * 
+     * @param databaseModel 数据库模型
+     * @param options 渲染选项
+     * @param out 输出目标
+     * @throws IOException 写入失败（如客户端断开）
+     */
+    public void writeMermaid(DatabaseModel databaseModel, RenderOptions options, Appendable out) throws IOException {
+        mermaidRenderer.render(databaseModel, options, out);
+    }
+    
+    /**
+     * 渲染并导出解析结果（推断关系、拆分、渲染和导出）
+     * 
+     * @param source 结果来源（SQL / JDBC），仅用于日志
+     */
+    private ErResult buildResult(ParseResult parseResult, RenderOptions options, long startTime, 
+                                 String source) throws ExportException {
+        DatabaseModel databaseModel = parseResult.getDatabaseModel();
+        inferRelationsIfRequested(databaseModel, options);
+        if (options != null && options.isPartition()) {
+            // 与不拆分时一样先应用表过滤和关系深度，再判断是否超过单个子图的上限
+            List<TableModel> tables = mermaidRenderer.selectTables(databaseModel, options);
+            if (tables.size() > maxTablesPerDiagram(options)) {
+                return buildPartitionedResult(databaseModel, tables, parseResult, options, startTime);
+            }
+        }
+        
+        // 渲染 Mermaid 代码
+        String mermaidCode = mermaidRenderer.render(databaseModel, options);
+        
+        // 导出 SVG
+        byte[] svgBytes = exportService.exportSvg(mermaidCode);
+        String svgContent = new String(svgBytes);
+        
+        // 导出 PNG（Base64）- 根据表数量动态计算尺寸
+        int[] dimensions = calculatePngDimensions(databaseModel.getTables().size());
+        byte[] pngBytes = exportService.exportPng(mermaidCode, dimensions[0], dimensions[1]);
+        String pngBase64 = "data:image/png;base64," + 
+            java.util.Base64.getEncoder().encodeToString(pngBytes);
+        
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("{} 解析成功，耗时: {}ms, 表数量: {}, 关系数量: {}", 
+                source,
+                duration, 
+                databaseModel.getTables().size(),
+                databaseModel.getTables().stream()
+                    .mapToInt(t -> t.getForeignKeys().size())
+                    .sum());
+        
+        return ErResult.success(
+            mermaidCode,
+            svgContent,
+            pngBase64,
+            parseResult.getWarnings(),
+            databaseModel.getTables().size(),
+            databaseModel.getTables().stream()
+                .mapToInt(t -> t.getForeignKeys().size())
+                .sum()
+        );
+    }
+    
+    private int maxTablesPerDiagram(RenderOptions options) {
+        Integer requested = options.getMaxTablesPerDiagram();
+        return requested != null && requested > 0 ? requested : partitionMaxTables;
+    }
+    
+    /**
+     * 拆分大型 Schema：只导出子图之间的关系概览图，各子图只返回 Mermaid 代码和表清单，
+     * 图片由 {@link #exportSubDiagram} 按需导出，导出耗时和响应大小不随子图数量增长
+     * 
+     * @param tables 经过表过滤和关系深度筛选后的表
+     */
+    private ErResult buildPartitionedResult(DatabaseModel databaseModel, List<TableModel> tables, ParseResult parseResult,
+                                            RenderOptions options, long startTime) throws ExportException {
+        DatabaseModel selected = tables.size() == databaseModel.getTables().size()
+                ? databaseModel
+                : DatabaseModel.builder()
+                        .dbType(databaseModel.getDbType())
+                        .tables(tables)
+                        .build();
+        SchemaPartition partition = schemaPartitioner.partition(selected, options, maxTablesPerDiagram(options));
+        
+        // 1. 子图只渲染 Mermaid 代码
+        List<SubDiagram> subDiagrams = new ArrayList<>(partition.getClusters().size());
+        for (SchemaPartition.Cluster cluster : partition.getClusters()) {
+            SubDiagram subDiagram = new SubDiagram();
+            subDiagram.index = cluster.getIndex();
+            subDiagram.name = cluster.getName();
+            subDiagram.tableNames = cluster.getTables().stream().map(TableModel::getName).toList();
+            subDiagram.mermaidCode = mermaidRenderer.renderTables(selected, cluster.getTables(), options);
+            subDiagrams.add(subDiagram);
+        }
+        
+        // 2. 导出概览图
+        String overviewCode = mermaidRenderer.renderOverview(partition);
+        String svgContent = new String(exportService.exportSvg(overviewCode));
+        int[] dimensions = calculatePngDimensions(partition.getClusters().size());
+        String pngBase64 = "data:image/png;base64," +
+            java.util.Base64.getEncoder().encodeToString(exportService.exportPng(overviewCode, dimensions[0], dimensions[1]));
+        
+        int relationCount = tables.stream()
+                .mapToInt(t -> t.getForeignKeys().size())
+                .sum();
+        log.info("大型 Schema 拆分渲染完成，耗时: {}ms, 表数量: {}, 子图数量: {}",
+                System.currentTimeMillis() - startTime, tables.size(), subDiagrams.size());
+        
+        ErResult result = ErResult.success(
+            overviewCode,
+            svgContent,
+            pngBase64,
+            parseResult.getWarnings(),
+            tables.size(),
+            relationCount
+        );
+        result.subDiagrams = subDiagrams;
+        return result;
+    }
+    
+    /**
+     * 导出拆分结果中的单个子图（SVG 与 PNG）
+     * 
+     * @param mermaidCode 子图的 Mermaid 代码（拆分结果中 {@link SubDiagram#getMermaidCode()}）
+     * @return 只包含 Mermaid 代码和图片的子图
+     * @throws ExportException 导出失败
+     */
+    public SubDiagram exportSubDiagram(String mermaidCode) throws ExportException {
+        // 按实体数量计算 PNG 尺寸，与整图导出一致
+        int tableCount = (int) mermaidCode.lines().filter(line -> line.stripTrailing().endsWith("{")).count();
+        int[] dimensions = calculatePngDimensions(tableCount);
+        
+        SubDiagram subDiagram = new SubDiagram();
+        subDiagram.mermaidCode = mermaidCode;
+        subDiagram.svgContent = new String(exportService.exportSvg(mermaidCode));
+        subDiagram.pngBase64 = "data:image/png;base64," +
+            java.util.Base64.getEncoder().encodeToString(exportService.exportPng(mermaidCode, dimensions[0], dimensions[1]));
+        return subDiagram;
+    }
+    
+    /**
+     * 请求开启关系推断时，推断关系类型并按命名约定补充未声明的外键
+     */
+    private void inferRelationsIfRequested(DatabaseModel databaseModel, RenderOptions options) {
+        if (options == null || !options.isInferRelations()) {
+            return;
+        }
+        relationInferenceEngine.inferRelations(databaseModel, InferenceConfig.builder()
+                .enableNamingConvention(true)
+                .namingConventionSuffix(namingConventionSuffix)
+                .build());
+    }
+    
     /**
      * 生成缓存键
      */
@@ -138,6 +432,39 @@ public class ErService {
         return CACHE_KEY_PREFIX + hash;
     }
     
+    /**
+     * 解析 SQL，缓存启用时按 SQL 内容缓存完整的解析结果（与渲染选项无关，切换视图等选项时无需重新解析）
+     * 部分结果不写入缓存；缓存数据无法解码（如格式版本升级）时重新解析
+     */
+    private ParseResult parseWithCache(String sqlText, ParseBudget budget) {
+        if (!cacheEnabled || binaryRedisTemplate == null) {
+            return sqlParser.parse(sqlText, "auto", budget);
+        }
+        
+        String cacheKey = PARSE_CACHE_KEY_PREFIX + DigestUtils.md5DigestAsHex(sqlText.getBytes(StandardCharsets.UTF_8));
+        try {
+            byte[] cached = binaryRedisTemplate.opsForValue().get(cacheKey);
+            if (cached != null) {
+                log.info("命中解析结果缓存: {}", cacheKey);
+                return SchemaCodec.decodeResult(cached);
+            }
+        } catch (Exception e) {
+            log.warn("从缓存读取解析结果失败: {}", e.getMessage());
+        }
+        
+        ParseResult parseResult = sqlParser.parse(sqlText, "auto", budget);
+        if (parseResult.isSuccess() && !parseResult.isPartial()) {
+            try {
+                byte[] encoded = SchemaCodec.encodeResult(parseResult, compressCachedModels);
+                binaryRedisTemplate.opsForValue().set(cacheKey, encoded, CACHE_EXPIRE_SECONDS, TimeUnit.SECONDS);
+                log.debug("解析结果已缓存: {}，{} 字节", cacheKey, encoded.length);
+            } catch (Exception e) {
+                log.warn("写入解析结果缓存失败: {}", e.getMessage());
+            }
+        }
+        return parseResult;
+    }
+    
     /**
      * 从缓存获取
      */
@@ -184,52 +511,32 @@ public class ErService {
      * @return ER 图结果
      */
     public ErResult generateFromJdbc(JdbcConfig jdbcConfig, RenderOptions options) {
+        return generateFromJdbc(jdbcConfig, options, false);
+    }
+    
+    /**
+     * 从 JDBC 连接生成 ER 图（同一用户再次读取同一数据源时只重新读取结构有变化的表）
+     * 
+     * @param jdbcConfig JDBC 配置
+     * @param options 渲染选项
+     * @param fullRefresh 是否忽略上次读取的 Schema 快照，全量读取元数据
+     * @return ER 图结果
+     */
+    public ErResult generateFromJdbc(JdbcConfig jdbcConfig, RenderOptions options, boolean fullRefresh) {
         long startTime = System.currentTimeMillis();
         log.info("开始从 JDBC 生成 ER 图，数据库类型: {}, URL: {}", 
                 jdbcConfig.getDbType(), jdbcConfig.getJdbcUrl());
         
         try {
             // 1. 从数据库读取元数据
-            ParseResult parseResult = jdbcMetadataParser.parseFromDatabase(jdbcConfig);
+            ParseResult parseResult = jdbcMetadataParser.syncFromDatabase(jdbcConfig, fullRefresh);
             
             if (!parseResult.isSuccess()) {
                 log.warn("JDBC 元数据解析失败: {}", parseResult.getMessage());
                 return ErResult.error(parseResult.getMessage());
             }
             
-            DatabaseModel databaseModel = parseResult.getDatabaseModel();
-            
-            // 2. 渲染 Mermaid 代码
-            String mermaidCode = mermaidRenderer.render(databaseModel, options);
-            
-            // 3. 导出 SVG
-            byte[] svgBytes = exportService.exportSvg(mermaidCode);
-            String svgContent = new String(svgBytes);
-            
-            // 4. 导出 PNG（Base64）- 根据表数量动态计算尺寸
-            int[] dimensions = calculatePngDimensions(databaseModel.getTables().size());
-            byte[] pngBytes = exportService.exportPng(mermaidCode, dimensions[0], dimensions[1]);
-            String pngBase64 = "data:image/png;base64," + 
-                java.util.Base64.getEncoder().encodeToString(pngBytes);
-            
-            long duration = System.currentTimeMillis() - startTime;
-            log.info("JDBC 解析成功，耗时: {}ms, 表数量: {}, 关系数量: {}", 
-                    duration, 
-                    databaseModel.getTables().size(),
-                    databaseModel.getTables().stream()
-                        .mapToInt(t -> t.getForeignKeys().size())
-                        .sum());
-            
-            return ErResult.success(
-                mermaidCode,
-                svgContent,
-                pngBase64,
-                parseResult.getWarnings(),
-                databaseModel.getTables().size(),
-                databaseModel.getTables().stream()
-                    .mapToInt(t -> t.getForeignKeys().size())
-                    .sum()
-            );
+            return buildResult(parseResult, options, startTime, "JDBC");
             
         } catch (Exception e) {
             log.error("从 JDBC 生成 ER 图失败", e);
@@ -237,6 +544,112 @@ public class ErService {
         }
     }
     
+    /**
+     * 流式从 JDBC 连接生成 ER 图（SSE）
+     * 每读完一批表发送 progress 事件：已读取表数、总表数、本批表名和本批表的 Mermaid 片段（只含本批表之间的关系，
+     * 不应用表过滤、关系深度和拆分，供前端先行预览）；全部读完后生成完整结果交给 onComplete（由调用方发送 result 事件），
+     * 最后发送 done 事件。客户端断开或超时后不再发出剩余的元数据查询，也不再生成结果
+     * 
+     * @param jdbcConfig JDBC 配置
+     * @param options 渲染选项
+     * @param fullRefresh 是否忽略上次读取的 Schema 快照，全量读取元数据
+     * @param emitter SSE 发送器
+     * @param onComplete 生成完成回调（成功或失败的结果）
+     */
+    public void generateFromJdbcStream(JdbcConfig jdbcConfig, RenderOptions options, boolean fullRefresh,
+                                       SseEmitter emitter, Consumer<ErResult> onComplete) {
+        log.info("开始流式从 JDBC 生成 ER 图，数据库类型: {}, URL: {}",
+                jdbcConfig.getDbType(), jdbcConfig.getJdbcUrl());
+        
+        // 用于跟踪 emitter 是否已完成（超时或客户端断开）
+        AtomicBoolean emitterCompleted = new AtomicBoolean(false);
+        emitter.onTimeout(() -> {
+            log.warn("JDBC 流式生成 SseEmitter 超时");
+            emitterCompleted.set(true);
+        });
+        emitter.onCompletion(() -> emitterCompleted.set(true));
+        emitter.onError(ex -> {
+            log.warn("JDBC 流式生成 SseEmitter 错误: {}", ex.getMessage());
+            emitterCompleted.set(true);
+        });
+        
+        erTaskExecutor.execute(() -> {
+            long startTime = System.currentTimeMillis();
+            try {
+                // 已读取的表（片段中的关系只解析到本批表）
+                DatabaseModel loaded = DatabaseModel.builder().dbType(jdbcConfig.getDbType()).build();
+                ParseResult parseResult = jdbcMetadataParser.syncFromDatabase(jdbcConfig, fullRefresh,
+                        new MetadataProgressListener() {
+                            @Override
+                            public void onTables(List<TableModel> tables, int loadedCount, int total) {
+                                loaded.getTables().addAll(tables);
+                                sendProgress(emitter, emitterCompleted, loaded, tables, loadedCount, total, options);
+                            }
+                            
+                            @Override
+                            public boolean isCancelled() {
+                                return emitterCompleted.get();
+                            }
+                        });
+                if (emitterCompleted.get()) {
+                    log.info("客户端已断开，停止 JDBC 流式生成");
+                    return;
+                }
+                
+                ErResult result;
+                if (parseResult.isSuccess()) {
+                    result = buildResult(parseResult, options, startTime, "JDBC");
+                } else {
+                    log.warn("JDBC 元数据解析失败: {}", parseResult.getMessage());
+                    result = ErResult.error(parseResult.getMessage());
+                }
+                onComplete.accept(result);
+                
+                if (!emitterCompleted.get()) {
+                    emitter.send(SseEmitter.event()
+                            .name("done")
+                            .data("{\"message\":\"完成\"}"));
+                    emitter.complete();
+                }
+            } catch (Exception e) {
+                log.error("流式从 JDBC 生成 ER 图失败", e);
+                try {
+                    if (!emitterCompleted.get()) {
+                        emitter.send(SseEmitter.event()
+                                .name("error")
+                                .data(JSON.toJSONString(Map.of("message", "生成失败: " + e.getMessage()))));
+                        emitter.completeWithError(e);
+                    }
+                } catch (Exception ex) {
+                    log.error("发送错误消息失败", ex);
+                }
+            }
+        });
+    }
+    
+    /**
+     * 发送一批表的读取进度；发送失败说明客户端已断开，标记完成以取消剩余的读取
+     */
+    private void sendProgress(SseEmitter emitter, AtomicBoolean emitterCompleted, DatabaseModel loaded,
+                              List<TableModel> tables, int loadedCount, int total, RenderOptions options) {
+        if (emitterCompleted.get()) {
+            return;
+        }
+        try {
+            Map<String, Object> progress = new LinkedHashMap<>();
+            progress.put("loaded", loadedCount);
+            progress.put("total", total);
+            progress.put("tables", tables.stream().map(TableModel::getName).toList());
+            progress.put("mermaidCode", mermaidRenderer.renderTables(loaded, tables, options));
+            emitter.send(SseEmitter.event()
+                    .name("progress")
+                    .data(JSON.toJSONString(progress)));
+        } catch (Exception e) {
+            log.warn("发送 JDBC 读取进度失败，停止读取: {}", e.getMessage());
+            emitterCompleted.set(true);
+        }
+    }
+    
     /**
      * ER 图生成结果
      */
@@ -251,6 +664,7 @@ public class ErService {
         private java.util.List<String> warnings;
         private int tableCount;
         private int relationCount;
+        private java.util.List<SubDiagram> subDiagrams;
         
         public static ErResult success(String mermaidCode, String svgContent, 
                                        String pngBase64, java.util.List<String> warnings,
@@ -283,6 +697,30 @@ public class ErService {
         public java.util.List<String> getWarnings() { return warnings; }
         public int getTableCount() { return tableCount; }
         public int getRelationCount() { return relationCount; }
+        public java.util.List<SubDiagram> getSubDiagrams() { return subDiagrams; }
+    }
+    
+    /**
+     * 拆分后的子图（主结果为概览图时附带）
+     * 拆分结果中只有 Mermaid 代码和表清单，图片为空，需要时调用 {@link #exportSubDiagram} 导出
+     */
+    public static class SubDiagram implements java.io.Serializable {
+        private static final long serialVersionUID = 1L;
+        
+        private int index;
+        private String name;
+        private java.util.List<String> tableNames;
+        private String mermaidCode;
+        private String svgContent;
+        private String pngBase64;
+        
+        // Getters
+        public int getIndex() { return index; }
+        public String getName() { return name; }
+        public java.util.List<String> getTableNames() { return tableNames; }
+        public String getMermaidCode() { return mermaidCode; }
+        public String getSvgContent() { return svgContent; }
+        public String getPngBase64() { return pngBase64; }
     }
     
     /**
@@ -9,11 +9,19 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -38,6 +46,25 @@ public class MinioService {
     @Value("${server.port:8080}")
     private String serverPort;
     
+    /**
+     * 流式上传时管道缓冲区大小
+     */
+    private static final int STREAM_PIPE_SIZE = 64 * 1024;
+    
+    /**
+     * 流式上传（长度未知）时的分片大小，MinIO 要求不小于 5MB
+     */
+    private static final long STREAM_PART_SIZE = 5L * 1024 * 1024;
+    
+    /**
+     * 流式上传的读取线程（读端必须与写端在不同线程，不能使用 CallerRuns 的线程池）
+     */
+    private final ExecutorService streamUploadExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "minio-stream-upload");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
     /**
      * 初始化：确保存储桶存在
      */
@@ -155,6 +182,61 @@ public class MinioService {
         }
     }
     
+    /**
+     * 流式上传文件：调用方把内容写入输出流，同时通过管道分片上传到 MinIO，
+     * 内容无需预先生成完整字节数组，也无需事先知道长度
+     * 写入失败时取消上传，不会留下被截断的对象
+     * 
+     * @param fileName 文件名
+     * @param contentType 内容类型
+     * @param writer 内容写入回调（在调用线程执行）
+     * @return 文件访问 URL（通过后端代理）
+     */
+    public String uploadStream(String fileName, String contentType, StreamWriter writer) {
+        PipedInputStream inputStream = new PipedInputStream(STREAM_PIPE_SIZE);
+        PipedOutputStream outputStream;
+        try {
+            outputStream = new PipedOutputStream(inputStream);
+        } catch (IOException e) {
+            throw new RuntimeException("上传文件失败: " + e.getMessage(), e);
+        }
+        
+        Future<?> upload = streamUploadExecutor.submit(() -> {
+            try (InputStream source = inputStream) {
+                minioClient.putObject(
+                        PutObjectArgs.builder()
+                                .bucket(bucketName)
+                                .object(fileName)
+                                .stream(source, -1, STREAM_PART_SIZE)
+                                .contentType(contentType)
+                                .build()
+                );
+            }
+            return null;
+        });
+        
+        try {
+            writer.writeTo(outputStream);
+            // 关闭写端，读端读到流结束后完成上传
+            outputStream.close();
+            upload.get();
+        } catch (Exception e) {
+            // 先中断读端再关闭管道，避免读端把未写完的内容当作完整文件提交
+            upload.cancel(true);
+            closeQuietly(inputStream);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            log.error("流式上传文件失败: {}", fileName, cause);
+            throw new RuntimeException("上传文件失败: " + cause.getMessage(), cause);
+        }
+        
+        String fileUrl = getFileUrl(fileName);
+        log.info("文件流式上传成功: {}", fileUrl);
+        return fileUrl;
+    }
+    
     /**
      * 删除文件
      * 
@@ -227,4 +309,29 @@ public class MinioService {
             return false;
         }
     }
+    
+    @PreDestroy
+    public void shutdown() {
+        streamUploadExecutor.shutdownNow();
+    }
+    
+    private void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException ignored) {
+            // 管道已关闭
+        }
+    }
+    
+    /**
+     * 流式上传的内容写入回调
+     */
+    @FunctionalInterface
+    public interface StreamWriter {
+        
+        /**
+         * 把内容写入输出流（无需关闭输出流）
+         */
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
 }
@@ -0,0 +1,130 @@
+package com.coffeeviz.sql.parser;
+
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.ForeignKeyModel;
+import com.coffeeviz.core.model.TableModel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ALTER TABLE 外键合并
+ * dump 中的外键常在所有建表语句之后以 ALTER TABLE ... ADD FOREIGN KEY 单独声明，
+ * 建表语句全部解析完成后按原始顺序把这些外键合并到对应的表中
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+final class AlterForeignKeys {
+    
+    /**
+     * ALTER TABLE 语句头
+     */
+    private static final Pattern ALTER_TABLE_PATTERN = Pattern.compile(
+        "ALTER\\s+TABLE\\s+(?:ONLY\\s+)?(?:IF\\s+EXISTS\\s+)?([`\"\\[\\]\\w.]+)",
+        Pattern.CASE_INSENSITIVE
+    );
+    
+    /**
+     * ALTER TABLE 中的 ADD [CONSTRAINT name] FOREIGN KEY 子句
+     */
+    private static final Pattern ALTER_FOREIGN_KEY_PATTERN = Pattern.compile(
+        "(?:CONSTRAINT\\s+([`\"\\[\\]\\w]+)\\s+)?FOREIGN\\s+KEY\\s*\\(([^)]+)\\)\\s*REFERENCES\\s+([`\"\\[\\]\\w.]+)\\s*\\(([^)]+)\\)"
+            + "(?:\\s+ON\\s+DELETE\\s+(CASCADE|SET\\s+NULL|SET\\s+DEFAULT|RESTRICT|NO\\s+ACTION))?"
+            + "(?:\\s+ON\\s+UPDATE\\s+(CASCADE|SET\\s+NULL|SET\\s+DEFAULT|RESTRICT|NO\\s+ACTION))?",
+        Pattern.CASE_INSENSITIVE
+    );
+    
+    private AlterForeignKeys() {
+    }
+    
+    /**
+     * 将 ALTER TABLE ... ADD [CONSTRAINT name] FOREIGN KEY 合并到已解析的表中
+     * 
+     * @param databaseModel 所有建表语句解析后的模型
+     * @param alterStatements ALTER TABLE 语句文本，按原始顺序
+     * @param warnings 警告（引用了未定义的表时追加）
+     * @return 新增的外键数量
+     */
+    static int reconcile(DatabaseModel databaseModel, List<String> alterStatements, Set<String> warnings) {
+        if (alterStatements.isEmpty()) {
+            return 0;
+        }
+        
+        Map<String, TableModel> tablesByName = new HashMap<>();
+        for (TableModel table : databaseModel.getTables()) {
+            tablesByName.putIfAbsent(normalizeName(table.getName()), table);
+        }
+        
+        int added = 0;
+        for (String sql : alterStatements) {
+            Matcher alterMatcher = ALTER_TABLE_PATTERN.matcher(sql);
+            if (!alterMatcher.lookingAt()) {
+                continue;
+            }
+            TableModel table = tablesByName.get(normalizeName(alterMatcher.group(1)));
+            Matcher fkMatcher = ALTER_FOREIGN_KEY_PATTERN.matcher(sql);
+            fkMatcher.region(alterMatcher.end(), sql.length());
+            while (fkMatcher.find()) {
+                if (table == null) {
+                    warnings.add("ALTER TABLE 引用了未定义的表 " + alterMatcher.group(1) + "，已忽略其外键");
+                    break;
+                }
+                ForeignKeyModel fk = ForeignKeyModel.builder()
+                        .name(fkMatcher.group(1) != null ? cleanIdentifier(fkMatcher.group(1)) : null)
+                        .fromTable(table.getName())
+                        .fromColumns(splitIdentifiers(fkMatcher.group(2)))
+                        .toTable(lastPart(cleanIdentifier(fkMatcher.group(3))))
+                        .toColumns(splitIdentifiers(fkMatcher.group(4)))
+                        .onDelete(referentialAction(fkMatcher.group(5)))
+                        .onUpdate(referentialAction(fkMatcher.group(6)))
+                        .build();
+                
+                boolean exists = table.getForeignKeys().stream()
+                        .anyMatch(existing -> existing.getFromColumns().equals(fk.getFromColumns())
+                                && normalizeName(existing.getToTable()).equals(normalizeName(fk.getToTable())));
+                if (!exists) {
+                    table.getForeignKeys().add(fk);
+                    added++;
+                }
+            }
+        }
+        return added;
+    }
+    
+    private static List<String> splitIdentifiers(String columns) {
+        List<String> result = new ArrayList<>();
+        for (String column : columns.split(",")) {
+            result.add(cleanIdentifier(column));
+        }
+        return result;
+    }
+    
+    private static String referentialAction(String action) {
+        return action == null ? null : action.trim().toUpperCase().replaceAll("\\s+", "_");
+    }
+    
+    /**
+     * 清理标识符（移除反引号、双引号、方括号）
+     */
+    private static String cleanIdentifier(String identifier) {
+        return identifier.replaceAll("[`\"\\[\\]]", "").trim();
+    }
+    
+    /**
+     * 表名比较键：去除引号与 schema 前缀，忽略大小写
+     */
+    private static String normalizeName(String name) {
+        return name == null ? "" : lastPart(cleanIdentifier(name)).toLowerCase();
+    }
+    
+    private static String lastPart(String qualifiedName) {
+        int dot = qualifiedName.lastIndexOf('.');
+        return dot >= 0 ? qualifiedName.substring(dot + 1) : qualifiedName;
+    }
+}
@@ -1,20 +1,44 @@
 package com.coffeeviz.sql.parser;
 
+import com.coffeeviz.core.model.DatabaseModel;
 import com.coffeeviz.core.model.ParseResult;
+import com.coffeeviz.core.model.SymbolTable;
+import com.coffeeviz.core.model.TableModel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * 组合 SQL 解析器
- * 实现多层解析策略：
+ * 按语句实现多层解析策略（每条建表语句独立降级）：
  * L1: JSqlParser（精确解析）
  * L2: Druid SQL Parser（方言解析）
  * L3: 正则表达式（降级解析）
+ * 建表语句按批次解析：L1 优先的语句先整批交给 JSqlParser，只有解析失败的批次才逐条降级；
+ * 批次可在 ForkJoinPool 上并行解析，按原始顺序合并；ALTER TABLE 外键在最后顺序合并
+ * 解析受 {@link ParseBudget} 约束：每个层级的单次尝试有时限，总时限耗尽或被取消时返回已解析的部分结果
  * 
  * @author CoffeeViz Team
  * @since 1.0.0
@@ -33,68 +57,503 @@ public class CompositeSqlParser implements SqlParser {
     @Autowired
     private RegexFallbackParser regexFallbackParser;
     
+    @Autowired
+    private TierStatistics tierStatistics;
+    
+    @Autowired
+    private StatementCache statementCache;
+    
+    /**
+     * 并行解析线程数（0 表示使用 CPU 核数，1 表示由单个工作线程顺序解析）
+     */
+    @Value("${coffeeviz.parser.parallelism:0}")
+    private int parallelism;
+    
+    /**
+     * 未指定预算时的总时限（毫秒，0 表示不限）
+     */
+    @Value("${coffeeviz.parser.budget.total-ms:0}")
+    private long defaultTotalMillis;
+    
+    /**
+     * 未指定预算时单个层级单次尝试的时限（毫秒，0 表示不限）
+     */
+    @Value("${coffeeviz.parser.budget.tier-ms:0}")
+    private long defaultTierMillis;
+    
+    /**
+     * 每个工作线程允许排队等待合并的批次数
+     */
+    private static final int PENDING_PER_WORKER = 4;
+    
+    /**
+     * 每批最多的建表语句数
+     * JSqlParser 每次解析都会新建解析器和超时线程，逐条解析的开销是整体解析的数倍
+     */
+    private static final int BATCH_STATEMENTS = 32;
+    
+    /**
+     * 每批最多的字符数（超大的建表语句单独成批）
+     */
+    private static final int BATCH_CHARS = 64 * 1024;
+    
+    /**
+     * 自动识别方言时采用识别结果的最低置信度
+     */
+    private static final double MIN_DIALECT_CONFIDENCE = 0.5;
+    
+    /**
+     * 默认解析层级顺序
+     */
+    private static final List<ParserTier> DEFAULT_TIER_ORDER = List.of(ParserTier.L1, ParserTier.L2, ParserTier.L3);
+    
+    /**
+     * 建表语句解析线程池
+     * parallelism 为 1 时也在工作线程上解析，调用线程据此可以在总时限到达时停止等待
+     */
+    private ForkJoinPool parsePool;
+    
+    @PostConstruct
+    public void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        parsePool = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("sql-parse-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        log.info("SQL 解析并行度: {}", threads);
+    }
+    
+    @PreDestroy
+    public void destroy() {
+        parsePool.shutdownNow();
+    }
+    
     @Override
     public ParseResult parse(String sqlText, String dialect) {
+        return parse(sqlText, dialect, ParseBudget.of(defaultTotalMillis, defaultTierMillis));
+    }
+    
+    @Override
+    public ParseResult parse(String sqlText, String dialect, ParseBudget budget) {
         log.info("开始多层解析策略，方言: {}", dialect);
         
+        if (sqlText == null || sqlText.trim().isEmpty()) {
+            return ParseResult.error("SQL 文本为空");
+        }
+        
+        ParsePlan plan = plan(dialect, isAuto(dialect) ? DialectDetector.detect(sqlText) : null);
+        
         // 预处理 SQL：移除 MySQL 特殊语法
-        String preprocessedSql = preprocessSql(sqlText);
+        String preprocessedSql = preprocessSql(sqlText, plan.dialect);
         
-        List<String> attemptLog = new ArrayList<>();
+        return parseStatements(new StringReader(preprocessedSql), plan, preprocessedSql, budget);
+    }
+    
+    @Override
+    public ParseResult parse(Reader reader, String dialect) {
+        return parse(reader, dialect, ParseBudget.of(defaultTotalMillis, defaultTierMillis));
+    }
+    
+    @Override
+    public ParseResult parse(Reader reader, String dialect, ParseBudget budget) {
+        log.info("开始流式多层解析策略，方言: {}", dialect);
         
-        // L1: 尝试使用 JSqlParser
-        try {
-            log.info("L1: 尝试使用 JSqlParser 解析");
-            attemptLog.add("L1: 尝试 JSqlParser");
-            ParseResult result = jSqlParser.parse(preprocessedSql, dialect);
-            if (result.isSuccess()) {
-                log.info("L1: JSqlParser 解析成功");
-                result.getWarnings().add(0, "使用 JSqlParser 解析（L1 精确解析）");
-                return result;
-            }
-            attemptLog.add("L1: JSqlParser 失败 - " + result.getMessage());
-        } catch (Exception e) {
-            log.debug("L1: JSqlParser 解析异常: {}", e.getMessage()); // 降级为 DEBUG
-            attemptLog.add("L1: JSqlParser 异常 - " + e.getMessage());
+        BufferedReader bufferedReader = reader instanceof BufferedReader buffered 
+                ? buffered 
+                : new BufferedReader(reader, DialectDetector.DEFAULT_SAMPLE_SIZE);
+        DialectFingerprint fingerprint = null;
+        if (isAuto(dialect)) {
+            try {
+                fingerprint = DialectDetector.detect(bufferedReader);
+            } catch (IOException e) {
+                log.error("读取 SQL 失败", e);
+                return ParseResult.error("读取 SQL 失败: " + e.getMessage());
+            }
+        }
+        
+        return parseStatements(bufferedReader, plan(dialect, fingerprint), null, budget);
+    }
+    
+    /**
+     * 确定实际使用的方言和解析层级顺序
+     * 方言为 auto 时采用识别结果（置信度达到阈值才采用），识别不出时保持 L1 → L2 → L3
+     */
+    private ParsePlan plan(String dialect, DialectFingerprint fingerprint) {
+        String resolved = dialect;
+        if (fingerprint != null && fingerprint.isConfident(MIN_DIALECT_CONFIDENCE)) {
+            resolved = fingerprint.getDialect();
+            log.info("自动识别方言: {}（置信度 {}，特征 {}）", 
+                    resolved, fingerprint.getConfidence(), fingerprint.getMarkers());
+        }
+        return new ParsePlan(resolved, fingerprint, tierOrderFor(resolved));
+    }
+    
+    /**
+     * 各方言的解析层级顺序：
+     * Oracle / 达梦 / SQL Server 的 DDL 语法 JSqlParser 支持较弱，优先使用 Druid 的方言解析器
+     */
+    private List<ParserTier> tierOrderFor(String dialect) {
+        if (dialect == null) {
+            return DEFAULT_TIER_ORDER;
+        }
+        return switch (dialect.toLowerCase()) {
+            case "oracle", "dm", "sqlserver", "mssql" -> List.of(ParserTier.L2, ParserTier.L1, ParserTier.L3);
+            default -> DEFAULT_TIER_ORDER;
+        };
+    }
+    
+    private boolean isAuto(String dialect) {
+        return dialect == null || dialect.isBlank() || DialectDetector.AUTO.equalsIgnoreCase(dialect);
+    }
+    
+    /**
+     * 按语句逐条执行 L1 → L2 → L3 降级解析，并合并为一个 DatabaseModel
+     * 单条语句失败只影响该语句，不会导致整个文件重新解析；
+     * 预算耗尽（或调用线程被中断）时停止读取、不再等待未完成的批次，返回已解析的表并标记为部分结果
+     * 
+     * @param reader SQL 输入
+     * @param plan 方言与解析层级顺序
+     * @param wholeSql 完整 SQL 文本（仅非流式调用时提供，用于无法切分语句时的整体降级）
+     * @param budget 时间预算
+     */
+    private ParseResult parseStatements(Reader reader, ParsePlan plan, String wholeSql, ParseBudget budget) {
+        String dialect = plan.dialect;
+        MergeState state = new MergeState(dialect);
+        List<String> alterStatements = new ArrayList<>();
+        Deque<PendingBatch> pending = new ArrayDeque<>();
+        int window = parsePool.getParallelism() * PENDING_PER_WORKER;
+        List<SqlStatement> batch = new ArrayList<>();
+        int batchChars = 0;
+        int statementCount = 0;
+        boolean stopped = false;
+        
+        try (SqlStatementReader statements = new SqlStatementReader(reader, dialect)) {
+            SqlStatement statement;
+            while ((statement = statements.next()) != null) {
+                if (Thread.currentThread().isInterrupted()) {
+                    budget.cancel();
+                }
+                if (budget.isExhausted()) {
+                    stopped = true;
+                    break;
+                }
+                if (statement.getType() == SqlStatement.Type.ALTER_TABLE) {
+                    alterStatements.add(statement.getText());
+                    continue;
+                }
+                if (statement.getType() != SqlStatement.Type.CREATE_TABLE) {
+                    continue;
+                }
+                statementCount++;
+                batch.add(statement);
+                batchChars += statement.getText().length();
+                if (batch.size() >= BATCH_STATEMENTS || batchChars >= BATCH_CHARS) {
+                    List<SqlStatement> full = batch;
+                    batch = new ArrayList<>();
+                    batchChars = 0;
+                    if (!submitBatch(full, plan, budget, state, pending, window)) {
+                        stopped = true;
+                        break;
+                    }
+                }
+            }
+            if (!stopped && !batch.isEmpty()) {
+                stopped = !submitBatch(batch, plan, budget, state, pending, window);
+            }
+            while (!stopped && !pending.isEmpty()) {
+                stopped = !mergeFirst(pending, budget, state);
+            }
+        } catch (IOException e) {
+            pending.forEach(batchTask -> batchTask.task.cancel(true));
+            log.error("读取 SQL 失败", e);
+            return ParseResult.error("读取 SQL 失败: " + e.getMessage());
+        }
+        
+        // 无法切分出任何建表语句时，对完整文本做一次 L3 整体降级解析
+        if (statementCount == 0 && wholeSql != null && !stopped) {
+            try {
+                ParseResult result = regexFallbackParser.parse(wholeSql, dialect, budget.forTier());
+                if (result.isSuccess()) {
+                    log.info("L3: 未识别到建表语句，正则表达式整体降级解析成功");
+                    new SymbolTable().intern(result.getDatabaseModel());
+                    result.getWarnings().add(0, "使用正则表达式降级解析（L3）");
+                    return result;
+                }
+                state.failures.add("L3: 正则表达式解析失败 - " + result.getMessage());
+            } catch (Exception e) {
+                log.error("L3: 正则表达式解析异常: {}", e.getMessage());
+                state.failures.add("L3: 正则表达式解析异常 - " + e.getMessage());
+            }
         }
         
-        // L2: 尝试使用 Druid SQL Parser
+        DatabaseModel databaseModel = state.databaseModel;
+        boolean partial = stopped || state.unparsed > 0;
+        if (partial && databaseModel.getTables().isEmpty()) {
+            log.warn("解析{}，未解析出任何表（已用 {} ms）", budget.isCancelled() ? "被取消" : "超出时间预算", 
+                    budget.elapsedMillis());
+            return ParseResult.error(budget.isCancelled() 
+                    ? "解析已取消" 
+                    : "解析超出时间预算（" + budget.getTotalMillis() + " ms），未解析出任何表");
+        }
+        if (databaseModel.getTables().isEmpty()) {
+            log.error("所有解析策略都失败");
+            String errorMessage = state.failures.isEmpty() 
+                    ? "未找到任何表定义" 
+                    : "所有解析策略都失败:\n" + String.join("\n", state.failures);
+            return ParseResult.error(errorMessage);
+        }
+        
+        // 所有建表语句合并完成后，顺序处理 ALTER TABLE ... ADD FOREIGN KEY
+        int alterForeignKeys = AlterForeignKeys.reconcile(databaseModel, alterStatements, state.warnings);
+        
+        List<String> resultWarnings = new ArrayList<>();
+        if (partial) {
+            resultWarnings.add(describePartial(budget, state.unparsed, stopped, databaseModel.getTables().size()));
+        }
+        resultWarnings.add(summarize(state.tierCounts, databaseModel.getTables().size()));
+        if (plan.fingerprint != null && plan.fingerprint.isConfident(MIN_DIALECT_CONFIDENCE)) {
+            resultWarnings.add("自动识别方言: " + plan.dialect + "（置信度 " + plan.fingerprint.getConfidence() + "）");
+        }
+        resultWarnings.addAll(state.warnings);
+        
+        log.info("多层解析完成，共 {} 条建表语句（缓存命中 {} 条），解析 {} 张表，失败 {} 条，ALTER TABLE 外键 {} 个", 
+                statementCount, state.cacheHits, databaseModel.getTables().size(), state.failures.size(), alterForeignKeys);
+        ParseResult result = ParseResult.success(databaseModel, resultWarnings);
+        result.setPartial(partial);
+        return result;
+    }
+    
+    /**
+     * 提交一批建表语句到线程池，按提交顺序合并结果以保持原始表顺序；
+     * 等待中的批次数受窗口限制，流式读取时内存占用仍然有界
+     * 
+     * @return 是否继续解析（超出总预算仍有批次未完成时返回 false）
+     */
+    private boolean submitBatch(List<SqlStatement> batch, ParsePlan plan, ParseBudget budget, MergeState state,
+                                Deque<PendingBatch> pending, int window) {
+        pending.addLast(new PendingBatch(batch.size(), parsePool.submit(() -> parseBatch(batch, plan, budget))));
+        return pending.size() < window || mergeFirst(pending, budget, state);
+    }
+    
+    /**
+     * 等待最早提交的批次并合并
+     * L2 只在语句之间检查预算，单条语句可能远超时限；超出总预算仍未完成时不再等待，
+     * 放弃所有未完成的批次（计为未解析），返回已合并的部分结果
+     * 
+     * @return 是否在预算内完成
+     */
+    private boolean mergeFirst(Deque<PendingBatch> pending, ParseBudget budget, MergeState state) {
+        PendingBatch first = pending.pollFirst();
         try {
-            log.info("L2: 尝试使用 Druid SQL Parser 解析");
-            attemptLog.add("L2: 尝试 Druid SQL Parser");
-            ParseResult result = druidSqlParser.parse(preprocessedSql, dialect);
-            if (result.isSuccess()) {
-                log.info("L2: Druid SQL Parser 解析成功");
-                result.getWarnings().add(0, "使用 Druid SQL Parser 解析（L2 方言解析）");
-                return result;
-            }
-            attemptLog.add("L2: Druid SQL Parser 失败 - " + result.getMessage());
-        } catch (Exception e) {
-            log.debug("L2: Druid SQL Parser 解析异常: {}", e.getMessage()); // 降级为 DEBUG
-            attemptLog.add("L2: Druid SQL Parser 异常 - " + e.getMessage());
+            state.mergeAll(budget.isBounded() || budget.isCancelled()
+                    ? first.task.get(budget.remainingMillis(), TimeUnit.MILLISECONDS)
+                    : first.task.join());
+            return true;
+        } catch (TimeoutException e) {
+            log.warn("解析批次在时间预算内未完成，放弃 {} 个未完成的批次", pending.size() + 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            budget.cancel();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("解析批次执行失败", e.getCause());
         }
         
-        // L3: 使用正则表达式降级解析
+        pending.addFirst(first);
+        for (PendingBatch batchTask : pending) {
+            batchTask.task.cancel(true);
+            state.unparsed += batchTask.size;
+        }
+        pending.clear();
+        return false;
+    }
+    
+    /**
+     * 部分结果说明，例如 "解析超出时间预算（10000 ms），已返回 120 张表，3 条建表语句未解析，其余语句未读取"
+     */
+    private String describePartial(ParseBudget budget, int unparsed, boolean stopped, int tableCount) {
+        StringBuilder sb = new StringBuilder(budget.isCancelled() 
+                ? "解析已取消" 
+                : "解析超出时间预算（" + budget.getTotalMillis() + " ms）");
+        sb.append("，已返回 ").append(tableCount).append(" 张表");
+        if (unparsed > 0) {
+            sb.append("，").append(unparsed).append(" 条建表语句未解析");
+        }
+        if (stopped) {
+            sb.append("，其余语句未读取");
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * 解析一批建表语句，结果与语句一一对应
+     * 先查语句缓存；未命中且当前层级顺序以 L1 开头的语句合并成一次 JSqlParser 解析，
+     * 成功后按顺序拆回各语句；其余语句以及批量解析失败的批次逐条按层级降级
+     */
+    private List<TierResult> parseBatch(List<SqlStatement> batch, ParsePlan plan, ParseBudget budget) {
+        TierResult[] results = new TierResult[batch.size()];
+        List<StatementTask> tasks = new ArrayList<>();
+        List<StatementTask> l1Tasks = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            SqlStatement statement = batch.get(i);
+            // 内容未变化的建表语句直接复用缓存的解析结果
+            String cacheKey = statementCache.isEnabled() ? statementCache.key(plan.dialect, statement.getText()) : null;
+            if (cacheKey != null) {
+                StatementCache.Entry cached = statementCache.get(cacheKey);
+                if (cached != null) {
+                    DatabaseModel cachedModel = DatabaseModel.builder()
+                            .dbType(plan.dialect)
+                            .tables(cached.getTables())
+                            .build();
+                    results[i] = new TierResult(statement.getLine(), cached.getTier(), 
+                            ParseResult.success(cachedModel, cached.getWarnings()), cached.getAttemptLog(), true);
+                    continue;
+                }
+            }
+            
+            String inputClass = TierStatistics.classify(plan.dialect, statement.getText());
+            StatementTask task = new StatementTask(i, statement, cacheKey, inputClass, 
+                    tierStatistics.order(inputClass, plan.tierOrder));
+            tasks.add(task);
+            if (task.tierOrder.get(0) == ParserTier.L1) {
+                l1Tasks.add(task);
+            }
+        }
+        
+        if (l1Tasks.size() > 1) {
+            parseBatchWithL1(l1Tasks, plan, budget, results);
+        }
+        for (StatementTask task : tasks) {
+            if (results[task.index] == null) {
+                results[task.index] = parseStatement(task, plan, budget);
+            }
+        }
+        return Arrays.asList(results);
+    }
+    
+    /**
+     * 用一次 JSqlParser 解析整批语句，成功时写入各语句的结果
+     * 任一语句无法解析（或解析出的表数与语句数不一致）时整批放弃，不计入层级统计，由调用方逐条降级
+     */
+    private void parseBatchWithL1(List<StatementTask> tasks, ParsePlan plan, ParseBudget budget, TierResult[] results) {
+        if (budget.isExhausted()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder();
+        for (StatementTask task : tasks) {
+            sql.append(task.statement.getText()).append(";\n");
+        }
+        
+        long start = System.nanoTime();
+        List<TableModel> tables;
         try {
-            log.info("L3: 使用正则表达式降级解析");
-            attemptLog.add("L3: 尝试正则表达式降级解析");
-            ParseResult result = regexFallbackParser.parse(preprocessedSql, dialect);
-            if (result.isSuccess()) {
-                log.info("L3: 正则表达式解析成功");
-                result.getWarnings().add(0, "使用正则表达式降级解析（L3）");
-                result.getWarnings().addAll(attemptLog);
-                return result;
-            }
-            attemptLog.add("L3: 正则表达式解析失败 - " + result.getMessage());
+            ParseResult result = jSqlParser.parse(sql.toString(), plan.dialect, budget.forTier());
+            tables = result.isSuccess() && result.getDatabaseModel() != null ? result.getDatabaseModel().getTables() : null;
+            if (tables == null || tables.size() != tasks.size()) {
+                log.debug("L1: {} 条建表语句批量解析失败，逐条降级: {}", tasks.size(), brief(result.getMessage()));
+                return;
+            }
         } catch (Exception e) {
-            log.error("L3: 正则表达式解析异常: {}", e.getMessage());
-            attemptLog.add("L3: 正则表达式解析异常 - " + e.getMessage());
+            log.debug("L1: {} 条建表语句批量解析异常，逐条降级: {}", tasks.size(), e.getMessage());
+            return;
+        }
+        
+        long elapsedPerStatement = (System.nanoTime() - start) / tasks.size();
+        for (int i = 0; i < tasks.size(); i++) {
+            StatementTask task = tasks.get(i);
+            List<TableModel> statementTables = new ArrayList<>(List.of(tables.get(i)));
+            List<String> attemptLog = new ArrayList<>();
+            if (task.cacheKey != null) {
+                statementCache.put(task.cacheKey, ParserTier.L1, statementTables, List.of(), 
+                        attemptLog, task.statement.getText().length());
+            }
+            tierStatistics.record(task.inputClass, ParserTier.L1, true, elapsedPerStatement);
+            DatabaseModel model = DatabaseModel.builder()
+                    .dbType(plan.dialect)
+                    .tables(statementTables)
+                    .build();
+            results[task.index] = new TierResult(task.statement.getLine(), ParserTier.L1, 
+                    ParseResult.success(model, new ArrayList<>()), attemptLog, false);
         }
+    }
+    
+    /**
+     * 对单条语句按层级顺序依次尝试
+     * 顺序由 {@link TierStatistics} 根据同类输入的历史成功率调整（可能跳过长期失败的层级）；
+     * 每个层级在 {@link ParseBudget#forTier()} 的时限内尝试，总预算耗尽后不再尝试后续层级
+     */
+    private TierResult parseStatement(StatementTask task, ParsePlan plan, ParseBudget budget) {
+        SqlStatement statement = task.statement;
+        List<String> attemptLog = new ArrayList<>();
         
-        // 所有解析策略都失败
-        log.error("所有解析策略都失败");
-        String errorMessage = "所有解析策略都失败:\n" + String.join("\n", attemptLog);
-        return ParseResult.error(errorMessage);
+        for (ParserTier tier : task.tierOrder) {
+            if (budget.isExhausted()) {
+                return TierResult.unparsed(statement.getLine(), attemptLog);
+            }
+            ParseBudget tierBudget = budget.forTier();
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                ParseResult result = parserOf(tier).parse(statement.getText(), plan.dialect, tierBudget);
+                if (result.isSuccess() && result.getDatabaseModel() != null) {
+                    success = true;
+                    if (task.cacheKey != null) {
+                        statementCache.put(task.cacheKey, tier, result.getDatabaseModel().getTables(), 
+                                result.getWarnings(), attemptLog, statement.getText().length());
+                    }
+                    return new TierResult(statement.getLine(), tier, result, attemptLog, false);
+                }
+                attemptLog.add(tier.name() + (tierBudget.isExhausted() ? " 超时 - " : " 失败 - ") 
+                        + brief(result.getMessage()));
+            } catch (Exception e) {
+                log.debug("{}: {} 解析异常: {}", tier.name(), tier.getParserName(), e.getMessage());
+                attemptLog.add(tier.name() + " 异常 - " + brief(e.getMessage()));
+            } finally {
+                // 因预算耗尽（超时或取消）而失败的尝试不代表该层级无法解析，不计入全局统计，
+                // 否则小预算的请求会让所有请求都跳过较慢的层级
+                if (success || !tierBudget.isExhausted()) {
+                    tierStatistics.record(task.inputClass, tier, success, System.nanoTime() - start);
+                }
+            }
+        }
+        
+        if (budget.isExhausted()) {
+            return TierResult.unparsed(statement.getLine(), attemptLog);
+        }
+        return new TierResult(statement.getLine(), null, null, attemptLog, false);
+    }
+    
+    private SqlParser parserOf(ParserTier tier) {
+        return switch (tier) {
+            case L1 -> jSqlParser;
+            case L2 -> druidSqlParser;
+            case L3 -> regexFallbackParser;
+        };
+    }
+    
+    /**
+     * 生成各层解析数量的汇总信息
+     */
+    private String summarize(int[] tierCounts, int tableCount) {
+        StringBuilder sb = new StringBuilder("按语句分层解析，共 ").append(tableCount).append(" 张表");
+        for (ParserTier tier : ParserTier.values()) {
+            if (tierCounts[tier.ordinal()] > 0) {
+                sb.append("，").append(tier.describe()).append(" ").append(tierCounts[tier.ordinal()]).append(" 张");
+            }
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * 截取错误信息首行，避免解析器的多行错误撑大警告列表
+     */
+    private String brief(String message) {
+        if (message == null) {
+            return "未知错误";
+        }
+        int newline = message.indexOf('\n');
+        String firstLine = newline >= 0 ? message.substring(0, newline) : message;
+        return firstLine.length() > 200 ? firstLine.substring(0, 200) + "..." : firstLine;
     }
     
     @Override
@@ -104,35 +563,150 @@ public class CompositeSqlParser implements SqlParser {
     }
     
     /**
-     * 预处理 SQL：移除 MySQL 特殊语法
+     * 预处理 SQL：移除 MySQL 特殊语法（delimiter 命令、触发器定义、;; 分隔符、多余空行）
      */
-    private String preprocessSql(String sql) {
+    private String preprocessSql(String sql, String dialect) {
         if (sql == null || sql.isEmpty()) {
             return sql;
         }
         
         log.debug("开始预处理 SQL，原始长度: {}", sql.length());
+        sql = SqlPreprocessor.process(sql, dialect);
+        log.debug("SQL 预处理完成，处理后长度: {}", sql.length());
+        return sql;
+    }
+    
+    /**
+     * 解析计划：实际方言、方言指纹（未自动识别时为 null）与层级顺序
+     */
+    private static class ParsePlan {
+        private final String dialect;
+        private final DialectFingerprint fingerprint;
+        private final List<ParserTier> tierOrder;
+        
+        ParsePlan(String dialect, DialectFingerprint fingerprint, List<ParserTier> tierOrder) {
+            this.dialect = dialect;
+            this.fingerprint = fingerprint;
+            this.tierOrder = tierOrder;
+        }
+    }
+    
+    /**
+     * 已提交到线程池的批次
+     */
+    private static class PendingBatch {
+        private final int size;
+        private final ForkJoinTask<List<TierResult>> task;
+        
+        PendingBatch(int size, ForkJoinTask<List<TierResult>> task) {
+            this.size = size;
+            this.task = task;
+        }
+    }
+    
+    /**
+     * 待解析的单条语句：在批次中的位置、缓存键、输入分类与层级顺序
+     */
+    private static class StatementTask {
+        private final int index;
+        private final SqlStatement statement;
+        private final String cacheKey;
+        private final String inputClass;
+        private final List<ParserTier> tierOrder;
         
-        // 1. 移除 delimiter 命令（MySQL 客户端特殊命令）
-        // 匹配 "delimiter ;;" 或 "delimiter ;" 等变体（不区分大小写）
-        sql = sql.replaceAll("(?i)delimiter\\s+;;\\s*\n", "");
-        sql = sql.replaceAll("(?i)delimiter\\s+;\\s*\n", "");
-        sql = sql.replaceAll("(?i)delimiter\\s+;;\\s*$", "");
-        sql = sql.replaceAll("(?i)delimiter\\s+;\\s*$", "");
+        StatementTask(int index, SqlStatement statement, String cacheKey, String inputClass, List<ParserTier> tierOrder) {
+            this.index = index;
+            this.statement = statement;
+            this.cacheKey = cacheKey;
+            this.inputClass = inputClass;
+            this.tierOrder = tierOrder;
+        }
+    }
+    
+    /**
+     * 单条语句的分层解析结果
+     */
+    private static class TierResult {
+        private final int line;
+        private final ParserTier tier;
+        private final ParseResult result;
+        private final List<String> attemptLog;
+        private final boolean cached;
+        private boolean unparsed;
         
-        // 2. 移除触发器定义（保留 CREATE TRIGGER 语句本身，但移除 BEGIN...END 块）
-        // 这样可以保留表结构，但跳过复杂的触发器逻辑
-        sql = sql.replaceAll("(?is)DROP\\s+TRIGGER\\s+IF\\s+EXISTS\\s+`?\\w+`?\\s*;", "");
-        sql = sql.replaceAll("(?is)delimiter\\s+;;.*?CREATE\\s+TRIGGER.*?END\\s*;;\\s*delimiter\\s*;", "");
-        sql = sql.replaceAll("(?is)CREATE\\s+TRIGGER.*?END\\s*;;?", "");
+        TierResult(int line, ParserTier tier, ParseResult result, List<String> attemptLog, boolean cached) {
+            this.line = line;
+            this.tier = tier;
+            this.result = result;
+            this.attemptLog = attemptLog;
+            this.cached = cached;
+        }
         
-        // 3. 替换 ;; 为 ;
-        sql = sql.replaceAll(";;", ";");
+        /**
+         * 预算耗尽，语句未能完成解析
+         */
+        static TierResult unparsed(int line, List<String> attemptLog) {
+            TierResult tierResult = new TierResult(line, null, null, attemptLog, false);
+            tierResult.unparsed = true;
+            return tierResult;
+        }
+    }
+    
+    /**
+     * 逐条语句结果的合并状态（仅在调用线程中按原始顺序访问）
+     */
+    private static class MergeState {
+        private final DatabaseModel databaseModel;
+        private final SymbolTable symbols = new SymbolTable();
+        private final Set<String> warnings = new LinkedHashSet<>();
+        private final List<String> failures = new ArrayList<>();
+        private final int[] tierCounts = new int[ParserTier.values().length];
+        private int cacheHits;
+        private int unparsed;
         
-        // 4. 移除多余的空行
-        sql = sql.replaceAll("\n\\s*\n\\s*\n", "\n\n");
+        MergeState(String dialect) {
+            this.databaseModel = DatabaseModel.builder()
+                    .dbType(dialect)
+                    .build();
+        }
         
-        log.debug("SQL 预处理完成，处理后长度: {}", sql.length());
-        return sql;
+        void mergeAll(List<TierResult> tierResults) {
+            for (TierResult tierResult : tierResults) {
+                merge(tierResult);
+            }
+        }
+        
+        void merge(TierResult tierResult) {
+            if (tierResult.unparsed) {
+                unparsed++;
+                return;
+            }
+            if (tierResult.tier == null) {
+                String failure = "第 " + tierResult.line + " 行的建表语句解析失败: " 
+                        + String.join("; ", tierResult.attemptLog);
+                log.debug(failure);
+                failures.add(failure);
+                warnings.add(failure);
+                return;
+            }
+            
+            if (tierResult.cached) {
+                cacheHits++;
+            }
+            ParseResult result = tierResult.result;
+            for (TableModel table : result.getDatabaseModel().getTables()) {
+                // 合并时统一字符串实例，各语句解析出的重复类型名、列名副本随语句结果一起回收
+                symbols.intern(table);
+                databaseModel.getTables().add(table);
+                tierCounts[tierResult.tier.ordinal()]++;
+                if (tierResult.tier != ParserTier.L1) {
+                    warnings.add("表 " + table.getName() + " 由 " + tierResult.tier.describe() 
+                            + " 解析（" + String.join("; ", tierResult.attemptLog) + "）");
+                }
+            }
+            if (result.getWarnings() != null) {
+                warnings.addAll(result.getWarnings());
+            }
+        }
     }
 }
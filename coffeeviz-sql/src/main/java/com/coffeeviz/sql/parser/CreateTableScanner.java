@@ -0,0 +1,549 @@
+package com.coffeeviz.sql.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * CREATE TABLE 语句扫描器（供 L3 降级解析使用）
+ * 基于括号配对、引号感知的单遍扫描，不使用回溯正则，耗时与输入长度成线性关系；
+ * 每条语句另设硬性步数上限，超出后放弃该语句并跳到下一条，避免异常输入长期占用 CPU
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+public final class CreateTableScanner {
+
+    /**
+     * 默认的单条语句步数上限（每扫描一个字符计一步）
+     */
+    public static final int DEFAULT_STEP_BUDGET = 1_000_000;
+
+    /**
+     * 每扫描多少步检查一次时间预算
+     */
+    private static final int CLOCK_CHECK_INTERVAL = 4096;
+
+    /**
+     * CREATE 与 TABLE 之间允许出现的修饰词
+     */
+    private static final Set<String> CREATE_MODIFIERS = Set.of(
+            "OR", "REPLACE", "TEMPORARY", "TEMP", "GLOBAL", "LOCAL", "UNLOGGED", "VIRTUAL", "EXTERNAL");
+
+    private final String sql;
+    private final int length;
+    private final boolean backslashEscapes;
+    private final boolean hashComments;
+    private final boolean bracketIdentifiers;
+    private final int stepBudget;
+    private final ParseBudget budget;
+
+    private int pos;
+    private String currentName;
+    private long steps;
+    private long stepLimit = Long.MAX_VALUE;
+    private long nextClockCheck = CLOCK_CHECK_INTERVAL;
+
+    public CreateTableScanner(String sql, String dialect, int stepBudget) {
+        this(sql, dialect, stepBudget, null);
+    }
+
+    /**
+     * @param budget 时间预算（为 null 时只受步数上限约束），耗尽后停止扫描
+     */
+    public CreateTableScanner(String sql, String dialect, int stepBudget, ParseBudget budget) {
+        this.sql = sql != null ? sql : "";
+        this.length = this.sql.length();
+        String d = dialect != null ? dialect.toLowerCase() : "auto";
+        this.backslashEscapes = SqlStatementReader.backslashEscapes(d);
+        this.hashComments = switch (d) {
+            case "mysql", "mariadb", "auto" -> true;
+            default -> false;
+        };
+        this.bracketIdentifiers = switch (d) {
+            case "postgres", "postgresql", "pg", "kingbase" -> false;
+            default -> true;
+        };
+        this.stepBudget = stepBudget > 0 ? stepBudget : DEFAULT_STEP_BUDGET;
+        this.budget = budget;
+    }
+
+    /**
+     * 读取下一条 CREATE TABLE 定义
+     *
+     * @return 表定义，没有更多定义时返回 null
+     */
+    public TableDefinition next() {
+        currentName = null;
+        try {
+            while (findCreateTable()) {
+                int statementStart = pos;
+                currentName = null;
+                stepLimit = steps + stepBudget;
+                try {
+                    TableDefinition definition = scanDefinition();
+                    if (definition != null) {
+                        return definition;
+                    }
+                } catch (StepBudgetExceededException e) {
+                    stepLimit = Long.MAX_VALUE;
+                    pos = statementStart;
+                    skipStatement();
+                    return new TableDefinition(currentName, List.of(), null,
+                            "超出单条语句扫描步数上限（" + stepBudget + "），已跳过");
+                } finally {
+                    stepLimit = Long.MAX_VALUE;
+                }
+            }
+        } catch (DeadlineExceededException e) {
+            // 时间预算已耗尽：放弃剩余输入
+            pos = length;
+            return new TableDefinition(currentName, List.of(), null, "超出解析时间预算，已停止扫描");
+        }
+        return null;
+    }
+
+    /**
+     * 向后查找 CREATE [修饰词] TABLE [IF NOT EXISTS]，成功时停在表名之前
+     */
+    private boolean findCreateTable() {
+        while (pos < length) {
+            char c = sql.charAt(pos);
+            if (isQuoteStart(c)) {
+                skipQuoted(c);
+            } else if (isCommentStart(c)) {
+                skipComment();
+            } else if (isWordChar(c)) {
+                int wordStart = pos;
+                String word = readWord();
+                if (word.equalsIgnoreCase("CREATE") && (wordStart == 0 || !isWordChar(sql.charAt(wordStart - 1)))
+                        && matchCreateTableTail()) {
+                    return true;
+                }
+            } else {
+                pos++;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchCreateTableTail() {
+        int restore = pos;
+        String word = nextWord();
+        while (word != null && CREATE_MODIFIERS.contains(word.toUpperCase())) {
+            word = nextWord();
+        }
+        if (word == null || !word.equalsIgnoreCase("TABLE")) {
+            pos = restore;
+            return false;
+        }
+        int afterTable = pos;
+        String ifWord = nextWord();
+        if (ifWord != null && ifWord.equalsIgnoreCase("IF")) {
+            String not = nextWord();
+            String exists = nextWord();
+            if (not != null && not.equalsIgnoreCase("NOT") && exists != null && exists.equalsIgnoreCase("EXISTS")) {
+                return true;
+            }
+        }
+        pos = afterTable;
+        return true;
+    }
+
+    /**
+     * 扫描表名、表体和表选项；不是带列定义的建表语句时返回 null
+     */
+    private TableDefinition scanDefinition() {
+        // 表名（可带 schema 前缀，取最后一段）
+        String name = null;
+        Token token = readToken();
+        while (token != null && (token.kind == Kind.WORD || token.kind == Kind.QUOTED)) {
+            name = token.text;
+            skipWhitespaceAndComments();
+            if (pos >= length || sql.charAt(pos) != '.') {
+                break;
+            }
+            pos++;
+            step();
+            token = readToken();
+        }
+        if (name == null) {
+            return null;
+        }
+        currentName = name;
+
+        skipWhitespaceAndComments();
+        if (pos >= length || sql.charAt(pos) != '(') {
+            // CREATE TABLE ... AS SELECT / LIKE 等没有列定义
+            return null;
+        }
+        pos++;
+        step();
+
+        // 表体：按顶层逗号切分为元素
+        List<List<Token>> elements = new ArrayList<>();
+        List<Token> element = new ArrayList<>();
+        boolean closed = false;
+        while (true) {
+            skipWhitespaceAndComments();
+            if (pos >= length) {
+                break;
+            }
+            char c = sql.charAt(pos);
+            if (c == ')') {
+                pos++;
+                step();
+                closed = true;
+                break;
+            }
+            if (c == ',') {
+                pos++;
+                step();
+                if (!element.isEmpty()) {
+                    elements.add(element);
+                }
+                element = new ArrayList<>();
+                continue;
+            }
+            element.add(readToken());
+        }
+        if (!element.isEmpty()) {
+            elements.add(element);
+        }
+        if (!closed) {
+            return new TableDefinition(name, elements, null, "表定义括号不匹配");
+        }
+
+        // 表选项：直到 ; 或下一条 CREATE 语句
+        String comment = null;
+        boolean expectComment = false;
+        while (true) {
+            skipWhitespaceAndComments();
+            if (pos >= length) {
+                break;
+            }
+            if (sql.charAt(pos) == ';') {
+                pos++;
+                break;
+            }
+            int save = pos;
+            Token option = readToken();
+            if (option.kind == Kind.WORD && option.text.equalsIgnoreCase("CREATE")) {
+                pos = save;
+                break;
+            }
+            if (option.kind == Kind.WORD && option.text.equalsIgnoreCase("COMMENT")) {
+                expectComment = true;
+            } else if (expectComment && option.kind == Kind.STRING) {
+                comment = unquote(option.text);
+                expectComment = false;
+            } else if (!(expectComment && option.kind == Kind.SYMBOL && option.text.equals("="))) {
+                expectComment = false;
+            }
+        }
+
+        return new TableDefinition(name, elements, comment, null);
+    }
+
+    /**
+     * 读取一个词法单元（跳过空白与注释）
+     */
+    private Token readToken() {
+        skipWhitespaceAndComments();
+        if (pos >= length) {
+            return null;
+        }
+        char c = sql.charAt(pos);
+        if (c == '\'') {
+            int start = pos;
+            skipQuoted(c);
+            return new Token(Kind.STRING, sql.substring(start, pos), null);
+        }
+        if (isQuoteStart(c)) {
+            int start = pos;
+            skipQuoted(c);
+            int end = pos - (pos > start + 1 ? 1 : 0);
+            return new Token(Kind.QUOTED, sql.substring(start + 1, Math.max(start + 1, end)), null);
+        }
+        if (c == '(') {
+            return readGroup();
+        }
+        if (isWordChar(c)) {
+            return new Token(Kind.WORD, readWord(), null);
+        }
+        pos++;
+        step();
+        return new Token(Kind.SYMBOL, String.valueOf(c), null);
+    }
+
+    /**
+     * 读取括号分组，同时按分组内的顶层逗号切分条目
+     */
+    private Token readGroup() {
+        pos++;
+        step();
+        StringBuilder inner = new StringBuilder();
+        StringBuilder item = new StringBuilder();
+        List<String> items = new ArrayList<>();
+        int depth = 1;
+        while (pos < length) {
+            char c = sql.charAt(pos);
+            if (isCommentStart(c)) {
+                skipComment();
+                inner.append(' ');
+                item.append(' ');
+                continue;
+            }
+            if (isQuoteStart(c)) {
+                int start = pos;
+                skipQuoted(c);
+                inner.append(sql, start, pos);
+                item.append(sql, start, pos);
+                continue;
+            }
+            pos++;
+            step();
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                if (--depth == 0) {
+                    break;
+                }
+            } else if (c == ',' && depth == 1) {
+                items.add(item.toString().trim());
+                item.setLength(0);
+                inner.append(c);
+                continue;
+            }
+            inner.append(c);
+            item.append(c);
+        }
+        String last = item.toString().trim();
+        if (!last.isEmpty() || !items.isEmpty()) {
+            items.add(last);
+        }
+        return new Token(Kind.GROUP, inner.toString().trim(), items);
+    }
+
+    private String nextWord() {
+        skipWhitespaceAndComments();
+        if (pos < length && isWordChar(sql.charAt(pos))) {
+            return readWord();
+        }
+        return null;
+    }
+
+    private String readWord() {
+        int start = pos;
+        while (pos < length && isWordChar(sql.charAt(pos))) {
+            pos++;
+            step();
+        }
+        return sql.substring(start, pos);
+    }
+
+    /**
+     * 跳到当前语句结束（顶层分号之后）
+     */
+    private void skipStatement() {
+        while (pos < length) {
+            char c = sql.charAt(pos);
+            if (isQuoteStart(c)) {
+                skipQuoted(c);
+            } else if (isCommentStart(c)) {
+                skipComment();
+            } else {
+                pos++;
+                if (c == ';') {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void skipWhitespaceAndComments() {
+        while (pos < length) {
+            char c = sql.charAt(pos);
+            if (Character.isWhitespace(c)) {
+                pos++;
+                step();
+            } else if (isCommentStart(c)) {
+                skipComment();
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 跳过引号内容（' 支持 '' 双写与反斜杠转义，标识符引号支持双写）
+     */
+    private void skipQuoted(char quote) {
+        char close = quote == '[' ? ']' : quote;
+        pos++;
+        step();
+        while (pos < length) {
+            char c = sql.charAt(pos);
+            pos++;
+            step();
+            if (c == '\\' && quote == '\'' && backslashEscapes && pos < length) {
+                pos++;
+                step();
+            } else if (c == close) {
+                if (pos < length && sql.charAt(pos) == close && quote != '[') {
+                    pos++;
+                    step();
+                } else {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void skipComment() {
+        char c = sql.charAt(pos);
+        int end;
+        if (c == '/') {
+            end = sql.indexOf("*/", pos + 2);
+            end = end < 0 ? length : end + 2;
+        } else {
+            end = sql.indexOf('\n', pos);
+            end = end < 0 ? length : end;
+        }
+        steps += end - pos;
+        pos = end;
+        step();
+    }
+
+    private boolean isQuoteStart(char c) {
+        return c == '\'' || c == '"' || c == '`' || c == '[' && bracketIdentifiers;
+    }
+
+    private boolean isCommentStart(char c) {
+        if (c == '-' || c == '/') {
+            return pos + 1 < length && sql.charAt(pos + 1) == (c == '-' ? '-' : '*');
+        }
+        return c == '#' && hashComments;
+    }
+
+    private void step() {
+        if (++steps > stepLimit) {
+            throw new StepBudgetExceededException();
+        }
+        if (budget != null && steps >= nextClockCheck) {
+            nextClockCheck = steps + CLOCK_CHECK_INTERVAL;
+            if (budget.isExhausted()) {
+                throw new DeadlineExceededException();
+            }
+        }
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    /**
+     * 去除字符串字面量两侧的单引号并还原 '' 转义
+     */
+    static String unquote(String literal) {
+        if (literal.length() >= 2 && literal.charAt(0) == '\'' && literal.charAt(literal.length() - 1) == '\'') {
+            literal = literal.substring(1, literal.length() - 1);
+        }
+        return literal.replace("''", "'");
+    }
+
+    /**
+     * 词法单元类型
+     */
+    enum Kind {
+        /**
+         * 关键字、标识符或数字
+         */
+        WORD,
+
+        /**
+         * 引号标识符（text 为去除引号后的名称）
+         */
+        QUOTED,
+
+        /**
+         * 字符串字面量（text 保留两侧单引号）
+         */
+        STRING,
+
+        /**
+         * 括号分组（text 为括号内文本，items 为顶层逗号切分结果）
+         */
+        GROUP,
+
+        /**
+         * 其他单个符号
+         */
+        SYMBOL
+    }
+
+    /**
+     * 词法单元
+     */
+    static final class Token {
+        final Kind kind;
+        final String text;
+        final List<String> items;
+
+        Token(Kind kind, String text, List<String> items) {
+            this.kind = kind;
+            this.text = text;
+            this.items = items;
+        }
+    }
+
+    /**
+     * 扫描得到的表定义
+     */
+    static final class TableDefinition {
+        /**
+         * 表名（去除引号与 schema 前缀）
+         */
+        final String name;
+
+        /**
+         * 表体元素（列定义或约束），每个元素为一组词法单元
+         */
+        final List<List<Token>> elements;
+
+        /**
+         * 表注释
+         */
+        final String comment;
+
+        /**
+         * 扫描失败原因（成功时为 null）
+         */
+        final String error;
+
+        TableDefinition(String name, List<List<Token>> elements, String comment, String error) {
+            this.name = name;
+            this.elements = elements;
+            this.comment = comment;
+            this.error = error;
+        }
+    }
+
+    /**
+     * 超出步数上限（不填充堆栈，仅用于跳出扫描）
+     */
+    private static final class StepBudgetExceededException extends RuntimeException {
+        StepBudgetExceededException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * 超出时间预算或被取消（不填充堆栈，仅用于跳出扫描）
+     */
+    private static final class DeadlineExceededException extends RuntimeException {
+        DeadlineExceededException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.coffeeviz.sql.parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SQL 方言识别器
+ * 只扫描输入开头的样本（默认 64 KB），按特征标记（反引号、ENGINE=、SERIAL、NVARCHAR2、IDENTITY、GO 批次等）
+ * 为各方言打分，返回得分最高的方言及置信度；单遍扫描、不使用正则
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+public final class DialectDetector {
+
+    /**
+     * 未识别出方言
+     */
+    public static final String AUTO = "auto";
+
+    /**
+     * 默认采样长度（字符数）
+     */
+    public static final int DEFAULT_SAMPLE_SIZE = 64 * 1024;
+
+    /**
+     * 得分达到该值时置信度不再按得分折减
+     */
+    private static final double SATURATION_SCORE = 8.0;
+
+    /**
+     * 方言特征标记及其权重
+     */
+    public enum Marker {
+        MYSQL_DUMP_HEADER("mysql", 5),
+        BACKTICK("mysql", 3),
+        ENGINE("mysql", 5),
+        AUTO_INCREMENT("mysql", 2),
+        CHARSET("mysql", 2),
+        UNSIGNED("mysql", 1),
+        VERSIONED_COMMENT("mysql", 3),
+        LOCK_TABLES("mysql", 2),
+
+        POSTGRES_DUMP_HEADER("postgres", 5),
+        SERIAL("postgres", 4),
+        TYPE_CAST("postgres", 2),
+        DOLLAR_QUOTE("postgres", 2),
+        COPY_FROM_STDIN("postgres", 3),
+        OWNER_TO("postgres", 3),
+        SEARCH_PATH("postgres", 3),
+        NEXTVAL("postgres", 2),
+        POSTGRES_TYPE("postgres", 3),
+
+        VARCHAR2("oracle", 5),
+        NUMBER_PRECISION("oracle", 2),
+        SYSDATE("oracle", 2),
+        ORACLE_STORAGE("oracle", 2),
+
+        GO_BATCH("sqlserver", 5),
+        IDENTITY("sqlserver", 3),
+        BRACKET_IDENTIFIER("sqlserver", 3),
+        SQLSERVER_SET("sqlserver", 3),
+
+        AUTOINCREMENT("sqlite", 4),
+        PRAGMA("sqlite", 4),
+        WITHOUT_ROWID("sqlite", 4);
+
+        private final String dialect;
+        private final int weight;
+
+        Marker(String dialect, int weight) {
+            this.dialect = dialect;
+            this.weight = weight;
+        }
+
+        public String getDialect() {
+            return dialect;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+    }
+
+    private DialectDetector() {
+    }
+
+    /**
+     * 识别 SQL 文本的方言（只采样开头部分）
+     */
+    public static DialectFingerprint detect(String sql) {
+        if (sql == null) {
+            return new DialectFingerprint(AUTO, 0, EnumSet.noneOf(Marker.class));
+        }
+        return detect(sql, Math.min(sql.length(), DEFAULT_SAMPLE_SIZE));
+    }
+
+    /**
+     * 识别输入流的方言：读取开头样本后将流重置回原位置，不影响后续解析
+     */
+    public static DialectFingerprint detect(BufferedReader reader) throws IOException {
+        char[] sample = new char[DEFAULT_SAMPLE_SIZE];
+        reader.mark(DEFAULT_SAMPLE_SIZE);
+        int length = 0;
+        int read;
+        while (length < sample.length && (read = reader.read(sample, length, sample.length - length)) > 0) {
+            length += read;
+        }
+        reader.reset();
+        return detect(new String(sample, 0, length), length);
+    }
+
+    private static DialectFingerprint detect(String sql, int length) {
+        Set<Marker> markers = scan(sql, length);
+
+        Map<String, Integer> scores = new LinkedHashMap<>();
+        int total = 0;
+        for (Marker marker : markers) {
+            scores.merge(marker.dialect, marker.weight, Integer::sum);
+            total += marker.weight;
+        }
+
+        String best = AUTO;
+        int bestScore = 0;
+        for (Map.Entry<String, Integer> entry : scores.entrySet()) {
+            if (entry.getValue() > bestScore) {
+                best = entry.getKey();
+                bestScore = entry.getValue();
+            }
+        }
+        if (bestScore == 0) {
+            return new DialectFingerprint(AUTO, 0, markers);
+        }
+
+        // 置信度 = 得分占比 × 得分强度（标记过少时折减）
+        double confidence = (double) bestScore / total * Math.min(1.0, bestScore / SATURATION_SCORE);
+        return new DialectFingerprint(best, Math.round(confidence * 100) / 100.0, markers);
+    }
+
+    /**
+     * 单遍扫描样本，收集出现过的特征标记（字符串字面量内容不参与识别）
+     */
+    private static Set<Marker> scan(String sql, int length) {
+        Set<Marker> markers = EnumSet.noneOf(Marker.class);
+        String previousWord = "";
+        boolean lineStart = true;
+        int i = 0;
+
+        while (i < length) {
+            char c = sql.charAt(i);
+
+            if (c == '\n') {
+                lineStart = true;
+                i++;
+                continue;
+            }
+            if (c == ' ' || c == '\t' || c == '\r') {
+                i++;
+                continue;
+            }
+
+            boolean atLineStart = lineStart;
+            lineStart = false;
+
+            if (c == '\'') {
+                // 跳过字符串字面量
+                i++;
+                while (i < length && sql.charAt(i) != '\'') {
+                    i += sql.charAt(i) == '\\' ? 2 : 1;
+                }
+                i++;
+            } else if (c == '`') {
+                markers.add(Marker.BACKTICK);
+                i++;
+            } else if (c == '/' && i + 2 < length && sql.charAt(i + 1) == '*' && sql.charAt(i + 2) == '!') {
+                markers.add(Marker.VERSIONED_COMMENT);
+                i += 3;
+            } else if (c == ':' && i + 1 < length && sql.charAt(i + 1) == ':') {
+                markers.add(Marker.TYPE_CAST);
+                i += 2;
+            } else if (c == '$' && i + 1 < length && (sql.charAt(i + 1) == '$' || Character.isLetter(sql.charAt(i + 1)))) {
+                int end = i + 1;
+                while (end < length && (Character.isLetterOrDigit(sql.charAt(end)) || sql.charAt(end) == '_')) {
+                    end++;
+                }
+                if (end < length && sql.charAt(end) == '$') {
+                    markers.add(Marker.DOLLAR_QUOTE);
+                }
+                i = end + 1;
+            } else if (c == '[' && i + 1 < length && Character.isLetter(sql.charAt(i + 1))) {
+                markers.add(Marker.BRACKET_IDENTIFIER);
+                i++;
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_')) {
+                    i++;
+                }
+                String word = sql.substring(start, i).toUpperCase();
+                char next = nextNonBlank(sql, i, length);
+                matchWord(markers, word, previousWord, next, atLineStart && next == '\n');
+                previousWord = word;
+            } else {
+                i++;
+            }
+        }
+        return markers;
+    }
+
+    private static void matchWord(Set<Marker> markers, String word, String previousWord, char next, boolean wholeLine) {
+        switch (word) {
+            case "ENGINE" -> {
+                if (next == '=') {
+                    markers.add(Marker.ENGINE);
+                }
+            }
+            case "AUTO_INCREMENT" -> markers.add(Marker.AUTO_INCREMENT);
+            case "CHARSET" -> markers.add(Marker.CHARSET);
+            case "UNSIGNED" -> markers.add(Marker.UNSIGNED);
+            case "TABLES" -> {
+                if (previousWord.equals("LOCK")) {
+                    markers.add(Marker.LOCK_TABLES);
+                }
+            }
+            case "DUMP" -> {
+                if (previousWord.equals("MYSQL") || previousWord.equals("MARIADB")) {
+                    markers.add(Marker.MYSQL_DUMP_HEADER);
+                }
+            }
+            case "DATABASE" -> {
+                if (previousWord.equals("POSTGRESQL")) {
+                    markers.add(Marker.POSTGRES_DUMP_HEADER);
+                }
+            }
+            case "SERIAL", "BIGSERIAL", "SMALLSERIAL" -> markers.add(Marker.SERIAL);
+            case "STDIN" -> markers.add(Marker.COPY_FROM_STDIN);
+            case "TO" -> {
+                if (previousWord.equals("OWNER")) {
+                    markers.add(Marker.OWNER_TO);
+                }
+            }
+            case "SEARCH_PATH" -> markers.add(Marker.SEARCH_PATH);
+            case "NEXTVAL" -> markers.add(Marker.NEXTVAL);
+            case "BYTEA", "JSONB", "TIMESTAMPTZ", "INET", "CIDR", "UUID_GENERATE_V4" -> markers.add(Marker.POSTGRES_TYPE);
+            case "VARCHAR2", "NVARCHAR2" -> markers.add(Marker.VARCHAR2);
+            case "NUMBER" -> {
+                if (next == '(') {
+                    markers.add(Marker.NUMBER_PRECISION);
+                }
+            }
+            case "SYSDATE", "SYSTIMESTAMP" -> markers.add(Marker.SYSDATE);
+            case "NOCOMPRESS", "PCTFREE", "INITRANS", "MAXTRANS" -> markers.add(Marker.ORACLE_STORAGE);
+            case "GO" -> {
+                if (wholeLine) {
+                    markers.add(Marker.GO_BATCH);
+                }
+            }
+            case "IDENTITY" -> {
+                if (next == '(') {
+                    markers.add(Marker.IDENTITY);
+                }
+            }
+            case "ANSI_NULLS", "QUOTED_IDENTIFIER" -> markers.add(Marker.SQLSERVER_SET);
+            case "AUTOINCREMENT" -> markers.add(Marker.AUTOINCREMENT);
+            case "PRAGMA" -> markers.add(Marker.PRAGMA);
+            case "ROWID" -> {
+                if (previousWord.equals("WITHOUT")) {
+                    markers.add(Marker.WITHOUT_ROWID);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * 返回下一个非空格字符（换行符原样返回，输入结束时返回换行符）
+     */
+    private static char nextNonBlank(String sql, int from, int length) {
+        for (int i = from; i < length; i++) {
+            char c = sql.charAt(i);
+            if (c != ' ' && c != '\t' && c != '\r') {
+                return c;
+            }
+        }
+        return '\n';
+    }
+}
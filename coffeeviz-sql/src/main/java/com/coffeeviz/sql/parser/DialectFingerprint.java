@@ -0,0 +1,40 @@
+package com.coffeeviz.sql.parser;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * SQL 方言指纹
+ * 由 {@link DialectDetector} 对输入开头的样本采样得到
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@Data
+@AllArgsConstructor
+public class DialectFingerprint {
+
+    /**
+     * 识别出的方言（mysql/postgres/oracle/sqlserver/sqlite），无法识别时为 auto
+     */
+    private String dialect;
+
+    /**
+     * 置信度（0 ~ 1）
+     */
+    private double confidence;
+
+    /**
+     * 样本中出现的特征标记
+     */
+    private Set<DialectDetector.Marker> markers;
+
+    /**
+     * 置信度是否达到阈值
+     */
+    public boolean isConfident(double threshold) {
+        return !DialectDetector.AUTO.equals(dialect) && confidence >= threshold;
+    }
+}
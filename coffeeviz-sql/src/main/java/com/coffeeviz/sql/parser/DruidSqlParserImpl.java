@@ -27,7 +27,19 @@ public class DruidSqlParserImpl implements SqlParser {
     
     @Override
     public ParseResult parse(String sqlText, String dialect) {
-        log.info("开始使用 Druid SQL Parser 解析 SQL，方言: {}", dialect);
+        return parse(sqlText, dialect, ParseBudget.unlimited());
+    }
+    
+    /**
+     * 在时间预算内解析：Druid 解析器不支持中断，只在开始解析前和转换每张表前检查预算
+     */
+    @Override
+    public ParseResult parse(String sqlText, String dialect, ParseBudget budget) {
+        log.debug("开始使用 Druid SQL Parser 解析 SQL，方言: {}", dialect);
+        
+        if (budget.isExhausted()) {
+            return ParseResult.error("超出解析时间预算");
+        }
         
         DatabaseModel databaseModel = new DatabaseModel();
         databaseModel.setDbType(dialect);
@@ -44,6 +56,10 @@ public class DruidSqlParserImpl implements SqlParser {
             List<SQLStatement> statements = SQLUtils.parseStatements(sqlText, dbType);
             
             for (SQLStatement statement : statements) {
+                if (budget.isExhausted()) {
+                    warnings.add("超出解析时间预算，剩余建表语句未转换");
+                    break;
+                }
                 if (statement instanceof SQLCreateTableStatement) {
                     try {
                         TableModel table = parseCreateTable((SQLCreateTableStatement) statement, dialect);
@@ -60,12 +76,12 @@ public class DruidSqlParserImpl implements SqlParser {
                 return ParseResult.error("未找到任何表定义");
             }
             
-            log.info("Druid SQL Parser 解析成功，共解析 {} 张表", databaseModel.getTables().size());
+            log.debug("Druid SQL Parser 解析成功，共解析 {} 张表", databaseModel.getTables().size());
             return ParseResult.success(databaseModel, warnings);
             
         } catch (Exception e) {
             String error = "Druid SQL Parser 解析失败: " + e.getMessage();
-            log.error(error, e);
+            log.debug(error); // 降级为 DEBUG，因为这是正常的多层解析策略
             errors.add(error);
             return ParseResult.error(error);
         }
@@ -137,9 +153,10 @@ public class DruidSqlParserImpl implements SqlParser {
                 
                 // 标记主键列
                 for (String pkCol : pk.getColumns()) {
-                    table.getColumns().stream()
-                        .filter(col -> col.getName().equalsIgnoreCase(pkCol))
-                        .forEach(col -> col.setPrimaryKeyPart(true));
+                    ColumnModel column = table.findColumn(pkCol);
+                    if (column != null) {
+                        column.setPrimaryKeyPart(true);
+                    }
                 }
             } else if (element instanceof SQLForeignKeyConstraint) {
                 // 外键约束
@@ -28,7 +28,19 @@ public class JSqlParserImpl implements SqlParser {
     
     @Override
     public ParseResult parse(String sqlText, String dialect) {
-        log.info("开始使用 JSqlParser 解析 SQL，方言: {}", dialect);
+        return parse(sqlText, dialect, ParseBudget.unlimited());
+    }
+    
+    /**
+     * 在时间预算内解析：剩余时间作为 JSqlParser 的超时设置，超时后解析线程被中断
+     */
+    @Override
+    public ParseResult parse(String sqlText, String dialect, ParseBudget budget) {
+        log.debug("开始使用 JSqlParser 解析 SQL，方言: {}", dialect);
+        
+        if (budget.isExhausted()) {
+            return ParseResult.error("超出解析时间预算");
+        }
         
         DatabaseModel databaseModel = new DatabaseModel();
         databaseModel.setDbType(dialect);
@@ -39,7 +51,10 @@ public class JSqlParserImpl implements SqlParser {
         
         try {
             // 解析 SQL 语句
-            Statements statements = CCJSqlParserUtil.parseStatements(sqlText);
+            Statements statements = budget.isBounded()
+                    ? CCJSqlParserUtil.parseStatements(sqlText, 
+                            parser -> parser.withTimeOut((int) Math.min(Integer.MAX_VALUE, Math.max(1, budget.remainingMillis()))))
+                    : CCJSqlParserUtil.parseStatements(sqlText);
             
             if (statements == null || statements.getStatements() == null) {
                 return ParseResult.error("无法解析 SQL 语句");
@@ -62,7 +77,7 @@ public class JSqlParserImpl implements SqlParser {
                 return ParseResult.error("未找到任何表定义");
             }
             
-            log.info("JSqlParser 解析成功，共解析 {} 张表", databaseModel.getTables().size());
+            log.debug("JSqlParser 解析成功，共解析 {} 张表", databaseModel.getTables().size());
             return ParseResult.success(databaseModel, warnings);
             
         } catch (Exception e) {
@@ -109,9 +124,10 @@ public class JSqlParserImpl implements SqlParser {
                     
                     // 标记主键列
                     for (String pkCol : pk.getColumns()) {
-                        table.getColumns().stream()
-                            .filter(col -> col.getName().equalsIgnoreCase(pkCol))
-                            .forEach(col -> col.setPrimaryKeyPart(true));
+                        ColumnModel column = table.findColumn(pkCol);
+                        if (column != null) {
+                            column.setPrimaryKeyPart(true);
+                        }
                     }
                 } else if (index instanceof ForeignKeyIndex) {
                     // 外键
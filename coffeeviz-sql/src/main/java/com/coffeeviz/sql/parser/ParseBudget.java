@@ -0,0 +1,126 @@
+package com.coffeeviz.sql.parser;
+
+/**
+ * SQL 解析时间预算
+ * 整次解析有总时限，每个解析层级的单次尝试另有时限（不超过剩余总时限）；
+ * 也可以由调用方随时取消。各层级检查预算的粒度不同：
+ * L1 通过 JSqlParser 的超时中断，L3 在扫描步进中检查，L2 只在开始前和语句之间检查，
+ * 单条语句的 Druid 解析本身不会被打断。
+ * 组合解析器在工作线程上解析，调用线程最多等待到总时限，之后放弃未完成的批次并返回部分结果
+ * （工作线程上卡住的 L2 解析仍会跑完，但不再阻塞请求）
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+public final class ParseBudget {
+
+    private final ParseBudget parent;
+    private final long totalMillis;
+    private final long tierMillis;
+    private final long startNanos;
+    private final long deadlineNanos;
+    private final boolean bounded;
+    private volatile boolean cancelled;
+
+    private ParseBudget(ParseBudget parent, long totalMillis, long tierMillis, long startNanos, long deadlineNanos, boolean bounded) {
+        this.parent = parent;
+        this.totalMillis = totalMillis;
+        this.tierMillis = tierMillis;
+        this.startNanos = startNanos;
+        this.deadlineNanos = deadlineNanos;
+        this.bounded = bounded;
+    }
+
+    /**
+     * 创建预算，从调用时开始计时
+     *
+     * @param totalMillis 整次解析时限（毫秒），不大于 0 表示不限
+     * @param tierMillis 单个层级单次尝试的时限（毫秒），不大于 0 表示不限
+     */
+    public static ParseBudget of(long totalMillis, long tierMillis) {
+        long now = System.nanoTime();
+        boolean bounded = totalMillis > 0;
+        return new ParseBudget(null, Math.max(0, totalMillis), Math.max(0, tierMillis), now,
+                bounded ? now + totalMillis * 1_000_000L : Long.MAX_VALUE, bounded);
+    }
+
+    /**
+     * 不限时的预算（仍可取消）
+     */
+    public static ParseBudget unlimited() {
+        return of(0, 0);
+    }
+
+    /**
+     * 为一次层级尝试创建子预算：截止时间取单层时限与剩余总时限中较早者，取消状态与本预算共享
+     */
+    public ParseBudget forTier() {
+        if (tierMillis <= 0) {
+            return new ParseBudget(this, totalMillis, 0, System.nanoTime(), deadlineNanos, bounded);
+        }
+        long now = System.nanoTime();
+        long tierDeadline = now + tierMillis * 1_000_000L;
+        long deadline = bounded && deadlineNanos - tierDeadline < 0 ? deadlineNanos : tierDeadline;
+        return new ParseBudget(this, totalMillis, tierMillis, now, deadline, true);
+    }
+
+    /**
+     * 取消解析（正在进行的层级在下一个检查点停止）
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled || parent != null && parent.isCancelled();
+    }
+
+    /**
+     * 是否已超时或已取消
+     */
+    public boolean isExhausted() {
+        return isCancelled() || bounded && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * 是否有截止时间
+     */
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * 剩余毫秒数（不限时返回 Long.MAX_VALUE，已耗尽返回 0）
+     */
+    public long remainingMillis() {
+        if (isCancelled()) {
+            return 0;
+        }
+        if (!bounded) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, (deadlineNanos - System.nanoTime()) / 1_000_000L);
+    }
+
+    /**
+     * 截止时间（System.nanoTime() 时间轴，不限时为 Long.MAX_VALUE）
+     */
+    public long getDeadlineNanos() {
+        return deadlineNanos;
+    }
+
+    /**
+     * 已用毫秒数
+     */
+    public long elapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public long getTierMillis() {
+        return tierMillis;
+    }
+}
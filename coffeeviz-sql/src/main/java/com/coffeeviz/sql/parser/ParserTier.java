@@ -0,0 +1,48 @@
+package com.coffeeviz.sql.parser;
+
+/**
+ * SQL 解析层级
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+public enum ParserTier {
+
+    /**
+     * JSqlParser（精确解析）
+     */
+    L1("JSqlParser", "精确解析"),
+
+    /**
+     * Druid SQL Parser（方言解析）
+     */
+    L2("Druid SQL Parser", "方言解析"),
+
+    /**
+     * 正则表达式（降级解析）
+     */
+    L3("正则表达式", "降级解析");
+
+    private final String parserName;
+    private final String description;
+
+    ParserTier(String parserName, String description) {
+        this.parserName = parserName;
+        this.description = description;
+    }
+
+    public String getParserName() {
+        return parserName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * 层级描述，例如 "L2 Druid SQL Parser（方言解析）"
+     */
+    public String describe() {
+        return name() + " " + parserName + "（" + description + "）";
+    }
+}
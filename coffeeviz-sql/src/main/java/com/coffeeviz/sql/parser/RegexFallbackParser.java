@@ -1,17 +1,22 @@
 package com.coffeeviz.sql.parser;
 
 import com.coffeeviz.core.model.*;
+import com.coffeeviz.sql.parser.CreateTableScanner.Kind;
+import com.coffeeviz.sql.parser.CreateTableScanner.TableDefinition;
+import com.coffeeviz.sql.parser.CreateTableScanner.Token;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
 
 /**
- * 正则表达式降级解析器（L3）
+ * 降级解析器（L3）
  * 当 JSqlParser 和 Druid 都失败时使用
+ * 基于 {@link CreateTableScanner} 的线性扫描实现，不使用回溯正则，
+ * 每条语句受步数上限保护，异常输入不会长时间占用解析线程
  * 
  * @author CoffeeViz Team
  * @since 1.0.0
@@ -20,39 +25,37 @@ import java.util.regex.Pattern;
 @Component
 public class RegexFallbackParser implements SqlParser {
     
-    // CREATE TABLE 语句模式
-    private static final Pattern CREATE_TABLE_PATTERN = Pattern.compile(
-        "CREATE\\s+TABLE\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?([`\\w]+)\\s*\\((.*?)\\)(?:\\s*ENGINE\\s*=\\s*\\w+)?(?:\\s*DEFAULT\\s+CHARSET\\s*=\\s*\\w+)?(?:\\s*COMMENT\\s*=?\\s*'([^']*)')?",
-        Pattern.CASE_INSENSITIVE | Pattern.DOTALL
-    );
-    
-    // 列定义模式
-    private static final Pattern COLUMN_PATTERN = Pattern.compile(
-        "([`\\w]+)\\s+(\\w+(?:\\([^)]+\\))?)(?:\\s+(NOT\\s+NULL|NULL))?(?:\\s+DEFAULT\\s+([^,\\s]+))?(?:\\s+AUTO_INCREMENT)?(?:\\s+COMMENT\\s+'([^']*)')?",
-        Pattern.CASE_INSENSITIVE
-    );
-    
-    // 主键模式
-    private static final Pattern PRIMARY_KEY_PATTERN = Pattern.compile(
-        "PRIMARY\\s+KEY\\s*\\(([^)]+)\\)",
-        Pattern.CASE_INSENSITIVE
-    );
+    /**
+     * 单条建表语句的扫描步数上限
+     */
+    @Value("${coffeeviz.parser.fallback-step-budget:" + CreateTableScanner.DEFAULT_STEP_BUDGET + "}")
+    private int stepBudget = CreateTableScanner.DEFAULT_STEP_BUDGET;
     
-    // 外键模式
-    private static final Pattern FOREIGN_KEY_PATTERN = Pattern.compile(
-        "(?:CONSTRAINT\\s+([`\\w]+)\\s+)?FOREIGN\\s+KEY\\s*\\(([^)]+)\\)\\s*REFERENCES\\s+([`\\w]+)\\s*\\(([^)]+)\\)(?:\\s+ON\\s+DELETE\\s+(CASCADE|SET\\s+NULL|RESTRICT|NO\\s+ACTION))?(?:\\s+ON\\s+UPDATE\\s+(CASCADE|SET\\s+NULL|RESTRICT|NO\\s+ACTION))?",
-        Pattern.CASE_INSENSITIVE
+    /**
+     * 表体中不是列定义的元素起始关键字
+     */
+    private static final Set<String> NON_COLUMN_KEYWORDS = Set.of(
+        "CHECK", "PERIOD", "LIKE", "EXCLUDE"
     );
     
-    // 索引模式
-    private static final Pattern INDEX_PATTERN = Pattern.compile(
-        "(UNIQUE\\s+)?(?:KEY|INDEX)\\s+([`\\w]+)\\s*\\(([^)]+)\\)",
-        Pattern.CASE_INSENSITIVE
+    /**
+     * 索引元素起始关键字
+     */
+    private static final Set<String> INDEX_KEYWORDS = Set.of(
+        "KEY", "INDEX", "UNIQUE", "FULLTEXT", "SPATIAL"
     );
     
     @Override
     public ParseResult parse(String sqlText, String dialect) {
-        log.info("开始使用正则表达式降级解析 SQL，方言: {}", dialect);
+        return parse(sqlText, dialect, ParseBudget.unlimited());
+    }
+    
+    /**
+     * 在时间预算内解析：扫描器在步进过程中检查截止时间，超时后返回已扫描出的表
+     */
+    @Override
+    public ParseResult parse(String sqlText, String dialect, ParseBudget budget) {
+        log.debug("开始使用降级扫描器解析 SQL，方言: {}", dialect);
         
         DatabaseModel databaseModel = new DatabaseModel();
         databaseModel.setDbType(dialect);
@@ -62,19 +65,18 @@ public class RegexFallbackParser implements SqlParser {
         warnings.add("使用降级解析策略，可能无法识别所有语法特性");
         
         try {
-            // 移除注释
-            String cleanedSql = removeComments(sqlText);
-            
-            // 查找所有 CREATE TABLE 语句
-            Matcher tableMatcher = CREATE_TABLE_PATTERN.matcher(cleanedSql);
+            CreateTableScanner scanner = new CreateTableScanner(sqlText, dialect, stepBudget, budget);
+            TableDefinition definition;
             
-            while (tableMatcher.find()) {
+            while ((definition = scanner.next()) != null) {
+                if (definition.error != null) {
+                    String error = "解析表 " + (definition.name != null ? definition.name : "") + " 失败: " + definition.error;
+                    log.warn(error);
+                    warnings.add(error);
+                    continue;
+                }
                 try {
-                    String tableName = cleanName(tableMatcher.group(1));
-                    String tableBody = tableMatcher.group(2);
-                    String tableComment = tableMatcher.group(3);
-                    
-                    TableModel table = parseTable(tableName, tableBody, tableComment);
+                    TableModel table = parseTable(definition);
                     databaseModel.getTables().add(table);
                 } catch (Exception e) {
                     String error = "解析表失败: " + e.getMessage();
@@ -87,11 +89,11 @@ public class RegexFallbackParser implements SqlParser {
                 return ParseResult.error("未找到任何表定义");
             }
             
-            log.info("正则表达式解析成功，共解析 {} 张表", databaseModel.getTables().size());
+            log.debug("降级扫描器解析成功，共解析 {} 张表", databaseModel.getTables().size());
             return ParseResult.success(databaseModel, warnings);
             
         } catch (Exception e) {
-            String error = "正则表达式解析失败: " + e.getMessage();
+            String error = "降级扫描器解析失败: " + e.getMessage();
             log.error(error, e);
             return ParseResult.error(error);
         }
@@ -106,94 +108,139 @@ public class RegexFallbackParser implements SqlParser {
     /**
      * 解析表
      */
-    private TableModel parseTable(String tableName, String tableBody, String tableComment) {
+    private TableModel parseTable(TableDefinition definition) {
         TableModel table = new TableModel();
-        table.setName(tableName);
-        table.setComment(tableComment);
+        table.setName(cleanName(definition.name));
+        table.setComment(definition.comment);
         table.setColumns(new ArrayList<>());
         table.setForeignKeys(new ArrayList<>());
         table.setIndexes(new ArrayList<>());
         
-        // 分割表体为行
-        String[] lines = tableBody.split(",(?![^()]*\\))");
-        
-        for (String line : lines) {
-            line = line.trim();
-            
-            // 检查是否是主键
-            Matcher pkMatcher = PRIMARY_KEY_PATTERN.matcher(line);
-            if (pkMatcher.find()) {
-                PrimaryKeyModel pk = parsePrimaryKey(pkMatcher.group(1));
-                table.setPrimaryKey(pk);
-                
-                // 标记主键列
-                for (String pkCol : pk.getColumns()) {
-                    table.getColumns().stream()
-                        .filter(col -> col.getName().equalsIgnoreCase(pkCol))
-                        .forEach(col -> col.setPrimaryKeyPart(true));
-                }
-                continue;
-            }
+        for (List<Token> element : definition.elements) {
+            Token first = element.get(0);
+            String keyword = first.kind == Kind.WORD ? first.text.toUpperCase() : "";
             
-            // 检查是否是外键
-            Matcher fkMatcher = FOREIGN_KEY_PATTERN.matcher(line);
-            if (fkMatcher.find()) {
-                ForeignKeyModel fk = parseForeignKey(fkMatcher, tableName);
-                table.getForeignKeys().add(fk);
-                continue;
-            }
-            
-            // 检查是否是索引
-            Matcher indexMatcher = INDEX_PATTERN.matcher(line);
-            if (indexMatcher.find()) {
-                IndexModel index = parseIndex(indexMatcher);
-                table.getIndexes().add(index);
-                continue;
+            // CONSTRAINT name ... 形式的约束
+            String constraintName = null;
+            int start = 0;
+            if (keyword.equals("CONSTRAINT") && element.size() > 2) {
+                constraintName = cleanName(element.get(1).text);
+                start = 2;
+                keyword = wordAt(element, 2);
             }
             
-            // 尝试解析为列定义
-            Matcher colMatcher = COLUMN_PATTERN.matcher(line);
-            if (colMatcher.find()) {
-                ColumnModel column = parseColumn(colMatcher);
-                table.getColumns().add(column);
+            if (keyword.equals("PRIMARY")) {
+                // 检查是否是主键
+                Token columns = firstGroup(element, start);
+                if (columns != null) {
+                    PrimaryKeyModel pk = parsePrimaryKey(columns);
+                    table.setPrimaryKey(pk);
+                    markPrimaryKeyColumns(table, pk);
+                }
+            } else if (keyword.equals("FOREIGN")) {
+                // 检查是否是外键
+                ForeignKeyModel fk = parseForeignKey(element, start, constraintName, table.getName());
+                if (fk != null) {
+                    table.getForeignKeys().add(fk);
+                }
+            } else if (INDEX_KEYWORDS.contains(keyword)) {
+                // 检查是否是索引
+                IndexModel index = parseIndex(element, start, constraintName);
+                if (index != null) {
+                    table.getIndexes().add(index);
+                }
+            } else if (start == 0 && !NON_COLUMN_KEYWORDS.contains(keyword)) {
+                // 尝试解析为列定义
+                ColumnModel column = parseColumn(element);
+                if (column != null) {
+                    table.getColumns().add(column);
+                    if (column.isPrimaryKeyPart() && table.getPrimaryKey() == null) {
+                        PrimaryKeyModel pk = new PrimaryKeyModel();
+                        pk.setColumns(new ArrayList<>(List.of(column.getName())));
+                        table.setPrimaryKey(pk);
+                    }
+                }
             }
         }
         
+        // 表级主键可能出现在列定义之前
+        if (table.getPrimaryKey() != null) {
+            markPrimaryKeyColumns(table, table.getPrimaryKey());
+        }
+        
         return table;
     }
     
     /**
-     * 解析列
+     * 解析列：name type[(args)] [NOT NULL | NULL] [DEFAULT value] [AUTO_INCREMENT] [COMMENT 'x'] ...
      */
-    private ColumnModel parseColumn(Matcher matcher) {
-        ColumnModel column = new ColumnModel();
-        column.setName(cleanName(matcher.group(1)));
-        column.setType(matcher.group(2));
-        column.setRawType(extractBaseType(matcher.group(2)));
-        
-        // 可空性
-        String nullability = matcher.group(3);
-        if (nullability != null) {
-            column.setNullable(!nullability.toUpperCase().contains("NOT NULL"));
-        } else {
-            column.setNullable(true); // 默认可空
+    private ColumnModel parseColumn(List<Token> element) {
+        if (element.size() < 2) {
+            return null;
         }
-        
-        // 默认值
-        if (matcher.group(4) != null) {
-            column.setDefaultValue(matcher.group(4));
+        Token nameToken = element.get(0);
+        Token typeToken = element.get(1);
+        if (nameToken.kind != Kind.WORD && nameToken.kind != Kind.QUOTED || typeToken.kind != Kind.WORD) {
+            return null;
         }
         
-        // 注释
-        if (matcher.group(5) != null) {
-            column.setComment(matcher.group(5));
+        ColumnModel column = new ColumnModel();
+        column.setName(cleanName(nameToken.text));
+        
+        int i = 2;
+        String type = typeToken.text;
+        if (i < element.size() && element.get(i).kind == Kind.GROUP) {
+            type = type + "(" + element.get(i).text + ")";
+            i++;
         }
+        column.setType(type);
+        column.setRawType(extractBaseType(type));
+        column.setNullable(true); // 默认可空
         
-        // 检查是否自动增长
-        String fullLine = matcher.group(0);
-        if (fullLine.toUpperCase().contains("AUTO_INCREMENT") || 
-            fullLine.toUpperCase().contains("AUTOINCREMENT")) {
-            column.setAutoIncrement(true);
+        for (; i < element.size(); i++) {
+            Token token = element.get(i);
+            if (token.kind != Kind.WORD) {
+                continue;
+            }
+            switch (token.text.toUpperCase()) {
+                case "NOT" -> {
+                    if (wordAt(element, i + 1).equals("NULL")) {
+                        // 可空性
+                        column.setNullable(false);
+                        i++;
+                    }
+                }
+                case "DEFAULT" -> {
+                    // 默认值
+                    if (i + 1 < element.size()) {
+                        i++;
+                        String value = element.get(i).text;
+                        if (element.get(i).kind == Kind.GROUP) {
+                            value = "(" + value + ")";
+                        } else if (value.equals("-") && i + 1 < element.size()) {
+                            value = value + element.get(++i).text;
+                        }
+                        column.setDefaultValue(value);
+                    }
+                }
+                case "COMMENT" -> {
+                    // 注释
+                    if (i + 1 < element.size() && element.get(i + 1).kind == Kind.STRING) {
+                        column.setComment(CreateTableScanner.unquote(element.get(++i).text));
+                    }
+                }
+                case "PRIMARY" -> {
+                    if (wordAt(element, i + 1).equals("KEY")) {
+                        column.setPrimaryKeyPart(true);
+                        column.setNullable(false);
+                        i++;
+                    }
+                }
+                // 检查是否自动增长
+                case "AUTO_INCREMENT", "AUTOINCREMENT" -> column.setAutoIncrement(true);
+                default -> {
+                }
+            }
         }
         
         return column;
@@ -202,96 +249,162 @@ public class RegexFallbackParser implements SqlParser {
     /**
      * 解析主键
      */
-    private PrimaryKeyModel parsePrimaryKey(String columnsStr) {
+    private PrimaryKeyModel parsePrimaryKey(Token columns) {
         PrimaryKeyModel pk = new PrimaryKeyModel();
-        
-        List<String> columns = new ArrayList<>();
-        for (String col : columnsStr.split(",")) {
-            columns.add(cleanName(col.trim()));
-        }
-        pk.setColumns(columns);
-        
+        pk.setColumns(columnNames(columns));
         return pk;
     }
     
     /**
-     * 解析外键
+     * 解析外键：FOREIGN KEY (cols) REFERENCES table (cols) [ON DELETE action] [ON UPDATE action]
      */
-    private ForeignKeyModel parseForeignKey(Matcher matcher, String fromTable) {
-        ForeignKeyModel fk = new ForeignKeyModel();
-        
-        if (matcher.group(1) != null) {
-            fk.setName(cleanName(matcher.group(1)));
+    private ForeignKeyModel parseForeignKey(List<Token> element, int start, String constraintName, String fromTable) {
+        Token fromColumns = firstGroup(element, start);
+        int references = indexOfWord(element, "REFERENCES", start);
+        if (fromColumns == null || references < 0) {
+            return null;
         }
         
-        fk.setFromTable(fromTable);
-        
-        // FROM 列
-        List<String> fromColumns = new ArrayList<>();
-        for (String col : matcher.group(2).split(",")) {
-            fromColumns.add(cleanName(col.trim()));
+        // TO 表（可带 schema 前缀，取最后一段）
+        String toTable = null;
+        int i = references + 1;
+        while (i < element.size() && (element.get(i).kind == Kind.WORD || element.get(i).kind == Kind.QUOTED)) {
+            toTable = element.get(i).text;
+            if (i + 1 < element.size() && element.get(i + 1).text.equals(".")) {
+                i += 2;
+            } else {
+                i++;
+                break;
+            }
         }
-        fk.setFromColumns(fromColumns);
-        
-        // TO 表
-        fk.setToTable(cleanName(matcher.group(3)));
-        
-        // TO 列
-        List<String> toColumns = new ArrayList<>();
-        for (String col : matcher.group(4).split(",")) {
-            toColumns.add(cleanName(col.trim()));
+        if (toTable == null || i >= element.size() || element.get(i).kind != Kind.GROUP) {
+            return null;
         }
-        fk.setToColumns(toColumns);
         
-        // ON DELETE
-        if (matcher.group(5) != null) {
-            fk.setOnDelete(matcher.group(5).toUpperCase().replace(" ", "_"));
-        }
+        ForeignKeyModel fk = new ForeignKeyModel();
+        fk.setName(constraintName);
+        fk.setFromTable(fromTable);
+        fk.setFromColumns(columnNames(fromColumns));
+        fk.setToTable(cleanName(toTable));
+        fk.setToColumns(columnNames(element.get(i)));
         
-        // ON UPDATE
-        if (matcher.group(6) != null) {
-            fk.setOnUpdate(matcher.group(6).toUpperCase().replace(" ", "_"));
+        // ON DELETE / ON UPDATE
+        for (i = i + 1; i < element.size(); i++) {
+            if (!wordAt(element, i).equals("ON")) {
+                continue;
+            }
+            String event = wordAt(element, i + 1);
+            String action = wordAt(element, i + 2);
+            if (action.equals("SET") || action.equals("NO")) {
+                action = action + "_" + wordAt(element, i + 3);
+            }
+            if (event.equals("DELETE")) {
+                fk.setOnDelete(action);
+            } else if (event.equals("UPDATE")) {
+                fk.setOnUpdate(action);
+            }
         }
         
         return fk;
     }
     
     /**
-     * 解析索引
+     * 解析索引：[UNIQUE | FULLTEXT | SPATIAL] [KEY | INDEX] [name] (cols)
      */
-    private IndexModel parseIndex(Matcher matcher) {
-        IndexModel index = new IndexModel();
+    private IndexModel parseIndex(List<Token> element, int start, String constraintName) {
+        Token columns = null;
+        String name = constraintName;
+        boolean unique = false;
         
-        boolean isUnique = matcher.group(1) != null;
-        index.setUnique(isUnique);
-        
-        index.setName(cleanName(matcher.group(2)));
-        
-        List<String> columns = new ArrayList<>();
-        for (String col : matcher.group(3).split(",")) {
-            columns.add(cleanName(col.trim()));
+        for (int i = start; i < element.size(); i++) {
+            Token token = element.get(i);
+            if (token.kind == Kind.GROUP) {
+                columns = token;
+                break;
+            }
+            if (token.kind == Kind.WORD && token.text.equalsIgnoreCase("UNIQUE")) {
+                unique = true;
+            } else if (token.kind == Kind.QUOTED
+                    || token.kind == Kind.WORD && !INDEX_KEYWORDS.contains(token.text.toUpperCase())) {
+                name = cleanName(token.text);
+            }
+        }
+        if (columns == null) {
+            return null;
         }
-        index.setColumns(columns);
         
+        IndexModel index = new IndexModel();
+        index.setUnique(unique);
+        index.setName(name);
+        index.setColumns(columnNames(columns));
         return index;
     }
     
     /**
-     * 移除 SQL 注释
+     * 标记主键列
+     */
+    private void markPrimaryKeyColumns(TableModel table, PrimaryKeyModel pk) {
+        for (String pkCol : pk.getColumns()) {
+            ColumnModel column = table.findColumn(pkCol);
+            if (column != null) {
+                column.setPrimaryKeyPart(true);
+            }
+        }
+    }
+    
+    /**
+     * 提取列名列表（去除引号、前缀长度与排序方向）
      */
-    private String removeComments(String sql) {
-        // 移除单行注释
-        sql = sql.replaceAll("--[^\n]*", "");
-        // 移除多行注释
-        sql = sql.replaceAll("/\\*.*?\\*/", "");
-        return sql;
+    private List<String> columnNames(Token group) {
+        List<String> columns = new ArrayList<>();
+        for (String item : group.items) {
+            String name = item.trim();
+            int space = name.indexOf(' ');
+            if (space > 0) {
+                name = name.substring(0, space);
+            }
+            int paren = name.indexOf('(');
+            if (paren > 0) {
+                name = name.substring(0, paren);
+            }
+            name = cleanName(name);
+            if (!name.isEmpty()) {
+                columns.add(name);
+            }
+        }
+        return columns;
+    }
+    
+    private Token firstGroup(List<Token> element, int start) {
+        for (int i = start; i < element.size(); i++) {
+            if (element.get(i).kind == Kind.GROUP) {
+                return element.get(i);
+            }
+        }
+        return null;
+    }
+    
+    private int indexOfWord(List<Token> element, String word, int start) {
+        for (int i = start; i < element.size(); i++) {
+            if (element.get(i).kind == Kind.WORD && element.get(i).text.equalsIgnoreCase(word)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private String wordAt(List<Token> element, int index) {
+        if (index < element.size() && element.get(index).kind == Kind.WORD) {
+            return element.get(index).text.toUpperCase();
+        }
+        return "";
     }
     
     /**
      * 清理名称（移除反引号等）
      */
     private String cleanName(String name) {
-        return name.replaceAll("[`'\"]", "").trim();
+        return name.replaceAll("[`'\"\\[\\]]", "").trim();
     }
     
     /**
@@ -1,6 +1,15 @@
 package com.coffeeviz.sql.parser;
 
+import com.coffeeviz.core.model.DatabaseModel;
 import com.coffeeviz.core.model.ParseResult;
+import com.coffeeviz.core.model.SymbolTable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * SQL DDL 解析器接口
@@ -19,6 +28,80 @@ public interface SqlParser {
      */
     ParseResult parse(String sqlText, String dialect);
     
+    /**
+     * 在时间预算内解析 SQL DDL
+     * 默认实现不检查预算；支持中断的实现在预算耗尽或被取消时尽快停止
+     * 
+     * @param sqlText SQL 文本
+     * @param dialect 方言（mysql/postgres/auto）
+     * @param budget 时间预算
+     * @return 解析结果（超出预算时可能只包含部分表，见 {@link ParseResult#isPartial()}）
+     */
+    default ParseResult parse(String sqlText, String dialect, ParseBudget budget) {
+        return parse(sqlText, dialect);
+    }
+    
+    /**
+     * 在时间预算内流式解析 SQL DDL
+     * 
+     * @param reader SQL 输入流（方法结束时关闭）
+     * @param dialect 方言（mysql/postgres/auto）
+     * @param budget 时间预算
+     * @return 解析结果（超出预算时可能只包含部分表）
+     */
+    default ParseResult parse(Reader reader, String dialect, ParseBudget budget) {
+        return parse(reader, dialect);
+    }
+    
+    /**
+     * 流式解析 SQL DDL（适用于大型 dump 文件）
+     * 逐条读取语句，跳过 INSERT 等数据语句，仅将 CREATE TABLE 交给 {@link #parse(String, String)}；
+     * ALTER TABLE 语句暂存，全部建表语句解析完成后合并其中的外键。内存占用只与最大单条语句和 ALTER TABLE 语句总量相关
+     * 
+     * @param reader SQL 输入流（方法结束时关闭）
+     * @param dialect 方言（mysql/postgres/auto）
+     * @return 解析结果
+     */
+    default ParseResult parse(Reader reader, String dialect) {
+        DatabaseModel databaseModel = DatabaseModel.builder()
+                .dbType(dialect)
+                .build();
+        Set<String> warnings = new LinkedHashSet<>();
+        SymbolTable symbols = new SymbolTable();
+        List<String> alterStatements = new ArrayList<>();
+        
+        try (SqlStatementReader statements = new SqlStatementReader(reader, dialect)) {
+            SqlStatement statement;
+            while ((statement = statements.next()) != null) {
+                if (statement.getType() == SqlStatement.Type.ALTER_TABLE) {
+                    alterStatements.add(statement.getText());
+                    continue;
+                }
+                if (statement.getType() != SqlStatement.Type.CREATE_TABLE) {
+                    continue;
+                }
+                ParseResult result = parse(statement.getText(), dialect);
+                if (result.isSuccess() && result.getDatabaseModel() != null) {
+                    result.getDatabaseModel().getTables().forEach(symbols::intern);
+                    databaseModel.getTables().addAll(result.getDatabaseModel().getTables());
+                    if (result.getWarnings() != null) {
+                        warnings.addAll(result.getWarnings());
+                    }
+                } else {
+                    warnings.add("第 " + statement.getLine() + " 行的建表语句解析失败: " + result.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            return ParseResult.error("读取 SQL 失败: " + e.getMessage());
+        }
+        
+        if (databaseModel.getTables().isEmpty()) {
+            return ParseResult.error("未找到任何表定义");
+        }
+        AlterForeignKeys.reconcile(databaseModel, alterStatements, warnings);
+        return ParseResult.success(databaseModel, new ArrayList<>(warnings));
+    }
+    
     /**
      * 检查是否支持指定方言
      * 
@@ -0,0 +1,366 @@
+package com.coffeeviz.sql.parser;
+
+/**
+ * SQL 单遍预处理器
+ * 一次线性扫描完成以下处理，只分配一个输出缓冲区：
+ * <ul>
+ *   <li>移除 delimiter 命令（MySQL 客户端特殊命令）</li>
+ *   <li>移除 DROP TRIGGER IF EXISTS 语句和 CREATE TRIGGER ... END 触发器定义</li>
+ *   <li>将 ;; 替换为 ;</li>
+ *   <li>将三个及以上的连续空行压缩为一个空行</li>
+ * </ul>
+ * 字符串、引号标识符和注释中的内容原样保留，不会被误识别为关键字或分隔符
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+public final class SqlPreprocessor {
+
+    private final String sql;
+    private final int length;
+    private final boolean backslashEscapes;
+    private final boolean hashComments;
+    private final StringBuilder out;
+
+    /**
+     * 输出末尾空白段的起始位置（-1 表示末尾不是空白）
+     */
+    private int wsStart = -1;
+
+    /**
+     * 末尾空白段中第一个和最后一个换行符的位置，以及换行数
+     */
+    private int firstNewline = -1;
+    private int lastNewline = -1;
+    private int newlineCount;
+
+    /**
+     * 已确认从该位置之后不存在触发器结束标记（END;），避免重复向后查找
+     */
+    private int noTriggerEndFrom = Integer.MAX_VALUE;
+
+    private SqlPreprocessor(String sql, String dialect) {
+        this.sql = sql;
+        this.length = sql.length();
+        String d = dialect != null ? dialect.toLowerCase() : "auto";
+        this.backslashEscapes = switch (d) {
+            case "postgres", "postgresql", "pg", "kingbase", "oracle", "dm", "sqlserver", "mssql", "sqlite" -> false;
+            default -> true;
+        };
+        this.hashComments = switch (d) {
+            case "mysql", "mariadb", "auto" -> true;
+            default -> false;
+        };
+        this.out = new StringBuilder(length);
+    }
+
+    /**
+     * 预处理 SQL 文本
+     *
+     * @param sql SQL 文本
+     * @param dialect 方言（决定反斜杠转义与 # 注释的识别）
+     * @return 处理后的 SQL
+     */
+    public static String process(String sql, String dialect) {
+        if (sql == null || sql.isEmpty()) {
+            return sql;
+        }
+        return new SqlPreprocessor(sql, dialect).run();
+    }
+
+    private String run() {
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+
+            if (c == '\'' || c == '"' || c == '`') {
+                i = copyQuoted(i, c);
+            } else if (c == '-' && charAt(i + 1) == '-') {
+                i = copyLineComment(i);
+            } else if (c == '#' && hashComments) {
+                i = copyLineComment(i);
+            } else if (c == '/' && charAt(i + 1) == '*') {
+                i = copyBlockComment(i);
+            } else if (c == ';' && charAt(i + 1) == ';') {
+                emit(';');
+                i += 2;
+            } else if (isWordStart(i) && (c == 'd' || c == 'D' || c == 'c' || c == 'C')) {
+                int end = c == 'd' || c == 'D' ? matchDelimiterOrDropTrigger(i) : matchTrigger(i);
+                if (end > i) {
+                    i = end;
+                } else {
+                    i = copyWord(i);
+                }
+            } else {
+                emit(c);
+                i++;
+            }
+        }
+        finishWhitespace();
+        return out.toString();
+    }
+
+    /**
+     * 匹配 "delimiter ;;" / "delimiter ;" 命令或 DROP TRIGGER IF EXISTS 语句
+     *
+     * @return 匹配结束位置，未匹配时返回 -1
+     */
+    private int matchDelimiterOrDropTrigger(int start) {
+        int p = matchWord(start, "DELIMITER");
+        if (p > 0) {
+            return matchDelimiterCommand(p);
+        }
+
+        p = matchWords(start, "DROP", "TRIGGER", "IF", "EXISTS");
+        if (p < 0 || !isWhitespace(charAt(p))) {
+            return -1;
+        }
+        p = skipWhitespace(p);
+        if (charAt(p) == '`') {
+            p++;
+        }
+        int nameStart = p;
+        while (p < length && isWordChar(sql.charAt(p))) {
+            p++;
+        }
+        if (p == nameStart) {
+            return -1;
+        }
+        if (charAt(p) == '`') {
+            p++;
+        }
+        p = skipWhitespace(p);
+        return charAt(p) == ';' ? p + 1 : -1;
+    }
+
+    /**
+     * 匹配 delimiter 之后的 ";;" 或 ";"，并吞掉其后直到最后一个换行符的空白
+     */
+    private int matchDelimiterCommand(int p) {
+        if (!isWhitespace(charAt(p))) {
+            return -1;
+        }
+        p = skipWhitespace(p);
+        if (charAt(p) != ';') {
+            return -1;
+        }
+        p++;
+        if (charAt(p) == ';') {
+            p++;
+        }
+
+        int lastBreak = -1;
+        int q = p;
+        while (q < length && isWhitespace(sql.charAt(q))) {
+            if (sql.charAt(q) == '\n') {
+                lastBreak = q;
+            }
+            q++;
+        }
+        if (lastBreak >= 0) {
+            return lastBreak + 1;
+        }
+        return q == length ? q : -1;
+    }
+
+    /**
+     * 匹配 CREATE TRIGGER ... END; 触发器定义（结束处可以是 ; 或 ;;）
+     *
+     * @return 匹配结束位置，未匹配时返回 -1
+     */
+    private int matchTrigger(int start) {
+        int p = matchWords(start, "CREATE", "TRIGGER");
+        if (p < 0 || p >= noTriggerEndFrom) {
+            return -1;
+        }
+
+        while (p < length) {
+            char c = sql.charAt(p);
+            if (c == '\'' || c == '"' || c == '`') {
+                p = skipQuoted(p, c);
+            } else if (c == '-' && charAt(p + 1) == '-' || c == '#' && hashComments) {
+                p = skipLineComment(p);
+            } else if (c == '/' && charAt(p + 1) == '*') {
+                p = skipBlockComment(p);
+            } else if ((c == 'e' || c == 'E') && isWordStart(p)) {
+                int end = matchWord(p, "END");
+                if (end > 0) {
+                    int q = skipWhitespace(end);
+                    if (charAt(q) == ';') {
+                        return charAt(q + 1) == ';' ? q + 2 : q + 1;
+                    }
+                    p = end;
+                } else {
+                    p++;
+                }
+            } else {
+                p++;
+            }
+        }
+
+        noTriggerEndFrom = start;
+        return -1;
+    }
+
+    /**
+     * 匹配以空白分隔的一组关键字（不区分大小写）
+     *
+     * @return 最后一个关键字之后的位置，未匹配时返回 -1
+     */
+    private int matchWords(int start, String... words) {
+        int p = start;
+        for (int w = 0; w < words.length; w++) {
+            if (w > 0) {
+                if (!isWhitespace(charAt(p))) {
+                    return -1;
+                }
+                p = skipWhitespace(p);
+            }
+            p = matchWord(p, words[w]);
+            if (p < 0) {
+                return -1;
+            }
+        }
+        return p;
+    }
+
+    /**
+     * 匹配单个关键字（不区分大小写，要求关键字后不是标识符字符）
+     */
+    private int matchWord(int start, String word) {
+        int end = start + word.length();
+        if (end > length || !sql.regionMatches(true, start, word, 0, word.length())) {
+            return -1;
+        }
+        return end < length && isWordChar(sql.charAt(end)) ? -1 : end;
+    }
+
+    private int copyWord(int start) {
+        int p = start;
+        while (p < length && isWordChar(sql.charAt(p))) {
+            emit(sql.charAt(p++));
+        }
+        return p;
+    }
+
+    private int copyQuoted(int start, char quote) {
+        int end = skipQuoted(start, quote);
+        emitRange(start, end);
+        return end;
+    }
+
+    private int copyLineComment(int start) {
+        int end = skipLineComment(start);
+        emitRange(start, end);
+        return end;
+    }
+
+    private int copyBlockComment(int start) {
+        int end = skipBlockComment(start);
+        emitRange(start, end);
+        return end;
+    }
+
+    /**
+     * 跳过引号内容（支持 '' 双写转义和反斜杠转义）
+     *
+     * @return 结束引号之后的位置
+     */
+    private int skipQuoted(int start, char quote) {
+        int p = start + 1;
+        while (p < length) {
+            char c = sql.charAt(p);
+            if (c == '\\' && backslashEscapes && quote != '`') {
+                p += 2;
+            } else if (c == quote) {
+                if (charAt(p + 1) == quote) {
+                    p += 2;
+                } else {
+                    return p + 1;
+                }
+            } else {
+                p++;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 跳过行注释（不含换行符）
+     */
+    private int skipLineComment(int start) {
+        int end = sql.indexOf('\n', start);
+        return end < 0 ? length : end;
+    }
+
+    /**
+     * 跳过块注释（含结束标记）
+     */
+    private int skipBlockComment(int start) {
+        int end = sql.indexOf("*/", start + 2);
+        return end < 0 ? length : end + 2;
+    }
+
+    private int skipWhitespace(int p) {
+        while (p < length && isWhitespace(sql.charAt(p))) {
+            p++;
+        }
+        return p;
+    }
+
+    private void emitRange(int start, int end) {
+        for (int p = start; p < end; p++) {
+            emit(sql.charAt(p));
+        }
+    }
+
+    /**
+     * 输出一个字符，并跟踪末尾空白段以便压缩连续空行
+     */
+    private void emit(char c) {
+        if (isWhitespace(c)) {
+            if (wsStart < 0) {
+                wsStart = out.length();
+            }
+            if (c == '\n') {
+                if (firstNewline < 0) {
+                    firstNewline = out.length();
+                }
+                lastNewline = out.length();
+                newlineCount++;
+            }
+        } else if (wsStart >= 0) {
+            finishWhitespace();
+        }
+        out.append(c);
+    }
+
+    /**
+     * 结束当前空白段：包含三个及以上换行时，将首尾换行之间的内容替换为一个空行
+     */
+    private void finishWhitespace() {
+        if (newlineCount >= 3) {
+            out.replace(firstNewline, lastNewline + 1, "\n\n");
+        }
+        wsStart = -1;
+        firstNewline = -1;
+        lastNewline = -1;
+        newlineCount = 0;
+    }
+
+    private boolean isWordStart(int p) {
+        return p == 0 || !isWordChar(sql.charAt(p - 1));
+    }
+
+    private char charAt(int p) {
+        return p < length ? sql.charAt(p) : '\0';
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == 0x0B;
+    }
+}
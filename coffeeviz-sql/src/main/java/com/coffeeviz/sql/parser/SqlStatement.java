@@ -0,0 +1,61 @@
+package com.coffeeviz.sql.parser;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 单条 SQL 语句
+ * 由 {@link SqlStatementReader} 切分产生，文本中已去除注释
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@Data
+@AllArgsConstructor
+public class SqlStatement {
+
+    /**
+     * 语句序号（从 0 开始，仅统计输出的 DDL 语句）
+     */
+    private int index;
+
+    /**
+     * 语句起始行号（从 1 开始）
+     */
+    private int line;
+
+    /**
+     * 语句类型
+     */
+    private Type type;
+
+    /**
+     * 语句文本（不含结束分隔符）
+     */
+    private String text;
+
+    /**
+     * 语句类型枚举
+     */
+    public enum Type {
+        /**
+         * CREATE TABLE
+         */
+        CREATE_TABLE,
+
+        /**
+         * ALTER TABLE
+         */
+        ALTER_TABLE,
+
+        /**
+         * CREATE INDEX
+         */
+        CREATE_INDEX,
+
+        /**
+         * COMMENT ON（PostgreSQL / Oracle 的表、列注释）
+         */
+        COMMENT
+    }
+}
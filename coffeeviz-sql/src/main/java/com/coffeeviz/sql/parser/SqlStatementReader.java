@@ -0,0 +1,662 @@
+package com.coffeeviz.sql.parser;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 流式 SQL 语句读取器
+ * 从 {@link Reader} 中逐条切分语句，正确处理引号、注释、DELIMITER 命令、
+ * SQL Server 的 GO 批处理分隔符以及 PostgreSQL 的 $$ 引用和 COPY 数据段。
+ * <p>
+ * 只输出 DDL 语句（CREATE TABLE / ALTER TABLE / CREATE INDEX / COMMENT ON），
+ * INSERT 等数据语句在识别出语句类型后即停止缓冲、直接跳过，
+ * 因此内存占用只与最大单条 DDL 语句相关，与输入文件大小无关。
+ * </p>
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class SqlStatementReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * 最大前瞻字符数（同时限制自定义分隔符和 $tag$ 的长度）
+     */
+    private static final int MAX_LOOKAHEAD = 64;
+
+    /**
+     * 判定语句类型最多读取的关键字数量
+     */
+    private static final int MAX_HEAD_WORDS = 8;
+
+    private static final String DEFAULT_DELIMITER = ";";
+
+    private static final String DELIMITER_COMMAND = "DELIMITER";
+
+    /**
+     * 引号内容在语句头部关键字中的占位符
+     */
+    private static final String QUOTED_WORD = "?";
+
+    /**
+     * CREATE 与对象类型之间可能出现的修饰词
+     */
+    private static final Set<String> CREATE_MODIFIERS = Set.of(
+            "OR", "REPLACE", "TEMPORARY", "TEMP", "GLOBAL", "LOCAL", "UNLOGGED",
+            "UNIQUE", "CLUSTERED", "NONCLUSTERED", "BITMAP", "FULLTEXT", "SPATIAL"
+    );
+
+    private static final Pattern COPY_FROM_STDIN = Pattern.compile("(?i)\\bFROM\\s+STDIN\\b");
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private boolean eof;
+
+    /**
+     * 字符串中反斜杠是否为转义符（MySQL 风格）
+     */
+    private final boolean backslashEscapes;
+
+    /**
+     * 是否支持 # 单行注释（MySQL 风格）
+     */
+    private final boolean hashComments;
+
+    /**
+     * 是否支持 [标识符]（SQL Server 风格）
+     */
+    private final boolean bracketIdentifiers;
+
+    private String delimiter = DEFAULT_DELIMITER;
+    private int line = 1;
+    private int emitted;
+    private long skipped;
+    private boolean exhausted;
+
+    // 当前语句的扫描状态
+    private final StringBuilder text = new StringBuilder();
+    private final StringBuilder word = new StringBuilder();
+    private final List<String> words = new ArrayList<>();
+    private Mode mode;
+    private SqlStatement.Type type;
+    private boolean started;
+    private int statementLine;
+    private boolean lineStart = true;
+    private int lastChar;
+
+    /**
+     * 语句处理模式
+     */
+    private enum Mode {
+        /**
+         * 尚未识别语句类型，缓冲语句头部
+         */
+        UNDECIDED,
+        /**
+         * DDL 语句，完整缓冲
+         */
+        KEEP,
+        /**
+         * PostgreSQL COPY 语句，缓冲语句头部以判断是否跟随数据段
+         */
+        COPY,
+        /**
+         * 非 DDL 语句，只扫描边界不缓冲
+         */
+        SKIP
+    }
+
+    public SqlStatementReader(Reader reader) {
+        this(reader, null);
+    }
+
+    public SqlStatementReader(Reader reader, String dialect) {
+        this.reader = reader;
+        String d = dialect != null ? dialect.toLowerCase() : "auto";
+        this.backslashEscapes = backslashEscapes(d);
+        this.hashComments = switch (d) {
+            case "mysql", "mariadb", "auto" -> true;
+            default -> false;
+        };
+        this.bracketIdentifiers = switch (d) {
+            case "sqlserver", "mssql" -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * 读取下一条 DDL 语句
+     *
+     * @return 语句，输入结束时返回 null
+     * @throws IOException 读取失败
+     */
+    public SqlStatement next() throws IOException {
+        while (!exhausted) {
+            boolean terminated = scanStatement();
+            if (!terminated) {
+                exhausted = true;
+            }
+            SqlStatement statement = finishStatement();
+            if (statement != null) {
+                return statement;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 已跳过的非 DDL 语句数量
+     */
+    public long getSkippedCount() {
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * 扫描一条语句
+     *
+     * @return 是否遇到语句分隔符（false 表示输入已结束）
+     */
+    private boolean scanStatement() throws IOException {
+        resetStatement();
+        while (true) {
+            int c = peek(0);
+            if (c < 0) {
+                endWord();
+                return false;
+            }
+            if (lineStart && (c == 'G' || c == 'g') && consumeGoBatch()) {
+                endWord();
+                return true;
+            }
+            if (matchesDelimiter()) {
+                pos += delimiter.length();
+                endWord();
+                return true;
+            }
+            if (!started && mode == Mode.UNDECIDED && (c == 'D' || c == 'd') && consumeDelimiterCommand()) {
+                continue;
+            }
+            if (c == '-' && peek(1) == '-') {
+                skipLineComment();
+            } else if (c == '#' && hashComments) {
+                skipLineComment();
+            } else if (c == '/' && peek(1) == '*') {
+                skipBlockComment();
+            } else if (c == '\'' || c == '"' || c == '`') {
+                consumeQuoted((char) c, (char) c);
+            } else if (c == '[' && bracketIdentifiers) {
+                consumeQuoted('[', ']');
+            } else if (c == '$' && !isIdentifierChar(lastChar) && consumeDollarQuoted()) {
+                // $tag$ ... $tag$ 已整体消费
+            } else {
+                pos++;
+                consumeChar((char) c);
+            }
+        }
+    }
+
+    /**
+     * 结束当前语句，返回需要输出的 DDL 语句
+     */
+    private SqlStatement finishStatement() throws IOException {
+        if (mode == Mode.UNDECIDED) {
+            decide(true);
+        }
+        switch (mode) {
+            case KEEP -> {
+                String sql = text.toString().trim();
+                if (sql.isEmpty()) {
+                    return null;
+                }
+                return new SqlStatement(emitted++, statementLine, type, sql);
+            }
+            case COPY -> {
+                skipped++;
+                if (COPY_FROM_STDIN.matcher(text).find()) {
+                    skipCopyData();
+                }
+                return null;
+            }
+            default -> {
+                if (started) {
+                    skipped++;
+                }
+                return null;
+            }
+        }
+    }
+
+    private void resetStatement() {
+        text.setLength(0);
+        word.setLength(0);
+        words.clear();
+        mode = Mode.UNDECIDED;
+        type = null;
+        started = false;
+        lastChar = -1;
+    }
+
+    /**
+     * 消费一个普通字符
+     */
+    private void consumeChar(char c) {
+        if (c == '\n') {
+            line++;
+            lineStart = true;
+        } else if (!Character.isWhitespace(c)) {
+            lineStart = false;
+            markStarted();
+        }
+        if (mode == Mode.UNDECIDED) {
+            if (isIdentifierChar(c)) {
+                word.append(Character.toUpperCase(c));
+            } else {
+                endWord();
+            }
+        }
+        append(c);
+        lastChar = c;
+    }
+
+    private void append(char c) {
+        if (mode == Mode.SKIP) {
+            return;
+        }
+        if (text.length() == 0 && Character.isWhitespace(c)) {
+            return;
+        }
+        text.append(c);
+    }
+
+    private void markStarted() {
+        if (!started) {
+            started = true;
+            statementLine = line;
+        }
+    }
+
+    /**
+     * 注释等分隔位置：结束当前关键字并以单个空格代替
+     */
+    private void separator() {
+        endWord();
+        if (mode != Mode.SKIP && text.length() > 0 && !Character.isWhitespace(text.charAt(text.length() - 1))) {
+            text.append(' ');
+        }
+        lastChar = ' ';
+    }
+
+    private void endWord() {
+        if (mode == Mode.UNDECIDED && word.length() > 0) {
+            words.add(word.toString());
+            word.setLength(0);
+            decide(false);
+        }
+    }
+
+    /**
+     * 根据语句头部关键字判定语句类型
+     *
+     * @param force 语句已结束，无法再读取更多关键字
+     */
+    private void decide(boolean force) {
+        if (mode != Mode.UNDECIDED) {
+            return;
+        }
+        if (words.isEmpty()) {
+            if (force) {
+                mode = Mode.SKIP;
+            }
+            return;
+        }
+        switch (words.get(0)) {
+            case "CREATE" -> {
+                for (int i = 1; i < words.size(); i++) {
+                    String w = words.get(i);
+                    if (CREATE_MODIFIERS.contains(w)) {
+                        continue;
+                    }
+                    if ("TABLE".equals(w)) {
+                        keep(SqlStatement.Type.CREATE_TABLE);
+                    } else if ("INDEX".equals(w)) {
+                        keep(SqlStatement.Type.CREATE_INDEX);
+                    } else {
+                        skip();
+                    }
+                    return;
+                }
+            }
+            case "ALTER" -> {
+                if (words.size() > 1) {
+                    if ("TABLE".equals(words.get(1))) {
+                        keep(SqlStatement.Type.ALTER_TABLE);
+                    } else {
+                        skip();
+                    }
+                    return;
+                }
+            }
+            case "COMMENT" -> {
+                if (words.size() > 1) {
+                    if ("ON".equals(words.get(1))) {
+                        keep(SqlStatement.Type.COMMENT);
+                    } else {
+                        skip();
+                    }
+                    return;
+                }
+            }
+            case "COPY" -> {
+                mode = Mode.COPY;
+                return;
+            }
+            default -> {
+                skip();
+                return;
+            }
+        }
+        if (force || words.size() >= MAX_HEAD_WORDS) {
+            skip();
+        }
+    }
+
+    private void keep(SqlStatement.Type statementType) {
+        mode = Mode.KEEP;
+        type = statementType;
+        words.clear();
+    }
+
+    private void skip() {
+        mode = Mode.SKIP;
+        text.setLength(0);
+        words.clear();
+        word.setLength(0);
+    }
+
+    private boolean matchesDelimiter() throws IOException {
+        for (int i = 0; i < delimiter.length(); i++) {
+            if (peek(i) != delimiter.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 处理 MySQL 客户端的 DELIMITER 命令（仅在语句开头生效）
+     */
+    private boolean consumeDelimiterCommand() throws IOException {
+        for (int i = 0; i < DELIMITER_COMMAND.length(); i++) {
+            if (Character.toUpperCase(peek(i)) != DELIMITER_COMMAND.charAt(i)) {
+                return false;
+            }
+        }
+        int next = peek(DELIMITER_COMMAND.length());
+        if (next != ' ' && next != '\t') {
+            return false;
+        }
+        pos += DELIMITER_COMMAND.length();
+
+        StringBuilder value = new StringBuilder();
+        int c;
+        while ((c = peek(0)) >= 0 && c != '\n' && c != '\r') {
+            pos++;
+            if (!Character.isWhitespace(c)) {
+                value.append((char) c);
+            } else if (value.length() > 0) {
+                break;
+            }
+        }
+        while ((c = peek(0)) >= 0 && c != '\n') {
+            pos++;
+        }
+
+        if (value.length() > 0 && value.length() < MAX_LOOKAHEAD) {
+            delimiter = value.toString();
+            log.debug("第 {} 行切换语句分隔符: {}", line, delimiter);
+        }
+        return true;
+    }
+
+    /**
+     * 处理 SQL Server 的 GO 批处理分隔符（独占一行，可带重复次数）
+     */
+    private boolean consumeGoBatch() throws IOException {
+        if (Character.toUpperCase(peek(1)) != 'O') {
+            return false;
+        }
+        int i = 2;
+        while (i < MAX_LOOKAHEAD && (peek(i) == ' ' || peek(i) == '\t')) {
+            i++;
+        }
+        while (i < MAX_LOOKAHEAD && peek(i) >= '0' && peek(i) <= '9') {
+            i++;
+        }
+        while (i < MAX_LOOKAHEAD && (peek(i) == ' ' || peek(i) == '\t' || peek(i) == '\r')) {
+            i++;
+        }
+        int end = peek(i);
+        if (end >= 0 && end != '\n') {
+            return false;
+        }
+        pos += i;
+        return true;
+    }
+
+    private void skipLineComment() throws IOException {
+        int c;
+        while ((c = peek(0)) >= 0 && c != '\n') {
+            pos++;
+        }
+        separator();
+    }
+
+    private void skipBlockComment() throws IOException {
+        pos += 2;
+        int c;
+        while ((c = peek(0)) >= 0) {
+            if (c == '*' && peek(1) == '/') {
+                pos += 2;
+                break;
+            }
+            if (c == '\n') {
+                line++;
+            }
+            pos++;
+        }
+        separator();
+    }
+
+    /**
+     * 方言的字符串中反斜杠是否为转义符（MySQL / MariaDB 以及无法识别方言时为是）
+     */
+    static boolean backslashEscapes(String dialect) {
+        return switch (dialect != null ? dialect.toLowerCase() : "auto") {
+            case "postgres", "postgresql", "pg", "kingbase", "oracle", "dm", "sqlserver", "mssql", "sqlite" -> false;
+            default -> true;
+        };
+    }
+
+    /**
+     * 消费引号内容（字符串、双引号/反引号/方括号标识符）
+     */
+    private void consumeQuoted(char open, char close) throws IOException {
+        endWord();
+        markStarted();
+        lineStart = false;
+        pos++;
+        append(open);
+        boolean escapes = backslashEscapes && (open == '\'' || open == '"');
+        int c;
+        while ((c = peek(0)) >= 0) {
+            pos++;
+            if (c == '\n') {
+                line++;
+            }
+            append((char) c);
+            if (escapes && c == '\\') {
+                int escaped = peek(0);
+                if (escaped >= 0) {
+                    pos++;
+                    if (escaped == '\n') {
+                        line++;
+                    }
+                    append((char) escaped);
+                }
+            } else if (c == close) {
+                if (peek(0) == close) {
+                    pos++;
+                    append(close);
+                } else {
+                    break;
+                }
+            }
+        }
+        lastChar = close;
+        quotedWord();
+    }
+
+    /**
+     * 消费 PostgreSQL 的 $tag$ ... $tag$ 引用内容
+     *
+     * @return 是否为合法的 $tag$ 起始
+     */
+    private boolean consumeDollarQuoted() throws IOException {
+        int i = 1;
+        int c = peek(i);
+        if (c >= '0' && c <= '9') {
+            return false;
+        }
+        while (i < MAX_LOOKAHEAD && (c = peek(i)) >= 0 && c != '$' && isIdentifierChar(c)) {
+            i++;
+        }
+        if (c != '$' || i >= MAX_LOOKAHEAD) {
+            return false;
+        }
+        StringBuilder tag = new StringBuilder();
+        for (int j = 0; j <= i; j++) {
+            tag.append((char) peek(j));
+        }
+
+        endWord();
+        markStarted();
+        lineStart = false;
+        appendAll(tag);
+        pos += tag.length();
+        while ((c = peek(0)) >= 0) {
+            if (c == '$' && matches(tag)) {
+                appendAll(tag);
+                pos += tag.length();
+                break;
+            }
+            pos++;
+            if (c == '\n') {
+                line++;
+            }
+            append((char) c);
+        }
+        lastChar = '$';
+        quotedWord();
+        return true;
+    }
+
+    private void quotedWord() {
+        if (mode == Mode.UNDECIDED) {
+            words.add(QUOTED_WORD);
+            decide(false);
+        }
+    }
+
+    private void appendAll(CharSequence chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            append(chars.charAt(i));
+        }
+    }
+
+    private boolean matches(CharSequence chars) throws IOException {
+        for (int i = 0; i < chars.length(); i++) {
+            if (peek(i) != chars.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 跳过 COPY ... FROM stdin 之后的数据行，直到以 \. 结尾的行
+     */
+    private void skipCopyData() throws IOException {
+        skipRestOfLine();
+        while (peek(0) >= 0) {
+            if (peek(0) == '\\' && peek(1) == '.') {
+                int end = peek(2);
+                if (end < 0 || end == '\n' || end == '\r') {
+                    skipRestOfLine();
+                    return;
+                }
+            }
+            skipRestOfLine();
+        }
+    }
+
+    private void skipRestOfLine() throws IOException {
+        int c;
+        while ((c = peek(0)) >= 0) {
+            pos++;
+            if (c == '\n') {
+                line++;
+                lineStart = true;
+                return;
+            }
+        }
+    }
+
+    private static boolean isIdentifierChar(int c) {
+        return c >= 0 && (Character.isLetterOrDigit(c) || c == '_' || c == '$');
+    }
+
+    /**
+     * 查看当前位置之后第 offset 个字符，不移动读取位置
+     *
+     * @return 字符，输入结束时返回 -1
+     */
+    private int peek(int offset) throws IOException {
+        while (pos + offset >= limit) {
+            if (eof) {
+                return -1;
+            }
+            fill();
+        }
+        return buffer[pos + offset];
+    }
+
+    private void fill() throws IOException {
+        if (pos > 0) {
+            System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        int n = reader.read(buffer, limit, buffer.length - limit);
+        if (n < 0) {
+            eof = true;
+        } else {
+            limit += n;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.coffeeviz.sql.parser;
+
+import com.coffeeviz.core.codec.SchemaCodec;
+import com.coffeeviz.core.model.TableModel;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 建表语句解析结果缓存（按内容寻址）
+ * 以“方言 + 规范化后的 CREATE TABLE 语句”的哈希为键缓存解析出的 TableModel 片段，
+ * 用户只修改大文件中的少数表后重新提交时，未变化的语句直接复用缓存，只重新解析变化的语句；
+ * 表模型以 {@link SchemaCodec} 二进制形式保存（比对象图占用更少的堆内存，命中时解码出新的副本）；
+ * 按语句长度加权限制总容量，超出后按 LRU 淘汰
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class StatementCache {
+
+    private final boolean enabled;
+
+    private final Cache<String, Stored> cache;
+
+    public StatementCache(@Value("${coffeeviz.parser.statement-cache.enabled:true}") boolean enabled,
+                          @Value("${coffeeviz.parser.statement-cache.max-weight:32000000}") long maxWeight) {
+        this.enabled = enabled;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((String key, Stored stored) -> stored.weight)
+                .expireAfterAccess(Duration.ofHours(1))
+                .recordStats()
+                .build();
+        log.info("建表语句解析缓存: {}，容量上限 {} 字符", enabled ? "启用" : "禁用", maxWeight);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 计算语句的缓存键：方言 + 规范化语句（折叠引号外的连续空白）的 128 位哈希
+     * 引号的识别与 {@link SqlStatementReader} 一致：双写的引号不结束引用，
+     * 方言支持反斜杠转义时（见 {@link SqlStatementReader#backslashEscapes}）\' 与 \" 也不结束引用
+     */
+    public String key(String dialect, String statement) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        hasher.putString(dialect != null ? dialect.toLowerCase() : "", StandardCharsets.UTF_8);
+        hasher.putChar('\0');
+
+        boolean backslashEscapes = SqlStatementReader.backslashEscapes(dialect);
+        int length = statement.length();
+        char quote = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < length; i++) {
+            char c = statement.charAt(i);
+            if (quote == 0 && Character.isWhitespace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace) {
+                hasher.putChar(' ');
+                pendingSpace = false;
+            }
+            hasher.putChar(c);
+            if (quote == 0) {
+                if (c == '\'' || c == '"' || c == '`') {
+                    quote = c;
+                }
+            } else if (c == '\\' && backslashEscapes && quote != '`' && i + 1 < length) {
+                // 转义的字符原样计入，不结束引用
+                hasher.putChar(statement.charAt(++i));
+            } else if (c == quote) {
+                if (i + 1 < length && statement.charAt(i + 1) == quote) {
+                    hasher.putChar(statement.charAt(++i));
+                } else {
+                    quote = 0;
+                }
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * 查询缓存，命中时返回表模型的副本（调用方可以自由修改）
+     */
+    public Entry get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        Stored stored = cache.getIfPresent(key);
+        return stored != null ? stored.decode() : null;
+    }
+
+    /**
+     * 写入缓存（保存编码后的副本，之后对传入表模型的修改不会影响缓存）
+     */
+    public void put(String key, ParserTier tier, List<TableModel> tables, List<String> warnings,
+                    List<String> attemptLog, int statementLength) {
+        if (!enabled) {
+            return;
+        }
+        cache.put(key, new Stored(tier, SchemaCodec.encodeTables(tables, false),
+                warnings != null ? new ArrayList<>(warnings) : List.of(), new ArrayList<>(attemptLog), statementLength));
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 缓存统计（诊断用）
+     */
+    public Metrics metrics() {
+        CacheStats stats = cache.stats();
+        Metrics metrics = new Metrics();
+        metrics.setEnabled(enabled);
+        metrics.setSize(cache.size());
+        metrics.setHitCount(stats.hitCount());
+        metrics.setMissCount(stats.missCount());
+        metrics.setHitRate(Math.round(stats.hitRate() * 1000) / 1000.0);
+        metrics.setEvictionCount(stats.evictionCount());
+        return metrics;
+    }
+
+    /**
+     * 缓存中保存的内容：表模型片段为二进制编码，警告与失败记录为列表副本
+     */
+    private static final class Stored {
+        private final ParserTier tier;
+        private final byte[] tables;
+        private final List<String> warnings;
+        private final List<String> attemptLog;
+        private final int weight;
+
+        Stored(ParserTier tier, byte[] tables, List<String> warnings, List<String> attemptLog, int weight) {
+            this.tier = tier;
+            this.tables = tables;
+            this.warnings = warnings;
+            this.attemptLog = attemptLog;
+            this.weight = Math.max(1, weight);
+        }
+
+        Entry decode() {
+            return new Entry(tier, SchemaCodec.decodeTables(tables), new ArrayList<>(warnings), new ArrayList<>(attemptLog));
+        }
+    }
+
+    /**
+     * 缓存条目：解析层级、表模型片段、解析警告与之前层级的失败记录
+     */
+    public static final class Entry {
+        private final ParserTier tier;
+        private final List<TableModel> tables;
+        private final List<String> warnings;
+        private final List<String> attemptLog;
+
+        Entry(ParserTier tier, List<TableModel> tables, List<String> warnings, List<String> attemptLog) {
+            this.tier = tier;
+            this.tables = tables;
+            this.warnings = warnings;
+            this.attemptLog = attemptLog;
+        }
+
+        public ParserTier getTier() {
+            return tier;
+        }
+
+        public List<TableModel> getTables() {
+            return tables;
+        }
+
+        public List<String> getWarnings() {
+            return warnings;
+        }
+
+        public List<String> getAttemptLog() {
+            return attemptLog;
+        }
+    }
+
+    /**
+     * 缓存统计
+     */
+    @Data
+    public static class Metrics {
+        private boolean enabled;
+        private long size;
+        private long hitCount;
+        private long missCount;
+        private double hitRate;
+        private long evictionCount;
+    }
+}
@@ -0,0 +1,298 @@
+package com.coffeeviz.sql.parser;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 解析层级统计与自适应排序
+ * 按“方言 + 语句特征”对输入分类，使用无锁计数器记录各层级的尝试次数、成功次数与耗时；
+ * 样本足够后按成功率调整 L1 / L2 的顺序，并跳过长期失败的层级（L3 始终保留在最后兜底）
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class TierStatistics {
+
+    /**
+     * 开始调整顺序前每个层级需要的最少样本数
+     */
+    private static final long MIN_SAMPLES = 20;
+
+    /**
+     * 成功率低于该值的层级被跳过
+     */
+    private static final double SKIP_SUCCESS_RATE = 0.1;
+
+    /**
+     * 每隔多少次决策按默认顺序解析一次，让被跳过的层级仍有机会更新统计
+     */
+    private static final long EXPLORE_INTERVAL = 50;
+
+    /**
+     * 参与统计的语句特征关键字（与方言组合成输入分类）
+     */
+    private static final List<String> FEATURE_KEYWORDS = List.of(
+            "PARTITION", "GENERATED", "CHECK", "FULLTEXT", "SPATIAL");
+
+    private final Map<String, ClassStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * 固定层级顺序（调试用，设置后不再自适应调整）
+     */
+    private volatile List<ParserTier> staticOrder;
+
+    public TierStatistics(@Value("${coffeeviz.parser.tier-order:}") String tierOrder) {
+        this.staticOrder = parseOrder(tierOrder);
+        if (staticOrder != null) {
+            log.info("SQL 解析层级使用固定顺序: {}", staticOrder);
+        }
+    }
+
+    /**
+     * 计算语句的输入分类，例如 "mysql" 或 "mysql+PARTITION"
+     */
+    public static String classify(String dialect, String statement) {
+        StringBuilder key = new StringBuilder(dialect != null ? dialect.toLowerCase() : DialectDetector.AUTO);
+        for (String keyword : FEATURE_KEYWORDS) {
+            if (containsWord(statement, keyword)) {
+                key.append('+').append(keyword);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * 返回该分类当前应使用的层级顺序
+     *
+     * @param inputClass 输入分类
+     * @param defaultOrder 默认顺序（由方言决定）
+     */
+    public List<ParserTier> order(String inputClass, List<ParserTier> defaultOrder) {
+        List<ParserTier> fixed = staticOrder;
+        if (fixed != null) {
+            return fixed;
+        }
+        ClassStats classStats = stats.get(inputClass);
+        if (classStats == null || classStats.decisions.incrementAndGet() % EXPLORE_INTERVAL == 0) {
+            return defaultOrder;
+        }
+        return classStats.learnedOrder(defaultOrder);
+    }
+
+    /**
+     * 记录一次层级尝试
+     */
+    public void record(String inputClass, ParserTier tier, boolean success, long elapsedNanos) {
+        ClassStats classStats = stats.computeIfAbsent(inputClass, key -> new ClassStats());
+        int i = tier.ordinal();
+        classStats.attempts[i].increment();
+        if (success) {
+            classStats.successes[i].increment();
+        }
+        classStats.nanos[i].add(elapsedNanos);
+    }
+
+    /**
+     * 设置固定层级顺序（传入空值恢复自适应）
+     *
+     * @param tierOrder 逗号分隔的层级，例如 "L2,L1,L3"
+     */
+    public void setStaticOrder(String tierOrder) {
+        this.staticOrder = parseOrder(tierOrder);
+        log.info("SQL 解析层级固定顺序已更新: {}", staticOrder != null ? staticOrder : "自适应");
+    }
+
+    /**
+     * 清空统计数据
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+    /**
+     * 导出当前统计与学习到的顺序（诊断用）
+     */
+    public Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot();
+        snapshot.setStaticOrder(staticOrder);
+        List<ClassSnapshot> classes = new ArrayList<>();
+        stats.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> classes.add(entry.getValue().snapshot(entry.getKey())));
+        snapshot.setClasses(classes);
+        return snapshot;
+    }
+
+    private static List<ParserTier> parseOrder(String tierOrder) {
+        if (tierOrder == null || tierOrder.isBlank()) {
+            return null;
+        }
+        List<ParserTier> order = new ArrayList<>();
+        for (String name : tierOrder.split(",")) {
+            ParserTier tier = ParserTier.valueOf(name.trim().toUpperCase());
+            if (!order.contains(tier)) {
+                order.add(tier);
+            }
+        }
+        return List.copyOf(order);
+    }
+
+    private static boolean containsWord(String text, String word) {
+        int from = 0;
+        while (true) {
+            int index = indexOfIgnoreCase(text, word, from);
+            if (index < 0) {
+                return false;
+            }
+            int end = index + word.length();
+            boolean startOk = index == 0 || !Character.isLetterOrDigit(text.charAt(index - 1)) && text.charAt(index - 1) != '_';
+            boolean endOk = end == text.length() || !Character.isLetterOrDigit(text.charAt(end)) && text.charAt(end) != '_';
+            if (startOk && endOk) {
+                return true;
+            }
+            from = index + 1;
+        }
+    }
+
+    private static int indexOfIgnoreCase(String text, String word, int from) {
+        for (int i = from; i <= text.length() - word.length(); i++) {
+            if (text.regionMatches(true, i, word, 0, word.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 单个输入分类的计数器
+     */
+    private static class ClassStats {
+        private final LongAdder[] attempts = newAdders();
+        private final LongAdder[] successes = newAdders();
+        private final LongAdder[] nanos = newAdders();
+        private final AtomicLong decisions = new AtomicLong();
+
+        /**
+         * 根据成功率调整默认顺序：L3 固定在最后；成功率过低的层级跳过；
+         * 其余层级都有足够样本时按成功率从高到低排序
+         */
+        List<ParserTier> learnedOrder(List<ParserTier> defaultOrder) {
+            List<ParserTier> order = new ArrayList<>();
+            boolean allSampled = true;
+            for (ParserTier tier : defaultOrder) {
+                if (tier == ParserTier.L3) {
+                    continue;
+                }
+                long attempted = attempts[tier.ordinal()].sum();
+                if (attempted < MIN_SAMPLES) {
+                    allSampled = false;
+                    order.add(tier);
+                } else if (successRate(tier) >= SKIP_SUCCESS_RATE) {
+                    order.add(tier);
+                }
+            }
+            if (allSampled) {
+                order.sort(Comparator.comparingDouble(this::successRate).reversed());
+            }
+            if (defaultOrder.contains(ParserTier.L3)) {
+                order.add(ParserTier.L3);
+            }
+            return order;
+        }
+
+        double successRate(ParserTier tier) {
+            long attempted = attempts[tier.ordinal()].sum();
+            return attempted == 0 ? 0 : (double) successes[tier.ordinal()].sum() / attempted;
+        }
+
+        ClassSnapshot snapshot(String key) {
+            ClassSnapshot snapshot = new ClassSnapshot();
+            snapshot.setInputClass(key);
+            List<TierSnapshot> tiers = new ArrayList<>();
+            for (ParserTier tier : ParserTier.values()) {
+                long attempted = attempts[tier.ordinal()].sum();
+                TierSnapshot tierSnapshot = new TierSnapshot();
+                tierSnapshot.setTier(tier);
+                tierSnapshot.setAttempts(attempted);
+                tierSnapshot.setSuccesses(successes[tier.ordinal()].sum());
+                tierSnapshot.setSuccessRate(Math.round(successRate(tier) * 1000) / 1000.0);
+                tierSnapshot.setAvgMillis(attempted == 0 ? 0
+                        : Math.round(nanos[tier.ordinal()].sum() / (double) attempted / 1_000) / 1000.0);
+                tiers.add(tierSnapshot);
+            }
+            snapshot.setTiers(tiers);
+            snapshot.setLearnedOrder(learnedOrder(Arrays.asList(ParserTier.values())));
+            return snapshot;
+        }
+
+        private static LongAdder[] newAdders() {
+            LongAdder[] adders = new LongAdder[ParserTier.values().length];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+    }
+
+    /**
+     * 统计快照
+     */
+    @Data
+    public static class Snapshot {
+        /**
+         * 固定层级顺序（为空表示自适应）
+         */
+        private List<ParserTier> staticOrder;
+
+        /**
+         * 各输入分类的统计
+         */
+        private List<ClassSnapshot> classes;
+    }
+
+    /**
+     * 单个输入分类的统计快照
+     */
+    @Data
+    public static class ClassSnapshot {
+        /**
+         * 输入分类（方言 + 语句特征）
+         */
+        private String inputClass;
+
+        /**
+         * 各层级统计
+         */
+        private List<TierSnapshot> tiers;
+
+        /**
+         * 以 L1 → L2 → L3 为默认顺序时学习到的顺序
+         */
+        private List<ParserTier> learnedOrder;
+    }
+
+    /**
+     * 单个层级的统计快照
+     */
+    @Data
+    public static class TierSnapshot {
+        private ParserTier tier;
+        private long attempts;
+        private long successes;
+        private double successRate;
+        private double avgMillis;
+    }
+}
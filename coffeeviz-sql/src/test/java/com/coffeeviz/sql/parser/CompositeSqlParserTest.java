@@ -4,8 +4,14 @@ import com.coffeeviz.core.model.*;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.io.StringReader;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 
 /**
  * CompositeSqlParser 单元测试
@@ -17,13 +23,24 @@ import static org.assertj.core.api.Assertions.assertThat;
     CompositeSqlParser.class,
     JSqlParserImpl.class,
     DruidSqlParserImpl.class,
-    RegexFallbackParser.class
+    RegexFallbackParser.class,
+    TierStatistics.class,
+    StatementCache.class
 })
 class CompositeSqlParserTest {
     
     @Autowired
     private CompositeSqlParser parser;
     
+    @Autowired
+    private StatementCache statementCache;
+    
+    @Autowired
+    private TierStatistics tierStatistics;
+    
+    @SpyBean
+    private DruidSqlParserImpl druidSqlParser;
+    
     @Test
     void testParseMySqlSimpleTable() {
         String sql = """
@@ -333,4 +350,247 @@ class CompositeSqlParserTest {
         assertThat(result.isSuccess()).isTrue();
         assertThat(result.getDatabaseModel().getTables()).hasSize(2);
     }
+    
+    @Test
+    void testParseStreamSkipsDataStatements() {
+        String sql = """
+            -- MySQL dump
+            /*!40101 SET NAMES utf8mb4 */;
+            DROP TABLE IF EXISTS users;
+            CREATE TABLE users (
+                id BIGINT NOT NULL AUTO_INCREMENT,
+                name VARCHAR(50) DEFAULT NULL,
+                PRIMARY KEY (id)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+            LOCK TABLES users WRITE;
+            INSERT INTO users VALUES (1,'CREATE TABLE fake (id INT);'),(2,'b');
+            UNLOCK TABLES;
+            CREATE TABLE orders (
+                id BIGINT NOT NULL,
+                user_id BIGINT,
+                PRIMARY KEY (id),
+                CONSTRAINT fk_user FOREIGN KEY (user_id) REFERENCES users (id)
+            ) ENGINE=InnoDB;
+            """;
+        
+        ParseResult result = parser.parse(new StringReader(sql), "mysql");
+        
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getDatabaseModel().getTables())
+            .extracting(TableModel::getName)
+            .containsExactly("users", "orders");
+        assertThat(result.getDatabaseModel().getTables().get(1).getForeignKeys()).hasSize(1);
+    }
+    
+    @Test
+    void testParsePerStatementFallback() {
+        String sql = """
+            CREATE TABLE users (
+                id BIGINT PRIMARY KEY,
+                name VARCHAR(50)
+            );
+            
+            CREATE TABLE events (
+                id BIGINT PRIMARY KEY,
+                user_id BIGINT,
+                payload @@broken@@ syntax
+            );
+            
+            CREATE TABLE orders (
+                id BIGINT PRIMARY KEY,
+                user_id BIGINT,
+                FOREIGN KEY (user_id) REFERENCES users(id)
+            );
+            """;
+        
+        ParseResult result = parser.parse(sql, "mysql");
+        
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getDatabaseModel().getTables())
+            .extracting(TableModel::getName)
+            .containsExactly("users", "events", "orders");
+        // 其余表仍由 L1 解析，只有无法精确解析的表附带层级警告
+        assertThat(result.getDatabaseModel().getTables().get(2).getForeignKeys()).hasSize(1);
+        assertThat(result.getWarnings()).anyMatch(w -> w.startsWith("表 events 由 L"));
+        assertThat(result.getWarnings()).noneMatch(w -> w.startsWith("表 users") || w.startsWith("表 orders"));
+    }
+    
+    @Test
+    void testParseAlterTableForeignKeys() {
+        String sql = """
+            CREATE TABLE users (
+                id BIGINT PRIMARY KEY
+            );
+            
+            CREATE TABLE orders (
+                id BIGINT PRIMARY KEY,
+                user_id BIGINT
+            );
+            
+            ALTER TABLE orders ADD CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE;
+            """;
+        
+        ParseResult result = parser.parse(sql, "mysql");
+        
+        assertThat(result.isSuccess()).isTrue();
+        TableModel orders = result.getDatabaseModel().getTables().get(1);
+        assertThat(orders.getForeignKeys()).hasSize(1);
+        
+        ForeignKeyModel fk = orders.getForeignKeys().get(0);
+        assertThat(fk.getName()).isEqualTo("fk_orders_user");
+        assertThat(fk.getFromColumns()).containsExactly("user_id");
+        assertThat(fk.getToTable()).isEqualTo("users");
+        assertThat(fk.getOnDelete()).isEqualTo("CASCADE");
+    }
+    
+    @Test
+    void testParseManyTablesKeepsOrder() {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            sql.append("CREATE TABLE t_").append(i).append(" (id BIGINT PRIMARY KEY, name VARCHAR(50));\n");
+        }
+        
+        ParseResult result = parser.parse(sql.toString(), "mysql");
+        
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getDatabaseModel().getTables()).hasSize(200);
+        for (int i = 0; i < 200; i++) {
+            assertThat(result.getDatabaseModel().getTables().get(i).getName()).isEqualTo("t_" + i);
+        }
+    }
+    
+    @Test
+    void testParseBatchWithBrokenStatementFallsBackPerStatement() {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sql.append("CREATE TABLE batch_t").append(i).append(" (id BIGINT PRIMARY KEY, name VARCHAR(50)");
+            if (i == 40) {
+                sql.append(", payload @@broken@@ syntax");
+            }
+            sql.append(");\n");
+        }
+        
+        ParseResult result = parser.parse(sql.toString(), "mysql");
+        
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getDatabaseModel().getTables()).hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(result.getDatabaseModel().getTables().get(i).getName()).isEqualTo("batch_t" + i);
+        }
+        // 失败批次中的其余语句逐条解析后仍由 L1 解析
+        assertThat(result.getWarnings()).filteredOn(w -> w.startsWith("表 batch_t"))
+            .singleElement().satisfies(w -> assertThat(w).startsWith("表 batch_t40 由 L"));
+    }
+    
+    @Test
+    void testParseAutoDetectsDialect() {
+        String sql = """
+            SET ANSI_NULLS ON
+            GO
+            CREATE TABLE [dbo].[users] (
+                [id] INT IDENTITY(1,1) NOT NULL PRIMARY KEY,
+                [name] NVARCHAR(50)
+            )
+            GO
+            """;
+        
+        ParseResult result = parser.parse(sql, "auto");
+        
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getDatabaseModel().getDbType()).isEqualTo("sqlserver");
+        assertThat(result.getWarnings()).anyMatch(w -> w.startsWith("自动识别方言: sqlserver"));
+        assertThat(result.getDatabaseModel().getTables()).hasSize(1);
+    }
+    
+    @Test
+    void testResubmitReusesUnchangedStatements() {
+        String users = "CREATE TABLE cache_users (id BIGINT PRIMARY KEY, name VARCHAR(50));\n";
+        String orders = "CREATE TABLE cache_orders (id BIGINT PRIMARY KEY, user_id BIGINT);\n";
+        String editedOrders = "CREATE TABLE cache_orders (id BIGINT PRIMARY KEY, user_id BIGINT, total DECIMAL(10,2));\n";
+        
+        ParseResult first = parser.parse(users + orders, "mysql");
+        // 修改返回的模型不能影响缓存
+        first.getDatabaseModel().getTables().get(0).getColumns().clear();
+        long hitsBefore = statementCache.metrics().getHitCount();
+        
+        // 只修改 orders 表，并调整 users 语句的空白
+        ParseResult second = parser.parse(users.replace(", ", ",\n    ") + editedOrders, "mysql");
+        
+        assertThat(second.isSuccess()).isTrue();
+        assertThat(statementCache.metrics().getHitCount() - hitsBefore).isEqualTo(1);
+        assertThat(second.getDatabaseModel().getTables().get(0).getColumns()).hasSize(2);
+        assertThat(second.getDatabaseModel().getTables().get(1).getColumns()).hasSize(3);
+    }
+    
+    @Test
+    void testCancelledBudgetStopsParsing() {
+        ParseBudget budget = ParseBudget.unlimited();
+        budget.cancel();
+        
+        ParseResult result = parser.parse("CREATE TABLE budget_cancelled (id BIGINT PRIMARY KEY);", "mysql", budget);
+        
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getMessage()).contains("已取消");
+    }
+    
+    @Test
+    void testExhaustedBudgetReturnsPartialResult() {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            sql.append("CREATE TABLE budget_t").append(i)
+                    .append(" (id BIGINT PRIMARY KEY, name VARCHAR(50), ref_id BIGINT);\n");
+        }
+        
+        ParseResult result = parser.parse(sql.toString(), "mysql", ParseBudget.of(300, 100));
+        
+        if (result.isSuccess()) {
+            assertThat(result.isPartial()).isTrue();
+            assertThat(result.getDatabaseModel().getTables()).hasSizeLessThan(5000);
+            assertThat(result.getWarnings().get(0)).contains("超出时间预算");
+        } else {
+            assertThat(result.getMessage()).contains("超出时间预算");
+        }
+    }
+    
+    @Test
+    void testStuckStatementDoesNotBlockPastBudget() {
+        // Druid 解析单条语句时不检查预算，模拟一条卡住的语句
+        doAnswer(invocation -> {
+            Thread.sleep(3000);
+            return invocation.callRealMethod();
+        }).when(druidSqlParser).parse(anyString(), anyString(), any(ParseBudget.class));
+        
+        long start = System.nanoTime();
+        ParseResult result = parser.parse("CREATE TABLE budget_stuck (id NUMBER PRIMARY KEY);", "oracle", 
+                ParseBudget.of(300, 0));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        assertThat(elapsedMillis).isLessThan(2000);
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getMessage()).contains("超出时间预算");
+    }
+    
+    @Test
+    void testTierTimeoutIsNotRecordedAsFailure() {
+        StringBuilder sql = new StringBuilder("CREATE TABLE budget_wide (id BIGINT PRIMARY KEY");
+        for (int i = 0; i < 3000; i++) {
+            sql.append(", c").append(i).append(" VARCHAR(50) NOT NULL DEFAULT 'x'");
+        }
+        sql.append(");");
+        long attemptsBefore = attempts("mysql", ParserTier.L1);
+        
+        // 单层 1 ms 的时限内 L1 无法完成
+        parser.parse(sql.toString(), "mysql", ParseBudget.of(0, 1));
+        
+        assertThat(attempts("mysql", ParserTier.L1)).isEqualTo(attemptsBefore);
+    }
+    
+    private long attempts(String inputClass, ParserTier tier) {
+        return tierStatistics.snapshot().getClasses().stream()
+            .filter(c -> c.getInputClass().equals(inputClass))
+            .flatMap(c -> c.getTiers().stream())
+            .filter(t -> t.getTier() == tier)
+            .mapToLong(TierStatistics.TierSnapshot::getAttempts)
+            .sum();
+    }
 }
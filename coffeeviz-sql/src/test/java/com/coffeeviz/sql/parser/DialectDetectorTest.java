@@ -0,0 +1,94 @@
+package com.coffeeviz.sql.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * DialectDetector 单元测试
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class DialectDetectorTest {
+
+    @Test
+    void testDetectMySqlDump() {
+        String sql = """
+            -- MySQL dump 10.13  Distrib 8.0.33
+            /*!40101 SET NAMES utf8mb4 */;
+            CREATE TABLE `users` (
+              `id` bigint unsigned NOT NULL AUTO_INCREMENT,
+              PRIMARY KEY (`id`)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+            """;
+
+        DialectFingerprint fingerprint = DialectDetector.detect(sql);
+
+        assertThat(fingerprint.getDialect()).isEqualTo("mysql");
+        assertThat(fingerprint.getConfidence()).isEqualTo(1.0);
+        assertThat(fingerprint.getMarkers()).contains(DialectDetector.Marker.BACKTICK, DialectDetector.Marker.ENGINE);
+    }
+
+    @Test
+    void testDetectPostgres() {
+        String sql = """
+            --
+            -- PostgreSQL database dump
+            --
+            SET search_path = public;
+            CREATE TABLE public.users (
+                id bigserial NOT NULL,
+                tags text[],
+                created_at timestamp DEFAULT now()::timestamp
+            );
+            ALTER TABLE public.users OWNER TO app;
+            """;
+
+        DialectFingerprint fingerprint = DialectDetector.detect(sql);
+
+        assertThat(fingerprint.getDialect()).isEqualTo("postgres");
+        assertThat(fingerprint.isConfident(0.5)).isTrue();
+    }
+
+    @Test
+    void testDetectOracleAndSqlServer() {
+        String oracle = "CREATE TABLE EMP (ID NUMBER(10) NOT NULL, NAME NVARCHAR2(50), HIRED DATE DEFAULT SYSDATE);";
+        String sqlServer = """
+            SET ANSI_NULLS ON
+            GO
+            CREATE TABLE [dbo].[users] (
+                [id] INT IDENTITY(1,1) NOT NULL,
+                [name] NVARCHAR(50)
+            )
+            GO
+            """;
+
+        assertThat(DialectDetector.detect(oracle).getDialect()).isEqualTo("oracle");
+        assertThat(DialectDetector.detect(sqlServer).getDialect()).isEqualTo("sqlserver");
+    }
+
+    @Test
+    void testMarkersInStringsIgnored() {
+        String sql = "CREATE TABLE notes (id INT, body VARCHAR(100) DEFAULT 'ENGINE=InnoDB `x` GO');";
+
+        DialectFingerprint fingerprint = DialectDetector.detect(sql);
+
+        assertThat(fingerprint.getDialect()).isEqualTo(DialectDetector.AUTO);
+        assertThat(fingerprint.isConfident(0.5)).isFalse();
+    }
+
+    @Test
+    void testDetectReaderResetsPosition() throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader("CREATE TABLE t (id SERIAL PRIMARY KEY);"));
+
+        DialectFingerprint fingerprint = DialectDetector.detect(reader);
+
+        assertThat(fingerprint.getMarkers()).contains(DialectDetector.Marker.SERIAL);
+        assertThat(reader.readLine()).isEqualTo("CREATE TABLE t (id SERIAL PRIMARY KEY);");
+    }
+}
@@ -0,0 +1,57 @@
+package com.coffeeviz.sql.parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ParseBudget 单元测试
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class ParseBudgetTest {
+
+    @Test
+    void testUnlimitedBudget() {
+        ParseBudget budget = ParseBudget.unlimited();
+
+        assertThat(budget.isBounded()).isFalse();
+        assertThat(budget.isExhausted()).isFalse();
+        assertThat(budget.remainingMillis()).isEqualTo(Long.MAX_VALUE);
+        assertThat(budget.forTier().isBounded()).isFalse();
+    }
+
+    @Test
+    void testTierDeadlineNeverExceedsTotal() {
+        ParseBudget budget = ParseBudget.of(50, 60_000);
+        ParseBudget tier = budget.forTier();
+
+        assertThat(tier.getDeadlineNanos()).isEqualTo(budget.getDeadlineNanos());
+        assertThat(ParseBudget.of(60_000, 50).forTier().remainingMillis()).isLessThanOrEqualTo(50);
+        assertThat(ParseBudget.of(0, 50).forTier().isBounded()).isTrue();
+    }
+
+    @Test
+    void testExpiresAfterDeadline() throws InterruptedException {
+        ParseBudget budget = ParseBudget.of(60_000, 1);
+        ParseBudget tier = budget.forTier();
+        Thread.sleep(5);
+
+        assertThat(tier.isExhausted()).isTrue();
+        assertThat(tier.remainingMillis()).isZero();
+        assertThat(budget.isExhausted()).isFalse();
+    }
+
+    @Test
+    void testCancelPropagatesToTiers() {
+        ParseBudget budget = ParseBudget.unlimited();
+        ParseBudget tier = budget.forTier();
+
+        budget.cancel();
+
+        assertThat(tier.isCancelled()).isTrue();
+        assertThat(tier.isExhausted()).isTrue();
+        assertThat(budget.forTier().isExhausted()).isTrue();
+    }
+}
@@ -0,0 +1,116 @@
+package com.coffeeviz.sql.parser;
+
+import com.coffeeviz.core.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * RegexFallbackParser（L3 降级解析）单元测试
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class RegexFallbackParserTest {
+
+    private final RegexFallbackParser parser = new RegexFallbackParser();
+
+    @Test
+    void testParseTableElements() {
+        String sql = """
+            CREATE TABLE IF NOT EXISTS `order_items` (
+              `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '主键, 自增',
+              `order_id` BIGINT NOT NULL,
+              `sku` VARCHAR(64) DEFAULT 'n/a',
+              `price` DECIMAL(10,2) DEFAULT -1,
+              PRIMARY KEY (`id`),
+              UNIQUE KEY `uk_order_sku` (`order_id`, `sku`(16)),
+              CONSTRAINT `fk_items_order` FOREIGN KEY (`order_id`) REFERENCES `shop`.`orders` (`id`) ON DELETE SET NULL ON UPDATE CASCADE,
+              CHECK (price >= 0)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='订单明细';
+            """;
+
+        ParseResult result = parser.parse(sql, "mysql");
+
+        assertThat(result.isSuccess()).isTrue();
+        TableModel table = result.getDatabaseModel().getTables().get(0);
+        assertThat(table.getName()).isEqualTo("order_items");
+        assertThat(table.getComment()).isEqualTo("订单明细");
+        assertThat(table.getColumns()).extracting(ColumnModel::getName)
+                .containsExactly("id", "order_id", "sku", "price");
+
+        ColumnModel id = table.getColumns().get(0);
+        assertThat(id.isPrimaryKeyPart()).isTrue();
+        assertThat(id.isAutoIncrement()).isTrue();
+        assertThat(id.isNullable()).isFalse();
+        assertThat(id.getComment()).isEqualTo("主键, 自增");
+        assertThat(table.getColumns().get(2).getDefaultValue()).isEqualTo("'n/a'");
+        assertThat(table.getColumns().get(3).getType()).isEqualTo("DECIMAL(10,2)");
+        assertThat(table.getColumns().get(3).getDefaultValue()).isEqualTo("-1");
+
+        assertThat(table.getIndexes()).hasSize(1);
+        assertThat(table.getIndexes().get(0).isUnique()).isTrue();
+        assertThat(table.getIndexes().get(0).getColumns()).containsExactly("order_id", "sku");
+
+        ForeignKeyModel fk = table.getForeignKeys().get(0);
+        assertThat(fk.getName()).isEqualTo("fk_items_order");
+        assertThat(fk.getToTable()).isEqualTo("orders");
+        assertThat(fk.getOnDelete()).isEqualTo("SET_NULL");
+        assertThat(fk.getOnUpdate()).isEqualTo("CASCADE");
+    }
+
+    @Test
+    void testAdversarialInputCompletesInLinearTime() {
+        StringBuilder sql = new StringBuilder("CREATE TABLE t (id INT COMMENT '");
+        sql.append("x)".repeat(200_000)).append("'");
+        sql.append(", a INT".repeat(50_000));
+        sql.append("(".repeat(100_000));
+        String input = sql.toString();
+
+        ParseResult result = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> parser.parse(input, "mysql"));
+
+        assertThat(result.isSuccess()).isFalse();
+    }
+
+    @Test
+    void testStepBudgetSkipsOversizedStatement() {
+        StringBuilder sql = new StringBuilder("CREATE TABLE huge (id INT");
+        while (sql.length() < 2 * CreateTableScanner.DEFAULT_STEP_BUDGET) {
+            sql.append(", c").append(sql.length()).append(" INT");
+        }
+        sql.append(");\nCREATE TABLE small (id INT);");
+
+        ParseResult result = parser.parse(sql.toString(), "mysql");
+
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getDatabaseModel().getTables()).extracting(TableModel::getName).containsExactly("small");
+        assertThat(result.getWarnings()).anyMatch(w -> w.contains("huge") && w.contains("步数上限"));
+    }
+
+    @Test
+    void testStreamingParseKeepsAlterTableForeignKeys() {
+        String sql = """
+            CREATE TABLE users (id BIGINT PRIMARY KEY);
+            CREATE TABLE orders (id BIGINT PRIMARY KEY, user_id BIGINT);
+            INSERT INTO orders VALUES (1, 1);
+            ALTER TABLE orders ADD CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE;
+            ALTER TABLE missing ADD FOREIGN KEY (x) REFERENCES users (id);
+            """;
+
+        ParseResult result = parser.parse(new StringReader(sql), "mysql");
+
+        assertThat(result.isSuccess()).isTrue();
+        TableModel orders = result.getDatabaseModel().getTables().get(1);
+        assertThat(orders.getForeignKeys()).singleElement().satisfies(fk -> {
+            assertThat(fk.getName()).isEqualTo("fk_orders_user");
+            assertThat(fk.getFromColumns()).containsExactly("user_id");
+            assertThat(fk.getToTable()).isEqualTo("users");
+            assertThat(fk.getOnDelete()).isEqualTo("CASCADE");
+        });
+        assertThat(result.getWarnings()).anyMatch(w -> w.contains("missing"));
+    }
+}
@@ -0,0 +1,126 @@
+package com.coffeeviz.sql.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SqlPreprocessor 单元测试
+ * 与原 CompositeSqlParser.preprocessSql 的 replaceAll 实现对比，验证输出一致
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class SqlPreprocessorTest {
+
+    private static final String MYSQL_DUMP = """
+            -- MySQL dump 10.13
+            /*!40101 SET NAMES utf8mb4 */;
+            DROP TABLE IF EXISTS `users`;
+            CREATE TABLE `users` (
+              `id` bigint NOT NULL AUTO_INCREMENT COMMENT '主键',
+              `name` varchar(50) DEFAULT NULL,
+              PRIMARY KEY (`id`)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+
+
+            DROP TRIGGER IF EXISTS `trg_users_insert`;
+            delimiter ;;
+            CREATE TRIGGER `trg_users_insert` BEFORE INSERT ON `users` FOR EACH ROW BEGIN
+              IF NEW.name IS NULL THEN
+                SET NEW.name = 'anonymous';
+              END IF;
+            END
+            ;;
+            delimiter ;
+
+
+            CREATE TABLE `orders` (
+              `id` bigint NOT NULL,
+              `user_id` bigint DEFAULT NULL,
+              PRIMARY KEY (`id`)
+            ) ENGINE=InnoDB;;
+            """;
+
+    @Test
+    void testEquivalentToLegacyPreprocessor() {
+        List<String> samples = List.of(
+                MYSQL_DUMP,
+                "CREATE TABLE t (id INT);;\nCREATE TABLE u (id INT);;",
+                "DELIMITER ;;\nCREATE TRIGGER t1 AFTER UPDATE ON a FOR EACH ROW BEGIN UPDATE b SET x = 1; END;;\nDELIMITER ;\n",
+                "drop  trigger\tif exists trg_x ;\nCREATE TABLE a (id INT);\n\n\n\n\nCREATE TABLE b (id INT);",
+                "CREATE TABLE a (id INT);\n  \n\t\n \nCREATE TABLE b (id INT);\ndelimiter ;",
+                "CREATE TRIGGER never_closed BEFORE INSERT ON a FOR EACH ROW SET NEW.id = 1;",
+                "CREATE TABLE a (id INT);\r\n\r\n\r\nCREATE TABLE b (id INT);",
+                "");
+
+        for (String sample : samples) {
+            assertThat(SqlPreprocessor.process(sample, "mysql"))
+                    .as("sample: %s", sample)
+                    .isEqualTo(legacyPreprocess(sample));
+        }
+    }
+
+    @Test
+    void testTriggerRemoved() {
+        String result = SqlPreprocessor.process(MYSQL_DUMP, "mysql");
+
+        assertThat(result).doesNotContainIgnoringCase("trigger").doesNotContainIgnoringCase("delimiter");
+        assertThat(result).contains("CREATE TABLE `users`").contains("CREATE TABLE `orders`");
+        assertThat(result).doesNotContain(";;").doesNotContain("\n\n\n");
+    }
+
+    @Test
+    void testQuotedTextPreserved() {
+        String sql = """
+                CREATE TABLE t (
+                  a VARCHAR(10) DEFAULT ';;',
+                  b VARCHAR(10) COMMENT 'it''s CREATE TRIGGER x END;',
+                  c VARCHAR(10) COMMENT 'escaped \\' delimiter ;'
+                );;
+                """;
+
+        String result = SqlPreprocessor.process(sql, "mysql");
+
+        assertThat(result).contains("DEFAULT ';;'")
+                .contains("'it''s CREATE TRIGGER x END;'")
+                .contains("'escaped \\' delimiter ;'")
+                .endsWith(");\n");
+    }
+
+    @Test
+    void testTriggerBodyWithQuotedEnd() {
+        String sql = """
+                CREATE TRIGGER trg BEFORE INSERT ON t FOR EACH ROW BEGIN
+                  SET NEW.note = 'END;';
+                END;
+                CREATE TABLE t (id INT);
+                """;
+
+        String result = SqlPreprocessor.process(sql, "mysql");
+
+        assertThat(result.trim()).isEqualTo("CREATE TABLE t (id INT);");
+    }
+
+    /**
+     * 原 CompositeSqlParser.preprocessSql 实现，作为等价性对照
+     */
+    private static String legacyPreprocess(String sql) {
+        if (sql == null || sql.isEmpty()) {
+            return sql;
+        }
+        sql = sql.replaceAll("(?i)delimiter\\s+;;\\s*\n", "");
+        sql = sql.replaceAll("(?i)delimiter\\s+;\\s*\n", "");
+        sql = sql.replaceAll("(?i)delimiter\\s+;;\\s*$", "");
+        sql = sql.replaceAll("(?i)delimiter\\s+;\\s*$", "");
+        sql = sql.replaceAll("(?is)DROP\\s+TRIGGER\\s+IF\\s+EXISTS\\s+`?\\w+`?\\s*;", "");
+        sql = sql.replaceAll("(?is)delimiter\\s+;;.*?CREATE\\s+TRIGGER.*?END\\s*;;\\s*delimiter\\s*;", "");
+        sql = sql.replaceAll("(?is)CREATE\\s+TRIGGER.*?END\\s*;;?", "");
+        sql = sql.replaceAll(";;", ";");
+        sql = sql.replaceAll("\n\\s*\n\\s*\n", "\n\n");
+        return sql;
+    }
+}
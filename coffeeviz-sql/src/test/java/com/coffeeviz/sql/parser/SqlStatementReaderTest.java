@@ -0,0 +1,174 @@
+package com.coffeeviz.sql.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SqlStatementReader 单元测试
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class SqlStatementReaderTest {
+
+    @Test
+    void testSplitDdlAndSkipData() throws IOException {
+        String sql = """
+            CREATE TABLE users (
+                id BIGINT PRIMARY KEY,
+                name VARCHAR(50) COMMENT 'a;b'
+            );
+            INSERT INTO users VALUES (1, 'x;y'), (2, 'it''s');
+            LOCK TABLES users WRITE;
+            ALTER TABLE users ADD INDEX idx_name (name);
+            CREATE UNIQUE INDEX uk_name ON users (name);
+            """;
+
+        List<SqlStatement> statements = readAll(sql, "mysql");
+
+        assertThat(statements).extracting(SqlStatement::getType).containsExactly(
+                SqlStatement.Type.CREATE_TABLE,
+                SqlStatement.Type.ALTER_TABLE,
+                SqlStatement.Type.CREATE_INDEX);
+        assertThat(statements.get(0).getText()).contains("COMMENT 'a;b'").endsWith(")");
+        assertThat(statements.get(0).getLine()).isEqualTo(1);
+        assertThat(statements.get(1).getLine()).isEqualTo(7);
+    }
+
+    @Test
+    void testCommentsAreStripped() throws IOException {
+        String sql = """
+            -- 用户表; 注释里的分号
+            /* CREATE TABLE fake (id INT); */
+            # MySQL 风格注释;
+            CREATE TABLE users (
+                id BIGINT -- 行尾注释;
+            );
+            """;
+
+        List<SqlStatement> statements = readAll(sql, "mysql");
+
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0).getText()).doesNotContain("--").doesNotContain("fake");
+        assertThat(statements.get(0).getLine()).isEqualTo(4);
+    }
+
+    @Test
+    void testDelimiterAndTriggerBody() throws IOException {
+        String sql = """
+            CREATE TABLE t1 (id INT);
+            DELIMITER ;;
+            CREATE TRIGGER trg BEFORE INSERT ON t1 FOR EACH ROW BEGIN
+                SET NEW.id = 1;
+                INSERT INTO log VALUES (1);
+            END;;
+            DELIMITER ;
+            CREATE TABLE t2 (id INT);
+            """;
+
+        List<SqlStatement> statements = readAll(sql, "mysql");
+
+        assertThat(statements).extracting(SqlStatement::getText)
+                .containsExactly("CREATE TABLE t1 (id INT)", "CREATE TABLE t2 (id INT)");
+    }
+
+    @Test
+    void testPostgresDollarQuoteAndCopyData() throws IOException {
+        String sql = """
+            CREATE FUNCTION f() RETURNS trigger AS $body$
+            BEGIN
+                INSERT INTO t VALUES (1);
+                RETURN NEW;
+            END;
+            $body$ LANGUAGE plpgsql;
+            COPY public.users (id, name) FROM stdin;
+            1\tCREATE TABLE x (id int);
+            2\tfoo'bar
+            \\.
+            CREATE TABLE posts (id SERIAL PRIMARY KEY);
+            """;
+
+        List<SqlStatement> statements = readAll(sql, "postgres");
+
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0).getText()).isEqualTo("CREATE TABLE posts (id SERIAL PRIMARY KEY)");
+    }
+
+    @Test
+    void testSqlServerGoBatches() throws IOException {
+        String sql = """
+            CREATE TABLE [dbo].[users] (
+                [id] INT NOT NULL
+            )
+            GO
+            CREATE TABLE [dbo].[orders] ([id] INT, [note] NVARCHAR(20) DEFAULT 'go')
+            go
+            """;
+
+        List<SqlStatement> statements = readAll(sql, "sqlserver");
+
+        assertThat(statements).hasSize(2);
+        assertThat(statements.get(1).getText()).startsWith("CREATE TABLE [dbo].[orders]");
+    }
+
+    @Test
+    void testCreateVariants() throws IOException {
+        String sql = """
+            CREATE TEMPORARY TABLE tmp (id INT);
+            CREATE OR REPLACE VIEW v AS SELECT 1;
+            CREATE TABLE IF NOT EXISTS `order` (id INT);
+            COMMENT ON COLUMN users.id IS 'ID; 主键';
+            DROP TABLE IF EXISTS users;
+            """;
+
+        List<SqlStatement> statements = readAll(sql, "auto");
+
+        assertThat(statements).extracting(SqlStatement::getType).containsExactly(
+                SqlStatement.Type.CREATE_TABLE,
+                SqlStatement.Type.CREATE_TABLE,
+                SqlStatement.Type.COMMENT);
+        assertThat(statements).extracting(SqlStatement::getIndex).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void testLastStatementWithoutDelimiter() throws IOException {
+        List<SqlStatement> statements = readAll("CREATE TABLE a (id INT);\nCREATE TABLE b (id INT)", "mysql");
+
+        assertThat(statements).hasSize(2);
+        assertThat(statements.get(1).getText()).isEqualTo("CREATE TABLE b (id INT)");
+    }
+
+    @Test
+    void testLongInsertSpanningBuffers() throws IOException {
+        StringBuilder sql = new StringBuilder("INSERT INTO t VALUES ");
+        for (int i = 0; i < 20_000; i++) {
+            sql.append(i == 0 ? "" : ",").append("(").append(i).append(", 'v;").append(i).append("')");
+        }
+        sql.append(";\nCREATE TABLE t (id INT);\n");
+
+        SqlStatementReader reader = new SqlStatementReader(new StringReader(sql.toString()), "mysql");
+        SqlStatement statement = reader.next();
+
+        assertThat(statement).isNotNull();
+        assertThat(statement.getText()).isEqualTo("CREATE TABLE t (id INT)");
+        assertThat(reader.next()).isNull();
+        assertThat(reader.getSkippedCount()).isEqualTo(1);
+    }
+
+    private List<SqlStatement> readAll(String sql, String dialect) throws IOException {
+        List<SqlStatement> statements = new ArrayList<>();
+        try (SqlStatementReader reader = new SqlStatementReader(new StringReader(sql), dialect)) {
+            SqlStatement statement;
+            while ((statement = reader.next()) != null) {
+                statements.add(statement);
+            }
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,57 @@
+package com.coffeeviz.sql.parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StatementCache 缓存键单元测试
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class StatementCacheTest {
+
+    private final StatementCache cache = new StatementCache(true, 1_000_000);
+
+    @Test
+    void testWhitespaceOutsideQuotesIsIgnored() {
+        String key = cache.key("mysql", "CREATE TABLE t ( id INT COMMENT 'a  b' )");
+
+        assertThat(cache.key("mysql", "CREATE  TABLE t (\n  id   INT\tCOMMENT 'a  b'\n)"))
+                .isEqualTo(key);
+        assertThat(cache.key("MySQL", "CREATE TABLE t ( id INT COMMENT 'a  b' )")).isEqualTo(key);
+        assertThat(cache.key("postgres", "CREATE TABLE t ( id INT COMMENT 'a  b' )")).isNotEqualTo(key);
+    }
+
+    @Test
+    void testWhitespaceInsideQuotesIsKept() {
+        assertThat(cache.key("mysql", "CREATE TABLE t (c INT COMMENT 'a b')"))
+                .isNotEqualTo(cache.key("mysql", "CREATE TABLE t (c INT COMMENT 'a  b')"));
+        assertThat(cache.key("mysql", "CREATE TABLE `a b` (c INT)"))
+                .isNotEqualTo(cache.key("mysql", "CREATE TABLE `a  b` (c INT)"));
+    }
+
+    @Test
+    void testBackslashEscapedQuoteDoesNotEndString() {
+        // MySQL 中 \' 不结束字符串，其后的空白仍在字符串内
+        assertThat(cache.key("mysql", "CREATE TABLE t (c INT COMMENT 'it\\'s a  b')"))
+                .isNotEqualTo(cache.key("mysql", "CREATE TABLE t (c INT COMMENT 'it\\'s a b')"));
+        assertThat(cache.key("mysql", "CREATE TABLE t (c INT COMMENT 'x\\\\'   )"))
+                .isEqualTo(cache.key("mysql", "CREATE TABLE t (c INT COMMENT 'x\\\\' )"));
+
+        // PostgreSQL 标准字符串中反斜杠不是转义符，'a\' 在此结束
+        assertThat(cache.key("postgres", "CREATE TABLE t (c TEXT DEFAULT 'a\\'   )"))
+                .isEqualTo(cache.key("postgres", "CREATE TABLE t (c TEXT DEFAULT 'a\\' )"));
+    }
+
+    @Test
+    void testDoubledQuoteDoesNotEndString() {
+        assertThat(cache.key("postgres", "CREATE TABLE t (c TEXT DEFAULT 'it''s a  b')"))
+                .isNotEqualTo(cache.key("postgres", "CREATE TABLE t (c TEXT DEFAULT 'it''s a b')"));
+        assertThat(cache.key("sqlserver", "CREATE TABLE \"x\"\" y\" (c INT)"))
+                .isNotEqualTo(cache.key("sqlserver", "CREATE TABLE \"x\"\"  y\" (c INT)"));
+        assertThat(cache.key("postgres", "CREATE TABLE t (c TEXT DEFAULT ''   )"))
+                .isEqualTo(cache.key("postgres", "CREATE TABLE t (c TEXT DEFAULT '' )"));
+    }
+}
@@ -0,0 +1,63 @@
+package com.coffeeviz.sql.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TierStatistics 单元测试
+ *
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+class TierStatisticsTest {
+
+    private static final List<ParserTier> DEFAULT_ORDER = List.of(ParserTier.L1, ParserTier.L2, ParserTier.L3);
+
+    @Test
+    void testClassify() {
+        assertThat(TierStatistics.classify("MySQL", "CREATE TABLE t (id INT) PARTITION BY HASH(id)"))
+                .isEqualTo("mysql+PARTITION");
+        assertThat(TierStatistics.classify("postgres", "CREATE TABLE t (partition_key INT, c INT CHECK (c > 0))"))
+                .isEqualTo("postgres+CHECK");
+        assertThat(TierStatistics.classify(null, "CREATE TABLE t (id INT)")).isEqualTo("auto");
+    }
+
+    @Test
+    void testSkipsTierThatRarelySucceeds() {
+        TierStatistics statistics = new TierStatistics("");
+        for (int i = 0; i < 30; i++) {
+            statistics.record("mysql+PARTITION", ParserTier.L1, false, 1_000_000);
+            statistics.record("mysql+PARTITION", ParserTier.L2, true, 500_000);
+        }
+
+        assertThat(statistics.order("mysql+PARTITION", DEFAULT_ORDER)).containsExactly(ParserTier.L2, ParserTier.L3);
+        // 其他分类不受影响
+        assertThat(statistics.order("mysql", DEFAULT_ORDER)).isEqualTo(DEFAULT_ORDER);
+    }
+
+    @Test
+    void testReordersBySuccessRate() {
+        TierStatistics statistics = new TierStatistics("");
+        for (int i = 0; i < 40; i++) {
+            statistics.record("oracle", ParserTier.L1, i % 3 == 0, 1_000);
+            statistics.record("oracle", ParserTier.L2, i % 10 != 0, 1_000);
+        }
+
+        assertThat(statistics.order("oracle", DEFAULT_ORDER))
+                .containsExactly(ParserTier.L2, ParserTier.L1, ParserTier.L3);
+        assertThat(statistics.snapshot().getClasses()).hasSize(1);
+        assertThat(statistics.snapshot().getClasses().get(0).getTiers().get(1).getSuccessRate()).isEqualTo(0.9);
+    }
+
+    @Test
+    void testStaticOrderOverride() {
+        TierStatistics statistics = new TierStatistics("l3, L1");
+        assertThat(statistics.order("mysql", DEFAULT_ORDER)).containsExactly(ParserTier.L3, ParserTier.L1);
+
+        statistics.setStaticOrder(null);
+        assertThat(statistics.order("mysql", DEFAULT_ORDER)).isEqualTo(DEFAULT_ORDER);
+    }
+}
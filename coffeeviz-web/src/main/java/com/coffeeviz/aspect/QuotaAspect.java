@@ -51,6 +51,11 @@ public class QuotaAspect {
                 shouldConsume = false;
                 log.info("业务执行失败(code={})，不扣减配额: userId={}, quotaType={}", r.getCode(), userId, quotaType);
             }
+        } else if (result instanceof org.springframework.http.ResponseEntity<?> response
+                && !response.getStatusCode().is2xxSuccessful()) {
+            // 流式输出接口直接返回 ResponseEntity，非 2xx 状态同样视为业务失败
+            shouldConsume = false;
+            log.info("业务执行失败(status={})，不扣减配额: userId={}, quotaType={}", response.getStatusCode().value(), userId, quotaType);
         }
         
         if (shouldConsume) {
@@ -0,0 +1,97 @@
+package com.coffeeviz.config;
+
+import jakarta.servlet.MultipartConfigElement;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartException;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+
+import java.util.List;
+
+/**
+ * 文件上传配置
+ * 全局上传上限沿用 spring.servlet.multipart（10MB）；只有 SQL dump 上传接口以流方式解析，
+ * 单独放宽到 coffeeviz.upload.sql-file-max-size。容器按较大的上限接收 multipart 请求，
+ * 其余接口在解析前按 Content-Length、解析后按文件大小校验全局上限
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Configuration
+public class MultipartConfig {
+    
+    /**
+     * 允许大文件上传的接口
+     */
+    private static final String SQL_FILE_PATH = "/api/er/parse-sql-file";
+    
+    @Bean
+    public MultipartConfigElement multipartConfigElement(MultipartProperties properties,
+                                                         @Value("${coffeeviz.upload.sql-file-max-size:512MB}") DataSize sqlFileMaxSize) {
+        MultipartConfigElement general = properties.createMultipartConfig();
+        long maxFileSize = Math.max(general.getMaxFileSize(), sqlFileMaxSize.toBytes());
+        long maxRequestSize = Math.max(general.getMaxRequestSize(), sqlFileMaxSize.toBytes());
+        log.info("文件上传上限: 全局 {}，SQL 文件 {}", properties.getMaxFileSize(), sqlFileMaxSize);
+        return new MultipartConfigElement(general.getLocation(), maxFileSize, maxRequestSize,
+                general.getFileSizeThreshold());
+    }
+    
+    @Bean
+    public MultipartResolver multipartResolver(MultipartProperties properties) {
+        StandardServletMultipartResolver resolver = new PathLimitedMultipartResolver(
+                properties.getMaxFileSize().toBytes(), properties.getMaxRequestSize().toBytes());
+        resolver.setResolveLazily(properties.isResolveLazily());
+        return resolver;
+    }
+    
+    /**
+     * 除 SQL 文件上传接口外按全局上限校验的 multipart 解析器
+     */
+    static class PathLimitedMultipartResolver extends StandardServletMultipartResolver {
+        
+        private final long maxFileSize;
+        
+        private final long maxRequestSize;
+        
+        PathLimitedMultipartResolver(long maxFileSize, long maxRequestSize) {
+            this.maxFileSize = maxFileSize;
+            this.maxRequestSize = maxRequestSize;
+        }
+        
+        @Override
+        public MultipartHttpServletRequest resolveMultipart(HttpServletRequest request) throws MultipartException {
+            if (SQL_FILE_PATH.equals(request.getServletPath())) {
+                return super.resolveMultipart(request);
+            }
+            
+            // 1. 已知长度的请求在解析前拒绝，不落盘
+            if (maxRequestSize >= 0 && request.getContentLengthLong() > maxRequestSize) {
+                throw new MaxUploadSizeExceededException(maxRequestSize);
+            }
+            
+            // 2. 分块传输等未知长度的请求解析后按文件大小校验
+            MultipartHttpServletRequest multipartRequest = super.resolveMultipart(request);
+            if (maxFileSize >= 0) {
+                for (List<MultipartFile> files : multipartRequest.getMultiFileMap().values()) {
+                    for (MultipartFile file : files) {
+                        if (file.getSize() > maxFileSize) {
+                            cleanupMultipart(multipartRequest);
+                            throw new MaxUploadSizeExceededException(maxFileSize);
+                        }
+                    }
+                }
+            }
+            return multipartRequest;
+        }
+    }
+}
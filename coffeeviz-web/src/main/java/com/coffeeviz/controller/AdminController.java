@@ -4,12 +4,17 @@ import cn.dev33.satoken.stp.StpUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.coffeeviz.common.Result;
+import com.coffeeviz.core.renderer.RenderFragmentCache;
 import com.coffeeviz.dto.*;
 import com.coffeeviz.entity.*;
+import com.coffeeviz.jdbc.connection.JdbcConnectionCache;
+import com.coffeeviz.jdbc.parser.SchemaSnapshotCache;
 import com.coffeeviz.mapper.*;
 import com.coffeeviz.service.ConfigService;
 import com.coffeeviz.service.SubscriptionService;
 import com.coffeeviz.service.UserService;
+import com.coffeeviz.sql.parser.StatementCache;
+import com.coffeeviz.sql.parser.TierStatistics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.util.StringUtils;
@@ -89,6 +94,21 @@ public class AdminController {
     @Autowired
     private com.coffeeviz.mapper.ApiCallLogMapper apiCallLogMapper;
 
+    @Autowired
+    private TierStatistics tierStatistics;
+
+    @Autowired
+    private StatementCache statementCache;
+
+    @Autowired
+    private RenderFragmentCache renderFragmentCache;
+
+    @Autowired
+    private JdbcConnectionCache jdbcConnectionCache;
+
+    @Autowired
+    private SchemaSnapshotCache schemaSnapshotCache;
+
     // ==================== Helper Methods ====================
 
     /**
@@ -1102,4 +1122,110 @@ public class AdminController {
         if (previous == null || previous == 0) return current > 0 ? 100.0 : 0.0;
         return Math.round((current - previous) * 1000.0 / previous) / 10.0;
     }
+
+    // ==================== Parser Diagnostics ====================
+
+    /**
+     * 获取 SQL 解析层级统计与自适应顺序
+     */
+    @GetMapping("/parser/tier-stats")
+    public Result<TierStatistics.Snapshot> getParserTierStats() {
+        return Result.success(tierStatistics.snapshot());
+    }
+
+    /**
+     * 设置 SQL 解析层级固定顺序（调试用，order 为空时恢复自适应）
+     */
+    @PutMapping("/parser/tier-order")
+    public Result<String> setParserTierOrder(@RequestParam(required = false) String order) {
+        log.info("设置 SQL 解析层级顺序: {}", order);
+        try {
+            tierStatistics.setStaticOrder(order);
+            return Result.success("设置成功", "success");
+        } catch (IllegalArgumentException e) {
+            return Result.error("无效的层级顺序: " + order);
+        }
+    }
+
+    /**
+     * 清空 SQL 解析层级统计
+     */
+    @DeleteMapping("/parser/tier-stats")
+    public Result<String> resetParserTierStats() {
+        log.info("清空 SQL 解析层级统计");
+        tierStatistics.reset();
+        return Result.success("已清空", "success");
+    }
+
+    /**
+     * 获取建表语句解析缓存统计
+     */
+    @GetMapping("/parser/statement-cache")
+    public Result<StatementCache.Metrics> getStatementCacheMetrics() {
+        return Result.success(statementCache.metrics());
+    }
+
+    /**
+     * 清空建表语句解析缓存
+     */
+    @DeleteMapping("/parser/statement-cache")
+    public Result<String> clearStatementCache() {
+        log.info("清空建表语句解析缓存");
+        statementCache.invalidateAll();
+        return Result.success("已清空", "success");
+    }
+
+    /**
+     * 单表渲染片段缓存统计
+     */
+    @GetMapping("/render/fragment-cache")
+    public Result<RenderFragmentCache.Metrics> getRenderFragmentCacheMetrics() {
+        return Result.success(renderFragmentCache.metrics());
+    }
+
+    /**
+     * 清空单表渲染片段缓存
+     */
+    @DeleteMapping("/render/fragment-cache")
+    public Result<String> clearRenderFragmentCache() {
+        log.info("清空单表渲染片段缓存");
+        renderFragmentCache.invalidateAll();
+        return Result.success("已清空", "success");
+    }
+
+    /**
+     * JDBC 空闲连接缓存统计
+     */
+    @GetMapping("/jdbc/connection-cache")
+    public Result<JdbcConnectionCache.Metrics> getJdbcConnectionCacheMetrics() {
+        return Result.success(jdbcConnectionCache.metrics());
+    }
+
+    /**
+     * 关闭所有缓存的 JDBC 空闲连接
+     */
+    @DeleteMapping("/jdbc/connection-cache")
+    public Result<String> clearJdbcConnectionCache() {
+        log.info("关闭所有缓存的 JDBC 空闲连接");
+        jdbcConnectionCache.invalidateAll();
+        return Result.success("已清空", "success");
+    }
+
+    /**
+     * JDBC Schema 快照缓存统计
+     */
+    @GetMapping("/jdbc/schema-snapshots")
+    public Result<SchemaSnapshotCache.Metrics> getSchemaSnapshotMetrics() {
+        return Result.success(schemaSnapshotCache.metrics());
+    }
+
+    /**
+     * 清空 JDBC Schema 快照（之后每个数据源的下一次读取为全量读取）
+     */
+    @DeleteMapping("/jdbc/schema-snapshots")
+    public Result<String> clearSchemaSnapshots() {
+        log.info("清空 JDBC Schema 快照缓存");
+        schemaSnapshotCache.invalidateAll();
+        return Result.success("已清空", "success");
+    }
 }
@@ -89,13 +89,7 @@ public class AiController {
             }
             
             // 4. 构建响应
-            ErResponse response = new ErResponse();
-            response.setMermaidCode(erResult.getMermaidCode());
-            response.setSvgContent(erResult.getSvgContent());
-            response.setPngBase64(erResult.getPngBase64());
-            response.setWarnings(erResult.getWarnings());
-            response.setTableCount(erResult.getTableCount());
-            response.setRelationCount(erResult.getRelationCount());
+            ErResponse response = ErResponse.from(erResult);
             
             // 添加 AI 生成的额外信息
             response.setAiExplanation(aiResponse.getExplanation());
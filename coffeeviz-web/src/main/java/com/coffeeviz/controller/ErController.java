@@ -1,25 +1,48 @@
 package com.coffeeviz.controller;
 
 import cn.dev33.satoken.stp.StpUtil;
+import com.alibaba.fastjson2.JSON;
 import com.coffeeviz.annotation.RateLimit;
 import com.coffeeviz.annotation.RequireQuota;
 import com.coffeeviz.annotation.RequireSubscription;
 import com.coffeeviz.common.Result;
+import com.coffeeviz.core.diff.SchemaDiff;
 import com.coffeeviz.core.enums.LayoutDirection;
+import com.coffeeviz.core.model.DatabaseModel;
+import com.coffeeviz.core.model.ParseResult;
 import com.coffeeviz.core.model.RenderOptions;
 import com.coffeeviz.dto.ErResponse;
 import com.coffeeviz.dto.JdbcConnectRequest;
+import com.coffeeviz.dto.SchemaDiffRequest;
 import com.coffeeviz.dto.SqlParseRequest;
+import com.coffeeviz.dto.SubDiagramExportRequest;
 import com.coffeeviz.jdbc.config.JdbcConfig;
 import com.coffeeviz.jdbc.model.ConnectionTestResult;
 import com.coffeeviz.jdbc.parser.JdbcMetadataParser;
 import com.coffeeviz.service.ErService;
+import com.coffeeviz.service.MinioService;
+import com.coffeeviz.service.QuotaService;
+import com.coffeeviz.sql.parser.ParseBudget;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * ER 图生成 Controller
@@ -38,6 +61,12 @@ public class ErController {
     @Autowired
     private JdbcMetadataParser jdbcMetadataParser;
     
+    @Autowired(required = false)
+    private MinioService minioService;
+    
+    @Autowired
+    private QuotaService quotaService;
+    
     /**
      * 从 SQL 解析生成 ER 图
      * 需要订阅且消耗 sql_parse 配额
@@ -64,20 +93,15 @@ public class ErController {
             RenderOptions options = buildRenderOptions(request);
             
             // 3. 调用服务生成 ER 图
-            ErService.ErResult result = erService.generateFromSql(request.getSqlText(), options);
+            ParseBudget budget = erService.parseBudgetFor(StpUtil.getLoginIdAsLong());
+            ErService.ErResult result = erService.generateFromSql(request.getSqlText(), options, budget);
             
             if (!result.isSuccess()) {
                 return Result.error(500, result.getMessage());
             }
             
             // 4. 构建响应
-            ErResponse response = new ErResponse();
-            response.setMermaidCode(result.getMermaidCode());
-            response.setSvgContent(result.getSvgContent());
-            response.setPngBase64(result.getPngBase64());
-            response.setWarnings(result.getWarnings());
-            response.setTableCount(result.getTableCount());
-            response.setRelationCount(result.getRelationCount());
+            ErResponse response = ErResponse.from(result);
             
             log.info("SQL 解析成功，表数量: {}, 关系数量: {}", 
                     result.getTableCount(), result.getRelationCount());
@@ -90,6 +114,226 @@ public class ErController {
         }
     }
     
+    /**
+     * 从上传的 SQL dump 文件生成 ER 图
+     * 文件以流方式逐条解析，INSERT 等数据语句不会读入内存，适用于数百 MB 的 dump
+     * 需要订阅且消耗 sql_parse 配额
+     */
+    @PostMapping("/parse-sql-file")
+    @RequireSubscription
+    @RequireQuota("sql_parse")
+    @RateLimit(key = "parse_sql_file", time = 60, count = 10, limitType = RateLimit.LimitType.USER)
+    public Result<ErResponse> parseSqlFile(@RequestParam("file") MultipartFile file,
+                                           SqlParseRequest request) {
+        log.info("收到 SQL 文件解析请求，文件: {}, 大小: {}KB", 
+                file.getOriginalFilename(), file.getSize() / 1024);
+        
+        if (file.isEmpty()) {
+            return Result.error(400, "SQL 文件不能为空");
+        }
+        
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            RenderOptions options = buildRenderOptions(request);
+            
+            ParseBudget budget = erService.parseBudgetFor(StpUtil.getLoginIdAsLong());
+            ErService.ErResult result = erService.generateFromSql(reader, options, budget);
+            
+            if (!result.isSuccess()) {
+                return Result.error(500, result.getMessage());
+            }
+            
+            ErResponse response = ErResponse.from(result);
+            
+            log.info("SQL 文件解析成功，表数量: {}, 关系数量: {}", 
+                    result.getTableCount(), result.getRelationCount());
+            
+            return Result.success("解析成功", response);
+            
+        } catch (Exception e) {
+            log.error("SQL 文件解析失败", e);
+            return Result.error("解析失败: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 从 SQL 生成 Mermaid 代码并直接写入 HTTP 响应（分块传输，不设置 Content-Length）
+     * 只输出 Mermaid 文本、不导出 SVG/PNG，适用于超大 Schema；表数量等统计放在响应头中
+     * 需要订阅且消耗 sql_parse 配额
+     */
+    @PostMapping("/parse-sql/mermaid")
+    @RequireSubscription
+    @RequireQuota("sql_parse")
+    @RateLimit(key = "parse_sql", time = 60, count = 30, limitType = RateLimit.LimitType.USER)
+    public ResponseEntity<?> streamMermaid(@RequestBody SqlParseRequest request) {
+        log.info("收到 Mermaid 流式输出请求，SQL 长度: {}", 
+                request.getSqlText() != null ? request.getSqlText().length() : 0);
+        
+        RenderOptions options = buildRenderOptions(request);
+        ParseResult parseResult;
+        try {
+            parseResult = parseForStreaming(request, options);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Result.error(400, e.getMessage()));
+        } catch (Exception e) {
+            log.error("SQL 解析失败", e);
+            return ResponseEntity.internalServerError().body(Result.error("解析失败: " + e.getMessage()));
+        }
+        if (!parseResult.isSuccess()) {
+            return ResponseEntity.internalServerError().body(Result.error(500, parseResult.getMessage()));
+        }
+        
+        DatabaseModel model = parseResult.getDatabaseModel();
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            erService.writeMermaid(model, options, writer);
+            writer.flush();
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "plain", StandardCharsets.UTF_8))
+                .header("X-Table-Count", String.valueOf(model.getTables().size()))
+                .header("X-Relation-Count", String.valueOf(countRelations(model)))
+                .header("X-Warning-Count", String.valueOf(parseResult.getWarnings() != null ? parseResult.getWarnings().size() : 0))
+                .body(body);
+    }
+    
+    /**
+     * 从 SQL 生成 Mermaid 代码并边渲染边上传到 MinIO，返回文件地址
+     * 需要订阅且消耗 sql_parse 配额
+     */
+    @PostMapping("/parse-sql/mermaid/upload")
+    @RequireSubscription
+    @RequireQuota("sql_parse")
+    @RateLimit(key = "parse_sql", time = 60, count = 30, limitType = RateLimit.LimitType.USER)
+    public Result<String> uploadMermaid(@RequestBody SqlParseRequest request) {
+        if (minioService == null) {
+            return Result.error(503, "文件存储服务不可用");
+        }
+        
+        try {
+            RenderOptions options = buildRenderOptions(request);
+            ParseResult parseResult = parseForStreaming(request, options);
+            if (!parseResult.isSuccess()) {
+                return Result.error(500, parseResult.getMessage());
+            }
+            
+            DatabaseModel model = parseResult.getDatabaseModel();
+            String fileName = "mermaid/" + StpUtil.getLoginIdAsLong() + "/" + UUID.randomUUID() + ".mmd";
+            String url = minioService.uploadStream(fileName, "text/plain; charset=utf-8", outputStream -> {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                erService.writeMermaid(model, options, writer);
+                writer.flush();
+            });
+            
+            log.info("Mermaid 代码上传成功，表数量: {}, 地址: {}", model.getTables().size(), url);
+            return Result.success("上传成功", url);
+            
+        } catch (IllegalArgumentException e) {
+            return Result.error(400, e.getMessage());
+        } catch (Exception e) {
+            log.error("Mermaid 代码上传失败", e);
+            return Result.error("上传失败: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 校验 SQL 文本并解析（流式输出接口共用）
+     */
+    private ParseResult parseForStreaming(SqlParseRequest request, RenderOptions options) {
+        if (request.getSqlText() == null || request.getSqlText().trim().isEmpty()) {
+            throw new IllegalArgumentException("SQL 文本不能为空");
+        }
+        if (request.getSqlText().length() > 1_000_000) {
+            throw new IllegalArgumentException("SQL 文本过长，最大支持 1MB");
+        }
+        ParseBudget budget = erService.parseBudgetFor(StpUtil.getLoginIdAsLong());
+        return erService.parseSql(request.getSqlText(), options, budget);
+    }
+    
+    private int countRelations(DatabaseModel model) {
+        return model.getTables().stream()
+                .mapToInt(table -> table.getForeignKeys().size())
+                .sum();
+    }
+    
+    /**
+     * 比较两份 SQL 的结构差异
+     * 只返回新增、删除、修改的表、列、索引和外键，不返回未变化的部分
+     */
+    @PostMapping("/diff")
+    @RequireSubscription
+    @RequireQuota("sql_parse")
+    @RateLimit(key = "schema_diff", time = 60, count = 20, limitType = RateLimit.LimitType.USER)
+    public Result<SchemaDiff> diffSchema(@RequestBody SchemaDiffRequest request) {
+        log.info("收到 Schema 差异比较请求，旧版本 SQL 长度: {}，新版本 SQL 长度: {}",
+                request.getBaseSqlText() != null ? request.getBaseSqlText().length() : 0,
+                request.getTargetSqlText() != null ? request.getTargetSqlText().length() : 0);
+        
+        try {
+            // 1. 参数校验
+            if (request.getBaseSqlText() == null || request.getBaseSqlText().trim().isEmpty()
+                    || request.getTargetSqlText() == null || request.getTargetSqlText().trim().isEmpty()) {
+                return Result.error(400, "旧版本和新版本 SQL 文本都不能为空");
+            }
+            
+            if (request.getBaseSqlText().length() > 1_000_000 || request.getTargetSqlText().length() > 1_000_000) {
+                return Result.error(400, "SQL 文本过长，最大支持 1MB");
+            }
+            
+            // 2. 解析并比较
+            RenderOptions options = new RenderOptions();
+            options.setInferRelations(Boolean.TRUE.equals(request.getInferRelations()));
+            SchemaDiff diff = erService.diffSql(request.getBaseSqlText(), request.getTargetSqlText(), options,
+                    StpUtil.getLoginIdAsLong());
+            
+            log.info("Schema 差异比较成功，新增 {} 张表，删除 {} 张表，修改 {} 张表",
+                    diff.getAddedTables().size(), diff.getRemovedTables().size(), diff.getModifiedTables().size());
+            
+            return Result.success("比较成功", diff);
+            
+        } catch (IllegalArgumentException e) {
+            return Result.error(400, e.getMessage());
+        } catch (Exception e) {
+            log.error("Schema 差异比较失败", e);
+            return Result.error("比较失败: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 导出拆分结果中的单个子图
+     * 拆分结果只包含概览图的图片，子图图片在用户查看时按需导出；不重新解析 SQL，因此不消耗配额
+     */
+    @PostMapping("/sub-diagram/export")
+    @RequireSubscription
+    @RateLimit(key = "export_sub_diagram", time = 60, count = 60, limitType = RateLimit.LimitType.USER)
+    public Result<ErService.SubDiagram> exportSubDiagram(@RequestBody SubDiagramExportRequest request) {
+        String mermaidCode = request.getMermaidCode();
+        log.info("收到子图导出请求，Mermaid 代码长度: {}", mermaidCode != null ? mermaidCode.length() : 0);
+        
+        try {
+            // 1. 参数校验
+            if (mermaidCode == null || mermaidCode.trim().isEmpty()) {
+                return Result.error(400, "Mermaid 代码不能为空");
+            }
+            
+            if (mermaidCode.length() > 1_000_000) {
+                return Result.error(400, "Mermaid 代码过长，最大支持 1MB");
+            }
+            
+            if (!mermaidCode.stripLeading().startsWith("erDiagram")) {
+                return Result.error(400, "只支持导出 ER 子图");
+            }
+            
+            // 2. 导出
+            ErService.SubDiagram subDiagram = erService.exportSubDiagram(mermaidCode);
+            return Result.success("导出成功", subDiagram);
+            
+        } catch (Exception e) {
+            log.error("子图导出失败", e);
+            return Result.error("导出失败: " + e.getMessage());
+        }
+    }
+    
     /**
      * 从 JDBC 连接生成 ER 图
      * 需要 JDBC 功能权限且消耗 sql_parse 配额
@@ -104,52 +348,27 @@ public class ErController {
         
         try {
             // 1. 参数校验
-            if (request.getDbType() == null || request.getDbType().trim().isEmpty()) {
-                return Result.error(400, "数据库类型不能为空");
-            }
-            
-            if (request.getJdbcUrl() == null || request.getJdbcUrl().trim().isEmpty()) {
-                return Result.error(400, "JDBC URL 不能为空");
-            }
-            
-            // SQLite 等嵌入式数据库不需要用户名密码
-            boolean isEmbedded = "sqlite".equalsIgnoreCase(request.getDbType());
-            if (!isEmbedded && (request.getUsername() == null || request.getUsername().trim().isEmpty())) {
-                return Result.error(400, "用户名不能为空");
-            }
-            
-            if (!isEmbedded && request.getPassword() == null) {
-                return Result.error(400, "密码不能为空");
+            String error = validateJdbcRequest(request);
+            if (error != null) {
+                return Result.error(400, error);
             }
             
             // 2. 构建 JDBC 配置
-            JdbcConfig jdbcConfig = new JdbcConfig();
-            jdbcConfig.setDbType(request.getDbType());
-            jdbcConfig.setJdbcUrl(request.getJdbcUrl());
-            jdbcConfig.setUsername(request.getUsername());
-            jdbcConfig.setPassword(request.getPassword());
-            jdbcConfig.setSchemaName(request.getSchemaName());
-            jdbcConfig.setReadOnly(true);
-            jdbcConfig.setTimeout(30);
+            JdbcConfig jdbcConfig = buildJdbcConfig(request, 30);
             
             // 3. 构建渲染选项
             RenderOptions options = buildRenderOptions(request);
             
             // 4. 调用服务生成 ER 图
-            ErService.ErResult result = erService.generateFromJdbc(jdbcConfig, options);
+            ErService.ErResult result = erService.generateFromJdbc(jdbcConfig, options,
+                    Boolean.TRUE.equals(request.getFullRefresh()));
             
             if (!result.isSuccess()) {
                 return Result.error(500, result.getMessage());
             }
             
             // 5. 构建响应
-            ErResponse response = new ErResponse();
-            response.setMermaidCode(result.getMermaidCode());
-            response.setSvgContent(result.getSvgContent());
-            response.setPngBase64(result.getPngBase64());
-            response.setWarnings(result.getWarnings());
-            response.setTableCount(result.getTableCount());
-            response.setRelationCount(result.getRelationCount());
+            ErResponse response = ErResponse.from(result);
             
             log.info("JDBC 连接成功，表数量: {}, 关系数量: {}", 
                     result.getTableCount(), result.getRelationCount());
@@ -162,6 +381,89 @@ public class ErController {
         }
     }
     
+    /**
+     * 从 JDBC 连接流式生成 ER 图
+     * 使用 SSE (Server-Sent Events) 推送元数据读取进度：每读完一批表发送 progress 事件（含本批表的 Mermaid 片段），
+     * 完成后发送 result 事件（数据与 connect-jdbc 的响应相同）和 done 事件；客户端断开后停止读取剩余的表。
+     * 请求体含数据库密码，使用 POST 并通过请求头鉴权（前端以 fetch 读取事件流）；
+     * 配额在生成成功后才消耗，因此不使用 @RequireQuota 注解
+     */
+    @PostMapping(value = "/connect-jdbc/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RequireSubscription(feature = "jdbc")
+    @RateLimit(key = "connect_jdbc", time = 60, count = 10, limitType = RateLimit.LimitType.USER)
+    public SseEmitter connectJdbcStream(@RequestBody JdbcConnectRequest request) {
+        log.info("收到流式 JDBC 连接请求，数据库类型: {}, URL: {}", 
+                request.getDbType(), request.getJdbcUrl());
+        
+        // 创建 SSE Emitter，超时时间 3 分钟
+        SseEmitter emitter = new SseEmitter(180000L);
+        
+        try {
+            Long userId = StpUtil.getLoginIdAsLong();
+            
+            // 手动检查配额（成功后才消耗）
+            if (!quotaService.checkQuota(userId, "sql_parse")) {
+                emitter.send(SseEmitter.event()
+                        .name("error")
+                        .data("{\"message\":\"配额不足，请升级订阅计划或等待配额重置\"}"));
+                emitter.complete();
+                return emitter;
+            }
+            
+            // 参数校验
+            String error = validateJdbcRequest(request);
+            if (error != null) {
+                emitter.send(SseEmitter.event()
+                        .name("error")
+                        .data(JSON.toJSONString(Map.of("message", error))));
+                emitter.complete();
+                return emitter;
+            }
+            
+            JdbcConfig jdbcConfig = buildJdbcConfig(request, 30);
+            RenderOptions options = buildRenderOptions(request);
+            
+            erService.generateFromJdbcStream(jdbcConfig, options, Boolean.TRUE.equals(request.getFullRefresh()),
+                    emitter, result -> {
+                        try {
+                            Map<String, Object> resultData = new LinkedHashMap<>();
+                            resultData.put("success", result.isSuccess());
+                            resultData.put("message", result.isSuccess() ? "连接成功" : result.getMessage());
+                            if (result.isSuccess()) {
+                                resultData.put("data", ErResponse.from(result));
+                            }
+                            emitter.send(SseEmitter.event()
+                                    .name("result")
+                                    .data(JSON.toJSONString(resultData)));
+                            
+                            if (result.isSuccess()) {
+                                log.info("流式 JDBC 连接成功，表数量: {}, 关系数量: {}",
+                                        result.getTableCount(), result.getRelationCount());
+                                // 消耗配额（成功后才消耗）
+                                if (!quotaService.useQuota(userId, "sql_parse")) {
+                                    log.error("使用配额失败: userId={}", userId);
+                                }
+                            }
+                        } catch (Exception e) {
+                            log.error("发送 JDBC 生成结果失败", e);
+                        }
+                    });
+            
+        } catch (Exception e) {
+            log.error("流式 JDBC 连接失败", e);
+            try {
+                emitter.send(SseEmitter.event()
+                        .name("error")
+                        .data(JSON.toJSONString(Map.of("message", "连接失败: " + e.getMessage()))));
+                emitter.completeWithError(e);
+            } catch (Exception ex) {
+                log.error("发送错误消息失败", ex);
+            }
+        }
+        
+        return emitter;
+    }
+    
     /**
      * 测试 JDBC 连接
      * 需要 JDBC 功能权限
@@ -175,32 +477,13 @@ public class ErController {
         
         try {
             // 1. 参数校验
-            if (request.getDbType() == null || request.getDbType().trim().isEmpty()) {
-                return Result.error(400, "数据库类型不能为空");
-            }
-            
-            if (request.getJdbcUrl() == null || request.getJdbcUrl().trim().isEmpty()) {
-                return Result.error(400, "JDBC URL 不能为空");
-            }
-            
-            boolean isEmbedded = "sqlite".equalsIgnoreCase(request.getDbType());
-            if (!isEmbedded && (request.getUsername() == null || request.getUsername().trim().isEmpty())) {
-                return Result.error(400, "用户名不能为空");
-            }
-            
-            if (!isEmbedded && request.getPassword() == null) {
-                return Result.error(400, "密码不能为空");
+            String error = validateJdbcRequest(request);
+            if (error != null) {
+                return Result.error(400, error);
             }
             
             // 2. 构建 JDBC 配置
-            JdbcConfig jdbcConfig = new JdbcConfig();
-            jdbcConfig.setDbType(request.getDbType());
-            jdbcConfig.setJdbcUrl(request.getJdbcUrl());
-            jdbcConfig.setUsername(request.getUsername());
-            jdbcConfig.setPassword(request.getPassword());
-            jdbcConfig.setSchemaName(request.getSchemaName());
-            jdbcConfig.setReadOnly(true);
-            jdbcConfig.setTimeout(10);
+            JdbcConfig jdbcConfig = buildJdbcConfig(request, 10);
             
             // 3. 测试连接
             ConnectionTestResult testResult = jdbcMetadataParser.testConnection(jdbcConfig);
@@ -219,6 +502,46 @@ public class ErController {
         }
     }
     
+    /**
+     * 校验 JDBC 连接请求，返回错误信息（校验通过返回 null）
+     */
+    private String validateJdbcRequest(JdbcConnectRequest request) {
+        if (request.getDbType() == null || request.getDbType().trim().isEmpty()) {
+            return "数据库类型不能为空";
+        }
+        
+        if (request.getJdbcUrl() == null || request.getJdbcUrl().trim().isEmpty()) {
+            return "JDBC URL 不能为空";
+        }
+        
+        // SQLite 等嵌入式数据库不需要用户名密码
+        boolean isEmbedded = "sqlite".equalsIgnoreCase(request.getDbType());
+        if (!isEmbedded && (request.getUsername() == null || request.getUsername().trim().isEmpty())) {
+            return "用户名不能为空";
+        }
+        
+        if (!isEmbedded && request.getPassword() == null) {
+            return "密码不能为空";
+        }
+        return null;
+    }
+    
+    /**
+     * 构建 JDBC 配置（只读，连接归属当前登录用户）
+     */
+    private JdbcConfig buildJdbcConfig(JdbcConnectRequest request, int timeout) {
+        JdbcConfig jdbcConfig = new JdbcConfig();
+        jdbcConfig.setDbType(request.getDbType());
+        jdbcConfig.setJdbcUrl(request.getJdbcUrl());
+        jdbcConfig.setUsername(request.getUsername());
+        jdbcConfig.setPassword(request.getPassword());
+        jdbcConfig.setSchemaName(request.getSchemaName());
+        jdbcConfig.setReadOnly(true);
+        jdbcConfig.setTimeout(timeout);
+        jdbcConfig.setOwner(String.valueOf(StpUtil.getLoginIdAsLong()));
+        return jdbcConfig;
+    }
+    
     /**
      * 构建渲染选项（从 SqlParseRequest）
      */
@@ -235,6 +558,10 @@ public class ErController {
             options.setRelationDepth(request.getRelationDepth());
         }
         
+        options.setInferRelations(Boolean.TRUE.equals(request.getInferRelations()));
+        options.setPartition(Boolean.TRUE.equals(request.getPartition()));
+        options.setMaxTablesPerDiagram(request.getMaxTablesPerDiagram());
+        
         return options;
     }
     
@@ -254,6 +581,10 @@ public class ErController {
             options.setRelationDepth(request.getRelationDepth());
         }
         
+        options.setInferRelations(Boolean.TRUE.equals(request.getInferRelations()));
+        options.setPartition(Boolean.TRUE.equals(request.getPartition()));
+        options.setMaxTablesPerDiagram(request.getMaxTablesPerDiagram());
+        
         return options;
     }
 }
@@ -1,5 +1,6 @@
 package com.coffeeviz.dto;
 
+import com.coffeeviz.service.ErService;
 import lombok.Data;
 
 import java.util.List;
@@ -43,6 +44,11 @@ public class ErResponse {
      */
     private Integer relationCount;
     
+    /**
+     * 拆分后的子图（仅开启拆分且表数量超过上限时有值，此时主图为子图关系概览图）
+     */
+    private List<ErService.SubDiagram> subDiagrams;
+    
     /**
      * AI 生成的业务说明（仅 AI 生成时有值）
      */
@@ -57,4 +63,19 @@ public class ErResponse {
      * 生成的 SQL DDL（仅 AI 生成时有值）
      */
     private String sqlDdl;
+    
+    /**
+     * 从 ER 图生成结果构建响应（AI 相关字段由调用方补充）
+     */
+    public static ErResponse from(ErService.ErResult result) {
+        ErResponse response = new ErResponse();
+        response.setMermaidCode(result.getMermaidCode());
+        response.setSvgContent(result.getSvgContent());
+        response.setPngBase64(result.getPngBase64());
+        response.setWarnings(result.getWarnings());
+        response.setTableCount(result.getTableCount());
+        response.setRelationCount(result.getRelationCount());
+        response.setSubDiagrams(result.getSubDiagrams());
+        return response;
+    }
 }
@@ -56,4 +56,19 @@ public class JdbcConnectRequest {
      * 关系深度（可选，默认 -1 表示无限制）
      */
     private Integer relationDepth = -1;
+    
+    /**
+     * 是否把大型 Schema 拆分为多个子图（可选，默认 false）
+     */
+    private Boolean partition = false;
+    
+    /**
+     * 拆分时每个子图的表数量上限（可选，默认使用服务端配置）
+     */
+    private Integer maxTablesPerDiagram;
+    
+    /**
+     * 是否全量重新读取元数据（可选，默认 false：只重新读取上次之后结构有变化的表）
+     */
+    private Boolean fullRefresh = false;
 }
@@ -0,0 +1,28 @@
+package com.coffeeviz.dto;
+
+import lombok.Data;
+
+/**
+ * Schema 差异比较请求
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@Data
+public class SchemaDiffRequest {
+    
+    /**
+     * 旧版本 SQL 文本（必填）
+     */
+    private String baseSqlText;
+    
+    /**
+     * 新版本 SQL 文本（必填）
+     */
+    private String targetSqlText;
+    
+    /**
+     * 是否先推断隐式关系再比较（可选，默认 false）
+     */
+    private Boolean inferRelations = false;
+}
@@ -36,4 +36,14 @@ public class SqlParseRequest {
      * 关系深度（可选，默认 -1 表示无限制）
      */
     private Integer relationDepth = -1;
+    
+    /**
+     * 是否把大型 Schema 拆分为多个子图（可选，默认 false）
+     */
+    private Boolean partition = false;
+    
+    /**
+     * 拆分时每个子图的表数量上限（可选，默认使用服务端配置）
+     */
+    private Integer maxTablesPerDiagram;
 }
@@ -0,0 +1,18 @@
+package com.coffeeviz.dto;
+
+import lombok.Data;
+
+/**
+ * 子图导出请求
+ * 
+ * @author CoffeeViz Team
+ * @since 1.0.0
+ */
+@Data
+public class SubDiagramExportRequest {
+    
+    /**
+     * 子图 Mermaid 代码（必填，取自拆分结果 subDiagrams[].mermaidCode）
+     */
+    private String mermaidCode;
+}
@@ -4,12 +4,14 @@ import cn.dev33.satoken.exception.NotLoginException;
 import cn.dev33.satoken.exception.NotPermissionException;
 import com.coffeeviz.common.Result;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.util.stream.Collectors;
 
@@ -42,6 +44,15 @@ public class GlobalExceptionHandler {
         // 不返回任何内容，响应已经以 text/event-stream 提交，无法再写入 JSON
     }
     
+    /**
+     * 处理上传文件超过大小上限
+     */
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public Result<String> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException e) {
+        log.warn("上传文件过大: 上限 {} 字节", e.getMaxUploadSize());
+        return Result.error(400, "上传文件过大，最大支持 " + DataSize.ofBytes(e.getMaxUploadSize()).toMegabytes() + "MB");
+    }
+    
     /**
      * 处理运行时异常
      */